@@ -0,0 +1,86 @@
+package com.delivery.SuAl.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import java.security.SecureRandom;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request token.
+ * <p>
+ * {@code baselineTripleParse} is what a request paid before {@link JwtService#verify}: the key was decoded and a parser
+ * built for each of three parses (subject, subject again, expiry). {@code verifyCold} always misses the verified-token
+ * cache and {@code verifyWarm} always hits it. Run with {@code gradle jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+    private static final int COLD_TOKENS = 1024;
+
+    private String secret;
+    private JwtService warmService;
+    private JwtService coldService;
+    private String token;
+    private String[] coldTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        secret = Encoders.BASE64.encode(keyBytes);
+
+        warmService = new JwtService(secret, 3_600_000L, 86_400_000L, 10_000, new SimpleMeterRegistry());
+        coldService = new JwtService(secret, 3_600_000L, 86_400_000L, 1, new SimpleMeterRegistry());
+
+        UserDetails user = User.withUsername("+994501234567").password("unused").build();
+        token = warmService.generateToken(user);
+        warmService.verify(token);
+
+        coldTokens = new String[COLD_TOKENS];
+        for (int i = 0; i < COLD_TOKENS; i++) {
+            coldTokens[i] = coldService.generateToken(user);
+        }
+    }
+
+    @Benchmark
+    public void baselineTripleParse(Blackhole blackhole) {
+        blackhole.consume(parse(token).getSubject());
+        blackhole.consume(parse(token).getSubject());
+        blackhole.consume(parse(token).getExpiration().before(new Date()));
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCold() {
+        next = (next + 1) % COLD_TOKENS;
+        return coldService.verify(coldTokens[next]);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyWarm() {
+        return warmService.verify(token);
+    }
+
+    private Claims parse(String jwt) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(jwt).getPayload();
+    }
+}
@@ -1,7 +1,6 @@
 package com.delivery.SuAl.aspect;
 
 import com.delivery.SuAl.annotation.SendNotification;
-import com.delivery.SuAl.annotation.SendNotifications;
 import com.delivery.SuAl.model.request.notification.NotificationRequest;
 import com.delivery.SuAl.service.NotificationService;
 import lombok.RequiredArgsConstructor;
@@ -10,20 +9,59 @@ import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Creates the notifications declared with {@link SendNotification} after the annotated method returns.
+ * <p>
+ * Expressions are parsed once per (method, annotation) and cached. Every annotated bean method is compiled when the
+ * context starts, so a malformed expression fails the startup instead of every call. Expressions are evaluated
+ * against a read-only {@link SimpleEvaluationContext} exposing {@code #result} and {@code #args}.
+ */
 @Aspect
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class NotificationAspect {
+public class NotificationAspect implements SmartInitializingSingleton {
+    private static final String BASE_PACKAGE = "com.delivery.SuAl";
+
     private final NotificationService notificationService;
+    private final ApplicationContext applicationContext;
     private final ExpressionParser parser = new SpelExpressionParser();
+    private final Map<Method, List<CompiledNotification>> compiledNotifications = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String beanName : applicationContext.getBeanDefinitionNames()) {
+            Class<?> beanType = applicationContext.getType(beanName, false);
+            if (beanType == null) {
+                continue;
+            }
+            Class<?> targetClass = AopUtils.getTargetClass(beanType);
+            if (!targetClass.getName().startsWith(BASE_PACKAGE)) {
+                continue;
+            }
+            ReflectionUtils.doWithMethods(targetClass, method -> compiledNotifications.computeIfAbsent(method, this::compile),
+                    method -> method.getAnnotationsByType(SendNotification.class).length > 0);
+        }
+        log.info("Compiled notification expressions for {} methods", compiledNotifications.size());
+    }
 
     @AfterReturning(pointcut =
             "@annotation(com.delivery.SuAl.annotation.SendNotification) || " +
@@ -32,53 +70,66 @@ public class NotificationAspect {
     )
     public void sendNotificationAfterMethod(JoinPoint joinPoint, Object result) {
         try {
-            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-            Method method = signature.getMethod();
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            List<CompiledNotification> notifications = compiledNotifications.computeIfAbsent(method, this::compile);
+            if (notifications.isEmpty()) {
+                return;
+            }
 
-            SendNotifications multipleAnnotation = method.getAnnotation(SendNotifications.class);
+            EvaluationContext context = SimpleEvaluationContext.forReadOnlyDataBinding().build();
+            context.setVariable("result", result);
+            context.setVariable("args", joinPoint.getArgs());
 
-            if (multipleAnnotation != null) {
-                for (SendNotification notification : multipleAnnotation.value()) {
-                    processSingleNotification(joinPoint, notification, result);
-                }
-            } else {
-                SendNotification notification = method.getAnnotation(SendNotification.class);
-                if (notification != null) {
-                    processSingleNotification(joinPoint, notification, result);
-                }
+            for (CompiledNotification notification : notifications) {
+                processSingleNotification(notification, context);
             }
         } catch (Exception ex) {
             log.error("Failed to send notifications via AOP", ex);
         }
     }
 
-    private void processSingleNotification(JoinPoint joinPoint, SendNotification sendNotification, Object result) {
-        try {
-            StandardEvaluationContext context = new StandardEvaluationContext();
-            context.setVariable("result", result);
-            context.setVariable("args", joinPoint.getArgs());
-
-            Long receiverId = null;
-            if (!sendNotification.receiverIdExpression().isEmpty()) {
-                receiverId = parser.parseExpression(sendNotification.receiverIdExpression())
-                        .getValue(context, Long.class);
+    private List<CompiledNotification> compile(Method method) {
+        SendNotification[] annotations = method.getAnnotationsByType(SendNotification.class);
+        List<CompiledNotification> compiled = new ArrayList<>(annotations.length);
+        for (int i = 0; i < annotations.length; i++) {
+            SendNotification annotation = annotations[i];
+            try {
+                compiled.add(new CompiledNotification(
+                        annotation,
+                        parseOrNull(annotation.receiverIdExpression()),
+                        parseOrNull(annotation.referenceIdExpression()),
+                        annotation.evaluateMessage() ? parser.parseExpression(annotation.message()) : null));
+            } catch (ParseException ex) {
+                throw new IllegalStateException(String.format(
+                        "Invalid @SendNotification expression #%d on %s.%s: %s",
+                        i, method.getDeclaringClass().getSimpleName(), method.getName(), ex.getMessage()), ex);
             }
+        }
+        return List.copyOf(compiled);
+    }
 
-            Long referenceId = null;
-            if (!sendNotification.referenceIdExpression().isEmpty()) {
-                referenceId = parser.parseExpression(sendNotification.referenceIdExpression())
-                        .getValue(context, Long.class);
-            }
+    private Expression parseOrNull(String expression) {
+        return expression.isEmpty() ? null : parser.parseExpression(expression);
+    }
 
-            String message = sendNotification.message();
-            if (sendNotification.evaluateMessage()) {
-                message = parser.parseExpression(sendNotification.message())
-                        .getValue(context, String.class);
-            }
+    private void processSingleNotification(CompiledNotification compiled, EvaluationContext context) {
+        SendNotification sendNotification = compiled.annotation();
+        try {
+            Long receiverId = compiled.receiverId() != null
+                    ? compiled.receiverId().getValue(context, Long.class)
+                    : null;
+
+            Long referenceId = compiled.referenceId() != null
+                    ? compiled.referenceId().getValue(context, Long.class)
+                    : null;
+
+            String message = compiled.message() != null
+                    ? compiled.message().getValue(context, String.class)
+                    : sendNotification.message();
 
             if (receiverId != null && receiverId > 0) {
                 try {
-                    notificationService.createNotification(
+                    notificationService.publish(
                             NotificationRequest.builder()
                                     .receiverType(sendNotification.receiverType())
                                     .receiverId(receiverId)
@@ -89,10 +140,10 @@ public class NotificationAspect {
                                     .build()
                     );
 
-                    log.info("Notification sent successfully via AOP - Receiver: {} ({}), Type: {}",
+                    log.info("Notification queued via AOP - Receiver: {} ({}), Type: {}",
                             receiverId, sendNotification.receiverType(), sendNotification.notificationType());
                 } catch (Exception ex) {
-                    log.error("Failed to create notification for receiver {} ({}): {}",
+                    log.error("Failed to queue notification for receiver {} ({}): {}",
                             receiverId, sendNotification.receiverType(), ex.getMessage(), ex);
                 }
             } else {
@@ -103,4 +154,10 @@ public class NotificationAspect {
             log.error("Failed to process single notification", ex);
         }
     }
+
+    private record CompiledNotification(SendNotification annotation,
+                                        Expression receiverId,
+                                        Expression referenceId,
+                                        Expression message) {
+    }
 }
@@ -9,7 +9,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.List;
+import java.time.Duration;
 
 @Slf4j
 @Configuration
@@ -17,24 +17,28 @@ public class MagnetConfig {
 
     @Bean
     public RestTemplate magnetRestTemplate(
+            OutboundHttpClientFactory outboundHttpClientFactory,
             @Value("${magnet.merchant}") String merchant,
-            @Value("${magnet.api-key}") String apiKey) {
-        RestTemplate restTemplate = new RestTemplate();
-
-        restTemplate.setInterceptors(List.of((request, body, execution) -> {
-
-            request.getHeaders().set("X-Merchant", merchant);
-            request.getHeaders().set("X-API-Key", apiKey);
-            request.getHeaders().set("X-Type", "JSON");
-            request.getHeaders().set(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
-
-            ClientHttpResponse response = execution.execute(request, body);
-
-            log.info("Response status: {}", response.getStatusCode());
-
-            return response;
-        }));
-
-        return restTemplate;
+            @Value("${magnet.api-key}") String apiKey,
+            @Value("${magnet.max-connections:10}") int maxConnections,
+            @Value("${magnet.connection-timeout:PT5S}") Duration connectionTimeout,
+            @Value("${magnet.read-timeout:PT15S}") Duration readTimeout,
+            @Value("${magnet.acquire-timeout:PT2S}") Duration acquireTimeout) {
+        return outboundHttpClientFactory
+                .builder("magnet", maxConnections, connectionTimeout, readTimeout, acquireTimeout)
+                .additionalInterceptors((request, body, execution) -> {
+
+                    request.getHeaders().set("X-Merchant", merchant);
+                    request.getHeaders().set("X-API-Key", apiKey);
+                    request.getHeaders().set("X-Type", "JSON");
+                    request.getHeaders().set(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+
+                    ClientHttpResponse response = execution.execute(request, body);
+
+                    log.info("Response status: {}", response.getStatusCode());
+
+                    return response;
+                })
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.delivery.SuAl.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Dedicated pool for outbound notification work, so a slow or unavailable push provider cannot take threads or
+ * memory from the rest of the application. The queue is bounded and a full pool rejects new work; pending pushes
+ * stay in the outbox, so a rejected drain is simply picked up again by the next outbox poll.
+ */
+@Configuration
+public class NotificationExecutorConfig {
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+    public static final String LIVE_EVENT_EXECUTOR = "liveEventExecutor";
+
+    @Value("${notifications.executor.core-size:2}")
+    private int coreSize;
+
+    @Value("${notifications.executor.max-size:4}")
+    private int maxSize;
+
+    @Value("${notifications.executor.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${notifications.live.executor.core-size:2}")
+    private int liveCoreSize;
+
+    @Value("${notifications.live.executor.max-size:8}")
+    private int liveMaxSize;
+
+    @Value("${notifications.live.executor.queue-capacity:1000}")
+    private int liveQueueCapacity;
+
+    @Bean(name = NOTIFICATION_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notification-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        Gauge.builder("notifications.executor.queue.size", pool, p -> p.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("notifications.executor.active", pool, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Writes live events to SSE connections. Each subscriber has at most one task queued here at a time, so the
+     * queue is bounded by the number of connected subscribers with undelivered events.
+     */
+    @Bean(name = LIVE_EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor liveEventExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(liveCoreSize);
+        executor.setMaxPoolSize(liveMaxSize);
+        executor.setQueueCapacity(liveQueueCapacity);
+        executor.setThreadNamePrefix("live-event-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        Gauge.builder("notifications.live.executor.queue.size", pool, p -> p.getQueue().size())
+                .register(meterRegistry);
+        return executor;
+    }
+}
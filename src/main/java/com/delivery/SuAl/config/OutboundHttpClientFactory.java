@@ -0,0 +1,91 @@
+package com.delivery.SuAl.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Builds the {@link RestTemplateBuilder}s used to call external providers.
+ * <p>
+ * Every provider gets its own keep-alive connection pool, which is also its bulkhead: at most
+ * {@code maxConnections} calls to a provider are in flight, and a caller that cannot get a connection within
+ * {@code acquireTimeout} fails instead of queueing behind a slow provider and holding a request thread. Pool usage is
+ * published as {@code httpcomponents.httpclient.pool.*} tagged with the provider name, and call latency as
+ * {@code http.client.requests} by the observation that Spring Boot registers on {@link RestTemplateBuilder}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboundHttpClientFactory implements DisposableBean {
+    private static final TimeValue IDLE_EVICTION = TimeValue.ofSeconds(30);
+    private static final TimeValue CONNECTION_TTL = TimeValue.ofMinutes(5);
+    private static final TimeValue VALIDATE_AFTER_INACTIVITY = TimeValue.ofSeconds(5);
+
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final MeterRegistry meterRegistry;
+    private final List<CloseableHttpClient> clients = new CopyOnWriteArrayList<>();
+
+    public RestTemplateBuilder builder(String provider,
+                                       int maxConnections,
+                                       Duration connectTimeout,
+                                       Duration readTimeout,
+                                       Duration acquireTimeout) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(CONNECTION_TTL)
+                        .setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY)
+                        .build())
+                .build();
+
+        CloseableHttpClient client = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(acquireTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(IDLE_EVICTION)
+                .disableAutomaticRetries()
+                .build();
+        clients.add(client);
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, provider).bindTo(meterRegistry);
+        log.info("Outbound HTTP pool for {}: {} connections, connect {}, read {}, acquire {}",
+                provider, maxConnections, connectTimeout, readTimeout, acquireTimeout);
+
+        return restTemplateBuilder.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(client));
+    }
+
+    @Override
+    public void destroy() {
+        for (CloseableHttpClient client : clients) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.warn("Failed to close outbound HTTP client", e);
+            }
+        }
+    }
+}
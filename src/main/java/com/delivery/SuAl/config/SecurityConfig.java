@@ -1,6 +1,7 @@
 package com.delivery.SuAl.config;
 
 import com.delivery.SuAl.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -35,6 +36,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
 
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         .requestMatchers(
                                 "/v1/api/auth/**",
                                 "/health/**",
@@ -78,6 +81,9 @@ public class SecurityConfig {
 
                         .requestMatchers(HttpMethod.POST, "/v1/api/customers").permitAll()
 
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         .requestMatchers("/v1/api/admins/**").hasRole("ADMIN")
                         .requestMatchers("/v1/api/operators/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/v1/api/purchase-invoices/*/approve").hasRole("ADMIN")
@@ -105,6 +111,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.DELETE, "/v1/api/promos/**").hasAnyRole("ADMIN", "OPERATOR")
 
                         .requestMatchers(HttpMethod.POST, "/v1/api/notifications").hasAnyRole("ADMIN", "OPERATOR")
+                        .requestMatchers("/v1/api/notifications/push-outbox/**").hasRole("ADMIN")
                         .requestMatchers("/v1/api/notifications/**").authenticated()
 
                         .requestMatchers("/v1/api/drivers/orders").hasAnyRole("ADMIN", "DRIVER")
@@ -114,12 +121,16 @@ public class SecurityConfig {
                         .requestMatchers("/v1/api/orders/*/approve").hasAnyRole("ADMIN", "OPERATOR")
                         .requestMatchers("/v1/api/orders/operator/*/reject").hasAnyRole("ADMIN", "OPERATOR")
                         .requestMatchers("/v1/api/orders/*/assign-driver").hasAnyRole("ADMIN", "OPERATOR")
+                        .requestMatchers(HttpMethod.POST, "/v1/api/orders/dispatch").hasAnyRole("ADMIN", "OPERATOR")
                         .requestMatchers("/v1/api/orders/pending").hasAnyRole("ADMIN", "OPERATOR")
+                        .requestMatchers("/v1/api/orders/pending/feed").hasAnyRole("ADMIN", "OPERATOR")
+                        .requestMatchers(HttpMethod.GET, "/v1/api/orders/feed").hasAnyRole("ADMIN", "OPERATOR")
                         .requestMatchers("/v1/api/orders/today/count").hasAnyRole("ADMIN", "OPERATOR")
                         .requestMatchers("/v1/api/orders/revenue").hasAnyRole("ADMIN", "OPERATOR")
                         .requestMatchers(HttpMethod.GET, "/v1/api/orders").hasAnyRole("ADMIN", "OPERATOR")
                         .requestMatchers("/v1/api/orders/*/complete").hasAnyRole("ADMIN", "DRIVER")
                         .requestMatchers("/v1/api/orders/my-orders").hasAnyRole("ADMIN", "CUSTOMER")
+                        .requestMatchers("/v1/api/orders/my-orders/feed").hasAnyRole("ADMIN", "CUSTOMER")
                         .requestMatchers(HttpMethod.POST, "/v1/api/orders/create-by-customer").hasAnyRole("ADMIN", "CUSTOMER")
                         .requestMatchers("/v1/api/orders/customer/*/reject").hasAnyRole("ADMIN", "CUSTOMER")
                         .requestMatchers("/v1/api/orders/admin/*/approve").hasRole("ADMIN")
@@ -143,6 +154,11 @@ public class SecurityConfig {
 
                         .requestMatchers("/v1/api/device-tokens/**").authenticated()
 
+                        .requestMatchers("/v1/api/live/**").authenticated()
+
+                        .requestMatchers("/v1/api/statistics/backfill").hasRole("ADMIN")
+                        .requestMatchers("/v1/api/statistics/**").hasAnyRole("ADMIN", "OPERATOR")
+
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -0,0 +1,24 @@
+package com.delivery.SuAl.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class SmsConfig {
+
+    @Bean
+    public RestTemplate smsRestTemplate(
+            OutboundHttpClientFactory outboundHttpClientFactory,
+            @Value("${sms.max-connections:10}") int maxConnections,
+            @Value("${sms.connection-timeout:PT3S}") Duration connectionTimeout,
+            @Value("${sms.read-timeout:PT10S}") Duration readTimeout,
+            @Value("${sms.acquire-timeout:PT1S}") Duration acquireTimeout) {
+        return outboundHttpClientFactory
+                .builder("sms", maxConnections, connectionTimeout, readTimeout, acquireTimeout)
+                .build();
+    }
+}
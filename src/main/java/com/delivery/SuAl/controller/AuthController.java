@@ -10,6 +10,7 @@ import com.delivery.SuAl.model.response.auth.AuthenticationResponse;
 import com.delivery.SuAl.model.response.wrapper.ApiResponse;
 import com.delivery.SuAl.service.AuthenticationService;
 import com.delivery.SuAl.service.OtpService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +19,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -44,6 +46,25 @@ public class AuthController {
         return ResponseEntity.ok(authenticationService.refreshToken(request));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<String>> logout(
+            @RequestHeader("Authorization") String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request
+    ) {
+        if (!authorization.startsWith("Bearer ")) {
+            throw new IllegalArgumentException("Bearer token is required");
+        }
+
+        authenticationService.logout(authorization.substring(7),
+                request != null ? request.getRefreshToken() : null);
+
+        return ResponseEntity.ok(ApiResponse.<String>builder()
+                .success(true)
+                .message("Logged out successfully")
+                .data("Your tokens have been revoked")
+                .build());
+    }
+
     @PostMapping("/change-password")
     public ResponseEntity<ApiResponse<String>> changePassword(
             @AuthenticationPrincipal User user,
@@ -57,8 +78,9 @@ public class AuthController {
 
     @PostMapping("/otp/send")
     public ResponseEntity<ApiResponse<String>> sendOtp(
-            @Valid @RequestBody SendOtpRequest request) {
-        otpService.sendOtp(request.getPhoneNumber());
+            @Valid @RequestBody SendOtpRequest request,
+            HttpServletRequest httpRequest) {
+        otpService.sendOtp(request.getPhoneNumber(), httpRequest.getRemoteAddr());
 
         return ResponseEntity.ok(ApiResponse.<String>builder()
                 .success(true)
@@ -0,0 +1,35 @@
+package com.delivery.SuAl.controller;
+
+import com.delivery.SuAl.entity.User;
+import com.delivery.SuAl.helper.Receiver;
+import com.delivery.SuAl.service.LiveEventHub;
+import com.delivery.SuAl.service.ReceiverResolver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/v1/api/live")
+@RequiredArgsConstructor
+@Slf4j
+public class LiveEventController {
+    private final LiveEventHub liveEventHub;
+    private final ReceiverResolver receiverResolver;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @AuthenticationPrincipal User user,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        Receiver receiver = receiverResolver.resolve(user);
+        log.info("GET /v1/api/live/stream - receiver: {} ({}), lastEventId: {}",
+                receiver.getReceiverId(), receiver.getReceiverType(), lastEventId);
+        return liveEventHub.subscribe(receiver, lastEventId);
+    }
+}
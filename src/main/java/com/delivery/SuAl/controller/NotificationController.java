@@ -4,9 +4,12 @@ import com.delivery.SuAl.model.enums.ReceiverType;
 import com.delivery.SuAl.model.request.notification.NotificationRequest;
 import com.delivery.SuAl.model.response.notification.NotificationResponse;
 import com.delivery.SuAl.model.response.wrapper.ApiResponse;
+import com.delivery.SuAl.model.response.wrapper.CursorPageResponse;
 import com.delivery.SuAl.model.response.wrapper.PageResponse;
 import com.delivery.SuAl.service.NotificationService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -25,8 +28,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/v1/api/notifications")
 @RequiredArgsConstructor
@@ -52,26 +53,19 @@ public class NotificationController {
                 .body(ApiResponse.success(response));
     }
 
-    @GetMapping("/receiver")
-    public ResponseEntity<ApiResponse<List<NotificationResponse>>> getNotificationsByReceiver(
-            @RequestParam ReceiverType receiverType,
-            @RequestParam Long receiverId
-            ){
-        List<NotificationResponse> responses = notificationService.getNotificationsByReceiver(receiverType, receiverId);
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body(ApiResponse.success(responses));
-    }
-
-    @GetMapping("/receiver/unread")
-    public ResponseEntity<ApiResponse<List<NotificationResponse>>> getUnreadNotifications(
+    @GetMapping("/receiver/inbox")
+    public ResponseEntity<ApiResponse<CursorPageResponse<NotificationResponse>>> getInbox(
             @RequestParam ReceiverType receiverType,
-            @RequestParam Long receiverId
-    ){
-        List<NotificationResponse> responses = notificationService.getUnreadNotifications(receiverType, receiverId);
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body(ApiResponse.success(responses));
+            @RequestParam Long receiverId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "false") boolean unreadOnly
+    ) {
+        log.info("GET /v1/api/notifications/receiver/inbox - receiver: {} ({}), cursor: {}, unreadOnly: {}",
+                receiverId, receiverType, cursor, unreadOnly);
+        CursorPageResponse<NotificationResponse> response =
+                notificationService.getInbox(receiverType, receiverId, cursor, size, unreadOnly);
+        return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @GetMapping("/receiver/paginated")
@@ -5,13 +5,19 @@ import com.delivery.SuAl.model.request.operation.AssignDriverRequest;
 import com.delivery.SuAl.model.request.order.CompleteDeliveryRequest;
 import com.delivery.SuAl.model.request.order.CreateOrderByCustomerRequest;
 import com.delivery.SuAl.model.request.order.CreateOrderByOperatorRequest;
+import com.delivery.SuAl.model.request.order.DispatchOrdersRequest;
 import com.delivery.SuAl.model.request.order.UpdateOrderRequest;
+import com.delivery.SuAl.model.response.order.DispatchOrdersResponse;
 import com.delivery.SuAl.model.response.order.DriverCollectionInfoResponse;
 import com.delivery.SuAl.model.response.order.OrderResponse;
+import com.delivery.SuAl.model.response.order.OrderSummaryResponse;
+import com.delivery.SuAl.model.response.wrapper.CursorPageResponse;
 import com.delivery.SuAl.model.response.wrapper.ApiResponse;
 import com.delivery.SuAl.model.response.wrapper.PageResponse;
 import com.delivery.SuAl.service.OrderService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -115,6 +121,16 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success("Order approved successfully", order));
     }
 
+    @PostMapping("/dispatch")
+    public ResponseEntity<ApiResponse<DispatchOrdersResponse>> dispatchOrders(
+            @AuthenticationPrincipal User user,
+            @RequestBody @Valid DispatchOrdersRequest request
+    ) {
+        log.info("POST /v1/api/orders/dispatch - Dispatching {} orders", request.getOrders().size());
+        DispatchOrdersResponse response = orderService.dispatchOrders(user.getEmail(), request);
+        return ResponseEntity.ok(ApiResponse.success("Orders dispatched successfully", response));
+    }
+
     @PatchMapping("/customer/{id}/reject")
     public ResponseEntity<ApiResponse<OrderResponse>> rejectOrderByCustomer(
             @AuthenticationPrincipal User user,
@@ -248,6 +264,35 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/pending/feed")
+    public ResponseEntity<ApiResponse<CursorPageResponse<OrderSummaryResponse>>> getPendingOrdersFeed(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size
+    ) {
+        log.info("GET /v1/api/orders/pending/feed - cursor: {}, size: {}", cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(orderService.getPendingOrdersFeed(cursor, size)));
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<ApiResponse<CursorPageResponse<OrderSummaryResponse>>> getOrdersFeed(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size
+    ) {
+        log.info("GET /v1/api/orders/feed - cursor: {}, size: {}", cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(orderService.getOrdersFeedForManagement(cursor, size)));
+    }
+
+    @GetMapping("/my-orders/feed")
+    public ResponseEntity<ApiResponse<CursorPageResponse<OrderSummaryResponse>>> getCustomerOrdersFeed(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size
+    ) {
+        log.info("GET /v1/api/orders/my-orders/feed - customer: {}, cursor: {}", user.getPhoneNumber(), cursor);
+        return ResponseEntity.ok(ApiResponse.success(
+                orderService.getOrdersFeedByCustomer(user.getPhoneNumber(), cursor, size)));
+    }
+
     @GetMapping("/{orderId}/driver-collection-info")
     public ResponseEntity<ApiResponse<DriverCollectionInfoResponse>> getDriverCollectionInfo(
             @PathVariable Long orderId
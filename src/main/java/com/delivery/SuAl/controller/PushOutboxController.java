@@ -0,0 +1,55 @@
+package com.delivery.SuAl.controller;
+
+import com.delivery.SuAl.model.request.notification.RedrivePushRequest;
+import com.delivery.SuAl.model.response.notification.PushOutboxResponse;
+import com.delivery.SuAl.model.response.wrapper.ApiResponse;
+import com.delivery.SuAl.model.response.wrapper.PageResponse;
+import com.delivery.SuAl.service.PushNotificationDispatcher;
+import com.delivery.SuAl.service.PushOutboxService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/api/notifications/push-outbox")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@PreAuthorize("hasRole('ADMIN')")
+public class PushOutboxController {
+    private final PushOutboxService pushOutboxService;
+    private final PushNotificationDispatcher pushNotificationDispatcher;
+
+    @GetMapping("/dead")
+    public ResponseEntity<ApiResponse<PageResponse<PushOutboxResponse>>> getDeadLetters(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        log.info("GET /v1/api/notifications/push-outbox/dead - Fetching dead-lettered pushes");
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "updatedAt"));
+        PageResponse<PushOutboxResponse> response = pushOutboxService.getDeadLetters(pageable);
+        return ResponseEntity.ok(ApiResponse.success("Dead-lettered pushes retrieved", response));
+    }
+
+    @PostMapping("/redrive")
+    public ResponseEntity<ApiResponse<Integer>> redrive(
+            @Valid @RequestBody(required = false) RedrivePushRequest request
+    ) {
+        log.info("POST /v1/api/notifications/push-outbox/redrive - Re-driving dead-lettered pushes");
+        int redriven = pushOutboxService.redrive(request != null ? request.getOutboxIds() : null);
+        pushNotificationDispatcher.requestDrain();
+        return ResponseEntity.ok(ApiResponse.success("Dead-lettered pushes re-driven", redriven));
+    }
+}
@@ -0,0 +1,96 @@
+package com.delivery.SuAl.controller;
+
+import com.delivery.SuAl.model.response.statisticsAnddashborad.DashboardStatsResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.DriverStatsResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.InventoryStatsResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.OrderStatsResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.RevenueReportResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.TopProductResponse;
+import com.delivery.SuAl.model.response.wrapper.ApiResponse;
+import com.delivery.SuAl.service.StatisticsBackfillService;
+import com.delivery.SuAl.service.StatisticsService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/api/statistics")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class StatisticsController {
+    private final StatisticsService statisticsService;
+    private final StatisticsBackfillService statisticsBackfillService;
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<ApiResponse<DashboardStatsResponse>> getDashboardStats() {
+        log.info("GET /v1/api/statistics/dashboard - Fetching dashboard statistics");
+        DashboardStatsResponse response = statisticsService.getDashboardStats();
+        return ResponseEntity.ok(ApiResponse.success("Dashboard statistics retrieved", response));
+    }
+
+    @GetMapping("/revenue")
+    public ResponseEntity<ApiResponse<RevenueReportResponse>> getRevenueReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        log.info("GET /v1/api/statistics/revenue - Building revenue report from {} to {}", startDate, endDate);
+        RevenueReportResponse response = statisticsService.getRevenueReport(startDate, endDate);
+        return ResponseEntity.ok(ApiResponse.success("Revenue report retrieved", response));
+    }
+
+    @GetMapping("/drivers/{driverId}")
+    public ResponseEntity<ApiResponse<DriverStatsResponse>> getDriverStats(@PathVariable Long driverId) {
+        log.info("GET /v1/api/statistics/drivers/{} - Fetching driver statistics", driverId);
+        DriverStatsResponse response = statisticsService.getDriverStats(driverId);
+        return ResponseEntity.ok(ApiResponse.success("Driver statistics retrieved", response));
+    }
+
+    @GetMapping("/inventory")
+    public ResponseEntity<ApiResponse<InventoryStatsResponse>> getInventoryStats() {
+        log.info("GET /v1/api/statistics/inventory - Fetching inventory statistics");
+        InventoryStatsResponse response = statisticsService.getInventoryStats();
+        return ResponseEntity.ok(ApiResponse.success("Inventory statistics retrieved", response));
+    }
+
+    @GetMapping("/orders")
+    public ResponseEntity<ApiResponse<OrderStatsResponse>> getOrderStats() {
+        log.info("GET /v1/api/statistics/orders - Fetching order statistics");
+        OrderStatsResponse response = statisticsService.getOrderStats();
+        return ResponseEntity.ok(ApiResponse.success("Order statistics retrieved", response));
+    }
+
+    @GetMapping("/top-products")
+    public ResponseEntity<ApiResponse<List<TopProductResponse>>> getTopProducts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit
+    ) {
+        log.info("GET /v1/api/statistics/top-products - Fetching top {} products from {} to {}",
+                limit, startDate, endDate);
+        List<TopProductResponse> response = statisticsService.getTopProducts(startDate, endDate, limit);
+        return ResponseEntity.ok(ApiResponse.success("Top products retrieved", response));
+    }
+
+    @PostMapping("/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> backfill() {
+        log.info("POST /v1/api/statistics/backfill - Rebuilding statistics rollups");
+        statisticsBackfillService.rebuild();
+        return ResponseEntity.ok(ApiResponse.success("Statistics rollups rebuilt", null));
+    }
+}
@@ -0,0 +1,60 @@
+package com.delivery.SuAl.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Completed deliveries per day and driver. Orders completed without a driver are counted under driver id 0.
+ */
+@Entity
+@Table(name = "delivery_daily_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uq_delivery_daily_stats", columnNames = {"stat_date", "driver_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class DeliveryDailyStat {
+    public static final long NO_DRIVER = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "driver_id", nullable = false)
+    private Long driverId;
+
+    @Column(name = "delivery_count", nullable = false)
+    private long deliveryCount;
+
+    @Column(name = "on_time_count", nullable = false)
+    private long onTimeCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal cost = BigDecimal.ZERO;
+
+    @Column(name = "bottles_delivered", nullable = false)
+    private long bottlesDelivered;
+
+    @Column(name = "bottles_collected", nullable = false)
+    private long bottlesCollected;
+
+    @Column(name = "last_delivery_at")
+    private LocalDateTime lastDeliveryAt;
+}
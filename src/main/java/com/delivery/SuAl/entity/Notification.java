@@ -24,8 +24,7 @@ import java.time.ZoneOffset;
 @Entity
 @Table(name = "notifications",
         indexes = {
-                @Index(name = "idx_notification_receiver", columnList = "receiver_type, receiver_id"),
-                @Index(name = "idx_notification_read", columnList = "is_read"),
+                @Index(name = "idx_notification_receiver_id", columnList = "receiver_type, receiver_id, id"),
                 @Index(name = "idx_notification_created", columnList = "created_at")
         })
 @Getter
@@ -0,0 +1,42 @@
+package com.delivery.SuAl.entity;
+
+import com.delivery.SuAl.model.enums.ReceiverType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Number of unread notifications of a receiver, kept in step with inserts, reads and deletes so the unread badge is
+ * a primary-key lookup instead of a count.
+ */
+@Entity
+@Table(name = "notification_unread_counters",
+        uniqueConstraints = @UniqueConstraint(name = "uq_notification_unread_counters",
+                columnNames = {"receiver_type", "receiver_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class NotificationUnreadCounter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "receiver_type", nullable = false, length = 50)
+    private ReceiverType receiverType;
+
+    @Column(name = "receiver_id", nullable = false)
+    private Long receiverId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+}
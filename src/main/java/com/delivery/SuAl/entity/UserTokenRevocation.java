@@ -0,0 +1,33 @@
+package com.delivery.SuAl.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Revocation watermark of a user: every token issued to the user at or before {@code revokedBefore} is rejected.
+ */
+@Entity
+@Table(name = "user_token_revocations",
+        indexes = @Index(name = "idx_user_token_revocations_updated", columnList = "updated_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserTokenRevocation {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_before", nullable = false)
+    private LocalDateTime revokedBefore;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
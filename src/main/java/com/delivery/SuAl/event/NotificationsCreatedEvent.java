@@ -3,8 +3,10 @@ package com.delivery.SuAl.event;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.List;
+
 @Getter
 @AllArgsConstructor
-public class NotificationCreatedEvent {
-    private final Long notificationId;
+public class NotificationsCreatedEvent {
+    private final List<Long> notificationIds;
 }
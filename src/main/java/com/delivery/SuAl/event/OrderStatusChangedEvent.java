@@ -0,0 +1,17 @@
+package com.delivery.SuAl.event;
+
+import com.delivery.SuAl.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+    private final Long orderId;
+    private final String orderNumber;
+    private final Long customerId;
+    private final Long operatorId;
+    private final Long driverId;
+    private final OrderStatus previousStatus;
+    private final OrderStatus status;
+}
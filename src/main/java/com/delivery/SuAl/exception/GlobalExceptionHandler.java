@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -175,6 +176,33 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(
+            RateLimitExceededException ex,
+            HttpServletRequest request
+    ) {
+        log.warn("Rate limit exceeded: {} at {} from IP: {}",
+                ex.getMessage(), request.getRequestURI(), request.getRemoteAddr());
+
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        ResponseEntity<ErrorResponse> error = buildError(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), request);
+        return ResponseEntity.status(error.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(error.getBody());
+    }
+
+
+    @ExceptionHandler(SmsDeliveryException.class)
+    public ResponseEntity<ErrorResponse> handleSmsDelivery(
+            SmsDeliveryException ex,
+            HttpServletRequest request
+    ) {
+        log.warn("SMS delivery unavailable: {} at {}", ex.getMessage(), request.getRequestURI());
+        return buildError(HttpStatus.SERVICE_UNAVAILABLE,
+                "SMS service is temporarily unavailable. Please try again later", request);
+    }
+
+
     @ExceptionHandler({
             PaymentCreationException.class,
             PaymentRefundException.class,
@@ -0,0 +1,18 @@
+package com.delivery.SuAl.exception;
+
+import lombok.Getter;
+
+@Getter
+public class SmsDeliveryException extends RuntimeException {
+    private final boolean retryable;
+
+    public SmsDeliveryException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+    public SmsDeliveryException(String message, boolean retryable, Throwable cause) {
+        super(message, cause);
+        this.retryable = retryable;
+    }
+}
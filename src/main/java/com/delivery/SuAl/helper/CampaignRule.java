@@ -0,0 +1,86 @@
+package com.delivery.SuAl.helper;
+
+import com.delivery.SuAl.entity.Campaign;
+import com.delivery.SuAl.entity.Product;
+import com.delivery.SuAl.model.enums.CampaignStatus;
+import com.delivery.SuAl.model.enums.CampaignType;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Value
+@Builder
+public class CampaignRule {
+    Long campaignId;
+    String campaignCode;
+    String name;
+    String description;
+    CampaignType campaignType;
+    CampaignStatus campaignStatus;
+
+    Long buyProductId;
+    String buyProductName;
+    Integer buyQuantity;
+
+    Long freeProductId;
+    String freeProductName;
+    Integer freeQuantity;
+    BigDecimal freeProductDepositAmount;
+
+    boolean firstOrderOnly;
+    boolean requiresPromoAbsence;
+    Integer minDaysSinceRegistration;
+    Integer maxUsesPerCustomer;
+    Integer maxTotalUses;
+    @With
+    int currentTotalUses;
+
+    LocalDate validFrom;
+    LocalDate validTo;
+
+    public static CampaignRule from(Campaign campaign) {
+        Product buyProduct = campaign.getBuyProduct();
+        Product freeProduct = campaign.getFreeProduct();
+
+        return CampaignRule.builder()
+                .campaignId(campaign.getId())
+                .campaignCode(campaign.getCampaignCode())
+                .name(campaign.getName())
+                .description(campaign.getDescription())
+                .campaignType(campaign.getCampaignType())
+                .campaignStatus(campaign.getCampaignStatus())
+                .buyProductId(buyProduct != null ? buyProduct.getId() : null)
+                .buyProductName(buyProduct != null ? buyProduct.getName() : null)
+                .buyQuantity(campaign.getBuyQuantity())
+                .freeProductId(freeProduct != null ? freeProduct.getId() : null)
+                .freeProductName(freeProduct != null ? freeProduct.getName() : null)
+                .freeQuantity(campaign.getFreeQuantity())
+                .freeProductDepositAmount(freeProduct != null ? freeProduct.getDepositAmount() : null)
+                .firstOrderOnly(campaign.isFirstOrderOnly())
+                .requiresPromoAbsence(Boolean.TRUE.equals(campaign.getRequiresPromoAbsence()))
+                .minDaysSinceRegistration(campaign.getMinDaysSinceRegistration())
+                .maxUsesPerCustomer(campaign.getMaxUsesPerCustomer())
+                .maxTotalUses(campaign.getMaxTotalUses())
+                .currentTotalUses(campaign.getCurrentTotalUses())
+                .validFrom(campaign.getValidFrom())
+                .validTo(campaign.getValidTo())
+                .build();
+    }
+
+    public boolean isActiveOn(LocalDate date) {
+        return campaignStatus == CampaignStatus.ACTIVE
+                && !date.isAfter(validTo)
+                && !date.isBefore(validFrom);
+    }
+
+    public boolean hasReachedTotalLimit() {
+        return maxTotalUses != null && currentTotalUses >= maxTotalUses;
+    }
+
+    public boolean freeProductHasDeposit() {
+        return freeProductDepositAmount != null && freeProductDepositAmount.compareTo(BigDecimal.ZERO) > 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.delivery.SuAl.helper;
+
+import com.delivery.SuAl.entity.Product;
+import com.delivery.SuAl.model.response.cart.CartCalculationResponse;
+import lombok.Value;
+
+import java.util.Map;
+
+@Value
+public class CartPricingResult {
+    CartCalculationResponse response;
+    Map<Long, Integer> productQuantities;
+    Map<Long, Product> products;
+    Map<Long, CatalogPrice> prices;
+    ContainerDepositSummary containerSummary;
+}
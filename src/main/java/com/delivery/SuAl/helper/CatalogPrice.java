@@ -0,0 +1,30 @@
+package com.delivery.SuAl.helper;
+
+import com.delivery.SuAl.entity.ProductPrice;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+public class CatalogPrice {
+    Long productId;
+    Long priceId;
+    BigDecimal buyPrice;
+    BigDecimal sellPrice;
+    BigDecimal discountPercent;
+    BigDecimal effectivePrice;
+
+    public static CatalogPrice from(Long productId, ProductPrice price) {
+        BigDecimal effectivePrice = price.getSellPrice() != null
+                ? price.getEffectiveSellPrice()
+                : BigDecimal.ZERO;
+        return new CatalogPrice(
+                productId,
+                price.getId(),
+                price.getBuyPrice(),
+                price.getSellPrice(),
+                price.getDiscountPercent(),
+                effectivePrice
+        );
+    }
+}
@@ -0,0 +1,72 @@
+package com.delivery.SuAl.helper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link LruCache} whose entries expire {@code ttl} after they were stored, with hit and miss counters under
+ * {@code name} and its size under {@code name.size}.
+ * <p>
+ * The TTL bounds how long a change made through another instance goes unseen. Changes made through this instance
+ * call {@link #evictAfterCommit}.
+ */
+public class ExpiringLruCache<K, V> {
+    private final LruCache<K, Entry<V>> entries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ExpiringLruCache(String name, int maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        this(name, maxSize, ttl, meterRegistry, System::nanoTime);
+    }
+
+    ExpiringLruCache(String name, int maxSize, Duration ttl, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.entries = new LruCache<>(maxSize);
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.hits = meterRegistry.counter(name, "result", "hit");
+        this.misses = meterRegistry.counter(name, "result", "miss");
+        meterRegistry.gauge(name + ".size", entries, LruCache::size);
+    }
+
+    /**
+     * Returns the value stored for the key, or {@code null} when there is none or it has expired.
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && nanoClock.getAsLong() - entry.storedAt() < ttlNanos) {
+            hits.increment();
+            return entry.value();
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(K key, V value) {
+        entries.put(key, new Entry<>(value, nanoClock.getAsLong()));
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Evicts the key now and again after the current transaction commits, so a concurrent reader cannot cache the
+     * value as it was before the change.
+     */
+    public void evictAfterCommit(K key) {
+        entries.remove(key);
+        AfterCommit.run(() -> entries.remove(key));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long storedAt) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.delivery.SuAl.helper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An AZN amount held as a whole number of qəpik (minor units, scale 2).
+ * <p>
+ * Every conversion from a {@link BigDecimal} rounds HALF_UP to two decimals, exactly like
+ * {@code setScale(2, RoundingMode.HALF_UP)}, and is done in {@code long} arithmetic. Values that do not fit fall
+ * back to {@link BigDecimal}, so results never differ from the equivalent {@code BigDecimal} chain.
+ */
+public final class Money implements Comparable<Money> {
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L,
+            100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L,
+            1_000_000_000_000_000_000L
+    };
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Rounds {@code amount} HALF_UP to two decimals. {@code null} is treated as zero.
+     */
+    public static Money of(BigDecimal amount) {
+        return amount == null ? ZERO : times(amount, 1);
+    }
+
+    /**
+     * {@code unitPrice * quantity}, rounded HALF_UP to two decimals. {@code null} is treated as zero.
+     */
+    public static Money times(BigDecimal unitPrice, long quantity) {
+        if (unitPrice == null || quantity == 0) {
+            return ZERO;
+        }
+        try {
+            long unscaled = Math.multiplyExact(unitPrice.unscaledValue().longValueExact(), quantity);
+            return ofMinor(toMinor(unscaled, unitPrice.scale()));
+        } catch (ArithmeticException e) {
+            return ofMinor(unitPrice.multiply(BigDecimal.valueOf(quantity))
+                    .setScale(SCALE, RoundingMode.HALF_UP)
+                    .unscaledValue()
+                    .longValueExact());
+        }
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    /**
+     * {@code this - amount}, rounded HALF_UP to two decimals after subtracting, so an amount with more than two
+     * decimals (e.g. a percentage discount) is not rounded on its own first.
+     */
+    public Money minus(BigDecimal amount) {
+        if (amount == null) {
+            return this;
+        }
+        int scale = Math.max(amount.scale(), SCALE);
+        try {
+            long self = Math.multiplyExact(minorUnits, pow10(scale - SCALE));
+            long other = Math.multiplyExact(amount.unscaledValue().longValueExact(), pow10(scale - amount.scale()));
+            return ofMinor(toMinor(Math.subtractExact(self, other), scale));
+        } catch (ArithmeticException e) {
+            return of(toBigDecimal().subtract(amount));
+        }
+    }
+
+    public Money times(long quantity) {
+        return ofMinor(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    /**
+     * {@code this * numerator / denominator}, rounded HALF_UP to two decimals.
+     */
+    public Money fraction(long numerator, long denominator) {
+        if (denominator <= 0) {
+            throw new IllegalArgumentException("Denominator must be positive");
+        }
+        try {
+            return ofMinor(divideHalfUp(Math.multiplyExact(minorUnits, numerator), denominator));
+        } catch (ArithmeticException e) {
+            return of(toBigDecimal().multiply(BigDecimal.valueOf(numerator))
+                    .divide(BigDecimal.valueOf(denominator), SCALE, RoundingMode.HALF_UP));
+        }
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * HALF_UP division of {@code dividend} by a positive {@code divisor}, i.e. ties are rounded away from zero.
+     */
+    public static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) >= divisor - Math.abs(remainder)) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+
+    private static long toMinor(long unscaled, int scale) {
+        if (scale <= SCALE) {
+            return Math.multiplyExact(unscaled, pow10(SCALE - scale));
+        }
+        return divideHalfUp(unscaled, pow10(scale - SCALE));
+    }
+
+    private static long pow10(int exponent) {
+        if (exponent >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("Scale out of range");
+        }
+        return POWERS_OF_TEN[exponent];
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && minorUnits == other.minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,32 @@
+package com.delivery.SuAl.helper;
+
+import java.math.BigDecimal;
+
+/**
+ * Mutable running total in minor units, for summing line amounts without an intermediate {@link Money} or
+ * {@link BigDecimal} per addition.
+ */
+public final class MoneyAccumulator {
+    private long minorUnits;
+
+    public MoneyAccumulator add(Money amount) {
+        minorUnits = Math.addExact(minorUnits, amount.getMinorUnits());
+        return this;
+    }
+
+    /**
+     * Adds {@code amount} rounded HALF_UP to two decimals; {@code null} adds nothing.
+     */
+    public MoneyAccumulator add(BigDecimal amount) {
+        return amount == null ? this : add(Money.of(amount));
+    }
+
+    public MoneyAccumulator subtract(Money amount) {
+        minorUnits = Math.subtractExact(minorUnits, amount.getMinorUnits());
+        return this;
+    }
+
+    public Money total() {
+        return Money.ofMinor(minorUnits);
+    }
+}
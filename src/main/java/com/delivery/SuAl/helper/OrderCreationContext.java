@@ -0,0 +1,38 @@
+package com.delivery.SuAl.helper;
+
+import com.delivery.SuAl.entity.Address;
+import com.delivery.SuAl.entity.Customer;
+import com.delivery.SuAl.entity.Operator;
+import com.delivery.SuAl.entity.Order;
+import com.delivery.SuAl.model.request.cart.CartItem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderCreationContext {
+    private Customer customer;
+    private Operator operator;
+    private Long addressId;
+    private LocalDate deliveryDate;
+    private List<CartItem> items;
+    private String promoCode;
+    private String notes;
+    private boolean notifyOperators;
+
+    private Address address;
+    private CartPricingResult pricing;
+    private Map<Long, Integer> reservedQuantities;
+    private StockHold stockHold;
+    private Order order;
+    private boolean promoApplied;
+    private CampaignApplicationResult campaignResult;
+}
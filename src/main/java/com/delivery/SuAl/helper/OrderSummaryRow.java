@@ -0,0 +1,45 @@
+package com.delivery.SuAl.helper;
+
+import com.delivery.SuAl.model.enums.OrderStatus;
+import com.delivery.SuAl.model.enums.PaymentMethod;
+import com.delivery.SuAl.model.enums.PaymentStatus;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the order listing projection, see {@code OrderRepository.ORDER_SUMMARY_SELECT}.
+ * The constructor argument order must match the select list.
+ */
+@Value
+public class OrderSummaryRow {
+    Long id;
+    String orderNumber;
+    OrderStatus orderStatus;
+    PaymentStatus paymentStatus;
+    PaymentMethod paymentMethod;
+    Long customerId;
+    String customerFirstName;
+    String customerLastName;
+    String phoneNumber;
+    Long operatorId;
+    String operatorFirstName;
+    String operatorLastName;
+    Long driverId;
+    String driverFirstName;
+    String driverLastName;
+    Long addressId;
+    String city;
+    String district;
+    String street;
+    String buildingNumber;
+    String apartmentNumber;
+    Integer totalItems;
+    BigDecimal amount;
+    BigDecimal totalAmount;
+    LocalDate deliveryDate;
+    String promoCode;
+    LocalDateTime createdAt;
+}
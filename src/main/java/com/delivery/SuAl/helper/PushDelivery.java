@@ -0,0 +1,19 @@
+package com.delivery.SuAl.helper;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * A notification claimed for pushing. {@code fcmTokens} is {@code null} to target every active token of the
+ * receiver, or holds the tokens that failed transiently on an earlier attempt.
+ */
+@Value
+public class PushDelivery {
+    Long notificationId;
+    Set<String> fcmTokens;
+
+    public PushDelivery narrowTo(Set<String> failedTokens) {
+        return new PushDelivery(notificationId, failedTokens != null ? Set.copyOf(failedTokens) : null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.delivery.SuAl.helper;
+
+import com.delivery.SuAl.model.enums.ReceiverType;
+import lombok.Value;
+
+/**
+ * Addressee of notifications and live events: a role and the id of the admin, customer, operator or driver row.
+ */
+@Value
+public class Receiver {
+    ReceiverType receiverType;
+    Long receiverId;
+}
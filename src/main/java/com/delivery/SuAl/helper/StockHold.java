@@ -0,0 +1,21 @@
+package com.delivery.SuAl.helper;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Quantities taken from the in-memory stock ledger, per warehouse stock row.
+ */
+@Value
+public class StockHold {
+    Map<StockKey, Integer> allocations;
+
+    public static StockHold empty() {
+        return new StockHold(Map.of());
+    }
+
+    public boolean isEmpty() {
+        return allocations.isEmpty();
+    }
+}
@@ -0,0 +1,18 @@
+package com.delivery.SuAl.helper;
+
+import lombok.Value;
+
+import java.util.Comparator;
+
+@Value
+public class StockKey {
+    /**
+     * The order in which stock rows are updated, so that transactions touching the same rows lock them in the same
+     * order.
+     */
+    public static final Comparator<StockKey> LOCK_ORDER =
+            Comparator.comparing(StockKey::getProductId).thenComparing(StockKey::getWarehouseId);
+
+    Long warehouseId;
+    Long productId;
+}
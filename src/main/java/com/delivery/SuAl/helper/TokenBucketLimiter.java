@@ -0,0 +1,59 @@
+package com.delivery.SuAl.helper;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per key: a key can take up to {@code capacity} permits in a burst and regains them evenly over
+ * {@code refillPeriod}. Buckets are kept for the {@code maxKeys} most recently used keys; an evicted key starts over
+ * with a full bucket.
+ * <p>
+ * Buckets live in this instance's memory, so with several instances each one enforces the limits on its own.
+ */
+public class TokenBucketLimiter {
+    private final int capacity;
+    private final long nanosPerPermit;
+    private final LruCache<String, Bucket> buckets;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketLimiter(int capacity, Duration refillPeriod, int maxKeys) {
+        this(capacity, refillPeriod, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int capacity, Duration refillPeriod, int maxKeys, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.nanosPerPermit = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.buckets = new LruCache<>(maxKeys);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes a permit for the key. Returns {@link Duration#ZERO} when granted, otherwise how long until the next permit.
+     */
+    public Duration tryAcquire(String key) {
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, nanoClock.getAsLong()));
+        synchronized (bucket) {
+            long now = nanoClock.getAsLong();
+            long refilled = (now - bucket.refilledAt) / nanosPerPermit;
+            if (refilled > 0) {
+                bucket.permits = (int) Math.min(capacity, bucket.permits + refilled);
+                bucket.refilledAt = bucket.permits == capacity ? now : bucket.refilledAt + refilled * nanosPerPermit;
+            }
+            if (bucket.permits > 0) {
+                bucket.permits--;
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos(bucket.refilledAt + nanosPerPermit - now);
+        }
+    }
+
+    private static final class Bucket {
+        private int permits;
+        private long refilledAt;
+
+        private Bucket(int permits, long refilledAt) {
+            this.permits = permits;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.delivery.SuAl.listener;
+
+import com.delivery.SuAl.entity.Notification;
+import com.delivery.SuAl.event.NotificationsCreatedEvent;
+import com.delivery.SuAl.event.OrderStatusChangedEvent;
+import com.delivery.SuAl.helper.Receiver;
+import com.delivery.SuAl.mapper.NotificationMapper;
+import com.delivery.SuAl.model.enums.ReceiverType;
+import com.delivery.SuAl.model.response.order.OrderStatusUpdateResponse;
+import com.delivery.SuAl.repository.NotificationRepository;
+import com.delivery.SuAl.service.LiveEventHub;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveEventListener {
+    private final LiveEventHub liveEventHub;
+    private final NotificationRepository notificationRepository;
+    private final NotificationMapper notificationMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleNotificationsCreated(NotificationsCreatedEvent event) {
+        if (!liveEventHub.hasReceivers()) {
+            return;
+        }
+        try {
+            for (Notification notification : notificationRepository.findAllById(event.getNotificationIds())) {
+                liveEventHub.publish(
+                        new Receiver(notification.getReceiverType(), notification.getReceiverId()),
+                        LiveEventHub.NOTIFICATION_EVENT,
+                        notificationMapper.toResponse(notification));
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to publish live events for {} notifications", event.getNotificationIds().size(), e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!liveEventHub.hasReceivers()) {
+            return;
+        }
+        OrderStatusUpdateResponse update = OrderStatusUpdateResponse.builder()
+                .orderId(event.getOrderId())
+                .orderNumber(event.getOrderNumber())
+                .previousStatus(event.getPreviousStatus())
+                .status(event.getStatus())
+                .build();
+
+        publishOrderUpdate(ReceiverType.CUSTOMER, event.getCustomerId(), update);
+        publishOrderUpdate(ReceiverType.OPERATOR, event.getOperatorId(), update);
+        publishOrderUpdate(ReceiverType.DRIVER, event.getDriverId(), update);
+    }
+
+    private void publishOrderUpdate(ReceiverType receiverType, Long receiverId, OrderStatusUpdateResponse update) {
+        if (receiverId != null) {
+            liveEventHub.publish(new Receiver(receiverType, receiverId), LiveEventHub.ORDER_STATUS_EVENT, update);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.delivery.SuAl.listener;
 
-import com.delivery.SuAl.event.NotificationCreatedEvent;
-import com.delivery.SuAl.service.PushNotificationService;
+import com.delivery.SuAl.event.NotificationsCreatedEvent;
+import com.delivery.SuAl.service.PushNotificationDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -12,11 +12,12 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationEventListener {
-    private final PushNotificationService  pushNotificationService;
+    private final PushNotificationDispatcher pushNotificationDispatcher;
 
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    public void handleNotificationCreated(NotificationCreatedEvent event) {
-        log.info("Transaction committed, sending push notification for ID: {}", event.getNotificationId());
-        pushNotificationService.sendPushNotification(event.getNotificationId());
+    public void handleNotificationsCreated(NotificationsCreatedEvent event) {
+        log.debug("Transaction committed, draining push outbox for {} notifications",
+                event.getNotificationIds().size());
+        pushNotificationDispatcher.requestDrain();
     }
 }
@@ -5,10 +5,12 @@ import com.delivery.SuAl.entity.Driver;
 import com.delivery.SuAl.entity.Operator;
 import com.delivery.SuAl.entity.Order;
 import com.delivery.SuAl.entity.OrderCampaignBonus;
+import com.delivery.SuAl.helper.OrderSummaryRow;
 import com.delivery.SuAl.model.request.order.CreateOrderByOperatorRequest;
 import com.delivery.SuAl.model.request.order.UpdateOrderRequest;
 import com.delivery.SuAl.model.response.order.OrderCampaignBonusResponse;
 import com.delivery.SuAl.model.response.order.OrderResponse;
+import com.delivery.SuAl.model.response.order.OrderSummaryResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -16,7 +18,9 @@ import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Mapper(componentModel = "spring", uses = {OrderDetailMapper.class, DateTimeMapper.class},
         nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
@@ -52,6 +56,18 @@ public interface OrderMapper {
     @Mapping(target = "updatedAt", qualifiedByName = "utcToBaku")
     OrderResponse toResponse(Order order);
 
+    @Mapping(target = "customerName",
+            expression = "java(getFullName(row.getCustomerFirstName(), row.getCustomerLastName()))")
+    @Mapping(target = "operatorName",
+            expression = "java(getFullName(row.getOperatorFirstName(), row.getOperatorLastName()))")
+    @Mapping(target = "driverName",
+            expression = "java(getFullName(row.getDriverFirstName(), row.getDriverLastName()))")
+    @Mapping(target = "addressLine", expression = "java(getAddressLine(row))")
+    @Mapping(target = "totalAmount", source = "amount")
+    @Mapping(target = "finalAmount", source = "totalAmount")
+    @Mapping(target = "createdAt", qualifiedByName = "utcToBaku")
+    OrderSummaryResponse toSummaryResponse(OrderSummaryRow row);
+
     @Mapping(target = "orderId", source = "order.id")
     @Mapping(target = "orderNumber", source = "order.orderNumber")
     @Mapping(target = "campaignCode", source = "campaign.campaignCode")
@@ -122,4 +138,17 @@ public interface OrderMapper {
         return fullName.isEmpty() ? null : fullName;
     }
 
-}
\ No newline at end of file
+    default String getFullName(String firstName, String lastName) {
+        String fullName = ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "")).trim();
+        return fullName.isEmpty() ? null : fullName;
+    }
+
+    default String getAddressLine(OrderSummaryRow row) {
+        if (row.getAddressId() == null) return null;
+        return Stream.of(row.getCity(), row.getDistrict(), row.getStreet(),
+                        row.getBuildingNumber(), row.getApartmentNumber())
+                .filter(Objects::nonNull)
+                .filter(part -> !part.isBlank())
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,7 @@
+package com.delivery.SuAl.model.enums;
+
+public enum PushOutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,8 @@
+package com.delivery.SuAl.model.enums;
+
+public enum SmsDeliveryStatus {
+    SENT,
+    FAILED,
+    EXPIRED,
+    REJECTED
+}
@@ -0,0 +1,15 @@
+package com.delivery.SuAl.model.request.notification;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class RedrivePushRequest {
+    /**
+     * Dead-lettered outbox entries to re-drive; empty or absent re-drives all of them.
+     */
+    @Size(max = 1000)
+    private List<Long> outboxIds;
+}
@@ -0,0 +1,16 @@
+package com.delivery.SuAl.model.request.order;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DispatchOrderItem {
+    @NotNull(message = "Order ID is required")
+    private Long orderId;
+
+    private Long driverId;
+}
@@ -0,0 +1,19 @@
+package com.delivery.SuAl.model.request.order;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DispatchOrdersRequest {
+    @NotEmpty(message = "At least one order is required")
+    @Size(max = 500, message = "Cannot dispatch more than 500 orders at once")
+    private List<@Valid DispatchOrderItem> orders;
+}
@@ -0,0 +1,24 @@
+package com.delivery.SuAl.model.response.notification;
+
+import com.delivery.SuAl.model.enums.PushOutboxStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PushOutboxResponse {
+    private Long id;
+    private Long notificationId;
+    private PushOutboxStatus status;
+    private Integer attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
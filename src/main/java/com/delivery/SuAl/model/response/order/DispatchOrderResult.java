@@ -0,0 +1,22 @@
+package com.delivery.SuAl.model.response.order;
+
+import com.delivery.SuAl.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DispatchOrderResult {
+    private Long orderId;
+    private String orderNumber;
+    private OrderStatus orderStatus;
+    private Long driverId;
+    private boolean approved;
+    private boolean driverAssigned;
+    private boolean rejected;
+    private String rejectionReason;
+}
@@ -0,0 +1,20 @@
+package com.delivery.SuAl.model.response.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DispatchOrdersResponse {
+    private int requestedCount;
+    private int approvedCount;
+    private int assignedCount;
+    private int rejectedCount;
+    private List<DispatchOrderResult> results;
+}
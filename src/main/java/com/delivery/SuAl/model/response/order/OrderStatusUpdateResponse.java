@@ -0,0 +1,18 @@
+package com.delivery.SuAl.model.response.order;
+
+import com.delivery.SuAl.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderStatusUpdateResponse {
+    private Long orderId;
+    private String orderNumber;
+    private OrderStatus previousStatus;
+    private OrderStatus status;
+}
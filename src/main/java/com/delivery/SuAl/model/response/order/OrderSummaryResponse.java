@@ -0,0 +1,40 @@
+package com.delivery.SuAl.model.response.order;
+
+import com.delivery.SuAl.model.enums.OrderStatus;
+import com.delivery.SuAl.model.enums.PaymentMethod;
+import com.delivery.SuAl.model.enums.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryResponse {
+    private Long id;
+    private String orderNumber;
+    private OrderStatus orderStatus;
+    private PaymentStatus paymentStatus;
+    private PaymentMethod paymentMethod;
+    private Long customerId;
+    private String customerName;
+    private String phoneNumber;
+    private Long operatorId;
+    private String operatorName;
+    private Long driverId;
+    private String driverName;
+    private Long addressId;
+    private String addressLine;
+    private Integer totalItems;
+    private BigDecimal totalAmount;
+    private BigDecimal finalAmount;
+    private LocalDate deliveryDate;
+    private String promoCode;
+    private LocalDateTime createdAt;
+}
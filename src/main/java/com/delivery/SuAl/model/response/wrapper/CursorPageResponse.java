@@ -0,0 +1,31 @@
+package com.delivery.SuAl.model.response.wrapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private Long nextCursor;
+    private boolean hasNext;
+
+    /**
+     * Builds a page from a query that fetched {@code size + 1} rows; the extra row only signals that another
+     * page exists and is dropped.
+     */
+    public static <T> CursorPageResponse<T> of(List<T> rows, int size, Function<T, Long> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        Long nextCursor = hasNext ? cursorOf.apply(content.getLast()) : null;
+        return new CursorPageResponse<>(content, size, nextCursor, hasNext);
+    }
+}
@@ -5,6 +5,7 @@ import com.delivery.SuAl.model.enums.CampaignStatus;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,6 +21,19 @@ public interface CampaignRepository extends JpaRepository<Campaign, Long> {
 
     List<Campaign> findByCampaignStatus(CampaignStatus status);
 
+    @Query("SELECT c FROM Campaign c " +
+            "LEFT JOIN FETCH c.buyProduct " +
+            "LEFT JOIN FETCH c.freeProduct " +
+            "WHERE c.campaignStatus = :status " +
+            "ORDER BY c.id")
+    List<Campaign> findByCampaignStatusWithProducts(@Param("status") CampaignStatus status);
+
+    @Query("SELECT c FROM Campaign c " +
+            "LEFT JOIN FETCH c.buyProduct " +
+            "LEFT JOIN FETCH c.freeProduct " +
+            "WHERE c.id = :id")
+    Optional<Campaign> findByIdWithProducts(@Param("id") Long id);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT c FROM Campaign c WHERE c.campaignCode = :campaignCode")
     Optional<Campaign> findByCampaignCodeWithLock(@Param("campaignCode") String campaignCode);
@@ -27,4 +41,12 @@ public interface CampaignRepository extends JpaRepository<Campaign, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT c FROM Campaign c WHERE c.id = :id")
     Optional<Campaign> findByIdWithLock(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Campaign c SET c.currentTotalUses = " +
+            "CASE WHEN c.currentTotalUses > :count THEN c.currentTotalUses - :count ELSE 0 END " +
+            "WHERE c.id = :id")
+    int decrementUses(@Param("id") Long id, @Param("count") int count);
+
+    long countByCampaignStatus(CampaignStatus campaignStatus);
 }
@@ -4,15 +4,32 @@ import com.delivery.SuAl.entity.CampaignUsage;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CampaignUsageRepository extends JpaRepository<CampaignUsage, Long> {
     int countByCustomerIdAndCampaignCampaignCode(Long customerId, String campaignCode);
 
+    @Query("SELECT cu.campaign.id, COUNT(cu) FROM CampaignUsage cu " +
+            "WHERE cu.customer.id = :customerId AND cu.campaign.id IN :campaignIds " +
+            "GROUP BY cu.campaign.id")
+    List<Object[]> countByCustomerIdAndCampaignIdInGrouped(
+            @Param("customerId") Long customerId,
+            @Param("campaignIds") Collection<Long> campaignIds);
+
     @Modifying
     @Query("DELETE FROM CampaignUsage cu WHERE cu.order.id = :orderId")
     int deleteByOrderId(Long orderId);
 
     List<CampaignUsage> findByOrderId(Long orderId);
+
+    @Query("SELECT cu.campaign.id, COUNT(cu) FROM CampaignUsage cu " +
+            "WHERE cu.order.id IN :orderIds GROUP BY cu.campaign.id")
+    List<Object[]> countByOrderIdInGroupedByCampaign(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM CampaignUsage cu WHERE cu.order.id IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
@@ -2,11 +2,13 @@ package com.delivery.SuAl.repository;
 
 import com.delivery.SuAl.entity.ContainerReservation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -36,11 +38,30 @@ public interface ContainerReservationRepository extends JpaRepository<ContainerR
             @Param("now") LocalDateTime now
     );
 
-    @Query("SELECT cr FROM ContainerReservation cr " +
+    @Query("SELECT cr.product.id, COALESCE(SUM(cr.quantityReserved), 0) " +
+            "FROM ContainerReservation cr " +
+            "WHERE cr.customer.id = :customerId " +
+            "AND cr.product.id IN :productIds " +
+            "AND cr.released = false " +
+            "AND (cr.expiresAt IS NULL OR cr.expiresAt > :now) " +
+            "GROUP BY cr.product.id")
+    List<Object[]> sumReservedQuantityGroupedByProduct(
+            @Param("customerId") Long customerId,
+            @Param("productIds") Collection<Long> productIds,
+            @Param("now") LocalDateTime now
+    );
+
+    void deleteByOrderId(Long orderId);
+
+    @Modifying
+    @Query("UPDATE ContainerReservation cr SET cr.released = true, cr.releasedAt = :now " +
+            "WHERE cr.order.id IN :orderIds AND cr.released = false")
+    int releaseByOrderIdIn(@Param("orderIds") Collection<Long> orderIds, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ContainerReservation cr SET cr.released = true, cr.releasedAt = :now " +
             "WHERE cr.released = false " +
             "AND cr.expiresAt IS NOT NULL " +
             "AND cr.expiresAt < :now")
-    List<ContainerReservation> findExpiredReservations(@Param("now") LocalDateTime now);
-
-    void deleteByOrderId(Long orderId);
+    int releaseExpired(@Param("now") LocalDateTime now);
 }
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,4 +31,10 @@ public interface CustomerContainerRepository extends JpaRepository<CustomerConta
             @Param("productId") Long productId
     );
 
+    @Query("SELECT cc FROM CustomerContainer cc WHERE cc.customer.id = :customerId AND cc.product.id IN :productIds")
+    List<CustomerContainer> findByCustomerIdAndProductIdIn(
+            @Param("customerId") Long customerId,
+            @Param("productIds") Collection<Long> productIds
+    );
+
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.delivery.SuAl.repository;
+
+import com.delivery.SuAl.entity.DeliveryDailyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DeliveryDailyStatRepository extends JpaRepository<DeliveryDailyStat, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO delivery_daily_stats (stat_date, driver_id, delivery_count, on_time_count, " +
+            "revenue, cost, bottles_delivered, bottles_collected, last_delivery_at) " +
+            "VALUES (:statDate, :driverId, :deliveries, :onTime, :revenue, :cost, :delivered, :collected, :deliveredAt) " +
+            "ON CONFLICT (stat_date, driver_id) DO UPDATE SET " +
+            "delivery_count = delivery_daily_stats.delivery_count + EXCLUDED.delivery_count, " +
+            "on_time_count = delivery_daily_stats.on_time_count + EXCLUDED.on_time_count, " +
+            "revenue = delivery_daily_stats.revenue + EXCLUDED.revenue, " +
+            "cost = delivery_daily_stats.cost + EXCLUDED.cost, " +
+            "bottles_delivered = delivery_daily_stats.bottles_delivered + EXCLUDED.bottles_delivered, " +
+            "bottles_collected = delivery_daily_stats.bottles_collected + EXCLUDED.bottles_collected, " +
+            "last_delivery_at = GREATEST(delivery_daily_stats.last_delivery_at, EXCLUDED.last_delivery_at)",
+            nativeQuery = true)
+    void add(@Param("statDate") LocalDate statDate,
+             @Param("driverId") Long driverId,
+             @Param("deliveries") long deliveries,
+             @Param("onTime") long onTime,
+             @Param("revenue") BigDecimal revenue,
+             @Param("cost") BigDecimal cost,
+             @Param("delivered") long bottlesDelivered,
+             @Param("collected") long bottlesCollected,
+             @Param("deliveredAt") LocalDateTime deliveredAt);
+
+    @Query("SELECT s.statDate, SUM(s.deliveryCount), SUM(s.revenue), SUM(s.cost) FROM DeliveryDailyStat s " +
+            "WHERE s.statDate BETWEEN :from AND :to " +
+            "GROUP BY s.statDate " +
+            "ORDER BY s.statDate")
+    List<Object[]> sumGroupedByDate(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(s.deliveryCount), 0), COALESCE(SUM(s.revenue), 0), " +
+            "COALESCE(SUM(s.bottlesDelivered), 0), COALESCE(SUM(s.bottlesCollected), 0) " +
+            "FROM DeliveryDailyStat s")
+    List<Object[]> sumAll();
+
+    @Query("SELECT COALESCE(SUM(s.deliveryCount), 0), " +
+            "COALESCE(SUM(CASE WHEN s.statDate = :today THEN s.deliveryCount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN s.statDate >= :weekStart THEN s.deliveryCount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN s.statDate >= :monthStart THEN s.deliveryCount ELSE 0 END), 0), " +
+            "COALESCE(SUM(s.revenue), 0), COALESCE(SUM(s.onTimeCount), 0), MAX(s.lastDeliveryAt) " +
+            "FROM DeliveryDailyStat s WHERE s.driverId = :driverId")
+    List<Object[]> summarizeDriver(@Param("driverId") Long driverId,
+                                   @Param("today") LocalDate today,
+                                   @Param("weekStart") LocalDate weekStart,
+                                   @Param("monthStart") LocalDate monthStart);
+
+    @Modifying
+    @Query(value = "DELETE FROM delivery_daily_stats", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO delivery_daily_stats (stat_date, driver_id, delivery_count, on_time_count, " +
+            "revenue, cost, bottles_delivered, bottles_collected, last_delivery_at) " +
+            "SELECT x.stat_date, COALESCE(o.driver_id, 0), COUNT(*), " +
+            "       SUM(CASE WHEN o.delivery_date IS NULL OR x.stat_date <= o.delivery_date THEN 1 ELSE 0 END), " +
+            "       COALESCE(SUM(o.amount), 0), COALESCE(SUM(d.cost), 0), COALESCE(SUM(d.bottles), 0), " +
+            "       SUM(o.empty_bottles_collected), MAX(o.completed_at) " +
+            "FROM orders o " +
+            "CROSS JOIN LATERAL (SELECT CAST(timezone(:zone, o.completed_at AT TIME ZONE 'UTC') AS DATE) AS stat_date) x " +
+            "LEFT JOIN (SELECT od.order_id, SUM(od.buy_price * od.count) AS cost, SUM(od.count) AS bottles " +
+            "           FROM order_details od GROUP BY od.order_id) d ON d.order_id = o.id " +
+            "WHERE o.order_status = 'COMPLETED' AND o.completed_at IS NOT NULL " +
+            "GROUP BY x.stat_date, COALESCE(o.driver_id, 0)",
+            nativeQuery = true)
+    int rebuildFromOrders(@Param("zone") String zone);
+}
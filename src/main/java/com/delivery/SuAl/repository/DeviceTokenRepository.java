@@ -3,8 +3,13 @@ package com.delivery.SuAl.repository;
 import com.delivery.SuAl.entity.DeviceToken;
 import com.delivery.SuAl.model.enums.ReceiverType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,4 +32,13 @@ public interface DeviceTokenRepository extends JpaRepository<DeviceToken, Long>
 
     List<DeviceToken> findAllByReceiverIdAndReceiverType(Long receiverId, ReceiverType receiverType);
 
-}
\ No newline at end of file
+    @Query("SELECT dt FROM DeviceToken dt " +
+            "WHERE dt.isActive = true AND dt.receiverType = :receiverType AND dt.receiverId IN :receiverIds")
+    List<DeviceToken> findActiveByReceivers(@Param("receiverType") ReceiverType receiverType,
+                                            @Param("receiverIds") Collection<Long> receiverIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE DeviceToken dt SET dt.isActive = false WHERE dt.fcmToken IN :fcmTokens AND dt.isActive = true")
+    int deactivateByFcmTokens(@Param("fcmTokens") Collection<String> fcmTokens);
+}
@@ -40,4 +40,6 @@ public interface DriverRepository extends JpaRepository<Driver, Long> {
 
     @Query("SELECT CASE WHEN COUNT(d) > 0 THEN true ELSE false END FROM Driver d JOIN d.user u WHERE u.phoneNumber = :phoneNumber")
     boolean existsByPhoneNumber(@Param("phoneNumber") String phoneNumber);
+
+    long countByDriverStatus(DriverStatus driverStatus);
 }
@@ -0,0 +1,9 @@
+package com.delivery.SuAl.repository;
+
+import com.delivery.SuAl.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
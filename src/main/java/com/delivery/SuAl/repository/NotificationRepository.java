@@ -9,36 +9,80 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByReceiverTypeAndReceiverIdOrderByCreatedAtDesc(
-            ReceiverType receiverType,
-            Long receiverId
-    );
-
-    List<Notification> findByReceiverTypeAndReceiverIdAndIsReadOrderByCreatedAtDesc(
+    Page<Notification> findByReceiverTypeAndReceiverId(
             ReceiverType receiverType,
             Long receiverId,
-            Boolean isRead
+            Pageable pageable
     );
 
-    Page<Notification> findByReceiverTypeAndReceiverId(
-            ReceiverType receiverType,
-            Long receiverId,
+    @Query("SELECT n FROM Notification n " +
+            "WHERE n.receiverType = :type AND n.receiverId = :id AND n.id < :beforeId " +
+            "ORDER BY n.id DESC")
+    List<Notification> findInboxBefore(
+            @Param("type") ReceiverType receiverType,
+            @Param("id") Long receiverId,
+            @Param("beforeId") Long beforeId,
             Pageable pageable
     );
 
-    Long countByReceiverTypeAndReceiverIdAndIsRead(
-            ReceiverType receiverType,
-            Long receiverId,
-            Boolean isRead
+    @Query("SELECT n FROM Notification n " +
+            "WHERE n.receiverType = :type AND n.receiverId = :id AND n.isRead = false AND n.id < :beforeId " +
+            "ORDER BY n.id DESC")
+    List<Notification> findUnreadInboxBefore(
+            @Param("type") ReceiverType receiverType,
+            @Param("id") Long receiverId,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable
     );
 
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.isRead = false")
+    int markAsReadIfUnread(@Param("id") Long id);
+
     @Modifying
     @Query("UPDATE Notification n SET n.isRead = true " +
             "WHERE n.receiverType = :type AND n.receiverId = :id AND n.isRead = false")
     int markAllAsReadBulk(@Param("type") ReceiverType receiverType, @Param("id") Long receiverId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.pushSent = true WHERE n.id IN :ids")
+    int markPushSent(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves up to {@code limit} of the oldest read notifications created before {@code cutoff} into
+     * {@code notifications_archive}, skipping rows with a pending push and rows locked by a concurrent run.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "WITH batch AS (" +
+            "    SELECT n.id FROM notifications n " +
+            "    WHERE n.is_read = TRUE AND n.created_at < :cutoff " +
+            "    AND NOT EXISTS (SELECT 1 FROM push_outbox p " +
+            "                    WHERE p.notification_id = n.id AND p.status = 'PENDING') " +
+            "    ORDER BY n.created_at, n.id " +
+            "    LIMIT :limit " +
+            "    FOR UPDATE SKIP LOCKED" +
+            "), moved AS (" +
+            "    DELETE FROM notifications n USING batch WHERE n.id = batch.id " +
+            "    RETURNING n.id, n.receiver_type, n.receiver_id, n.notification_type, n.title, n.message, " +
+            "              n.reference_id, n.push_sent, n.created_at" +
+            ") " +
+            "INSERT INTO notifications_archive (id, receiver_type, receiver_id, notification_type, title, message, " +
+            "                                   reference_id, push_sent, created_at, archived_at) " +
+            "SELECT id, receiver_type, receiver_id, notification_type, title, message, " +
+            "       reference_id, push_sent, created_at, :archivedAt " +
+            "FROM moved",
+            nativeQuery = true)
+    int archiveReadBefore(@Param("cutoff") LocalDateTime cutoff,
+                          @Param("archivedAt") LocalDateTime archivedAt,
+                          @Param("limit") int limit);
 }
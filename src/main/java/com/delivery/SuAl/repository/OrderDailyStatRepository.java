@@ -0,0 +1,59 @@
+package com.delivery.SuAl.repository;
+
+import com.delivery.SuAl.entity.OrderDailyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface OrderDailyStatRepository extends JpaRepository<OrderDailyStat, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO order_daily_stats (stat_date, order_status, order_count, total_amount) " +
+            "VALUES (:statDate, :status, :count, :amount) " +
+            "ON CONFLICT (stat_date, order_status) DO UPDATE SET " +
+            "order_count = order_daily_stats.order_count + EXCLUDED.order_count, " +
+            "total_amount = order_daily_stats.total_amount + EXCLUDED.total_amount",
+            nativeQuery = true)
+    void add(@Param("statDate") LocalDate statDate,
+             @Param("status") String status,
+             @Param("count") long count,
+             @Param("amount") BigDecimal amount);
+
+    @Query("SELECT s.orderStatus, SUM(s.orderCount), SUM(s.totalAmount) FROM OrderDailyStat s " +
+            "GROUP BY s.orderStatus")
+    List<Object[]> sumGroupedByStatus();
+
+    @Query("SELECT s.statDate, SUM(s.orderCount) FROM OrderDailyStat s " +
+            "WHERE s.statDate BETWEEN :from AND :to " +
+            "GROUP BY s.statDate")
+    List<Object[]> countGroupedByDate(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(s.orderCount), 0) FROM OrderDailyStat s WHERE s.statDate = :statDate")
+    Long countOnDate(@Param("statDate") LocalDate statDate);
+
+    @Modifying
+    @Query(value = "LOCK TABLE order_daily_stats, delivery_daily_stats, product_daily_stats IN EXCLUSIVE MODE",
+            nativeQuery = true)
+    void lockRollups();
+
+    @Modifying
+    @Query(value = "DELETE FROM order_daily_stats", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO order_daily_stats (stat_date, order_status, order_count, total_amount) " +
+            "SELECT CAST(timezone(:zone, o.created_at AT TIME ZONE 'UTC') AS DATE), o.order_status, " +
+            "       COUNT(*), COALESCE(SUM(o.amount), 0) " +
+            "FROM orders o " +
+            "WHERE o.order_status IS NOT NULL " +
+            "GROUP BY 1, 2",
+            nativeQuery = true)
+    int rebuildFromOrders(@Param("zone") String zone);
+}
@@ -1,23 +1,45 @@
 package com.delivery.SuAl.repository;
 
 import com.delivery.SuAl.entity.Order;
+import com.delivery.SuAl.helper.OrderSummaryRow;
 import com.delivery.SuAl.model.enums.OrderStatus;
 import com.delivery.SuAl.model.enums.StockReservationType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    String ORDER_SUMMARY_SELECT = "SELECT new com.delivery.SuAl.helper.OrderSummaryRow(" +
+            "o.id, o.orderNumber, o.orderStatus, o.paymentStatus, o.paymentMethod, " +
+            "c.id, c.firstName, c.lastName, u.phoneNumber, " +
+            "op.id, op.firstName, op.lastName, " +
+            "d.id, d.firstName, d.lastName, " +
+            "a.id, a.city, a.district, a.street, a.buildingNumber, a.apartmentNumber, " +
+            "o.totalItems, o.amount, o.totalAmount, o.deliveryDate, p.promoCode, o.createdAt) " +
+            "FROM Order o " +
+            "JOIN o.customer c " +
+            "LEFT JOIN c.user u " +
+            "LEFT JOIN o.operator op " +
+            "LEFT JOIN o.driver d " +
+            "LEFT JOIN o.address a " +
+            "LEFT JOIN o.promo p ";
+
+    String HAS_COMPANY_PRODUCT = "EXISTS (SELECT 1 FROM OrderDetail od " +
+            "WHERE od.order = o AND od.product.company.id = :companyId)";
 
     Page<Order> findByOrderStatus(OrderStatus orderStatus, Pageable pageable);
 
@@ -47,29 +69,138 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     int countByCustomerIdAndOrderStatus(Long customerId, OrderStatus orderStatus);
 
-    @Query("SELECT DISTINCT o FROM Order o " +
-            "JOIN o.orderDetails od " +
+    @Query("SELECT o FROM Order o " +
             "WHERE o.orderStatus = :status " +
-            "AND od.product.company.id = :companyId")
+            "AND " + HAS_COMPANY_PRODUCT)
     Page<Order> findByOrderStatusAndCompanyId(
             @Param("status") OrderStatus status,
             @Param("companyId") Long companyId,
             Pageable pageable
     );
 
-    @Query("SELECT DISTINCT o FROM Order o " +
-            "JOIN o.orderDetails od " +
-            "WHERE od.product.company.id = :companyId")
+    @Query("SELECT o FROM Order o WHERE " + HAS_COMPANY_PRODUCT)
     Page<Order> findByCompanyId(@Param("companyId") Long companyId, Pageable pageable);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT o FROM Order o " +
             "WHERE o.stockReservationType = :reservationType " +
             "AND o.orderStatus = :status " +
-            "AND o.stockReservationExpiresAt IS NOT NULL " +
-            "AND o.stockReservationExpiresAt < :now")
-    List<Order> findExpiredStockReservations(
+            "AND o.stockReservationExpiresAt < :now " +
+            "AND (o.stockReservationExpiresAt > :afterExpiresAt " +
+            "     OR (o.stockReservationExpiresAt = :afterExpiresAt AND o.id > :afterId)) " +
+            "ORDER BY o.stockReservationExpiresAt, o.id")
+    List<Order> findExpiredStockReservationsAfter(
             @Param("reservationType") StockReservationType reservationType,
             @Param("status") OrderStatus status,
+            @Param("now") LocalDateTime now,
+            @Param("afterExpiresAt") LocalDateTime afterExpiresAt,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = :newStatus, " +
+            "o.stockReservationType = :newReservationType, " +
+            "o.stockReservationExpiresAt = NULL, " +
+            "o.rejectionReason = :reason, " +
+            "o.updatedAt = :now " +
+            "WHERE o.id IN :orderIds")
+    int expireStockReservations(
+            @Param("orderIds") Collection<Long> orderIds,
+            @Param("newStatus") OrderStatus newStatus,
+            @Param("newReservationType") StockReservationType newReservationType,
+            @Param("reason") String reason,
             @Param("now") LocalDateTime now
     );
+
+    @Modifying
+    @Query("UPDATE Order o SET o.stockReservationType = :newReservationType, " +
+            "o.stockReservationExpiresAt = NULL, " +
+            "o.updatedAt = :now " +
+            "WHERE o.id IN :orderIds")
+    int clearStockReservations(
+            @Param("orderIds") Collection<Long> orderIds,
+            @Param("newReservationType") StockReservationType newReservationType,
+            @Param("now") LocalDateTime now
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o " +
+            "WHERE o.isPackageOrder = true " +
+            "AND o.orderStatus = :status " +
+            "AND o.stockReservationType = :reservationType " +
+            "AND o.deliveryDate BETWEEN :from AND :to " +
+            "ORDER BY o.id")
+    List<Order> findPackageDeliveriesDue(
+            @Param("status") OrderStatus status,
+            @Param("reservationType") StockReservationType reservationType,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id IN :orderIds ORDER BY o.id")
+    List<Order> findAllByIdInWithLock(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT DISTINCT o FROM Order o " +
+            "LEFT JOIN FETCH o.orderDetails od " +
+            "LEFT JOIN FETCH od.product p " +
+            "LEFT JOIN FETCH p.company " +
+            "WHERE o.id IN :orderIds")
+    List<Order> fetchOrderDetailsByIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT DISTINCT o FROM Order o " +
+            "LEFT JOIN FETCH o.campaignBonuses b " +
+            "LEFT JOIN FETCH b.product " +
+            "WHERE o.id IN :orderIds")
+    List<Order> fetchCampaignBonusesByIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query(ORDER_SUMMARY_SELECT +
+            "WHERE o.orderStatus = :status AND o.id > :afterId " +
+            "ORDER BY o.id")
+    List<OrderSummaryRow> findSummariesByStatusAfter(
+            @Param("status") OrderStatus status,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Query(ORDER_SUMMARY_SELECT +
+            "WHERE o.orderStatus = :status AND o.id > :afterId " +
+            "AND " + HAS_COMPANY_PRODUCT + " " +
+            "ORDER BY o.id")
+    List<OrderSummaryRow> findSummariesByStatusAndCompanyAfter(
+            @Param("status") OrderStatus status,
+            @Param("companyId") Long companyId,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Query(ORDER_SUMMARY_SELECT +
+            "WHERE o.id < :beforeId " +
+            "ORDER BY o.id DESC")
+    List<OrderSummaryRow> findSummariesBefore(@Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query(ORDER_SUMMARY_SELECT +
+            "WHERE o.id < :beforeId " +
+            "AND " + HAS_COMPANY_PRODUCT + " " +
+            "ORDER BY o.id DESC")
+    List<OrderSummaryRow> findSummariesByCompanyBefore(
+            @Param("companyId") Long companyId,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable
+    );
+
+    @Query(ORDER_SUMMARY_SELECT +
+            "WHERE c.id = :customerId AND o.id < :beforeId " +
+            "ORDER BY o.id DESC")
+    List<OrderSummaryRow> findSummariesByCustomerBefore(
+            @Param("customerId") Long customerId,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable
+    );
+
+    long countByOrderStatusAndDriverIsNotNull(OrderStatus orderStatus);
+
+    @Query("SELECT MIN(o.createdAt), MAX(o.createdAt) FROM Order o")
+    List<Object[]> findCreatedAtRange();
 }
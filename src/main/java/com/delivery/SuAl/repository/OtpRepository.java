@@ -15,6 +15,14 @@ public interface OtpRepository extends JpaRepository<OtpCode, Long> {
 
     void deleteByPhoneNumber(String phoneNumber);
 
+    @Modifying
+    @Query("UPDATE OtpCode o SET o.isUsed = true " +
+            "WHERE o.phoneNumber = :phoneNumber " +
+            "AND o.code = :code " +
+            "AND o.isUsed = false " +
+            "AND o.expiresAt > :now")
+    int markUsed(String phoneNumber, String code, LocalDateTime now);
+
     @Modifying
     @Query("DELETE FROM OtpCode o " +
             "WHERE o.expiresAt < :now")
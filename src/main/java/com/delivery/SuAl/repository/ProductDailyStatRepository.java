@@ -0,0 +1,50 @@
+package com.delivery.SuAl.repository;
+
+import com.delivery.SuAl.entity.ProductDailyStat;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProductDailyStatRepository extends JpaRepository<ProductDailyStat, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO product_daily_stats (stat_date, product_id, quantity_sold, revenue) " +
+            "VALUES (:statDate, :productId, :quantity, :revenue) " +
+            "ON CONFLICT (stat_date, product_id) DO UPDATE SET " +
+            "quantity_sold = product_daily_stats.quantity_sold + EXCLUDED.quantity_sold, " +
+            "revenue = product_daily_stats.revenue + EXCLUDED.revenue",
+            nativeQuery = true)
+    void add(@Param("statDate") LocalDate statDate,
+             @Param("productId") Long productId,
+             @Param("quantity") long quantity,
+             @Param("revenue") BigDecimal revenue);
+
+    @Query("SELECT s.productId, SUM(s.quantitySold), SUM(s.revenue) FROM ProductDailyStat s " +
+            "WHERE s.statDate BETWEEN :from AND :to " +
+            "GROUP BY s.productId " +
+            "ORDER BY SUM(s.quantitySold) DESC")
+    List<Object[]> findTopProducts(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    @Modifying
+    @Query(value = "DELETE FROM product_daily_stats", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO product_daily_stats (stat_date, product_id, quantity_sold, revenue) " +
+            "SELECT CAST(timezone(:zone, o.completed_at AT TIME ZONE 'UTC') AS DATE), od.product_id, " +
+            "       SUM(od.count), COALESCE(SUM(od.subtotal), 0) " +
+            "FROM order_details od " +
+            "JOIN orders o ON o.id = od.order_id " +
+            "WHERE o.order_status = 'COMPLETED' AND o.completed_at IS NOT NULL " +
+            "GROUP BY 1, 2",
+            nativeQuery = true)
+    int rebuildFromOrders(@Param("zone") String zone);
+}
@@ -29,4 +29,7 @@ public interface ProductPriceRepository extends JpaRepository<ProductPrice, Long
     @Query("SELECT p FROM ProductPrice p " +
             "WHERE p.product.id IN :productIds AND p.validTo IS NULL")
     List<ProductPrice> findActiveByProductIdIn(List<Long> productIds);
+
+    @Query("SELECT pp FROM ProductPrice pp WHERE pp.validTo IS NULL")
+    List<ProductPrice> findAllActive();
 }
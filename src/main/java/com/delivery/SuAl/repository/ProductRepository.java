@@ -4,6 +4,7 @@ import com.delivery.SuAl.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -52,4 +53,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             @Param("name") String name,
             @Param("sizeId") Long sizeId);
 
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.orderCount = p.orderCount + :delta WHERE p.id = :productId")
+    int incrementOrderCount(@Param("productId") Long productId, @Param("delta") long delta);
 }
@@ -5,6 +5,7 @@ import com.delivery.SuAl.model.enums.PromoStatus;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -38,4 +39,12 @@ public interface PromoRepository extends JpaRepository<Promo, Long> {
             @Param("promoStatus") PromoStatus promoStatus,
             @Param("date") LocalDate date
     );
+
+    @Modifying
+    @Query("UPDATE Promo p SET p.currentTotalUses = " +
+            "CASE WHEN p.currentTotalUses > :count THEN p.currentTotalUses - :count ELSE 0 END " +
+            "WHERE p.id = :id")
+    int decrementUses(@Param("id") Long id, @Param("count") int count);
+
+    long countByPromoStatus(PromoStatus promoStatus);
 }
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface PromoUsageRepository extends JpaRepository<PromoUsage, Long> {
@@ -18,4 +19,12 @@ public interface PromoUsageRepository extends JpaRepository<PromoUsage, Long> {
     @Modifying
     @Query("DELETE FROM PromoUsage pu WHERE pu.order.id = :orderId")
     int deleteByOrderId(@Param("orderId") Long orderId);
+
+    @Query("SELECT pu.promo.id, COUNT(pu) FROM PromoUsage pu " +
+            "WHERE pu.order.id IN :orderIds GROUP BY pu.promo.id")
+    List<Object[]> countByOrderIdInGroupedByPromo(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM PromoUsage pu WHERE pu.order.id IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
\ No newline at end of file
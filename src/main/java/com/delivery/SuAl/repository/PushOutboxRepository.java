@@ -0,0 +1,54 @@
+package com.delivery.SuAl.repository;
+
+import com.delivery.SuAl.entity.PushOutbox;
+import com.delivery.SuAl.model.enums.PushOutboxStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PushOutboxRepository extends JpaRepository<PushOutbox, Long> {
+
+    @Query(value = "SELECT * FROM push_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<PushOutbox> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE PushOutbox p SET p.status = com.delivery.SuAl.model.enums.PushOutboxStatus.SENT, " +
+            "p.fcmTokens = NULL, p.lastError = NULL, p.updatedAt = :now " +
+            "WHERE p.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE PushOutbox p SET p.status = com.delivery.SuAl.model.enums.PushOutboxStatus.PENDING, " +
+            "p.attempts = 0, p.nextAttemptAt = :now, p.fcmTokens = NULL, p.updatedAt = :now " +
+            "WHERE p.status = 'DEAD'")
+    int redriveAllDead(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE PushOutbox p SET p.status = com.delivery.SuAl.model.enums.PushOutboxStatus.PENDING, " +
+            "p.attempts = 0, p.nextAttemptAt = :now, p.fcmTokens = NULL, p.updatedAt = :now " +
+            "WHERE p.status = 'DEAD' AND p.id IN :ids")
+    int redriveDead(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM PushOutbox p " +
+            "WHERE p.status = 'SENT' AND p.updatedAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    Page<PushOutbox> findByStatus(PushOutboxStatus status, Pageable pageable);
+
+    long countByStatus(PushOutboxStatus status);
+}
@@ -0,0 +1,34 @@
+package com.delivery.SuAl.repository;
+
+import com.delivery.SuAl.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    List<RevokedToken> findByRevokedAtGreaterThanEqual(LocalDateTime since);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO revoked_tokens (jti, user_id, expires_at, revoked_at)
+            VALUES (:jti, :userId, :expiresAt, :now)
+            ON CONFLICT (jti) DO NOTHING
+            """, nativeQuery = true)
+    void insertIfAbsent(@Param("jti") String jti,
+                        @Param("userId") Long userId,
+                        @Param("expiresAt") LocalDateTime expiresAt,
+                        @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
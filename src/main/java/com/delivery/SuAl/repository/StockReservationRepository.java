@@ -0,0 +1,46 @@
+package com.delivery.SuAl.repository;
+
+import com.delivery.SuAl.entity.StockReservation;
+import com.delivery.SuAl.model.enums.StockReservationType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+    @Query(value = "SELECT * FROM stock_reservations " +
+            "WHERE reconciled = false AND reservation_type = :type " +
+            "ORDER BY id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<StockReservation> claimUnreconciled(@Param("type") String type, @Param("limit") int limit);
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
+
+    @Query("SELECT r.orderId, r.warehouseId, r.productId, SUM(r.quantity) FROM StockReservation r " +
+            "WHERE r.orderId IN :orderIds AND r.reservationType = :type AND r.reconciled = false " +
+            "GROUP BY r.orderId, r.warehouseId, r.productId " +
+            "HAVING SUM(r.quantity) <> 0")
+    List<Object[]> sumOutstandingByOrdersGroupedByStock(@Param("orderIds") Collection<Long> orderIds,
+                                                        @Param("type") StockReservationType type);
+
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.reconciled = true WHERE r.id IN :ids")
+    int markReconciled(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.reconciled = true " +
+            "WHERE r.reservationType = :type AND r.reconciled = false " +
+            "AND r.orderId IN (" +
+            "   SELECT c.orderId FROM StockReservation c " +
+            "   WHERE c.reservationType = :type AND c.reconciled = false AND c.orderId IS NOT NULL " +
+            "   GROUP BY c.orderId HAVING SUM(c.quantity) = 0)")
+    int markClosedHoldsReconciled(@Param("type") StockReservationType type);
+}
@@ -0,0 +1,35 @@
+package com.delivery.SuAl.repository;
+
+import com.delivery.SuAl.entity.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, Long> {
+
+    List<UserTokenRevocation> findByRevokedBeforeAfter(LocalDateTime since);
+
+    List<UserTokenRevocation> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_token_revocations (user_id, revoked_before, updated_at)
+            VALUES (:userId, :revokedBefore, :now)
+            ON CONFLICT (user_id) DO UPDATE
+            SET revoked_before = GREATEST(user_token_revocations.revoked_before, EXCLUDED.revoked_before),
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void upsert(@Param("userId") Long userId,
+                @Param("revokedBefore") LocalDateTime revokedBefore,
+                @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM UserTokenRevocation r WHERE r.revokedBefore < :cutoff")
+    int deleteRevokedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -6,10 +6,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +31,50 @@ public interface WarehouseStockRepository extends JpaRepository<WarehouseStock,
     @Query("SELECT ws FROM WarehouseStock ws WHERE ws.product.id IN :productIds")
     List<WarehouseStock> findByProductIdsWithLock(@Param("productIds") List<Long> productIds);
 
+    @Query("SELECT ws.warehouse.id, ws.product.id, ws.fullCount FROM WarehouseStock ws")
+    List<Object[]> findFullCounts();
+
+    @Query(value = "SELECT warehouse_id, product_id, full_count - reserved_count FROM warehouse_stocks",
+            nativeQuery = true)
+    List<Object[]> findAvailability();
+
+    @Query(value = "SELECT warehouse_id, product_id, full_count - reserved_count FROM warehouse_stocks " +
+            "WHERE product_id IN :productIds",
+            nativeQuery = true)
+    List<Object[]> findAvailabilityByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Reserves the quantity if the stock row has that much available, returning the number of rows updated (0 or 1).
+     */
+    @Modifying
+    @Query(value = "UPDATE warehouse_stocks SET reserved_count = reserved_count + :quantity " +
+            "WHERE warehouse_id = :warehouseId AND product_id = :productId " +
+            "AND full_count - reserved_count >= :quantity",
+            nativeQuery = true)
+    int tryReserve(@Param("warehouseId") Long warehouseId,
+                   @Param("productId") Long productId,
+                   @Param("quantity") int quantity);
+
+    @Modifying
+    @Query(value = "UPDATE warehouse_stocks SET reserved_count = reserved_count - :quantity " +
+            "WHERE warehouse_id = :warehouseId AND product_id = :productId",
+            nativeQuery = true)
+    int releaseReserved(@Param("warehouseId") Long warehouseId,
+                        @Param("productId") Long productId,
+                        @Param("quantity") int quantity);
+
+    /**
+     * Takes reconciled hard reservations out of both the full and the reserved count, leaving availability unchanged.
+     */
+    @Modifying
+    @Query(value = "UPDATE warehouse_stocks SET full_count = full_count - :quantity, " +
+            "reserved_count = reserved_count - :quantity " +
+            "WHERE warehouse_id = :warehouseId AND product_id = :productId",
+            nativeQuery = true)
+    int consumeReserved(@Param("warehouseId") Long warehouseId,
+                        @Param("productId") Long productId,
+                        @Param("quantity") int quantity);
+
     @Query("SELECT COALESCE(SUM(ws.fullCount + ws.emptyCount + ws.damagedCount), 0) " +
             "FROM WarehouseStock ws WHERE ws.warehouse.id = :warehouseId")
     Long getTotalInventoryByWarehouse(@Param("warehouseId") Long warehouseId);
@@ -52,4 +98,10 @@ public interface WarehouseStockRepository extends JpaRepository<WarehouseStock,
             "AND ws.fullCount = 0")
     List<WarehouseStock> findOutOfStockProductsByWarehouseId(@Param("warehouseId") Long warehouseId);
 
+    @Query("SELECT COUNT(DISTINCT ws.product.id), COALESCE(SUM(ws.fullCount), 0), " +
+            "COALESCE(SUM(ws.emptyCount), 0), COALESCE(SUM(ws.damagedCount), 0), " +
+            "COALESCE(SUM(CASE WHEN ws.fullCount > 0 AND ws.fullCount <= ws.minimumStockAlert THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN ws.fullCount = 0 THEN 1 ELSE 0 END), 0) " +
+            "FROM WarehouseStock ws")
+    List<Object[]> summarizeStock();
 }
@@ -0,0 +1,13 @@
+package com.delivery.SuAl.security;
+
+import com.delivery.SuAl.entity.User;
+import lombok.Value;
+
+/**
+ * The user a request is authenticated as, with the operator details for operators and {@code null} otherwise.
+ */
+@Value
+public class AuthenticatedPrincipal {
+    User user;
+    OperatorInfo operator;
+}
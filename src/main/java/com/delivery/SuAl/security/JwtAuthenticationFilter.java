@@ -1,8 +1,6 @@
 package com.delivery.SuAl.security;
 
 import com.delivery.SuAl.entity.User;
-import com.delivery.SuAl.model.enums.UserRole;
-import com.delivery.SuAl.repository.OperatorRepository;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -22,13 +20,20 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests from their bearer token. The token is verified once and kept as a request attribute under
+ * {@link VerifiedToken#REQUEST_ATTRIBUTE}; the principal comes from the {@link PrincipalCache} by the user id claim,
+ * so a steady stream of requests causes no database access. Tokens issued before the id claim existed still look the
+ * user up by username until they expire. Revoked tokens are rejected by the in-memory {@link TokenBlacklistService}.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
-    private final OperatorRepository operatorRepository;
+    private final PrincipalCache principalCache;
+    private final TokenBlacklistService tokenBlacklistService;
 
     @Override
     protected void doFilterInternal(
@@ -56,26 +61,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            username = jwtService.extractUsername(jwt);
+            VerifiedToken token = jwtService.verify(jwt);
+            request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, token);
+            username = token.getSubject();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                AuthenticatedPrincipal principal = resolvePrincipal(token, username);
+
+                if (principal != null && jwtService.isIssuedFor(token, principal)) {
+                    User user = principal.getUser();
+                    if (tokenBlacklistService.isRevoked(user.getId(), token)) {
+                        log.warn("Revoked JWT presented for user {}", user.getId());
+                        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                        response.setContentType("application/json");
+                        response.getWriter().write("{\"error\":\"Token revoked\",\"message\":\"Please login again\"}");
+                        return;
+                    }
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            user,
                             null,
-                            userDetails.getAuthorities()
+                            user.getAuthorities()
                     );
                     authToken.setDetails(
                             new WebAuthenticationDetailsSource().buildDetails(request)
                     );
                     SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                    if (userDetails instanceof User user) {
-                        if (user.getRole() == UserRole.OPERATOR) {
-                            setOperatorContext(user);
-                        }
+                    if (principal.getOperator() != null) {
+                        OperatorContext.setCurrentOperator(principal.getOperator());
                     }
                 }
             }
@@ -101,28 +114,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
-    private void setOperatorContext(User user) {
-        try {
-            operatorRepository.findByUserEmail(user.getEmail())
-                    .ifPresent(operator -> {
-                        OperatorInfo operatorInfo = OperatorInfo.builder()
-                                .operatorId(operator.getId())
-                                .companyId(operator.getCompany() != null ? operator.getCompany().getId() : null)
-                                .operatorType(operator.getOperatorType())
-                                .email(user.getEmail())
-                                .firstName(operator.getFirstName())
-                                .lastName(operator.getLastName())
-                                .build();
-
-                        OperatorContext.setCurrentOperator(operatorInfo);
-
-                        log.debug("Operator context established: {} (Type: {}, Company: {})",
-                                operatorInfo.getEmail(),
-                                operatorInfo.getOperatorType(),
-                                operatorInfo.getCompanyId());
-                    });
-        } catch (Exception ex) {
-            log.error("Failed to set operator context for user: {}", user.getEmail(), ex);
+    private AuthenticatedPrincipal resolvePrincipal(VerifiedToken token, String username) {
+        Long userId = token.getUserId();
+        if (userId == null) {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (!(userDetails instanceof User user)) {
+                return null;
+            }
+            userId = user.getId();
         }
+        return principalCache.get(userId).orElse(null);
     }
-}
\ No newline at end of file
+}
@@ -1,32 +1,99 @@
 package com.delivery.SuAl.security;
 
+import com.delivery.SuAl.entity.User;
+import com.delivery.SuAl.helper.LruCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies JWTs. The signing key and parsers are built once.
+ * <p>
+ * {@link #verify} keeps recently verified tokens in a bounded LRU keyed by the SHA-256 of the token, so a client that
+ * sends the same token on every call is verified once per token rather than once per request. Cached entries are
+ * only returned before the token's expiry. Revocation is checked separately on every request by
+ * {@link TokenBlacklistService}, which compares the millisecond issue time carried in {@code iat_ms} because the
+ * standard {@code iat} claim only has second precision.
+ */
 @Service
 public class JwtService {
-    @Value("${jwt.secret}")
-    private String secretKey;
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String OPERATOR_ID_CLAIM = "operatorId";
+    static final String COMPANY_ID_CLAIM = "companyId";
+    static final String OPERATOR_TYPE_CLAIM = "operatorType";
+    static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final JwtParser expiryIgnoringParser;
+    private final long jwtExpiration;
+    private final long refreshExpiration;
+
+    private final LruCache<String, VerifiedToken> verifiedTokens;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Timer verification;
+
+    public JwtService(@Value("${jwt.secret}") String secretKey,
+                      @Value("${jwt.expiration}") long jwtExpiration,
+                      @Value("${jwt.refresh-token.expiration}") long refreshExpiration,
+                      @Value("${security.verified-token-cache.size:10000}") int cacheSize,
+                      MeterRegistry meterRegistry) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expiryIgnoringParser = Jwts.parser().verifyWith(signingKey).clockSkewSeconds(Long.MAX_VALUE / 1000).build();
+        this.jwtExpiration = jwtExpiration;
+        this.refreshExpiration = refreshExpiration;
+
+        this.verifiedTokens = new LruCache<>(cacheSize);
+        this.cacheHits = meterRegistry.counter("security.verified-token-cache", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("security.verified-token-cache", "result", "miss");
+        this.verification = meterRegistry.timer("security.jwt.verification");
+        meterRegistry.gauge("security.verified-token-cache.size", verifiedTokens, LruCache::size);
+    }
 
-    @Value(("${jwt.expiration}"))
-    private long jwtExpiration;
+    /**
+     * Verifies the signature and expiry of a token, parsing it at most once while it stays in the cache.
+     */
+    public VerifiedToken verify(String token) {
+        String key = digest(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null && cached.getExpiration() != null && cached.getExpiration().after(new Date())) {
+            cacheHits.increment();
+            return cached;
+        }
 
-    @Value("${jwt.refresh-token.expiration}")
-    private long refreshExpiration;
+        cacheMisses.increment();
+        VerifiedToken verified = verification.record(() -> new VerifiedToken(extractAllClaims(token)));
+        if (verified.getExpiration() != null) {
+            verifiedTokens.put(key, verified);
+        }
+        return verified;
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     public String extractUsernameIgnoreExpiry(String token) {
@@ -34,11 +101,11 @@ public class JwtService {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        return claimsResolver.apply(extractAllClaims(token));
+        return claimsResolver.apply(verify(token).getClaims());
     }
 
     public <T> T extractClaimIgnoreExpiry(String token, Function<Claims, T> claimsResolver) {
-        return claimsResolver.apply(extractAllClaims(token, true));
+        return claimsResolver.apply(expiryIgnoringParser.parseSignedClaims(token).getPayload());
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -49,52 +116,71 @@ public class JwtService {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
 
+    /**
+     * Issues an access token carrying the user id and role, and for operators their operator id, company and type, so
+     * that requests can be authenticated from the token and the {@link PrincipalCache}.
+     */
+    public String generateToken(User user, OperatorInfo operator) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        if (operator != null) {
+            claims.put(OPERATOR_ID_CLAIM, operator.getOperatorId());
+            claims.put(COMPANY_ID_CLAIM, operator.getCompanyId());
+            claims.put(OPERATOR_TYPE_CLAIM, operator.getOperatorType().name());
+        }
+        return generateToken(claims, user);
+    }
+
+    /**
+     * Whether the token was issued for the principal as it is now: same subject and, where the token carries them,
+     * same role, operator, company and operator type. A token issued before one of these changed is rejected.
+     */
+    public boolean isIssuedFor(VerifiedToken token, AuthenticatedPrincipal principal) {
+        User user = principal.getUser();
+        if (!user.getUsername().equals(token.getSubject())) {
+            return false;
+        }
+        if (token.has(ROLE_CLAIM) && !user.getRole().name().equals(token.getString(ROLE_CLAIM))) {
+            return false;
+        }
+        if (!token.has(OPERATOR_ID_CLAIM)) {
+            return true;
+        }
+        OperatorInfo operator = principal.getOperator();
+        return operator != null
+                && Objects.equals(operator.getOperatorId(), token.getLong(OPERATOR_ID_CLAIM))
+                && Objects.equals(operator.getCompanyId(), token.getLong(COMPANY_ID_CLAIM))
+                && operator.getOperatorType().name().equals(token.getString(OPERATOR_TYPE_CLAIM));
+    }
+
     public String generateRefreshToken(UserDetails userDetails) {
         return buildToken(new HashMap<>(), userDetails, refreshExpiration);
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .claims(extraClaims)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(signingKey)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
     private Claims extractAllClaims(String token) {
-        return extractAllClaims(token, false);
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    private Claims extractAllClaims(String token, boolean ignoreExpiry) {
-        var parserBuilder = Jwts.parser().verifyWith(getSignInKey());
-
-        if (ignoreExpiry) {
-            parserBuilder.clockSkewSeconds(Long.MAX_VALUE / 1000);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 algorithm not available", ex);
         }
-
-        return parserBuilder
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package com.delivery.SuAl.security;
+
+import com.delivery.SuAl.entity.User;
+import com.delivery.SuAl.helper.ExpiringLruCache;
+import com.delivery.SuAl.model.enums.UserRole;
+import com.delivery.SuAl.repository.OperatorRepository;
+import com.delivery.SuAl.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Authenticated principals by user id, so that a request with a valid token needs no database access.
+ * <p>
+ * A miss loads the user and, for operators, the operator row. Services that update or delete users, operators,
+ * drivers, customers or admins evict the user once the change commits; entries also expire after
+ * {@code security.principal-cache.ttl}, which bounds how long a change made through another instance goes unseen.
+ */
+@Component
+public class PrincipalCache {
+    private final UserRepository userRepository;
+    private final OperatorRepository operatorRepository;
+    private final ExpiringLruCache<Long, AuthenticatedPrincipal> cache;
+
+    public PrincipalCache(UserRepository userRepository,
+                          OperatorRepository operatorRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${security.principal-cache.size:10000}") int cacheSize,
+                          @Value("${security.principal-cache.ttl:PT1M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.operatorRepository = operatorRepository;
+        this.cache = new ExpiringLruCache<>("security.principal-cache", cacheSize, ttl, meterRegistry);
+    }
+
+    public Optional<AuthenticatedPrincipal> get(Long userId) {
+        AuthenticatedPrincipal cached = cache.get(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<AuthenticatedPrincipal> loaded = userRepository.findById(userId).map(this::load);
+        loaded.ifPresentOrElse(principal -> cache.put(userId, principal), () -> cache.remove(userId));
+        return loaded;
+    }
+
+    /**
+     * See {@link ExpiringLruCache#evictAfterCommit}.
+     */
+    public void evictAfterCommit(Long userId) {
+        if (userId != null) {
+            cache.evictAfterCommit(userId);
+        }
+    }
+
+    private AuthenticatedPrincipal load(User user) {
+        if (user.getRole() != UserRole.OPERATOR) {
+            return new AuthenticatedPrincipal(user, null);
+        }
+        OperatorInfo operator = operatorRepository.findByUserId(user.getId())
+                .map(entity -> OperatorInfo.builder()
+                        .operatorId(entity.getId())
+                        .companyId(entity.getCompany() != null ? entity.getCompany().getId() : null)
+                        .operatorType(entity.getOperatorType())
+                        .email(user.getEmail())
+                        .firstName(entity.getFirstName())
+                        .lastName(entity.getLastName())
+                        .build())
+                .orElse(null);
+        return new AuthenticatedPrincipal(user, operator);
+    }
+}
@@ -1,11 +1,167 @@
 package com.delivery.SuAl.security;
 
-import lombok.RequiredArgsConstructor;
+import com.delivery.SuAl.entity.RevokedToken;
+import com.delivery.SuAl.entity.UserTokenRevocation;
+import com.delivery.SuAl.helper.AfterCommit;
+import com.delivery.SuAl.helper.BloomFilter;
+import com.delivery.SuAl.repository.RevokedTokenRepository;
+import com.delivery.SuAl.repository.UserTokenRevocationRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked tokens, checked on every request without touching the database.
+ * <p>
+ * Two kinds of revocation are kept in memory: a per-user watermark that rejects every token issued to the user at or
+ * before it (password change, user deletion), and single tokens by JWT id (logout). Revoked ids sit behind a Bloom
+ * filter, so the common case of a token that was never revoked is answered without a map lookup.
+ * <p>
+ * Both are persisted and loaded when the context starts; revocations written by other instances are picked up every
+ * {@code security.revocation.refresh-interval}. Watermarks and ids are forgotten once every token they could match has
+ * expired. Watermarks and token issue times are compared in milliseconds, so a token issued right after a password
+ * change is accepted; only tokens without the {@code iat_ms} claim fall back to second precision and are rejected
+ * when issued in the same second as the watermark.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class TokenBlacklistService {
+public class TokenBlacklistService implements SmartInitializingSingleton {
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    private final UserTokenRevocationRepository userTokenRevocationRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Duration maxTokenLifetime;
+    private final Duration refreshInterval;
+    private final int expectedRevokedTokens;
+
+    private final Map<Long, Long> revokedBeforeByUser = new ConcurrentHashMap<>();
+    private final Map<String, Long> revokedTokenExpiries = new ConcurrentHashMap<>();
+    private volatile BloomFilter revokedTokenFilter;
+    private volatile LocalDateTime lastRefreshAt;
+
+    public TokenBlacklistService(UserTokenRevocationRepository userTokenRevocationRepository,
+                                 RevokedTokenRepository revokedTokenRepository,
+                                 @Value("${jwt.refresh-token.expiration}") long refreshExpirationMillis,
+                                 @Value("${security.revocation.refresh-interval:PT30S}") Duration refreshInterval,
+                                 @Value("${security.revocation.expected-revoked-tokens:100000}") int expectedRevokedTokens) {
+        this.userTokenRevocationRepository = userTokenRevocationRepository;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.maxTokenLifetime = Duration.ofMillis(refreshExpirationMillis);
+        this.refreshInterval = refreshInterval;
+        this.expectedRevokedTokens = expectedRevokedTokens;
+        this.revokedTokenFilter = new BloomFilter(expectedRevokedTokens, BLOOM_FALSE_POSITIVE_RATE);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        userTokenRevocationRepository.findByRevokedBeforeAfter(now.minus(maxTokenLifetime))
+                .forEach(this::apply);
+        revokedTokenRepository.findByExpiresAtAfter(now)
+                .forEach(this::apply);
+        lastRefreshAt = now;
+        log.info("Loaded {} user token watermarks and {} revoked tokens",
+                revokedBeforeByUser.size(), revokedTokenExpiries.size());
+    }
+
+    /**
+     * Whether the token, issued to {@code userId}, has been revoked.
+     */
+    public boolean isRevoked(Long userId, VerifiedToken token) {
+        Long issuedAt = token.getIssuedAtMillis();
+        if (userId != null && issuedAt != null) {
+            Long revokedBefore = revokedBeforeByUser.get(userId);
+            if (revokedBefore != null && issuedAt <= revokedBefore) {
+                return true;
+            }
+        }
+        String jti = token.getId();
+        return jti != null && revokedTokenFilter.mightContain(jti) && revokedTokenExpiries.containsKey(jti);
+    }
+
+    /**
+     * Revokes every token issued to the user up to now. Takes effect on this instance when the current transaction
+     * commits.
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+        userTokenRevocationRepository.upsert(userId, now, now);
+        long revokedBefore = toEpochMilli(now);
+        AfterCommit.run(() -> revokedBeforeByUser.merge(userId, revokedBefore, Math::max));
+        log.info("Revoked all tokens of user {}", userId);
+    }
+
+    /**
+     * Revokes a single token until its expiry. Takes effect on this instance when the current transaction commits.
+     */
+    @Transactional
+    public void revokeToken(String jti, Long userId, Date expiresAt) {
+        if (expiresAt.before(new Date())) {
+            return;
+        }
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneOffset.UTC);
+        revokedTokenRepository.insertIfAbsent(jti, userId, expiry, LocalDateTime.now(ZoneOffset.UTC));
+        AfterCommit.run(() -> addRevokedToken(jti, expiresAt.getTime()));
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-interval:PT30S}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        LocalDateTime since = lastRefreshAt.minus(refreshInterval);
+        userTokenRevocationRepository.findByUpdatedAtGreaterThanEqual(since).forEach(this::apply);
+        revokedTokenRepository.findByRevokedAtGreaterThanEqual(since).forEach(this::apply);
+        lastRefreshAt = now;
+    }
+
+    @Scheduled(cron = "0 15 * * * *")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        long nowMillis = toEpochMilli(now);
+        long watermarkCutoff = toEpochMilli(now.minus(maxTokenLifetime));
+
+        revokedBeforeByUser.values().removeIf(revokedBefore -> revokedBefore < watermarkCutoff);
+        revokedTokenExpiries.values().removeIf(expiresAt -> expiresAt < nowMillis);
+
+        BloomFilter filter = new BloomFilter(
+                Math.max(expectedRevokedTokens, revokedTokenExpiries.size() * 2), BLOOM_FALSE_POSITIVE_RATE);
+        revokedTokenExpiries.keySet().forEach(filter::add);
+        revokedTokenFilter = filter;
+        // ids revoked while the filter was rebuilt
+        revokedTokenExpiries.keySet().forEach(filter::add);
+
+        int watermarks = userTokenRevocationRepository.deleteRevokedBefore(now.minus(maxTokenLifetime));
+        int tokens = revokedTokenRepository.deleteExpired(now);
+        log.info("Purged {} expired user token watermarks and {} expired revoked tokens", watermarks, tokens);
+    }
+
+    private void apply(UserTokenRevocation revocation) {
+        revokedBeforeByUser.merge(revocation.getUserId(),
+                toEpochMilli(revocation.getRevokedBefore()), Math::max);
+    }
+
+    private void apply(RevokedToken token) {
+        addRevokedToken(token.getJti(), toEpochMilli(token.getExpiresAt()));
+    }
+
+    private void addRevokedToken(String jti, long expiresAtMillis) {
+        revokedTokenFilter.add(jti);
+        revokedTokenExpiries.put(jti, expiresAtMillis);
+    }
+
+    private static long toEpochMilli(LocalDateTime utcTime) {
+        return utcTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
 }
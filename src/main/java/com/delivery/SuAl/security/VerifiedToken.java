@@ -0,0 +1,63 @@
+package com.delivery.SuAl.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+
+import java.util.Date;
+
+/**
+ * A token whose signature and expiry have been checked, with its claims. The JWT filter keeps the token of the
+ * current request under {@link #REQUEST_ATTRIBUTE} so later code does not parse it again.
+ */
+@Value
+public class VerifiedToken {
+    public static final String REQUEST_ATTRIBUTE = VerifiedToken.class.getName();
+
+    Claims claims;
+
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    public String getId() {
+        return claims.getId();
+    }
+
+    public Date getIssuedAt() {
+        return claims.getIssuedAt();
+    }
+
+    /**
+     * The issue time in epoch milliseconds, or {@code null} if the token has none. Tokens issued before the
+     * {@code iat_ms} claim was added fall back to {@code iat}, which is truncated to the second.
+     */
+    public Long getIssuedAtMillis() {
+        Long millis = getLong(JwtService.ISSUED_AT_MILLIS_CLAIM);
+        if (millis != null) {
+            return millis;
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.getTime() : null;
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    public Long getUserId() {
+        return getLong(JwtService.USER_ID_CLAIM);
+    }
+
+    Long getLong(String name) {
+        Number value = claims.get(name, Number.class);
+        return value != null ? value.longValue() : null;
+    }
+
+    String getString(String name) {
+        return claims.get(name, String.class);
+    }
+
+    boolean has(String name) {
+        return claims.containsKey(name);
+    }
+}
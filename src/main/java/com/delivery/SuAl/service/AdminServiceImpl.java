@@ -13,6 +13,7 @@ import com.delivery.SuAl.model.response.auth.AuthenticationResponse;
 import com.delivery.SuAl.model.response.wrapper.PageResponse;
 import com.delivery.SuAl.repository.AdminRepository;
 import com.delivery.SuAl.repository.UserRepository;
+import com.delivery.SuAl.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -31,6 +32,7 @@ public class AdminServiceImpl implements AdminService {
     private final AdminMapper adminMapper;
     private final AuthenticationService authenticationService;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     @Transactional
@@ -98,6 +100,7 @@ public class AdminServiceImpl implements AdminService {
 
         adminMapper.updateEntityFromRequest(request, admin);
         Admin updatedAdmin = adminRepository.save(admin);
+        principalCache.evictAfterCommit(admin.getUser().getId());
 
         log.info("Admin updated successfully with ID: {}", updatedAdmin.getId());
         return adminMapper.toResponse(updatedAdmin);
@@ -122,6 +125,7 @@ public class AdminServiceImpl implements AdminService {
                 .orElseThrow(() -> new NotFoundException("Admin with id " + id + " not found"));
 
         if (admin.getUser() != null) {
+            principalCache.evictAfterCommit(admin.getUser().getId());
             userRepository.delete(admin.getUser());
             log.info("Deleted User associated with Admin {}", id);
         }
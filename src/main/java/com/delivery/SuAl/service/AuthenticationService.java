@@ -19,5 +19,7 @@ public interface AuthenticationService {
 
     ApiResponse<String> changePassword(ChangePasswordRequest request, Long userId);
 
+    void logout(String accessToken, String refreshToken);
+
     void deleteUser(Long userId, UserRole role);
 }
\ No newline at end of file
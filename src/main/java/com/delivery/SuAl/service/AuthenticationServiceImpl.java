@@ -18,7 +18,13 @@ import com.delivery.SuAl.repository.CustomerRepository;
 import com.delivery.SuAl.repository.DriverRepository;
 import com.delivery.SuAl.repository.OperatorRepository;
 import com.delivery.SuAl.repository.UserRepository;
+import com.delivery.SuAl.security.AuthenticatedPrincipal;
 import com.delivery.SuAl.security.JwtService;
+import com.delivery.SuAl.security.OperatorInfo;
+import com.delivery.SuAl.security.PrincipalCache;
+import com.delivery.SuAl.security.TokenBlacklistService;
+import com.delivery.SuAl.security.VerifiedToken;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,6 +33,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -39,6 +46,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final PrincipalCache principalCache;
+    private final TokenBlacklistService tokenBlacklistService;
 
     @Override
     @Transactional
@@ -77,7 +86,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         User savedUser = userRepository.save(userBuilder.build());
         log.info("User created with ID: {} and role: {}", savedUser.getId(), savedUser.getRole());
 
-        String jwtToken = jwtService.generateToken(savedUser);
+        String jwtToken = jwtService.generateToken(savedUser, null);
         String refreshToken = jwtService.generateRefreshToken(savedUser);
 
         return AuthenticationResponse.builder()
@@ -127,7 +136,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Override
     public AuthenticationResponse refreshToken(RefreshTokenRequest request) {
         final String refreshToken = request.getRefreshToken();
-        final String identifier = jwtService.extractUsernameIgnoreExpiry(refreshToken);
+        final VerifiedToken verified = jwtService.verify(refreshToken);
+        final String identifier = verified.getSubject();
 
         log.info("Refreshing token for identifier: {}", identifier);
 
@@ -137,14 +147,18 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
         User user = resolveUserByIdentifier(identifier);
 
-        if (!jwtService.isTokenValid(refreshToken, user)) {
+        if (!identifier.equals(user.getUsername())) {
             throw new RuntimeException("Invalid refresh token");
         }
 
+        if (tokenBlacklistService.isRevoked(user.getId(), verified)) {
+            throw new RuntimeException("Refresh token has been revoked");
+        }
+
         log.info("Token refreshed for user ID: {}", user.getId());
 
         return AuthenticationResponse.builder()
-                .accessToken(jwtService.generateToken(user))
+                .accessToken(jwtService.generateToken(user, operatorOf(user)))
                 .refreshToken(refreshToken)
                 .tokenType("Bearer")
                 .expiresIn(3600L)
@@ -179,6 +193,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        tokenBlacklistService.revokeAllForUser(userId);
 
         log.info("Password changed successfully for user ID: {}", userId);
         return ApiResponse.<String>builder()
@@ -192,6 +207,43 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     public void deleteUser(Long userId, UserRole role) {
         log.info("Deleting user ID {} with role {}", userId, role);
         userRepository.deleteById(userId);
+        principalCache.evictAfterCommit(userId);
+        tokenBlacklistService.revokeAllForUser(userId);
+    }
+
+    @Override
+    @Transactional
+    public void logout(String accessToken, String refreshToken) {
+        revoke(accessToken);
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            revoke(refreshToken);
+        }
+    }
+
+    /**
+     * Revokes a token that is still valid. An expired token is rejected like an invalid one: it can no longer be used,
+     * and accepting it would let anyone holding an old token of a user log out all of that user's sessions.
+     */
+    private void revoke(String token) {
+        VerifiedToken verified;
+        try {
+            verified = jwtService.verify(token);
+        } catch (JwtException ex) {
+            log.warn("Ignoring invalid or expired token on logout: {}", ex.getMessage());
+            return;
+        }
+
+        Long userId = verified.getUserId();
+        if (verified.getId() != null) {
+            tokenBlacklistService.revokeToken(verified.getId(), userId, verified.getExpiration());
+            log.info("Token revoked on logout for user ID: {}", userId);
+            return;
+        }
+
+        // issued before tokens had ids: the only way to revoke it is to revoke every token of the user
+        User user = resolveUserByIdentifier(verified.getSubject());
+        tokenBlacklistService.revokeAllForUser(user.getId());
+        log.info("All tokens revoked on logout for user ID: {}", user.getId());
     }
 
     private User resolveUserByIdentifier(String identifier) {
@@ -210,7 +262,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     private AuthenticationResponse buildAuthResponse(User user) {
         return AuthenticationResponse.builder()
-                .accessToken(jwtService.generateToken(user))
+                .accessToken(jwtService.generateToken(user, operatorOf(user)))
                 .refreshToken(jwtService.generateRefreshToken(user))
                 .tokenType("Bearer")
                 .expiresIn(3600L)
@@ -220,6 +272,15 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 .build();
     }
 
+    private OperatorInfo operatorOf(User user) {
+        if (user.getRole() != UserRole.OPERATOR) {
+            return null;
+        }
+        return principalCache.get(user.getId())
+                .map(AuthenticatedPrincipal::getOperator)
+                .orElse(null);
+    }
+
     private Long resolveRoleEntityId(User user){
         return switch (user.getRole()){
             case ADMIN -> adminRepository.findByUserId(user.getId())
@@ -0,0 +1,168 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.entity.Campaign;
+import com.delivery.SuAl.helper.AfterCommit;
+import com.delivery.SuAl.helper.CampaignRule;
+import com.delivery.SuAl.model.enums.CampaignStatus;
+import com.delivery.SuAl.repository.CampaignRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of ACTIVE campaigns keyed by buy-product id.
+ * <p>
+ * The index is rebuilt after campaigns are created, updated or deleted, and on a fixed delay so that changes made
+ * by other application instances are picked up. Usage changes from checkout only adjust the counter of the affected
+ * rule after commit; a delta that races with a rebuild can be lost or counted twice until the next rebuild, which is
+ * acceptable because the total limit is enforced again on the locked campaign row when a campaign is applied.
+ * <p>
+ * Rebuilds are single-flight: a refresh requested while one is running is folded into a rerun of that rebuild.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CampaignIndex {
+    private final CampaignRepository campaignRepository;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean refreshRequested = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    public List<CampaignRule> findCandidates(Collection<Long> basketProductIds, boolean willUsePromoCode) {
+        Snapshot current = currentSnapshot();
+
+        Map<Long, CampaignRule> candidates = new LinkedHashMap<>();
+        for (Long productId : basketProductIds) {
+            for (CampaignRule rule : current.byBuyProduct().getOrDefault(productId, List.of())) {
+                candidates.putIfAbsent(rule.getCampaignId(), rule);
+            }
+        }
+
+        if (willUsePromoCode) {
+            for (CampaignRule rule : current.promoExclusive()) {
+                candidates.putIfAbsent(rule.getCampaignId(), rule);
+            }
+        }
+
+        List<CampaignRule> result = new ArrayList<>(candidates.values());
+        result.sort(Comparator.comparing(CampaignRule::getCampaignId));
+        return result;
+    }
+
+    public void refreshAfterCommit() {
+        AfterCommit.run(this::refresh);
+    }
+
+    /**
+     * Adds {@code delta} to the usage counter of the campaign's rule once the current transaction commits.
+     */
+    public void adjustUsageAfterCommit(Long campaignId, int delta) {
+        AfterCommit.run(() -> adjustUsage(campaignId, delta));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${campaigns.index.refresh-interval:PT5M}",
+            initialDelayString = "${campaigns.index.refresh-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        refreshRequested.set(true);
+        while (refreshRequested.get() && rebuildLock.tryLock()) {
+            try {
+                while (refreshRequested.getAndSet(false)) {
+                    rebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+    }
+
+    private void rebuild() {
+        List<Campaign> activeCampaigns = campaignRepository.findByCampaignStatusWithProducts(CampaignStatus.ACTIVE);
+
+        List<CampaignRule> rules = new ArrayList<>(activeCampaigns.size());
+        for (Campaign campaign : activeCampaigns) {
+            if (campaign.getBuyProduct() == null) {
+                log.debug("Campaign {} has no buy product, not indexed", campaign.getCampaignCode());
+                continue;
+            }
+            rules.add(CampaignRule.from(campaign));
+        }
+
+        Snapshot rebuilt = Snapshot.of(rules);
+        synchronized (this) {
+            snapshot = rebuilt;
+        }
+
+        log.info("Campaign index refreshed: {} active campaigns over {} buy products",
+                activeCampaigns.size(), rebuilt.byBuyProduct().size());
+    }
+
+    private synchronized void adjustUsage(Long campaignId, int delta) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        CampaignRule rule = current.byId().get(campaignId);
+        if (rule == null) {
+            return;
+        }
+        CampaignRule adjusted = rule.withCurrentTotalUses(Math.max(0, rule.getCurrentTotalUses() + delta));
+        List<CampaignRule> rules = new ArrayList<>(current.byId().values());
+        rules.replaceAll(existing -> existing.getCampaignId().equals(campaignId) ? adjusted : existing);
+        snapshot = Snapshot.of(rules);
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuildLock.lock();
+            try {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private record Snapshot(Map<Long, CampaignRule> byId,
+                            Map<Long, List<CampaignRule>> byBuyProduct,
+                            List<CampaignRule> promoExclusive) {
+        static Snapshot of(List<CampaignRule> rules) {
+            Map<Long, CampaignRule> byId = new LinkedHashMap<>();
+            Map<Long, List<CampaignRule>> byBuyProduct = new HashMap<>();
+            List<CampaignRule> promoExclusive = new ArrayList<>();
+            for (CampaignRule rule : rules) {
+                byId.put(rule.getCampaignId(), rule);
+                byBuyProduct.computeIfAbsent(rule.getBuyProductId(), id -> new ArrayList<>()).add(rule);
+                if (rule.isRequiresPromoAbsence()) {
+                    promoExclusive.add(rule);
+                }
+            }
+            byBuyProduct.replaceAll((productId, productRules) -> List.copyOf(productRules));
+            return new Snapshot(Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byBuyProduct),
+                    List.copyOf(promoExclusive));
+        }
+    }
+}
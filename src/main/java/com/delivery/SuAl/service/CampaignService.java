@@ -13,6 +13,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
+
 public interface CampaignService {
     CampaignResponse createCampaign(CreateCampaignRequest request, MultipartFile image);
 
@@ -26,6 +28,8 @@ public interface CampaignService {
 
     void releaseCampaignUsageByOrder(Long orderId);
 
+    void releaseCampaignUsagesByOrders(Collection<Long> orderIds);
+
     void deleteCampaignById(Long id);
 
     ValidateCampaignResponse validateCampaign(ValidateCampaignRequest request);
@@ -6,10 +6,10 @@ import com.delivery.SuAl.entity.Customer;
 import com.delivery.SuAl.entity.Order;
 import com.delivery.SuAl.entity.OrderDetail;
 import com.delivery.SuAl.entity.Product;
-import com.delivery.SuAl.entity.ProductPrice;
 import com.delivery.SuAl.exception.AlreadyExistsException;
 import com.delivery.SuAl.exception.CampaignUsageLimitExceededException;
 import com.delivery.SuAl.exception.NotFoundException;
+import com.delivery.SuAl.helper.CampaignRule;
 import com.delivery.SuAl.helper.CampaignValidationContext;
 import com.delivery.SuAl.helper.EligibleCampaignInfo;
 import com.delivery.SuAl.helper.EligibleCampaignResult;
@@ -28,7 +28,6 @@ import com.delivery.SuAl.model.response.marketing.ValidateCampaignResponse;
 import com.delivery.SuAl.repository.CampaignRepository;
 import com.delivery.SuAl.repository.CampaignUsageRepository;
 import com.delivery.SuAl.repository.OrderRepository;
-import com.delivery.SuAl.repository.ProductPriceRepository;
 import com.delivery.SuAl.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,14 +38,16 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -55,7 +56,8 @@ public class CampaignServiceImpl implements CampaignService {
     private final CampaignRepository campaignRepository;
     private final CampaignUsageRepository campaignUsageRepository;
     private final ProductRepository productRepository;
-    private final ProductPriceRepository productPriceRepository;
+    private final ProductPriceCatalog productPriceCatalog;
+    private final CampaignIndex campaignIndex;
     private final OrderRepository orderRepository;
     private final CampaignMapper campaignMapper;
     private final CustomerService customerService;
@@ -79,12 +81,14 @@ public class CampaignServiceImpl implements CampaignService {
         campaign.setImageUrl(imageUrl);
 
         Campaign savedCampaign = campaignRepository.save(campaign);
+        campaignIndex.refreshAfterCommit();
 
         log.info("Campaign created with id: {}", savedCampaign.getId());
         return campaignMapper.toResponse(savedCampaign);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CampaignResponse getCampaignById(Long id) {
         log.info("Get campaign with id: {}", id);
         Campaign campaign = findByCampaignById(id);
@@ -92,6 +96,7 @@ public class CampaignServiceImpl implements CampaignService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<CampaignResponse> getCampaigns(Pageable pageable) {
         log.info("get All campaigns with pageable: {}", pageable);
         Page<Campaign> campaigns = campaignRepository.findAll(pageable);
@@ -101,7 +106,8 @@ public class CampaignServiceImpl implements CampaignService {
     @Override
     public CampaignResponse updateCampaign(Long id, UpdateCampaignRequest request, MultipartFile image) {
         log.info("Update campaign with id: {}", id);
-        Campaign campaign = findByCampaignById(id);
+        Campaign campaign = campaignRepository.findByIdWithProducts(id)
+                .orElseThrow(() -> new NotFoundException("Campaign not found with id: " + id));
 
         LocalDate oldValidFrom = campaign.getValidFrom();
         LocalDate oldValidTo = campaign.getValidTo();
@@ -124,9 +130,11 @@ public class CampaignServiceImpl implements CampaignService {
         reactivateCampaignIfNeeded(campaign, request, oldValidFrom, oldValidTo);
 
         Campaign updatedCampaign = campaignRepository.save(campaign);
+        campaignIndex.refreshAfterCommit();
         log.info("Campaign updated with id: {}", id);
 
-        return campaignMapper.toResponse(updatedCampaign);
+        return campaignMapper.toResponse(
+                campaignRepository.findByIdWithProducts(updatedCampaign.getId()).orElse(updatedCampaign));
     }
 
     @Override
@@ -135,11 +143,13 @@ public class CampaignServiceImpl implements CampaignService {
         campaign.setCampaignStatus(CampaignStatus.INACTIVE);
 
         campaignRepository.save(campaign);
+        campaignIndex.refreshAfterCommit();
 
         log.info("Campaign soft deleted with id: {}", id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ValidateCampaignResponse validateCampaign(ValidateCampaignRequest request) {
         log.info("Validating campaign: {} for customer: {}", request.getCampaignCode(), request.getCustomerId());
 
@@ -222,6 +232,7 @@ public class CampaignServiceImpl implements CampaignService {
 
         campaign.incrementUses();
         campaignRepository.save(campaign);
+        campaignIndex.adjustUsageAfterCommit(campaign.getId(), 1);
 
         log.info("Campaign {} applied successfully. Total uses: {}/{}, Free quantity: {}, Bonus value: {}",
                 campaign.getCampaignCode(),
@@ -243,6 +254,7 @@ public class CampaignServiceImpl implements CampaignService {
                         campaign -> {
                             campaign.decrementUses();
                             campaignRepository.save(campaign);
+                            campaignIndex.adjustUsageAfterCommit(campaignId, -1);
                             log.info("Released campaign {} usage. Current uses: {}/{}",
                                     campaignId, campaign.getCurrentTotalUses(), campaign.getMaxTotalUses());
                         },
@@ -255,32 +267,58 @@ public class CampaignServiceImpl implements CampaignService {
     public void releaseCampaignUsageByOrder(Long orderId) {
         log.info("Releasing campaign usages for order ID: {}", orderId);
 
-        List<CampaignUsage> usages = campaignUsageRepository.findAll().stream()
-                .filter(usage -> usage.getOrder().getId().equals(orderId))
-                .toList();
+        releaseCampaignUsagesByOrders(List.of(orderId));
+    }
 
-        for (CampaignUsage usage : usages) {
-            releaseCampaignUsage(usage.getCampaign().getId());
+    @Override
+    @Transactional
+    public void releaseCampaignUsagesByOrders(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
         }
 
-        int deletedCount = campaignUsageRepository.deleteByOrderId(orderId);
-        log.info("Deleted {} campaign usage records for order {}", deletedCount, orderId);
-    }
+        List<Object[]> usageCounts = campaignUsageRepository.countByOrderIdInGroupedByCampaign(orderIds);
+        if (usageCounts.isEmpty()) {
+            log.debug("No campaign usages found for {} orders", orderIds.size());
+            return;
+        }
 
+        for (Object[] row : usageCounts) {
+            Long campaignId = (Long) row[0];
+            int uses = ((Number) row[1]).intValue();
+            campaignRepository.decrementUses(campaignId, uses);
+            campaignIndex.adjustUsageAfterCommit(campaignId, -uses);
+        }
+
+        int deletedCount = campaignUsageRepository.deleteByOrderIdIn(orderIds);
+        log.info("Deleted {} campaign usage records across {} campaigns for {} orders",
+                deletedCount, usageCounts.size(), orderIds.size());
+    }
 
     @Override
     public EligibleCampaignsResponse getEligibleCampaigns(GetEligibleCampaignsRequest request) {
         log.info("Getting eligible campaigns for customer: {}", request.getCustomerId());
 
         Customer customer = customerService.getCustomerEntityById(request.getCustomerId());
-        List<Campaign> activeCampaigns = campaignRepository.findByCampaignStatus(CampaignStatus.ACTIVE);
+        boolean willUsePromoCode = Boolean.TRUE.equals(request.getWillUsePromoCode());
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<CampaignRule> candidates = campaignIndex
+                .findCandidates(request.getProductQuantities().keySet(), willUsePromoCode).stream()
+                .filter(rule -> rule.isActiveOn(today) && !rule.hasReachedTotalLimit())
+                .toList();
+
+        Map<Long, Integer> usageCounts = getCustomerCampaignUsageCounts(customer.getId(), candidates);
+        boolean firstOrder = candidates.stream().anyMatch(CampaignRule::isFirstOrderOnly)
+                && isFirstOrder(customer.getId());
 
         List<EligibleCampaignInfo> eligibleCampaignInfos = new ArrayList<>();
         BigDecimal totalCampaignDiscount = BigDecimal.ZERO;
         Map<Long, FreeProductSummary> freeProductMap = new HashMap<>();
 
-        for (Campaign campaign : activeCampaigns) {
-            EligibleCampaignResult result = evaluateCampaignEligibility(campaign, customer, request);
+        for (CampaignRule rule : candidates) {
+            EligibleCampaignResult result = evaluateCampaignEligibility(
+                    rule, customer, request, usageCounts, firstOrder);
 
             if (result.shouldSkip()) {
                 continue;
@@ -290,7 +328,7 @@ public class CampaignServiceImpl implements CampaignService {
 
             if (Boolean.TRUE.equals(result.getCampaignInfo().getWillBeApplied())) {
                 totalCampaignDiscount = totalCampaignDiscount.add(result.getCampaignInfo().getBonusValue());
-                updateFreeProductSummary(freeProductMap, campaign, result.getCampaignInfo());
+                updateFreeProductSummary(freeProductMap, rule, result.getCampaignInfo());
             }
         }
 
@@ -415,43 +453,39 @@ public class CampaignServiceImpl implements CampaignService {
     }
 
     private EligibleCampaignResult evaluateCampaignEligibility(
-            Campaign campaign, Customer customer, GetEligibleCampaignsRequest request) {
-        if (!campaign.isActive() || campaign.hasReachedTotalLimit()) {
-            return EligibleCampaignResult.skip();
-        }
-
-        if (Boolean.TRUE.equals(request.getWillUsePromoCode()) &&
-                Boolean.TRUE.equals(campaign.getRequiresPromoAbsence())) {
+            CampaignRule rule, Customer customer, GetEligibleCampaignsRequest request,
+            Map<Long, Integer> usageCounts, boolean firstOrder) {
+        if (Boolean.TRUE.equals(request.getWillUsePromoCode()) && rule.isRequiresPromoAbsence()) {
             EligibleCampaignInfo info = buildNotAppliedCampaignInfo(
-                    campaign, request, "Cannot be used with promo codes");
+                    rule, request, "Cannot be used with promo codes");
             return EligibleCampaignResult.withInfo(info);
         }
 
-        Long buyProductId = campaign.getBuyProduct().getId();
-        Integer basketQuantity = request.getProductQuantities().getOrDefault(buyProductId, 0);
+        Integer basketQuantity = request.getProductQuantities().getOrDefault(rule.getBuyProductId(), 0);
 
         if (basketQuantity == 0) {
             return EligibleCampaignResult.skip();
         }
 
-        return evaluateCampaignRequirements(campaign, customer, basketQuantity);
+        return evaluateCampaignRequirements(rule, customer, basketQuantity, usageCounts, firstOrder);
     }
 
     private EligibleCampaignResult evaluateCampaignRequirements(
-            Campaign campaign, Customer customer, Integer basketQuantity) {
-        EligibleCampaignInfo.EligibleCampaignInfoBuilder infoBuilder = buildBasicCampaignInfo(campaign, basketQuantity);
+            CampaignRule rule, Customer customer, Integer basketQuantity,
+            Map<Long, Integer> usageCounts, boolean firstOrder) {
+        EligibleCampaignInfo.EligibleCampaignInfoBuilder infoBuilder = buildBasicCampaignInfo(rule, basketQuantity);
 
-        if (basketQuantity < campaign.getBuyQuantity()) {
+        if (basketQuantity < rule.getBuyQuantity()) {
             return EligibleCampaignResult.withInfo(
                     infoBuilder
                             .willBeApplied(false)
                             .notAppliedReason(String.format("Need %d more items to qualify",
-                                    campaign.getBuyQuantity() - basketQuantity))
+                                    rule.getBuyQuantity() - basketQuantity))
                             .build()
             );
         }
 
-        if (campaign.isFirstOrderOnly() && !isFirstOrder(customer.getId())) {
+        if (rule.isFirstOrderOnly() && !firstOrder) {
             return EligibleCampaignResult.withInfo(
                     infoBuilder
                             .willBeApplied(false)
@@ -460,27 +494,27 @@ public class CampaignServiceImpl implements CampaignService {
             );
         }
 
-        if (!meetsUsageLimitRequirement(campaign, customer, infoBuilder)) {
+        if (!meetsUsageLimitRequirement(rule, usageCounts, infoBuilder)) {
             return EligibleCampaignResult.withInfo(infoBuilder.build());
         }
 
-        if (!meetsRegistrationDatsRequirement(campaign, customer, infoBuilder)) {
+        if (!meetsRegistrationDatsRequirement(rule, customer, infoBuilder)) {
             return EligibleCampaignResult.withInfo(infoBuilder.build());
         }
 
-        return calculateCampaignBenefits(campaign, basketQuantity, infoBuilder);
+        return calculateCampaignBenefits(rule, basketQuantity, infoBuilder);
     }
 
     private boolean meetsRegistrationDatsRequirement(
-            Campaign campaign,
+            CampaignRule rule,
             Customer customer,
             EligibleCampaignInfo.EligibleCampaignInfoBuilder infoBuilder) {
-        if (campaign.getMinDaysSinceRegistration() != null && campaign.getMinDaysSinceRegistration() > 0) {
+        if (rule.getMinDaysSinceRegistration() != null && rule.getMinDaysSinceRegistration() > 0) {
             int daysSinceRegistration = getDaysSinceRegistration(customer);
-            if (daysSinceRegistration < campaign.getMinDaysSinceRegistration()) {
+            if (daysSinceRegistration < rule.getMinDaysSinceRegistration()) {
                 infoBuilder.willBeApplied(false)
                         .notAppliedReason(String.format("Must be registered for %d more days",
-                                campaign.getMinDaysSinceRegistration() - daysSinceRegistration));
+                                rule.getMinDaysSinceRegistration() - daysSinceRegistration));
                 return false;
             }
         }
@@ -488,12 +522,12 @@ public class CampaignServiceImpl implements CampaignService {
     }
 
     private boolean meetsUsageLimitRequirement(
-            Campaign campaign,
-            Customer customer,
+            CampaignRule rule,
+            Map<Long, Integer> usageCounts,
             EligibleCampaignInfo.EligibleCampaignInfoBuilder infoBuilder) {
-        if (campaign.getMaxUsesPerCustomer() != null) {
-            int customerUsageCount = getCustomerCampaignUsageCount(customer.getId(), campaign.getCampaignCode());
-            if (customerUsageCount >= campaign.getMaxUsesPerCustomer()) {
+        if (rule.getMaxUsesPerCustomer() != null) {
+            int customerUsageCount = usageCounts.getOrDefault(rule.getCampaignId(), 0);
+            if (customerUsageCount >= rule.getMaxUsesPerCustomer()) {
                 infoBuilder.willBeApplied(false)
                         .notAppliedReason("You have reached the maximum usage limit for this campaign");
                 return false;
@@ -503,20 +537,20 @@ public class CampaignServiceImpl implements CampaignService {
     }
 
     private EligibleCampaignResult calculateCampaignBenefits(
-            Campaign campaign,
+            CampaignRule rule,
             Integer basketQuantity,
             EligibleCampaignInfo.EligibleCampaignInfoBuilder infoBuilder) {
         int eligibleFreeQuantity = calculateEligibleFreeQuantity(
                 basketQuantity,
-                campaign.getBuyQuantity(),
-                campaign.getFreeQuantity()
+                rule.getBuyQuantity(),
+                rule.getFreeQuantity()
         );
 
-        BigDecimal freeProductPrice = getFreeProductPrice(campaign.getFreeProduct());
+        BigDecimal freeProductPrice = productPriceCatalog.getEffectiveSellPrice(rule.getFreeProductId());
         BigDecimal bonusValue = freeProductPrice.multiply(BigDecimal.valueOf(eligibleFreeQuantity));
 
-        boolean hasDeposit = campaign.getFreeProduct().hasDeposit();
-        BigDecimal depositPerUnit = hasDeposit ? campaign.getFreeProduct().getDepositAmount() : BigDecimal.ZERO;
+        boolean hasDeposit = rule.freeProductHasDeposit();
+        BigDecimal depositPerUnit = hasDeposit ? rule.getFreeProductDepositAmount() : BigDecimal.ZERO;
         BigDecimal totalDeposit = depositPerUnit.multiply(BigDecimal.valueOf(eligibleFreeQuantity));
 
         EligibleCampaignInfo info = infoBuilder
@@ -535,14 +569,14 @@ public class CampaignServiceImpl implements CampaignService {
 
     private void updateFreeProductSummary(
             Map<Long, FreeProductSummary> freeProductsMap,
-            Campaign campaign,
+            CampaignRule rule,
             EligibleCampaignInfo campaignInfo) {
-        Long freeProductId = campaign.getFreeProduct().getId();
+        Long freeProductId = rule.getFreeProductId();
 
         if (freeProductsMap.containsKey(freeProductId)) {
             updateExistingFreeProductSummary(freeProductsMap.get(freeProductId), campaignInfo);
         } else {
-            freeProductsMap.put(freeProductId, createNewFreeProductSummary(campaign, campaignInfo));
+            freeProductsMap.put(freeProductId, createNewFreeProductSummary(rule, campaignInfo));
         }
     }
 
@@ -551,10 +585,10 @@ public class CampaignServiceImpl implements CampaignService {
         existing.setTotalValue(existing.getTotalValue().add(campaignInfo.getBonusValue()));
     }
 
-    private FreeProductSummary createNewFreeProductSummary(Campaign campaign, EligibleCampaignInfo campaignInfo) {
+    private FreeProductSummary createNewFreeProductSummary(CampaignRule rule, EligibleCampaignInfo campaignInfo) {
         return FreeProductSummary.builder()
-                .productId(campaign.getFreeProduct().getId())
-                .productName(campaign.getFreeProduct().getName())
+                .productId(rule.getFreeProductId())
+                .productName(rule.getFreeProductName())
                 .totalQuantity(campaignInfo.getFreeQuantity())
                 .pricePerUnit(campaignInfo.getFreeProductPrice())
                 .totalValue(campaignInfo.getBonusValue())
@@ -564,29 +598,29 @@ public class CampaignServiceImpl implements CampaignService {
                 .build();
     }
 
-    private EligibleCampaignInfo.EligibleCampaignInfoBuilder buildBasicCampaignInfo(Campaign campaign,
+    private EligibleCampaignInfo.EligibleCampaignInfoBuilder buildBasicCampaignInfo(CampaignRule rule,
                                                                                     Integer basketQuantity) {
         return EligibleCampaignInfo.builder()
-                .campaignCode(campaign.getCampaignCode())
-                .campaignName(campaign.getName())
-                .description(campaign.getDescription())
-                .campaignType(campaign.getCampaignType())
-                .buyProductId(campaign.getBuyProduct().getId())
-                .buyProductName(campaign.getBuyProduct().getName())
-                .buyQuantityRequired(campaign.getBuyQuantity())
+                .campaignCode(rule.getCampaignCode())
+                .campaignName(rule.getName())
+                .description(rule.getDescription())
+                .campaignType(rule.getCampaignType())
+                .buyProductId(rule.getBuyProductId())
+                .buyProductName(rule.getBuyProductName())
+                .buyQuantityRequired(rule.getBuyQuantity())
                 .buyQuantityInBasket(basketQuantity)
-                .freeProductId(campaign.getFreeProduct().getId())
-                .freeProductName(campaign.getFreeProduct().getName())
-                .freeQuantity(campaign.getFreeQuantity());
+                .freeProductId(rule.getFreeProductId())
+                .freeProductName(rule.getFreeProductName())
+                .freeQuantity(rule.getFreeQuantity());
     }
 
     private EligibleCampaignInfo buildNotAppliedCampaignInfo(
-            Campaign campaign, GetEligibleCampaignsRequest request, String reason
+            CampaignRule rule, GetEligibleCampaignsRequest request, String reason
     ) {
         Integer basketQuantity = request.getProductQuantities()
-                .getOrDefault(campaign.getBuyProduct().getId(), 0);
+                .getOrDefault(rule.getBuyProductId(), 0);
 
-        return buildBasicCampaignInfo(campaign, basketQuantity)
+        return buildBasicCampaignInfo(rule, basketQuantity)
                 .willBeApplied(false)
                 .notAppliedReason(reason)
                 .build();
@@ -677,6 +711,24 @@ public class CampaignServiceImpl implements CampaignService {
         return campaignUsageRepository.countByCustomerIdAndCampaignCampaignCode(customerId, campaignCode);
     }
 
+    private Map<Long, Integer> getCustomerCampaignUsageCounts(Long customerId, List<CampaignRule> rules) {
+        List<Long> limitedCampaignIds = rules.stream()
+                .filter(rule -> rule.getMaxUsesPerCustomer() != null)
+                .map(CampaignRule::getCampaignId)
+                .toList();
+
+        if (limitedCampaignIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return campaignUsageRepository.countByCustomerIdAndCampaignIdInGrouped(customerId, limitedCampaignIds)
+                .stream()
+                .collect(Collectors.toMap(
+                        row -> (Long) row[0],
+                        row -> ((Number) row[1]).intValue()
+                ));
+    }
+
     private boolean isFirstOrder(Long customerId) {
         return orderQueryService.getCompletedOrderCount(customerId) == 0;
     }
@@ -692,24 +744,15 @@ public class CampaignServiceImpl implements CampaignService {
             log.warn("Campaign {} has free product with no price", campaign.getCampaignCode());
             return BigDecimal.ZERO;
         }
-        return productPriceRepository.findActiveByProductId(freeProduct.getId())
-                .map(price -> {
-                    BigDecimal effectivePrice = calculateEffectivePrice(price);
-                    return effectivePrice.multiply(BigDecimal.valueOf(campaign.getFreeQuantity()));
-                })
+        return productPriceCatalog.findActivePrice(freeProduct.getId())
+                .map(price -> price.getEffectivePrice()
+                        .multiply(BigDecimal.valueOf(campaign.getFreeQuantity())))
                 .orElseGet(() -> {
                     log.warn("Campaign {} free product has no active price", campaign.getCampaignCode());
                     return BigDecimal.ZERO;
                 });
     }
 
-    private BigDecimal getFreeProductPrice(Product product) {
-        if (product == null) return BigDecimal.ZERO;
-        return productPriceRepository.findActiveByProductId(product.getId())
-                .map(this::calculateEffectivePrice)
-                .orElse(BigDecimal.ZERO);
-    }
-
     private int calculateEligibleFreeQuantity(int basketQuantity, int buyQuantity, int freeQuantity) {
         return (basketQuantity / buyQuantity) * freeQuantity;
     }
@@ -722,18 +765,4 @@ public class CampaignServiceImpl implements CampaignService {
                 .mapToInt(OrderDetail::getCount)
                 .sum();
     }
-
-    private BigDecimal calculateEffectivePrice(ProductPrice price) {
-        if (price.getSellPrice() == null) return BigDecimal.ZERO;
-        if (price.getDiscountPercent() == null
-                || price.getDiscountPercent().compareTo(BigDecimal.ZERO) == 0) {
-            return price.getSellPrice();
-        }
-        BigDecimal multiplier = BigDecimal.ONE
-                .subtract(price.getDiscountPercent()
-                        .divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP));
-        return price.getSellPrice()
-                .multiply(multiplier)
-                .setScale(2, RoundingMode.HALF_UP);
-    }
 }
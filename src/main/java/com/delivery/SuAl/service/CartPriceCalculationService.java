@@ -1,8 +1,11 @@
 package com.delivery.SuAl.service;
 
+import com.delivery.SuAl.helper.CartPricingResult;
 import com.delivery.SuAl.model.request.cart.CalculatePriceRequest;
 import com.delivery.SuAl.model.response.cart.CartCalculationResponse;
 
 public interface CartPriceCalculationService {
     CartCalculationResponse calculatePrice(CalculatePriceRequest request);
+
+    CartPricingResult priceCart(CalculatePriceRequest request);
 }
@@ -1,10 +1,13 @@
 package com.delivery.SuAl.service;
 
 import com.delivery.SuAl.entity.Product;
-import com.delivery.SuAl.entity.ProductPrice;
 import com.delivery.SuAl.exception.InvalidRequestException;
 import com.delivery.SuAl.exception.NotFoundException;
+import com.delivery.SuAl.helper.CartPricingResult;
+import com.delivery.SuAl.helper.CatalogPrice;
 import com.delivery.SuAl.helper.ContainerDepositSummary;
+import com.delivery.SuAl.helper.Money;
+import com.delivery.SuAl.helper.MoneyAccumulator;
 import com.delivery.SuAl.helper.ProductDepositInfo;
 import com.delivery.SuAl.model.enums.ProductStatus;
 import com.delivery.SuAl.model.request.cart.CalculatePriceRequest;
@@ -15,7 +18,6 @@ import com.delivery.SuAl.model.response.cart.CartCalculationResponse;
 import com.delivery.SuAl.model.response.cart.CartItemResponse;
 import com.delivery.SuAl.model.response.marketing.EligibleCampaignsResponse;
 import com.delivery.SuAl.model.response.marketing.ValidatePromoResponse;
-import com.delivery.SuAl.repository.ProductPriceRepository;
 import com.delivery.SuAl.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,10 +25,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,7 +35,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CartPriceCalculationServiceImpl implements CartPriceCalculationService {
     private final ProductRepository productRepository;
-    private final ProductPriceRepository priceRepository;
+    private final ProductPriceCatalog productPriceCatalog;
     private final ContainerManagementService containerManagementService;
     private final PromoService promoService;
     private final CampaignService campaignService;
@@ -42,39 +43,19 @@ public class CartPriceCalculationServiceImpl implements CartPriceCalculationServ
     @Override
     @Transactional(readOnly = true)
     public CartCalculationResponse calculatePrice(CalculatePriceRequest request) {
+        return priceCart(request).getResponse();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CartPricingResult priceCart(CalculatePriceRequest request) {
         log.info("Calculating price for customerId: {}, {} items",
                 request.getCustomerId(), request.getItems().size());
 
         if (request.getItems().isEmpty()) {
-            return createEmptyResponse();
+            return new CartPricingResult(createEmptyResponse(), Map.of(), Map.of(), Map.of(), null);
         }
 
-        List<CartItemResponse> itemResponses = request.getItems().stream()
-                .map(item -> mapCartItemToResponse(request.getCustomerId(), item))
-                .toList();
-
-        BigDecimal subtotal = itemResponses.stream()
-                .map(CartItemResponse::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .setScale(2, RoundingMode.HALF_UP);
-
-        BigDecimal totalDepositCharged = itemResponses.stream()
-                .map(item -> Optional.ofNullable(item.getDepositPerUnit())
-                        .orElse(BigDecimal.ZERO)
-                        .multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .setScale(2, RoundingMode.HALF_UP);
-
-        BigDecimal totalDepositRefunded = itemResponses.stream()
-                .map(item -> item.getDepositPerUnit()
-                        .multiply(new BigDecimal(item.getAvailableContainers())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .setScale(2, RoundingMode.HALF_UP);
-
-        BigDecimal netDeposit = totalDepositCharged
-                .subtract(totalDepositRefunded)
-                .setScale(2, RoundingMode.HALF_UP);
-
         Map<Long, Integer> productQuantities = request.getItems().stream()
                 .collect(Collectors.toMap(
                         CartItem::getProductId,
@@ -82,6 +63,44 @@ public class CartPriceCalculationServiceImpl implements CartPriceCalculationServ
                         Integer::sum
                 ));
 
+        Map<Long, Product> products = loadActiveProducts(request.getItems());
+        Map<Long, CatalogPrice> activePrices = productPriceCatalog.findActivePrices(productQuantities.keySet());
+
+        ContainerDepositSummary containerSummary = containerManagementService
+                .calculateAvailableContainerRefunds(request.getCustomerId(), productQuantities, products);
+
+        Map<Long, Integer> availableContainersByProduct = containerSummary.getProductDepositInfos().stream()
+                .collect(Collectors.toMap(
+                        ProductDepositInfo::getProductId,
+                        ProductDepositInfo::getAvailableContainers
+                ));
+
+        List<CartItemResponse> itemResponses = new ArrayList<>(request.getItems().size());
+        MoneyAccumulator subtotalSum = new MoneyAccumulator();
+        MoneyAccumulator depositChargedSum = new MoneyAccumulator();
+        MoneyAccumulator depositRefundedSum = new MoneyAccumulator();
+
+        for (CartItem item : request.getItems()) {
+            Product product = products.get(item.getProductId());
+            Money lineSubtotal = priceLine(item, product, activePrices);
+            int availableContainers = availableContainersByProduct.getOrDefault(product.getId(), 0);
+
+            subtotalSum.add(lineSubtotal);
+            depositChargedSum.add(Money.times(product.getDepositAmount(), item.getQuantity()));
+            depositRefundedSum.add(Money.times(product.getDepositAmount(), availableContainers));
+
+            itemResponses.add(mapCartItemToResponse(
+                    item, product, activePrices.get(product.getId()), lineSubtotal, availableContainers));
+        }
+
+        Money subtotalMoney = subtotalSum.total();
+        Money netDepositMoney = depositChargedSum.total().minus(depositRefundedSum.total());
+
+        BigDecimal subtotal = subtotalMoney.toBigDecimal();
+        BigDecimal totalDepositCharged = depositChargedSum.total().toBigDecimal();
+        BigDecimal totalDepositRefunded = depositRefundedSum.total().toBigDecimal();
+        BigDecimal netDeposit = netDepositMoney.toBigDecimal();
+
         boolean willUsePromo = (request.getPromoCode() != null
                 && !request.getPromoCode().isBlank());
 
@@ -99,7 +118,7 @@ public class CartPriceCalculationServiceImpl implements CartPriceCalculationServ
                 : BigDecimal.ZERO;
 
         BigDecimal amount = subtotal;
-        BigDecimal totalAmount = amount.add(netDeposit).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal totalAmount = subtotalMoney.plus(netDepositMoney).toBigDecimal();
 
         CartCalculationResponse.CartCalculationResponseBuilder responseBuilder =
                 CartCalculationResponse.builder()
@@ -127,12 +146,9 @@ public class CartPriceCalculationServiceImpl implements CartPriceCalculationServ
                     && Boolean.TRUE.equals(promoValidation.getCustomerCanUse())) {
 
                 BigDecimal promoDiscount = promoValidation.getEstimatedDiscount();
-                BigDecimal newAmount = subtotal
-                        .subtract(promoDiscount)
-                        .setScale(2, RoundingMode.HALF_UP);
-                BigDecimal newTotalAmount = newAmount
-                        .add(netDeposit)
-                        .setScale(2, RoundingMode.HALF_UP);
+                Money discountedAmount = subtotalMoney.minus(promoDiscount);
+                BigDecimal newAmount = discountedAmount.toBigDecimal();
+                BigDecimal newTotalAmount = discountedAmount.plus(netDepositMoney).toBigDecimal();
 
                 responseBuilder
                         .promoCode(request.getPromoCode())
@@ -166,68 +182,67 @@ public class CartPriceCalculationServiceImpl implements CartPriceCalculationServ
                     .totalAmount(totalAmount);
         }
 
-        return responseBuilder.build();
+        return new CartPricingResult(
+                responseBuilder.build(),
+                productQuantities,
+                products,
+                activePrices,
+                containerSummary
+        );
     }
 
-    private CartItemResponse mapCartItemToResponse(Long customerId, CartItem cartItem) {
+    private Map<Long, Product> loadActiveProducts(List<CartItem> items) {
+        List<Long> productIds = items.stream()
+                .map(CartItem::getProductId)
+                .distinct()
+                .toList();
 
-        Product product = productRepository.findById(cartItem.getProductId())
-                .orElseThrow(() -> new NotFoundException("Product not found with id: " + cartItem.getProductId()));
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
 
-        if (product.getProductStatus() != ProductStatus.ACTIVE) {
-            throw new InvalidRequestException("Product is not active: " + cartItem.getProductId());
+        for (Long productId : productIds) {
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new NotFoundException("Product not found with id: " + productId);
+            }
+            if (product.getProductStatus() != ProductStatus.ACTIVE) {
+                throw new InvalidRequestException("Product is not active: " + productId);
+            }
         }
+        return products;
+    }
 
-        ProductPrice activePrice = priceRepository.findActiveByProductId(product.getId())
-                .orElseThrow(() -> new NotFoundException(
-                        "No active price found for product: " + product.getName()
-                        +". Please contact support."));
-
-        BigDecimal sellPrice = calculateEffectivePrice(activePrice);
-
-        Map<Long, Integer> productQuantities = Map.of(product.getId(), cartItem.getQuantity());
-
-        ContainerDepositSummary containerSummary = containerManagementService
-                .calculateAvailableContainerRefunds(customerId, productQuantities);
+    private Money priceLine(CartItem cartItem, Product product, Map<Long, CatalogPrice> activePrices) {
+        CatalogPrice activePrice = activePrices.get(product.getId());
+        if (activePrice == null) {
+            throw new NotFoundException(
+                    "No active price found for product: " + product.getName()
+                    +". Please contact support.");
+        }
+        return Money.times(activePrice.getEffectivePrice(), cartItem.getQuantity());
+    }
 
-        Integer availableContainers = containerSummary.getProductDepositInfos().stream()
-                .filter(info -> info.getProductId().equals(product.getId()))
-                .findFirst()
-                .map(ProductDepositInfo::getAvailableContainers)
-                .orElse(0);
+    private CartItemResponse mapCartItemToResponse(
+            CartItem cartItem,
+            Product product,
+            CatalogPrice activePrice,
+            Money subtotal,
+            int availableContainers) {
 
         Integer containersTOReturn = Math.min(cartItem.getQuantity(), availableContainers);
 
-        BigDecimal subtotal = sellPrice
-                .multiply(new BigDecimal(cartItem.getQuantity()))
-                .setScale(2, RoundingMode.HALF_UP);
-
         return CartItemResponse.builder()
                 .productId(product.getId())
                 .productName(product.getName())
                 .quantity(cartItem.getQuantity())
-                .pricePerUnit(sellPrice)
-                .subtotal(subtotal)
+                .pricePerUnit(activePrice.getEffectivePrice())
+                .subtotal(subtotal.toBigDecimal())
                 .depositPerUnit(product.getDepositAmount())
                 .availableContainers(availableContainers)
                 .containersToReturn(containersTOReturn)
                 .build();
     }
 
-    private BigDecimal calculateEffectivePrice(ProductPrice price){
-        if (price.getSellPrice() == null) return BigDecimal.ZERO;
-        if (price.getDiscountPercent() == null
-                || price.getDiscountPercent().compareTo(BigDecimal.ZERO) == 0) {
-            return price.getSellPrice();
-        }
-        BigDecimal multiplier = BigDecimal.ONE
-                .subtract(price.getDiscountPercent()
-                        .divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP));
-        return price.getSellPrice()
-                .multiply(multiplier)
-                .setScale(2, RoundingMode.HALF_UP);
-    }
-
     private CartCalculationResponse createEmptyResponse() {
         return CartCalculationResponse.builder()
                 .subtotal(BigDecimal.ZERO)
@@ -4,14 +4,20 @@ import com.delivery.SuAl.entity.CustomerContainer;
 import com.delivery.SuAl.entity.CustomerPackageOrder;
 import com.delivery.SuAl.entity.Order;
 import com.delivery.SuAl.entity.OrderDetail;
+import com.delivery.SuAl.entity.Product;
 import com.delivery.SuAl.helper.ContainerDepositSummary;
 import com.delivery.SuAl.model.request.order.BottleCollectionItem;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
 public interface ContainerManagementService {
     ContainerDepositSummary calculateAvailableContainerRefunds(Long userId, Map<Long, Integer> productQuantities);
+
+    ContainerDepositSummary calculateAvailableContainerRefunds(Long customerId,
+                                                               Map<Long, Integer> productQuantities,
+                                                               Map<Long, Product> products);
     void processOrderCompletion(Long customerId, List<OrderDetail> orderDetails, List<BottleCollectionItem> bottlesCollected);
 
 
@@ -23,7 +29,11 @@ public interface ContainerManagementService {
 
     void reserveContainersForOrder(Order order, ContainerDepositSummary depositSummary);
 
+    void reserveContainersForOrder(Order order, ContainerDepositSummary depositSummary, Map<Long, Product> products);
+
     void releaseContainerReservations(Long orderId);
 
+    void releaseContainerReservations(Collection<Long> orderIds);
+
 
 }
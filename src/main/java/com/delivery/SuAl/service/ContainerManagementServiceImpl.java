@@ -28,9 +28,11 @@ import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -51,8 +53,37 @@ public class ContainerManagementServiceImpl implements ContainerManagementServic
 
         validateInputs(customerId, productQuantities);
 
+        Map<Long, Product> products = productRepository.findAllById(productQuantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
+
+        return calculateAvailableContainerRefunds(customerId, productQuantities, products);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ContainerDepositSummary calculateAvailableContainerRefunds(
+            Long customerId,
+            Map<Long, Integer> productQuantities,
+            Map<Long, Product> products) {
+
+        validateInputs(customerId, productQuantities);
+
         log.info("Calculating container refunds for customer {}", customerId);
 
+        List<Long> returnableProductIds = new ArrayList<>();
+        for (Long productId : productQuantities.keySet()) {
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new NotFoundException("Product not found: " + productId);
+            }
+            if (product.isReturnable()) {
+                returnableProductIds.add(productId);
+            }
+        }
+
+        Map<Long, Integer> balances = getCustomerContainerBalances(customerId, returnableProductIds);
+        Map<Long, Integer> reserved = getReservedContainerCounts(customerId, returnableProductIds);
+
         List<ProductDepositInfo> productDepositInfos = new ArrayList<>();
         int totalContainersUsed = 0;
         BigDecimal totalDepositRefunded = BigDecimal.ZERO;
@@ -61,7 +92,7 @@ public class ContainerManagementServiceImpl implements ContainerManagementServic
             Long productId = entry.getKey();
             Integer orderQuantity = entry.getValue();
 
-            Product product = findProductById(productId);
+            Product product = products.get(productId);
 
             if (!product.isReturnable()) {
                 productDepositInfos.add(new ProductDepositInfo(
@@ -70,8 +101,8 @@ public class ContainerManagementServiceImpl implements ContainerManagementServic
                 continue;
             }
 
-            int totalBalance = getCustomerContainerBalance(customerId, productId);
-            int alreadyReserved = getReservedContainerCount(customerId, productId);
+            int totalBalance = balances.getOrDefault(productId, 0);
+            int alreadyReserved = reserved.getOrDefault(productId, 0);
             int availableContainers = Math.max(0, totalBalance - alreadyReserved);
 
             BigDecimal depositPerUnit = product.getDepositAmount();
@@ -208,6 +239,25 @@ public class ContainerManagementServiceImpl implements ContainerManagementServic
     @Override
     @Transactional
     public void reserveContainersForOrder(Order order, ContainerDepositSummary depositSummary) {
+        if (depositSummary == null || depositSummary.getProductDepositInfos().isEmpty()) {
+            log.debug("No containers to reserve");
+            return;
+        }
+
+        List<Long> productIds = depositSummary.getProductDepositInfos().stream()
+                .map(ProductDepositInfo::getProductId)
+                .toList();
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
+
+        reserveContainersForOrder(order, depositSummary, products);
+    }
+
+    @Override
+    @Transactional
+    public void reserveContainersForOrder(Order order,
+                                          ContainerDepositSummary depositSummary,
+                                          Map<Long, Product> products) {
         log.info("Reserving containers for order {}", order.getOrderNumber());
 
         if (depositSummary == null || depositSummary.getProductDepositInfos().isEmpty()) {
@@ -218,8 +268,10 @@ public class ContainerManagementServiceImpl implements ContainerManagementServic
         List<ContainerReservation> reservations = new ArrayList<>();
 
         for (ProductDepositInfo info : depositSummary.getProductDepositInfos()) {
-            Product product = productRepository.findById(info.getProductId())
-                    .orElseThrow(() -> new NotFoundException("Product with id " + info.getProductId() + " not found"));
+            Product product = products.get(info.getProductId());
+            if (product == null) {
+                throw new NotFoundException("Product with id " + info.getProductId() + " not found");
+            }
             if (!product.isReturnable() || info.getContainersUsed() <= 0) {
                 continue;
             }
@@ -254,6 +306,17 @@ public class ContainerManagementServiceImpl implements ContainerManagementServic
         log.info("Released {} container reservations", reservations.size());
     }
 
+    @Override
+    @Transactional
+    public void releaseContainerReservations(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+
+        int released = containerReservationRepository.releaseByOrderIdIn(orderIds, LocalDateTime.now(ZoneOffset.UTC));
+        log.info("Released {} container reservations for {} orders", released, orderIds.size());
+    }
+
 
     private void addDeliveredContainersToCustomer(Long customerId, List<OrderDetail> orderDetails) {
         Customer customer = findCustomerById(customerId);
@@ -460,11 +523,18 @@ public class ContainerManagementServiceImpl implements ContainerManagementServic
         }
     }
 
-    private int getCustomerContainerBalance(Long customerId, Long productId) {
+    private Map<Long, Integer> getCustomerContainerBalances(Long customerId, List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
         return customerContainerRepository
-                .findByCustomerIdAndProductId(customerId, productId)
-                .map(CustomerContainer::getQuantity)
-                .orElse(0);
+                .findByCustomerIdAndProductIdIn(customerId, productIds)
+                .stream()
+                .collect(Collectors.toMap(
+                        container -> container.getProduct().getId(),
+                        CustomerContainer::getQuantity,
+                        Integer::sum
+                ));
     }
 
     private int getTotalCustomerContainerBalance(Long customerId) {
@@ -475,11 +545,18 @@ public class ContainerManagementServiceImpl implements ContainerManagementServic
                 .sum();
     }
 
-    private Integer getReservedContainerCount(Long customerId, Long productId) {
-        Integer reserved = containerReservationRepository.sumReservedQuantity(
-                customerId, productId, LocalDateTime.now()
+    private Map<Long, Integer> getReservedContainerCounts(Long customerId, List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Object[]> results = containerReservationRepository.sumReservedQuantityGroupedByProduct(
+                customerId, productIds, LocalDateTime.now()
         );
-        return reserved != null ? reserved : 0;
+        return results.stream()
+                .collect(Collectors.toMap(
+                        row -> (Long) row[0],
+                        row -> ((Number) row[1]).intValue()
+                ));
     }
 
     private Customer findCustomerById(Long customerId) {
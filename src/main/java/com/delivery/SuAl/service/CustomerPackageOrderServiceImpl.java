@@ -23,6 +23,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -53,6 +54,10 @@ public class CustomerPackageOrderServiceImpl implements CustomerPackageOrderServ
     private final OperatorRepository operatorRepository;
     private final ContainerManagementService containerManagementService;
     private final InventoryService inventoryService;
+    private final PackageDeliveryHolds packageDeliveryHolds;
+    private final OrderStatisticsRecorder orderStatisticsRecorder;
+    private final OrderStatusTransitions orderStatusTransitions;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional
@@ -98,8 +103,14 @@ public class CustomerPackageOrderServiceImpl implements CustomerPackageOrderServ
         );
 
         orderRepository.saveAll(generatedOrders);
+        orderStatisticsRecorder.recordCreated(generatedOrders);
+        orderStatusTransitions.created(generatedOrders);
         packageOrder.setGeneratedOrders(generatedOrders);
 
+        int held = packageDeliveryHolds.hold(generatedOrders, LocalDate.now(ZoneOffset.UTC));
+
+        log.info("Soft reserved stock for {} of {} package deliveries", held, generatedOrders.size());
+
         if (!generatedOrders.isEmpty()) {
             Order firstOrder = generatedOrders.getFirst();
 
@@ -136,10 +147,21 @@ public class CustomerPackageOrderServiceImpl implements CustomerPackageOrderServ
         return mapToResponse(saved);
     }
 
-    @Transactional
     public PaymentDTO initializePackagePayment(Long packageOrderId, String language) {
         log.info("Initializing payment for package order {}", packageOrderId);
 
+        CreatePaymentDTO paymentDTO = transactionTemplate.execute(status ->
+                buildPackagePayment(packageOrderId, language));
+
+        PaymentDTO payment = paymentService.initialize(paymentDTO);
+
+        log.info("Payment initialized for package order {}. Reference: {}",
+                packageOrderId, payment.getReferenceId());
+
+        return payment;
+    }
+
+    private CreatePaymentDTO buildPackagePayment(Long packageOrderId, String language) {
         CustomerPackageOrder packageOrder = customerPackageOrderRepository.findById(packageOrderId)
                 .orElseThrow(() -> new NotFoundException("Package order not found"));
 
@@ -159,19 +181,12 @@ public class CustomerPackageOrderServiceImpl implements CustomerPackageOrderServ
                 .findFirst()
                 .orElseThrow(() -> new NotFoundException("No orders found for package"));
 
-        CreatePaymentDTO paymentDTO = CreatePaymentDTO.builder()
+        return CreatePaymentDTO.builder()
                 .orderId(firstOrder.getId())
                 .amount(packageOrder.getTotalPrice())
                 .description("Package Order: " + packageOrder.getOrderNumber())
                 .language(language != null ? language : "az")
                 .build();
-
-        PaymentDTO payment = paymentService.initialize(paymentDTO);
-
-        log.info("Payment initialized for package order {}. Reference: {}",
-                packageOrder.getOrderNumber(), payment.getReferenceId());
-
-        return payment;
     }
 
     @Transactional
@@ -211,13 +226,18 @@ public class CustomerPackageOrderServiceImpl implements CustomerPackageOrderServ
         packageOrder.setOrderStatus(PackageOrderStatus.CANCELLED);
         packageOrder.setCancelledAt(LocalDateTime.now());
 
+        List<Long> rejectedOrderIds = new ArrayList<>();
         for (Order order : packageOrder.getGeneratedOrders()) {
             if (order.getOrderStatus() == OrderStatus.PENDING) {
                 order.setOrderStatus(OrderStatus.REJECTED);
+                orderStatisticsRecorder.recordTransition(order, OrderStatus.PENDING);
+                orderStatusTransitions.changed(order, OrderStatus.PENDING);
                 order.setRejectionReason("Payment failed: " + reason);
                 order.setPaymentStatus(PaymentStatus.FAILED);
+                rejectedOrderIds.add(order.getId());
             }
         }
+        inventoryService.releaseSoftReservations(rejectedOrderIds);
 
         customerPackageOrderRepository.save(packageOrder);
 
@@ -287,6 +307,10 @@ public class CustomerPackageOrderServiceImpl implements CustomerPackageOrderServ
                 boolean wasApproved = order.getOrderStatus() == OrderStatus.APPROVED;
 
                 order.setOrderStatus(OrderStatus.REJECTED);
+                orderStatisticsRecorder.recordTransition(
+                        order, wasApproved ? OrderStatus.APPROVED : OrderStatus.PENDING);
+                orderStatusTransitions.changed(
+                        order, wasApproved ? OrderStatus.APPROVED : OrderStatus.PENDING);
                 order.setRejectionReason("Package cancelled by customer before first delivery");
 
                 if (wasApproved) {
@@ -301,6 +325,8 @@ public class CustomerPackageOrderServiceImpl implements CustomerPackageOrderServ
                             ));
 
                     inventoryService.releaseStockBatch(productQuantities);
+                } else {
+                    inventoryService.releaseSoftReservations(order.getId());
                 }
 
                 containerManagementService.releaseContainerReservations(order.getId());
@@ -422,7 +448,7 @@ public class CustomerPackageOrderServiceImpl implements CustomerPackageOrderServ
                     .referenceId(oldPackage.getId())
                     .build();
 
-            notificationService.createNotification(notification);
+            notificationService.publish(notification);
 
             log.info("Sent auto-renewal success notification to customer {}",
                     oldPackage.getCustomer().getId());
@@ -492,7 +518,7 @@ public class CustomerPackageOrderServiceImpl implements CustomerPackageOrderServ
                     .referenceId(oldPackage.getId())
                     .build();
 
-            notificationService.createNotification(customerNotification);
+            notificationService.publish(customerNotification);
 
             log.info("Sent auto-renewal failure notification to customer {} with title: {}",
                     customer.getId(), customerTitle);
@@ -525,7 +551,7 @@ public class CustomerPackageOrderServiceImpl implements CustomerPackageOrderServ
                                 .build())
                         .collect(Collectors.toList());
 
-                notificationService.createNotificationsBatch(operatorNotifications);
+                notificationService.publishAll(operatorNotifications);
 
                 log.info("Sent auto-renewal failure notifications to {} operators for package {}",
                         activeOperators.size(), oldPackage.getOrderNumber());
@@ -575,7 +601,7 @@ public class CustomerPackageOrderServiceImpl implements CustomerPackageOrderServ
                             .build())
                     .collect(Collectors.toList());
 
-            notificationService.createNotificationsBatch(summaryNotifications);
+            notificationService.publishAll(summaryNotifications);
 
             log.info("Sent auto-renewal summary to {} operators: {} success, {} failures",
                     activeOperators.size(), successCount, failureCount);
@@ -842,10 +868,6 @@ public class CustomerPackageOrderServiceImpl implements CustomerPackageOrderServ
 
             order.setOrderStatus(OrderStatus.PENDING);
 
-            order.setStockReservationType(StockReservationType.SOFT);
-            order.setStockReservedAt(LocalDateTime.now(ZoneOffset.UTC));
-            order.setStockReservationExpiresAt(LocalDateTime.now(ZoneOffset.UTC).plusHours(24));
-
             order.setPromoDiscount(BigDecimal.ZERO);
             order.setCampaignDiscount(BigDecimal.ZERO);
 
@@ -859,9 +881,9 @@ public class CustomerPackageOrderServiceImpl implements CustomerPackageOrderServ
             }
         }
 
-        inventoryService.softReserveStockBatch(allPackageProducts);
+        inventoryService.validateStockAvailability(allPackageProducts);
 
-        log.info("Soft reserved stock for package: {} total products across {} deliveries",
+        log.info("Validated stock for package: {} total products across {} deliveries",
                 allPackageProducts.size(), distributions.size());
 
         return orders;
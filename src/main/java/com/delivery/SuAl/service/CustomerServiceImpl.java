@@ -13,6 +13,7 @@ import com.delivery.SuAl.model.response.wrapper.ApiResponse;
 import com.delivery.SuAl.model.response.wrapper.PageResponse;
 import com.delivery.SuAl.repository.CustomerRepository;
 import com.delivery.SuAl.repository.UserRepository;
+import com.delivery.SuAl.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -32,6 +33,7 @@ public class CustomerServiceImpl implements CustomerService {
     private final CustomerMapper customerMapper;
     private final AuthenticationService authenticationService;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     @Transactional
@@ -105,6 +107,7 @@ public class CustomerServiceImpl implements CustomerService {
 
         customerMapper.updateEntityFromRequest(updateCustomerRequest, customer);
         Customer savedCustomer = customerRepository.save(customer);
+        principalCache.evictAfterCommit(customer.getUser().getId());
 
         log.info("Customer updated successfully with ID: {}", savedCustomer.getId());
         return customerMapper.toResponse(savedCustomer);
@@ -143,6 +146,7 @@ public class CustomerServiceImpl implements CustomerService {
             customer.setUser(null);
             customerRepository.save(customer);
             userRepository.delete(user);
+            principalCache.evictAfterCommit(user.getId());
             log.info("Deleted User associated with Customer {}", id);
         }
 
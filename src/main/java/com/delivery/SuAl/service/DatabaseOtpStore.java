@@ -0,0 +1,54 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.entity.OtpCode;
+import com.delivery.SuAl.repository.OtpRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "database")
+@RequiredArgsConstructor
+public class DatabaseOtpStore implements OtpStore {
+    private final OtpRepository otpRepository;
+
+    @Override
+    @Transactional
+    public void save(String phoneNumber, String code, Duration ttl) {
+        otpRepository.deleteByPhoneNumber(phoneNumber);
+
+        OtpCode otpCode = OtpCode.builder()
+                .phoneNumber(phoneNumber)
+                .code(code)
+                .isUsed(false)
+                .expiresAt(LocalDateTime.now(ZoneOffset.UTC).plus(ttl))
+                .build();
+
+        otpRepository.save(otpCode);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean hasActiveCode(String phoneNumber) {
+        return otpRepository.findByPhoneNumberAndIsUsedFalse(phoneNumber)
+                .filter(otpCode -> otpCode.getExpiresAt().isAfter(LocalDateTime.now(ZoneOffset.UTC)))
+                .isPresent();
+    }
+
+    @Override
+    @Transactional
+    public boolean consume(String phoneNumber, String code) {
+        return otpRepository.markUsed(phoneNumber, code, LocalDateTime.now(ZoneOffset.UTC)) == 1;
+    }
+
+    @Override
+    @Transactional
+    public void purgeExpired() {
+        otpRepository.deleteExpiredOtps(LocalDateTime.now(ZoneOffset.UTC));
+    }
+}
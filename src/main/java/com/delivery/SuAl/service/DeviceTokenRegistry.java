@@ -0,0 +1,84 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.entity.DeviceToken;
+import com.delivery.SuAl.helper.ExpiringLruCache;
+import com.delivery.SuAl.helper.Receiver;
+import com.delivery.SuAl.model.enums.ReceiverType;
+import com.delivery.SuAl.repository.DeviceTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory active FCM tokens per receiver, loaded lazily and bounded by LRU eviction.
+ * <p>
+ * Misses for a batch of receivers are loaded with one query per receiver type, and receivers without tokens are
+ * cached as empty so they do not hit the database on every push. Registering, deactivating and deleting tokens evicts
+ * the receiver once the change commits, and tokens reported invalid by FCM are evicted with their receiver. Entries
+ * expire after {@code notifications.device-tokens.cache-ttl}, which bounds how long a token registered through another
+ * instance can go unseen here.
+ */
+@Component
+@Slf4j
+public class DeviceTokenRegistry {
+    private final DeviceTokenRepository deviceTokenRepository;
+    private final ExpiringLruCache<Receiver, List<String>> cache;
+
+    public DeviceTokenRegistry(DeviceTokenRepository deviceTokenRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${notifications.device-tokens.cache-size:50000}") int cacheSize,
+                               @Value("${notifications.device-tokens.cache-ttl:PT5M}") Duration ttl) {
+        this.deviceTokenRepository = deviceTokenRepository;
+        this.cache = new ExpiringLruCache<>("notifications.device-tokens.cache", cacheSize, ttl, meterRegistry);
+    }
+
+    public Map<Receiver, List<String>> getActiveTokens(Collection<Receiver> receivers) {
+        Map<Receiver, List<String>> tokensByReceiver = new HashMap<>();
+        Map<ReceiverType, Set<Long>> missing = new HashMap<>();
+
+        for (Receiver receiver : receivers) {
+            List<String> cached = cache.get(receiver);
+            if (cached != null) {
+                tokensByReceiver.put(receiver, cached);
+            } else {
+                missing.computeIfAbsent(receiver.getReceiverType(), type -> new HashSet<>())
+                        .add(receiver.getReceiverId());
+            }
+        }
+
+        missing.forEach((receiverType, receiverIds) -> {
+            Map<Long, List<String>> loaded = new HashMap<>();
+            for (DeviceToken token : deviceTokenRepository.findActiveByReceivers(receiverType, receiverIds)) {
+                loaded.computeIfAbsent(token.getReceiverId(), id -> new ArrayList<>()).add(token.getFcmToken());
+            }
+            for (Long receiverId : receiverIds) {
+                Receiver receiver = new Receiver(receiverType, receiverId);
+                List<String> tokens = List.copyOf(loaded.getOrDefault(receiverId, List.of()));
+                cache.put(receiver, tokens);
+                tokensByReceiver.put(receiver, tokens);
+            }
+        });
+        return tokensByReceiver;
+    }
+
+    /**
+     * See {@link ExpiringLruCache#evictAfterCommit}.
+     */
+    public void evictAfterCommit(Receiver receiver) {
+        cache.evictAfterCommit(receiver);
+    }
+
+    public void evict(Collection<Receiver> receivers) {
+        receivers.forEach(cache::remove);
+    }
+}
@@ -1,22 +1,14 @@
 package com.delivery.SuAl.service;
 
-import com.delivery.SuAl.entity.Admin;
-import com.delivery.SuAl.entity.Customer;
 import com.delivery.SuAl.entity.DeviceToken;
-import com.delivery.SuAl.entity.Driver;
-import com.delivery.SuAl.entity.Operator;
 import com.delivery.SuAl.entity.User;
 import com.delivery.SuAl.exception.NotFoundException;
+import com.delivery.SuAl.helper.Receiver;
 import com.delivery.SuAl.mapper.DeviceTokenMapper;
 import com.delivery.SuAl.model.enums.ReceiverType;
 import com.delivery.SuAl.model.request.notification.DeviceTokenRequest;
 import com.delivery.SuAl.model.response.notification.DeviceTokenResponse;
-import com.delivery.SuAl.repository.AdminRepository;
-import com.delivery.SuAl.repository.CustomerRepository;
 import com.delivery.SuAl.repository.DeviceTokenRepository;
-import com.delivery.SuAl.repository.DriverRepository;
-import com.delivery.SuAl.repository.OperatorRepository;
-import com.delivery.SuAl.util.ReceiverTypeResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.AccessDeniedException;
@@ -32,16 +24,15 @@ import java.util.Optional;
 public class DeviceTokenServiceImpl implements DeviceTokenService {
     private final DeviceTokenRepository deviceTokenRepository;
     private final DeviceTokenMapper deviceTokenMapper;
-    private final AdminRepository adminRepository;
-    private final CustomerRepository customerRepository;
-    private final OperatorRepository operatorRepository;
-    private final DriverRepository driverRepository;
+    private final ReceiverResolver receiverResolver;
+    private final DeviceTokenRegistry deviceTokenRegistry;
 
     @Override
     @Transactional
     public DeviceTokenResponse registerDeviceToken(User user, DeviceTokenRequest request) {
-        Long receiverId = resolveRoleEntityId(user);
-        ReceiverType receiverType = ReceiverTypeResolver.resolve(user.getRole());
+        Receiver receiver = receiverResolver.resolve(user);
+        Long receiverId = receiver.getReceiverId();
+        ReceiverType receiverType = receiver.getReceiverType();
 
         Optional<DeviceToken> existingToken = deviceTokenRepository
                 .findByReceiverTypeAndReceiverIdAndFcmToken(
@@ -55,6 +46,7 @@ public class DeviceTokenServiceImpl implements DeviceTokenService {
             token.setIsActive(true);
             token.setDeviceType(request.getDeviceType());
             DeviceToken updated = deviceTokenRepository.save(token);
+            deviceTokenRegistry.evictAfterCommit(receiver);
             return deviceTokenMapper.toResponse(updated);
         }
 
@@ -63,13 +55,15 @@ public class DeviceTokenServiceImpl implements DeviceTokenService {
         deviceToken.setReceiverId(receiverId);
         deviceToken.setReceiverType(receiverType);
         DeviceToken saved = deviceTokenRepository.save(deviceToken);
+        deviceTokenRegistry.evictAfterCommit(receiver);
         return deviceTokenMapper.toResponse(saved);
     }
 
     @Override
     public List<DeviceTokenResponse> getActiveTokensByReceiver(User user) {
-        Long receiverId = resolveRoleEntityId(user);
-        ReceiverType receiverType = ReceiverTypeResolver.resolve(user.getRole());
+        Receiver receiver = receiverResolver.resolve(user);
+        Long receiverId = receiver.getReceiverId();
+        ReceiverType receiverType = receiver.getReceiverType();
 
         List<DeviceToken> tokens = deviceTokenRepository
                 .findByReceiverTypeAndReceiverIdAndIsActiveTrue(receiverType, receiverId);
@@ -80,8 +74,9 @@ public class DeviceTokenServiceImpl implements DeviceTokenService {
     @Override
     @Transactional
     public void deactivateToken(User user) {
-        Long receiverId = resolveRoleEntityId(user);
-        ReceiverType receiverType = ReceiverTypeResolver.resolve(user.getRole());
+        Receiver receiver = receiverResolver.resolve(user);
+        Long receiverId = receiver.getReceiverId();
+        ReceiverType receiverType = receiver.getReceiverType();
 
         List<DeviceToken> tokens = deviceTokenRepository
                 .findAllByReceiverIdAndReceiverType(receiverId, receiverType);
@@ -92,6 +87,7 @@ public class DeviceTokenServiceImpl implements DeviceTokenService {
 
         tokens.forEach(token -> token.setIsActive(false));
         deviceTokenRepository.saveAll(tokens);
+        deviceTokenRegistry.evictAfterCommit(receiver);
 
         log.info("Deactivated {} device token(s) for user ID: {}", tokens.size(), user.getId());
 
@@ -100,8 +96,9 @@ public class DeviceTokenServiceImpl implements DeviceTokenService {
     @Override
     @Transactional
     public void deleteToken(User user) {
-        Long receiverId = resolveRoleEntityId(user);
-        ReceiverType receiverType = ReceiverTypeResolver.resolve(user.getRole());
+        Receiver receiver = receiverResolver.resolve(user);
+        Long receiverId = receiver.getReceiverId();
+        ReceiverType receiverType = receiver.getReceiverType();
 
         List<DeviceToken> tokens = deviceTokenRepository
                 .findAllByReceiverIdAndReceiverType(receiverId, receiverType);
@@ -111,37 +108,20 @@ public class DeviceTokenServiceImpl implements DeviceTokenService {
         }
 
         deviceTokenRepository.deleteAll(tokens);
+        deviceTokenRegistry.evictAfterCommit(receiver);
 
         log.info("Deleted {} device token(s) for user ID: {}", tokens.size(), user.getId());
 
     }
 
     private void verifyOwnership(User user, DeviceToken token) {
-        Long receiverId = resolveRoleEntityId(user);
-        ReceiverType receiverType = ReceiverTypeResolver.resolve(user.getRole());
+        Receiver receiver = receiverResolver.resolve(user);
+        Long receiverId = receiver.getReceiverId();
+        ReceiverType receiverType = receiver.getReceiverType();
 
         if (!token.getReceiverId().equals(receiverId) ||
                 !token.getReceiverType().equals(receiverType)) {
             throw new AccessDeniedException("You do not have permission to modify this device token");
         }
     }
-
-    private Long resolveRoleEntityId(User user) {
-        return switch (user.getRole()) {
-            case ADMIN -> adminRepository.findByUserId(user.getId())
-                    .map(Admin::getId)
-                    .orElseThrow(() -> new NotFoundException("Admin not found for user: " + user.getId()));
-            case CUSTOMER -> customerRepository.findByUserId(user.getId())
-                    .map(Customer::getId)
-                    .orElseThrow(() -> new NotFoundException("Customer not found for user: " + user.getId()));
-            case OPERATOR -> operatorRepository.findByUserId(user.getId())
-                    .map(Operator::getId)
-                    .orElseThrow(() -> new NotFoundException("Operator not found for user: " + user.getId()));
-            case DRIVER -> driverRepository.findByUserId(user.getId())
-                    .map(Driver::getId)
-                    .orElseThrow(() -> new NotFoundException("Driver not found for user: " + user.getId()));
-            default -> throw new IllegalStateException(
-                    "Unsupported role for device token: " + user.getRole());
-        };
-    }
 }
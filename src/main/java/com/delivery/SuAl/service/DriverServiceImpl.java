@@ -19,6 +19,7 @@ import com.delivery.SuAl.model.response.wrapper.PageResponse;
 import com.delivery.SuAl.repository.DriverRepository;
 import com.delivery.SuAl.repository.OrderRepository;
 import com.delivery.SuAl.repository.UserRepository;
+import com.delivery.SuAl.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -41,6 +42,7 @@ public class DriverServiceImpl implements DriverService {
     private final OrderMapper orderMapper;
     private final AuthenticationService authenticationService;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     @Transactional
@@ -134,6 +136,7 @@ public class DriverServiceImpl implements DriverService {
 
         driverMapper.updateEntityFromRequest(updateDriverRequest, driver);
         Driver updatedDriver = driverRepository.save(driver);
+        principalCache.evictAfterCommit(driver.getUser().getId());
 
         DriverResponse driverResponse = driverMapper.toResponse(updatedDriver);
         enrichWithAvailability(driverResponse, id);
@@ -151,6 +154,7 @@ public class DriverServiceImpl implements DriverService {
         driver.setDriverStatus(DriverStatus.INACTIVE);
 
         if (driver.getUser() != null) {
+            principalCache.evictAfterCommit(driver.getUser().getId());
             userRepository.delete(driver.getUser());
             log.info("Deleted User associated with Driver {}", id);
         }
@@ -0,0 +1,53 @@
+package com.delivery.SuAl.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+    private final Map<String, StoredCode> codes = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(String phoneNumber, String code, Duration ttl) {
+        codes.put(phoneNumber, new StoredCode(code, System.nanoTime() + ttl.toNanos()));
+    }
+
+    @Override
+    public boolean hasActiveCode(String phoneNumber) {
+        StoredCode stored = codes.get(phoneNumber);
+        return stored != null && !stored.isExpired(System.nanoTime());
+    }
+
+    @Override
+    public boolean consume(String phoneNumber, String code) {
+        StoredCode stored = codes.get(phoneNumber);
+        if (stored == null || stored.isExpired(System.nanoTime()) || !stored.matches(code)) {
+            return false;
+        }
+        return codes.remove(phoneNumber, stored);
+    }
+
+    @Override
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        codes.values().removeIf(stored -> stored.isExpired(now));
+    }
+
+    private record StoredCode(String code, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+
+        boolean matches(String candidate) {
+            return candidate != null && MessageDigest.isEqual(
+                    code.getBytes(StandardCharsets.UTF_8), candidate.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -2,32 +2,52 @@ package com.delivery.SuAl.service;
 
 import com.delivery.SuAl.entity.Product;
 import com.delivery.SuAl.entity.StockMovement;
+import com.delivery.SuAl.entity.StockReservation;
 import com.delivery.SuAl.entity.User;
 import com.delivery.SuAl.entity.WarehouseStock;
 import com.delivery.SuAl.exception.InsufficientStockException;
 import com.delivery.SuAl.exception.NotFoundException;
+import com.delivery.SuAl.helper.StockHold;
+import com.delivery.SuAl.helper.StockKey;
 import com.delivery.SuAl.model.enums.MovementType;
 import com.delivery.SuAl.model.enums.ReferenceType;
+import com.delivery.SuAl.model.enums.StockReservationType;
 import com.delivery.SuAl.repository.ProductRepository;
 import com.delivery.SuAl.repository.StockMovementRepository;
+import com.delivery.SuAl.repository.StockReservationRepository;
+import com.delivery.SuAl.repository.WarehouseRepository;
 import com.delivery.SuAl.repository.WarehouseStockRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class InventoryService {
+    private static final int ACQUIRE_ATTEMPTS = 2;
+
     private final WarehouseStockRepository warehouseStockRepository;
     private final ProductRepository productRepository;
     private final StockMovementRepository stockMovementRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final StockLedger stockLedger;
+    private final StockLedgerReconciler stockLedgerReconciler;
 
     @Transactional
     public void validateAndReserveStock(Long productId, int quantity) {
@@ -36,24 +56,19 @@ public class InventoryService {
         if (quantity <= 0) {
             throw new IllegalArgumentException("Quantity must be greater than zero");
         }
-        WarehouseStock stock = warehouseStockRepository.findByProductIdWithLock(productId)
-                .orElseThrow(() -> new NotFoundException("product not found in warehouse with id: " + productId));
+        ensureLedgerInitialized();
+        if (!stockLedger.isTracked(productId)) {
+            throw new NotFoundException("product not found in warehouse with id: " + productId);
+        }
 
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new NotFoundException("Product not found with id: " + productId));
 
-        if (stock.getFullCount() < quantity) {
-            throw new InsufficientStockException(
-                    String.format("Insufficient stock for product %s. Available: %d, Requested: %d",
-                            product.getName(), stock.getFullCount(), quantity)
-            );
-        }
-
-        stock.setFullCount(stock.getFullCount() - quantity);
-        warehouseStockRepository.save(stock);
+        StockHold hold = acquireOrThrow(Map.of(productId, quantity), Map.of(productId, product));
+        appendLedgerEntries(hold.getAllocations(), StockReservationType.HARD, null, null, 1);
 
         log.info("Reserved {} units of product '{}'. Remaining: {}",
-                quantity, product.getName(), stock.getFullCount());
+                quantity, product.getName(), stockLedger.availableFor(productId));
     }
 
     @Transactional
@@ -69,15 +84,9 @@ public class InventoryService {
         if (productQuantities == null || productQuantities.isEmpty()) return;
         log.info("Batch reserving stock for {} products", productQuantities.size());
 
-        productQuantities.forEach((productId, quantity) -> {
-            if (quantity <= 0) throw new IllegalArgumentException(
-                    String.format("Invalid quantity %d for product %d", quantity, productId));
-        });
+        validateQuantities(productQuantities);
 
         List<Long> productIds = new ArrayList<>(productQuantities.keySet());
-        List<WarehouseStock> stocks = warehouseStockRepository.findByProductIdsWithLock(productIds);
-        Map<Long, WarehouseStock> stockMap = stocks.stream()
-                .collect(Collectors.toMap(s -> s.getProduct().getId(), s -> s));
         Map<Long, Product> productMap = productRepository.findAllById(productIds)
                 .stream().collect(Collectors.toMap(Product::getId, p -> p));
 
@@ -87,37 +96,15 @@ public class InventoryService {
             throw new NotFoundException("Products not found: " + missingProducts);
         }
 
-        List<String> errors = new ArrayList<>();
-        for (Map.Entry<Long, Integer> entry : productQuantities.entrySet()) {
-            Long productId = entry.getKey();
-            Integer quantity = entry.getValue();
-            WarehouseStock stock = stockMap.get(productId);
-            if (stock == null) {
-                errors.add(String.format("Product '%s' not available in warehouse",
-                        productMap.get(productId).getName()));
-                continue;
-            }
-            if (stock.getFullCount() < quantity) {
-                errors.add(String.format("Insufficient stock for '%s'. Available: %d, Requested: %d",
-                        productMap.get(productId).getName(), stock.getFullCount(), quantity));
-            }
-        }
-        if (!errors.isEmpty()) {
-            throw new InsufficientStockException("Stock validation failed: " + String.join("; ", errors));
-        }
-
-        List<StockMovement> movements = new ArrayList<>();
-        for (Map.Entry<Long, Integer> entry : productQuantities.entrySet()) {
-            Long productId = entry.getKey();
-            Integer quantity = entry.getValue();
-
-            WarehouseStock stock = stockMap.get(productId);
-            stock.setFullCount(stock.getFullCount() - quantity);
+        StockHold hold = acquireOrThrow(productQuantities, productMap);
+        appendLedgerEntries(hold.getAllocations(), StockReservationType.HARD, orderId, null, 1);
 
-            if (orderId != null && warehouseId != null) {
+        if (orderId != null && warehouseId != null) {
+            List<StockMovement> movements = new ArrayList<>();
+            hold.getAllocations().forEach((key, quantity) -> {
                 StockMovement movement = new StockMovement();
-                movement.setProduct(productMap.get(productId));
-                movement.setWarehouse(stock.getWarehouse());
+                movement.setProduct(productMap.get(key.getProductId()));
+                movement.setWarehouse(warehouseRepository.getReferenceById(key.getWarehouseId()));
                 movement.setMovementType(MovementType.SALE);
                 movement.setReferenceType(ReferenceType.ORDER);
                 movement.setReferenceId(orderId);
@@ -125,32 +112,206 @@ public class InventoryService {
                 movement.setNotes("Stock reserved for order ID: " + orderId);
                 movement.setCreatedBy(user);
                 movements.add(movement);
-            }
-
-            log.debug("Reserved {} of {} ({}). Remaining: {}",
-                    quantity, productId, productMap.get(productId).getName(), stock.getFullCount());
-        }
-
-        warehouseStockRepository.saveAll(stocks);
-        if (!movements.isEmpty()) {
+            });
             stockMovementRepository.saveAll(movements);
         }
 
         log.info("Successfully reserved stock for {} products", productQuantities.size());
     }
 
+    /**
+     * Takes the quantities from the stock ledger without recording them yet, so stock can be held before the order
+     * exists. The hold is given back if the surrounding transaction rolls back; call
+     * {@link #recordSoftReservation(StockHold, Long, LocalDateTime)} once the order is saved.
+     */
     @Transactional
-    public void softReserveStockBatch(Map<Long, Integer> productQuantities) {
+    public StockHold softReserveStockBatch(Map<Long, Integer> productQuantities) {
+        if (productQuantities == null || productQuantities.isEmpty()) {
+            return StockHold.empty();
+        }
         log.info("SOFT reserving stock for {} products", productQuantities.size());
 
-        validateStockAvailability(productQuantities);
+        validateQuantities(productQuantities);
+        return acquireOrThrow(productQuantities, Map.of());
     }
 
     @Transactional
-    public void convertSoftToHardReservation(Map<Long, Integer> productQuantities, User user) {
-        log.info("Converting SOFT to HARD reservation for {} products", productQuantities.size());
+    public void recordSoftReservation(StockHold hold, Long orderId, LocalDateTime expiresAt) {
+        appendLedgerEntries(hold.getAllocations(), StockReservationType.SOFT, orderId, expiresAt, 1);
+    }
 
-        validateAndReserveStockBatch(productQuantities, user);
+    @Transactional
+    public void softReserveStockBatch(Map<Long, Integer> productQuantities, Long orderId, LocalDateTime expiresAt) {
+        recordSoftReservation(softReserveStockBatch(productQuantities), orderId, expiresAt);
+    }
+
+    /**
+     * Places soft holds for several existing orders. Each order is all-or-nothing: an order whose demand cannot be
+     * covered gets no hold and is returned with the reason, so one short order does not fail the others.
+     *
+     * @return rejection reasons keyed by order id, empty when every order got its hold
+     */
+    @Transactional
+    public Map<Long, String> softReserveForOrders(Map<Long, Map<Long, Integer>> demandByOrder,
+                                                  Map<Long, LocalDateTime> expiresAtByOrder) {
+        if (demandByOrder.isEmpty()) {
+            return Map.of();
+        }
+        ensureLedgerInitialized();
+
+        List<StockReservation> entries = new ArrayList<>();
+        Map<Long, String> rejections = new LinkedHashMap<>();
+        demandByOrder.forEach((orderId, productQuantities) -> {
+            Map<StockKey, Integer> allocations = new HashMap<>();
+            Map<Long, Integer> shortfalls = acquire(productQuantities, allocations);
+            if (!shortfalls.isEmpty()) {
+                rejections.put(orderId, insufficientStock(productQuantities, shortfalls, Map.of()).getMessage());
+                return;
+            }
+            entries.addAll(toLedgerEntries(allocations, StockReservationType.SOFT, orderId,
+                    expiresAtByOrder.get(orderId), 1));
+        });
+        stockReservationRepository.saveAll(entries);
+
+        log.info("SOFT reserved stock for {} of {} orders", demandByOrder.size() - rejections.size(),
+                demandByOrder.size());
+        return rejections;
+    }
+
+    /**
+     * Turns the order's soft holds into hard reservations. Held quantities are converted in place; only the part of
+     * the demand not covered by a hold is taken from the ledger, and surplus holds are given back.
+     */
+    @Transactional
+    public void convertSoftToHardReservation(Map<Long, Integer> productQuantities, Long orderId, User user) {
+        log.info("Converting SOFT to HARD reservation for {} products of order {}", productQuantities.size(), orderId);
+
+        validateQuantities(productQuantities);
+        String rejection = reserveStockForOrders(Map.of(orderId, productQuantities)).get(orderId);
+        if (rejection != null) {
+            throw new InsufficientStockException(rejection);
+        }
+    }
+
+    /**
+     * Hard-reserves the demand of several orders in one pass, converting their soft holds as in
+     * {@link #convertSoftToHardReservation(Map, Long, User)}. Orders are admitted in iteration order and each one
+     * is all-or-nothing: an order whose uncovered demand cannot be taken keeps its holds and is returned with the
+     * reason, so one short order does not fail the others. An order with an invalid quantity is rejected the same way.
+     *
+     * @return rejection reasons keyed by order id, empty when every order was reserved
+     */
+    @Transactional
+    public Map<Long, String> reserveStockForOrders(Map<Long, Map<Long, Integer>> demandByOrder) {
+        if (demandByOrder.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, String> invalid = new LinkedHashMap<>();
+        Map<Long, Map<Long, Integer>> validDemand = new LinkedHashMap<>();
+        demandByOrder.forEach((orderId, productQuantities) -> {
+            try {
+                validateQuantities(productQuantities);
+                validDemand.put(orderId, productQuantities);
+            } catch (IllegalArgumentException e) {
+                invalid.put(orderId, e.getMessage());
+            }
+        });
+        if (validDemand.isEmpty()) {
+            return invalid;
+        }
+        demandByOrder = validDemand;
+        ensureLedgerInitialized();
+
+        Map<Long, Map<StockKey, Integer>> holdsByOrder =
+                findOutstanding(demandByOrder.keySet(), StockReservationType.SOFT);
+
+        List<StockReservation> entries = new ArrayList<>();
+        Map<StockKey, Integer> surplus = new HashMap<>();
+        Map<Long, Map<Long, Integer>> uncoveredByOrder = new LinkedHashMap<>();
+        Map<Long, Map<Long, Integer>> shortfallsByOrder = new LinkedHashMap<>();
+
+        for (Map.Entry<Long, Map<Long, Integer>> order : demandByOrder.entrySet()) {
+            Long orderId = order.getKey();
+            Map<StockKey, Integer> softHolds = holdsByOrder.getOrDefault(orderId, Map.of());
+            Map<StockKey, Integer> remainingHolds = new HashMap<>(softHolds);
+            Map<StockKey, Integer> hardAllocations = new HashMap<>();
+
+            Map<Long, Integer> uncovered = coverFromHolds(order.getValue(), remainingHolds, hardAllocations);
+            if (!uncovered.isEmpty()) {
+                Map<Long, Integer> shortfalls = acquire(uncovered, hardAllocations);
+                if (!shortfalls.isEmpty()) {
+                    uncoveredByOrder.put(orderId, uncovered);
+                    shortfallsByOrder.put(orderId, shortfalls);
+                    continue;
+                }
+            }
+
+            entries.addAll(toLedgerEntries(softHolds, StockReservationType.SOFT, orderId, null, -1));
+            entries.addAll(toLedgerEntries(hardAllocations, StockReservationType.HARD, orderId, null, 1));
+            remainingHolds.forEach((key, quantity) -> {
+                if (quantity > 0) {
+                    surplus.merge(key, quantity, Integer::sum);
+                }
+            });
+        }
+
+        stockReservationRepository.saveAll(entries);
+        release(surplus);
+
+        log.info("Hard-reserved stock for {} of {} orders, gave back {} surplus rows",
+                demandByOrder.size() - shortfallsByOrder.size(), demandByOrder.size(), surplus.size());
+
+        if (shortfallsByOrder.isEmpty()) {
+            return invalid;
+        }
+
+        Set<Long> shortProductIds = new HashSet<>();
+        shortfallsByOrder.values().forEach(shortfalls -> shortProductIds.addAll(shortfalls.keySet()));
+        Map<Long, Product> productMap = productRepository.findAllById(shortProductIds)
+                .stream().collect(Collectors.toMap(Product::getId, p -> p));
+
+        Map<Long, String> rejections = new LinkedHashMap<>(invalid);
+        shortfallsByOrder.forEach((orderId, shortfalls) -> rejections.put(orderId,
+                insufficientStock(uncoveredByOrder.get(orderId), shortfalls, productMap).getMessage()));
+        return rejections;
+    }
+
+    @Transactional
+    public void releaseSoftReservations(Long orderId) {
+        releaseSoftReservations(List.of(orderId));
+    }
+
+    @Transactional
+    public void releaseSoftReservations(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+
+        List<StockReservation> entries = new ArrayList<>();
+        Map<StockKey, Integer> released = new HashMap<>();
+        for (Object[] row : stockReservationRepository.sumOutstandingByOrdersGroupedByStock(
+                orderIds, StockReservationType.SOFT)) {
+            StockKey key = new StockKey((Long) row[1], (Long) row[2]);
+            int quantity = ((Number) row[3]).intValue();
+
+            entries.add(StockReservation.builder()
+                    .warehouseId(key.getWarehouseId())
+                    .productId(key.getProductId())
+                    .orderId((Long) row[0])
+                    .reservationType(StockReservationType.SOFT)
+                    .quantity(-quantity)
+                    .build());
+            released.merge(key, quantity, Integer::sum);
+        }
+
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        stockReservationRepository.saveAll(entries);
+        release(released);
+
+        log.info("Released soft stock holds of {} orders over {} stock rows", orderIds.size(), released.size());
     }
 
     @Transactional
@@ -162,20 +323,18 @@ public class InventoryService {
 
         log.info("Releasing stock for {} units of product {} back to warehouse", quantity, productId);
 
-        warehouseStockRepository.findByProductIdWithLock(productId)
-                .ifPresentOrElse(
-                        stock -> {
-                            stock.setFullCount(stock.getFullCount() + quantity);
-                            warehouseStockRepository.save(stock);
-                            log.info("Released {} units of product ID {}. New count: {}",
-                                    quantity, productId, stock.getFullCount());
-                        },
-                        () -> {
-                            log.error("Cannot release stock - product {} not found in warehouse", productId);
-                            throw new NotFoundException(
-                                    "Product not found in warehouse with id: " + productId);
-                        }
-                );
+        ensureLedgerInitialized();
+        StockKey key = stockLedger.primaryKey(productId);
+        if (key == null) {
+            log.error("Cannot release stock - product {} not found in warehouse", productId);
+            throw new NotFoundException("Product not found in warehouse with id: " + productId);
+        }
+
+        Map<StockKey, Integer> allocations = Map.of(key, quantity);
+        appendLedgerEntries(allocations, StockReservationType.HARD, null, null, -1);
+        release(allocations);
+
+        log.info("Released {} units of product ID {}", quantity, productId);
     }
 
     @Transactional
@@ -190,58 +349,44 @@ public class InventoryService {
         if (productQuantities == null || productQuantities.isEmpty()) return;
         log.info("Batch releasing stock for {} products", productQuantities.size());
 
-        productQuantities.forEach((productId, quantity) -> {
-            if (quantity <= 0) throw new IllegalArgumentException(
-                    String.format("Invalid quantity %d for product %d", quantity, productId));
-        });
-
-        List<Long> productIds = new ArrayList<>(productQuantities.keySet());
-        List<WarehouseStock> stocks = warehouseStockRepository.findByProductIdsWithLock(productIds);
-        Map<Long, WarehouseStock> stockMap = stocks.stream()
-                .collect(Collectors.toMap(s -> s.getProduct().getId(), s -> s));
-        Map<Long, Product> productMap = productRepository.findAllById(productIds)
-                .stream().collect(Collectors.toMap(Product::getId, p -> p));
+        validateQuantities(productQuantities);
+        ensureLedgerInitialized();
 
         List<Long> missingStocks = new ArrayList<>();
-        List<StockMovement> movements = new ArrayList<>();
-
+        Map<StockKey, Integer> allocations = new HashMap<>();
         for (Map.Entry<Long, Integer> entry : productQuantities.entrySet()) {
-            Long productId = entry.getKey();
-            Integer quantity = entry.getValue();
-
-            WarehouseStock stock = stockMap.get(productId);
-            if (stock == null) {
-                missingStocks.add(productId);
-                log.error("Cannot release stock - product {} not found in warehouse", productId);
+            StockKey key = stockLedger.primaryKey(entry.getKey());
+            if (key == null) {
+                missingStocks.add(entry.getKey());
+                log.error("Cannot release stock - product {} not found in warehouse", entry.getKey());
                 continue;
             }
+            allocations.merge(key, entry.getValue(), Integer::sum);
+        }
 
-            stock.setFullCount(stock.getFullCount() + quantity);
+        if (!missingStocks.isEmpty()) {
+            throw new NotFoundException("Products not found in warehouse: " + missingStocks);
+        }
 
-            if (orderId != null) {
+        appendLedgerEntries(allocations, StockReservationType.HARD, orderId, null, -1);
+        release(allocations);
+
+        if (orderId != null) {
+            Map<Long, Product> productMap = productRepository.findAllById(productQuantities.keySet())
+                    .stream().collect(Collectors.toMap(Product::getId, p -> p));
+
+            List<StockMovement> movements = new ArrayList<>();
+            allocations.forEach((key, quantity) -> {
                 StockMovement movement = new StockMovement();
-                movement.setProduct(productMap.get(productId));
-                movement.setWarehouse(stock.getWarehouse());
+                movement.setProduct(productMap.get(key.getProductId()));
+                movement.setWarehouse(warehouseRepository.getReferenceById(key.getWarehouseId()));
                 movement.setMovementType(MovementType.RETURN_FROM_CUSTOMER);
                 movement.setReferenceType(ReferenceType.ORDER);
                 movement.setReferenceId(orderId);
                 movement.setQuantity(quantity);
                 movement.setNotes("Stock released from cancelled order ID: " + orderId);
                 movements.add(movement);
-            }
-
-            log.debug("Released {} of {} ({}). New count: {}",
-                    quantity, productId,
-                    productMap.get(productId) != null ? productMap.get(productId).getName() : "Unknown",
-                    stock.getFullCount());
-        }
-
-        if (!missingStocks.isEmpty()) {
-            throw new NotFoundException("Products not found in warehouse: " + missingStocks);
-        }
-
-        warehouseStockRepository.saveAll(stocks);
-        if (!movements.isEmpty()) {
+            });
             stockMovementRepository.saveAll(movements);
         }
 
@@ -328,7 +473,7 @@ public class InventoryService {
                 totalBottlesAdded, emptyBottlesByProduct.size());
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public void validateStockAvailability(Map<Long, Integer> productQuantities){
         if (productQuantities == null || productQuantities.isEmpty()) {
             return;
@@ -336,40 +481,205 @@ public class InventoryService {
 
         log.debug("Validating stock availability for {} products", productQuantities.size());
 
-        List<Long> productIds = new ArrayList<>(productQuantities.keySet());
+        ensureLedgerInitialized();
 
-        List<WarehouseStock> stocks = warehouseStockRepository.findByProductIdsWithLock(productIds);
+        Map<Long, Integer> shortfalls = new HashMap<>();
+        for (Map.Entry<Long, Integer> entry : productQuantities.entrySet()) {
+            int available = stockLedger.availableFor(entry.getKey());
+            if (!stockLedger.isTracked(entry.getKey()) || available < entry.getValue()) {
+                shortfalls.put(entry.getKey(), available);
+            }
+        }
 
-        Map<Long, WarehouseStock> stockMap = stocks.stream()
-                .collect(Collectors.toMap(s -> s.getProduct().getId(), s -> s));
+        if (!shortfalls.isEmpty()) {
+            throw insufficientStock(productQuantities, shortfalls, Map.of());
+        }
+    }
 
-        Map<Long, Product> productMap = productRepository.findAllById(productIds)
-                .stream()
-                .collect(Collectors.toMap(Product::getId, p -> p));
+    private StockHold acquireOrThrow(Map<Long, Integer> productQuantities, Map<Long, Product> productMap) {
+        ensureLedgerInitialized();
 
-        List<String> errors = new ArrayList<>();
-        for (Map.Entry<Long, Integer> entry : productQuantities.entrySet()) {
-            Long productId = entry.getKey();
-            Integer quantity = entry.getValue();
+        Map<StockKey, Integer> allocations = new HashMap<>();
+        Map<Long, Integer> shortfalls = acquire(productQuantities, allocations);
+        if (!shortfalls.isEmpty()) {
+            throw insufficientStock(productQuantities, shortfalls, productMap);
+        }
+        return new StockHold(Map.copyOf(allocations));
+    }
 
-            WarehouseStock stock = stockMap.get(productId);
-            if (stock == null) {
-                Product product = productMap.get(productId);
-                errors.add(String.format("Product '%s' not available in warehouse",
-                        product != null ? product.getName() : productId));
+    /**
+     * Takes the quantities all-or-nothing, as {@link StockLedger#tryAcquire} does. The ledger picks the stock rows and
+     * the database confirms each of them with a conditional update of its reserved count, which is what keeps
+     * instances from overselling each other. When the ledger turns a product down or the database rejects a row, the
+     * ledger counters of those products are reset from the database and the take is retried once.
+     *
+     * @return the shortfalls (product id to available quantity), empty when the quantities were taken
+     */
+    private Map<Long, Integer> acquire(Map<Long, Integer> productQuantities, Map<StockKey, Integer> allocations) {
+        Map<Long, Integer> shortfalls = Map.of();
+        for (int attempt = 0; attempt < ACQUIRE_ATTEMPTS; attempt++) {
+            if (attempt > 0) {
+                stockLedgerReconciler.sync(shortfalls.keySet());
+            }
+
+            Map<StockKey, Integer> taken = new HashMap<>();
+            shortfalls = stockLedger.tryAcquire(productQuantities, taken);
+            if (!shortfalls.isEmpty()) {
                 continue;
             }
 
-            if (stock.getFullCount() < quantity) {
-                Product product = productMap.get(productId);
+            Set<Long> rejected = reserveInDatabase(taken);
+            if (rejected.isEmpty()) {
+                taken.forEach((key, quantity) -> allocations.merge(key, quantity, Integer::sum));
+                return Map.of();
+            }
+            stockLedger.cancel(taken);
+            stockLedgerReconciler.sync(rejected);
+            shortfalls = new LinkedHashMap<>();
+            for (Long productId : rejected) {
+                shortfalls.put(productId, stockLedger.availableFor(productId));
+            }
+        }
+        return shortfalls;
+    }
+
+    /**
+     * Reserves the quantities on their stock rows, all-or-nothing.
+     *
+     * @return the products whose row did not have the quantity available, empty when everything was reserved
+     */
+    private Set<Long> reserveInDatabase(Map<StockKey, Integer> allocations) {
+        Map<StockKey, Integer> ordered = new TreeMap<>(StockKey.LOCK_ORDER);
+        ordered.putAll(allocations);
+
+        Map<StockKey, Integer> reserved = new HashMap<>();
+        Set<Long> rejected = new LinkedHashSet<>();
+        ordered.forEach((key, quantity) -> {
+            if (warehouseStockRepository.tryReserve(key.getWarehouseId(), key.getProductId(), quantity) == 1) {
+                reserved.put(key, quantity);
+            } else {
+                rejected.add(key.getProductId());
+            }
+        });
+
+        if (!rejected.isEmpty()) {
+            reserved.forEach((key, quantity) ->
+                    warehouseStockRepository.releaseReserved(key.getWarehouseId(), key.getProductId(), quantity));
+        }
+        return rejected;
+    }
+
+    private void release(Map<StockKey, Integer> allocations) {
+        Map<StockKey, Integer> ordered = new TreeMap<>(StockKey.LOCK_ORDER);
+        ordered.putAll(allocations);
+        ordered.forEach((key, quantity) ->
+                warehouseStockRepository.releaseReserved(key.getWarehouseId(), key.getProductId(), quantity));
+        stockLedger.releaseAfterCommit(allocations);
+    }
+
+    private InsufficientStockException insufficientStock(Map<Long, Integer> productQuantities,
+                                                         Map<Long, Integer> shortfalls,
+                                                         Map<Long, Product> knownProducts) {
+        Map<Long, Product> productMap = new HashMap<>(knownProducts);
+        List<Long> unknown = shortfalls.keySet().stream()
+                .filter(id -> !productMap.containsKey(id))
+                .toList();
+        if (!unknown.isEmpty()) {
+            productRepository.findAllById(unknown).forEach(p -> productMap.put(p.getId(), p));
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : shortfalls.entrySet()) {
+            Long productId = entry.getKey();
+            Product product = productMap.get(productId);
+            Object name = product != null ? product.getName() : productId;
+
+            if (!stockLedger.isTracked(productId)) {
+                errors.add(String.format("Product '%s' not available in warehouse", name));
+            } else {
                 errors.add(String.format("Insufficient stock for '%s'. Available: %d, Requested: %d",
-                        product != null ? product.getName() : productId,
-                        stock.getFullCount(), quantity));
+                        name, entry.getValue(), productQuantities.get(productId)));
             }
         }
+        return new InsufficientStockException("Stock validation failed: " + String.join("; ", errors));
+    }
+
+    private void appendLedgerEntries(Map<StockKey, Integer> allocations,
+                                     StockReservationType type,
+                                     Long orderId,
+                                     LocalDateTime expiresAt,
+                                     int sign) {
+        if (allocations.isEmpty()) {
+            return;
+        }
+        stockReservationRepository.saveAll(toLedgerEntries(allocations, type, orderId, expiresAt, sign));
+    }
+
+    private List<StockReservation> toLedgerEntries(Map<StockKey, Integer> allocations,
+                                                   StockReservationType type,
+                                                   Long orderId,
+                                                   LocalDateTime expiresAt,
+                                                   int sign) {
+        List<StockReservation> entries = new ArrayList<>();
+        allocations.forEach((key, quantity) -> entries.add(StockReservation.builder()
+                .warehouseId(key.getWarehouseId())
+                .productId(key.getProductId())
+                .orderId(orderId)
+                .reservationType(type)
+                .quantity(sign * quantity)
+                .expiresAt(expiresAt)
+                .build()));
+        return entries;
+    }
+
+    /**
+     * Moves as much of the demand as the holds cover into {@code hardAllocations}, decrementing {@code holds} in
+     * place, and returns the demand left uncovered.
+     */
+    private Map<Long, Integer> coverFromHolds(Map<Long, Integer> productQuantities,
+                                              Map<StockKey, Integer> holds,
+                                              Map<StockKey, Integer> hardAllocations) {
+        Map<Long, Integer> uncovered = new HashMap<>();
+        for (Map.Entry<Long, Integer> entry : productQuantities.entrySet()) {
+            int remaining = entry.getValue();
+            for (Map.Entry<StockKey, Integer> hold : holds.entrySet()) {
+                if (remaining == 0) {
+                    break;
+                }
+                if (!hold.getKey().getProductId().equals(entry.getKey()) || hold.getValue() <= 0) {
+                    continue;
+                }
+                int converted = Math.min(remaining, hold.getValue());
+                hardAllocations.merge(hold.getKey(), converted, Integer::sum);
+                hold.setValue(hold.getValue() - converted);
+                remaining -= converted;
+            }
+            if (remaining > 0) {
+                uncovered.put(entry.getKey(), remaining);
+            }
+        }
+        return uncovered;
+    }
+
+    private Map<Long, Map<StockKey, Integer>> findOutstanding(Collection<Long> orderIds, StockReservationType type) {
+        Map<Long, Map<StockKey, Integer>> outstanding = new HashMap<>();
+        for (Object[] row : stockReservationRepository.sumOutstandingByOrdersGroupedByStock(orderIds, type)) {
+            outstanding.computeIfAbsent((Long) row[0], id -> new HashMap<>())
+                    .put(new StockKey((Long) row[1], (Long) row[2]), ((Number) row[3]).intValue());
+        }
+        return outstanding;
+    }
+
+    private void validateQuantities(Map<Long, Integer> productQuantities) {
+        productQuantities.forEach((productId, quantity) -> {
+            if (quantity <= 0) throw new IllegalArgumentException(
+                    String.format("Invalid quantity %d for product %d", quantity, productId));
+        });
+    }
 
-        if (!errors.isEmpty()) {
-            throw new InsufficientStockException("Stock validation failed: " + String.join("; ", errors));
+    private void ensureLedgerInitialized() {
+        if (!stockLedger.isInitialized()) {
+            stockLedgerReconciler.initialize();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,262 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.config.NotificationExecutorConfig;
+import com.delivery.SuAl.helper.Receiver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process registry of live event (SSE) subscribers, keyed by receiver.
+ * <p>
+ * Events get ids from one instance-wide sequence and the last {@code notifications.live.replay-size} events of a
+ * receiver are kept, so a client reconnecting with {@code Last-Event-ID} gets what it missed. A client that is further
+ * behind than the buffer gets a {@value #RESYNC_EVENT} event and should reload its inbox and orders.
+ * <p>
+ * Every subscriber has a bounded queue drained by the {@link NotificationExecutorConfig#LIVE_EVENT_EXECUTOR live
+ * event executor}; a subscriber whose queue overflows is disconnected and catches up through replay when it
+ * reconnects. Heartbeat comments keep idle connections open through proxies and detect dead ones. Receivers without
+ * subscribers are forgotten after {@code notifications.live.replay-ttl}.
+ * <p>
+ * Subscribers only see events published on the instance they are connected to.
+ */
+@Component
+@Slf4j
+public class LiveEventHub {
+    public static final String NOTIFICATION_EVENT = "notification";
+    public static final String ORDER_STATUS_EVENT = "order-status";
+    public static final String RESYNC_EVENT = "resync";
+
+    private static final LiveEvent HEARTBEAT = new LiveEvent(0, null, null);
+
+    private final ThreadPoolTaskExecutor executor;
+    private final long streamTimeoutMillis;
+    private final int replaySize;
+    private final long replayTtlMillis;
+    private final int subscriberQueueSize;
+    private final int maxSubscribersPerReceiver;
+
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Map<Receiver, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter droppedSubscribers;
+
+    public LiveEventHub(@Qualifier(NotificationExecutorConfig.LIVE_EVENT_EXECUTOR) ThreadPoolTaskExecutor executor,
+                        MeterRegistry meterRegistry,
+                        @Value("${notifications.live.stream-timeout:PT30M}") Duration streamTimeout,
+                        @Value("${notifications.live.replay-size:100}") int replaySize,
+                        @Value("${notifications.live.replay-ttl:PT10M}") Duration replayTtl,
+                        @Value("${notifications.live.subscriber-queue-size:256}") int subscriberQueueSize,
+                        @Value("${notifications.live.max-subscribers-per-receiver:5}") int maxSubscribersPerReceiver) {
+        this.executor = executor;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+        this.replaySize = replaySize;
+        this.replayTtlMillis = replayTtl.toMillis();
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.maxSubscribersPerReceiver = maxSubscribersPerReceiver;
+
+        meterRegistry.gauge("notifications.live.subscribers", subscriberCount);
+        this.droppedSubscribers = meterRegistry.counter("notifications.live.subscribers.dropped");
+    }
+
+    public SseEmitter subscribe(Receiver receiver, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Subscriber subscriber = new Subscriber(receiver, emitter, new ArrayBlockingQueue<>(subscriberQueueSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        List<Subscriber> evicted = new ArrayList<>();
+        channels.compute(receiver, (key, existing) -> {
+            Channel channel = existing != null ? existing : new Channel(sequence.get());
+            synchronized (channel) {
+                while (channel.subscribers.size() >= maxSubscribersPerReceiver) {
+                    evicted.add(channel.subscribers.removeFirst());
+                }
+                subscriber.queue.offer(HEARTBEAT);
+                if (lastEventId != null) {
+                    replay(channel, subscriber, lastEventId);
+                }
+                channel.subscribers.add(subscriber);
+            }
+            return channel;
+        });
+        subscriberCount.incrementAndGet();
+        evicted.forEach(this::drop);
+
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Whether any receiver is connected or has been recently; publishers can skip building events otherwise.
+     */
+    public boolean hasReceivers() {
+        return !channels.isEmpty();
+    }
+
+    public void publish(Receiver receiver, String name, Object data) {
+        Channel channel = channels.get(receiver);
+        if (channel == null) {
+            return;
+        }
+
+        List<Subscriber> overflowed = new ArrayList<>();
+        synchronized (channel) {
+            LiveEvent event = new LiveEvent(sequence.incrementAndGet(), name, data);
+            channel.buffer.addLast(event);
+            while (channel.buffer.size() > replaySize) {
+                channel.evictedUpTo = channel.buffer.removeFirst().id();
+            }
+            for (Subscriber subscriber : channel.subscribers) {
+                if (!subscriber.queue.offer(event)) {
+                    overflowed.add(subscriber);
+                }
+            }
+        }
+
+        overflowed.forEach(this::drop);
+        channel.subscribers.forEach(this::schedule);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.live.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        long idleCutoff = System.currentTimeMillis() - replayTtlMillis;
+        for (Receiver receiver : channels.keySet()) {
+            channels.computeIfPresent(receiver, (key, channel) -> {
+                synchronized (channel) {
+                    return channel.subscribers.isEmpty() && channel.lastActivityAt < idleCutoff ? null : channel;
+                }
+            });
+        }
+
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.queue.offer(HEARTBEAT);
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void replay(Channel channel, Subscriber subscriber, long lastEventId) {
+        if (lastEventId < channel.createdAtSequence || lastEventId < channel.evictedUpTo) {
+            subscriber.queue.offer(new LiveEvent(sequence.get(), RESYNC_EVENT, Map.of()));
+            return;
+        }
+        for (LiveEvent event : channel.buffer) {
+            if (event.id() > lastEventId && !subscriber.queue.offer(event)) {
+                subscriber.queue.clear();
+                subscriber.queue.offer(new LiveEvent(sequence.get(), RESYNC_EVENT, Map.of()));
+                return;
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.closed.get() || !subscriber.pumping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> pump(subscriber));
+        } catch (TaskRejectedException e) {
+            subscriber.pumping.set(false);
+            log.warn("Live event executor is saturated, delivery to {} deferred to the next heartbeat",
+                    subscriber.receiver);
+        }
+    }
+
+    private void pump(Subscriber subscriber) {
+        try {
+            LiveEvent event;
+            while (!subscriber.closed.get() && (event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event == HEARTBEAT
+                        ? SseEmitter.event().comment("heartbeat")
+                        : SseEmitter.event()
+                                .id(String.valueOf(event.id()))
+                                .name(event.name())
+                                .data(event.data(), MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Live event stream of {} closed: {}", subscriber.receiver, e.getMessage());
+            remove(subscriber);
+        } finally {
+            subscriber.pumping.set(false);
+        }
+        if (!subscriber.closed.get() && !subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        droppedSubscribers.increment();
+        log.warn("Disconnecting a live event subscriber of {} that fell behind", subscriber.receiver);
+        remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        Channel channel = channels.get(subscriber.receiver);
+        if (channel != null) {
+            synchronized (channel) {
+                channel.subscribers.remove(subscriber);
+                channel.lastActivityAt = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private record LiveEvent(long id, String name, Object data) {
+    }
+
+    private static final class Subscriber {
+        private final Receiver receiver;
+        private final SseEmitter emitter;
+        private final BlockingQueue<LiveEvent> queue;
+        private final AtomicBoolean pumping = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Receiver receiver, SseEmitter emitter, BlockingQueue<LiveEvent> queue) {
+            this.receiver = receiver;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+
+    private static final class Channel {
+        private final long createdAtSequence;
+        private final Deque<LiveEvent> buffer = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private long evictedUpTo;
+        private long lastActivityAt = System.currentTimeMillis();
+
+        private Channel(long createdAtSequence) {
+            this.createdAtSequence = createdAtSequence;
+        }
+    }
+}
@@ -36,16 +36,27 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Payments through the MAGNET gateway.
+ * <p>
+ * Gateway calls made by {@link #initialize}, {@link #handleCallback} and {@link #checkPaymentStatus} run between
+ * short transactions rather than inside one, so a slow gateway holds a pooled HTTP connection but no database
+ * connection. Each of those transactions reloads the payment it changes instead of writing back an instance from an
+ * earlier one, since entities are detached once their transaction ends. Refunds are issued from order cancellation
+ * and run inside the caller's transaction.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -61,6 +72,9 @@ public class MagnetPaymentService implements PaymentService {
     private final PromoService promoService;
     private final InventoryService inventoryService;
     private final ContainerManagementService containerManagementService;
+    private final OrderStatisticsRecorder orderStatisticsRecorder;
+    private final OrderStatusTransitions orderStatusTransitions;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${magnet.api.base-url}")
     private String baseUrl;
@@ -79,21 +93,8 @@ public class MagnetPaymentService implements PaymentService {
 
 
     @Override
-    @Transactional
     public PaymentDTO initialize(CreatePaymentDTO dto) {
-        Order order = orderRepository.findById(dto.getOrderId())
-                .orElseThrow(() -> new NotFoundException("Order not found"));
-
-        if (paymentRepository.hasSuccessfulPayment(order.getId())) {
-            throw new AlreadyPaidException("Order already paid");
-        }
-
-        Payment payment = paymentMapper.toEntity(dto);
-        payment.setOrder(order);
-        payment.setReferenceId(generateReference(order));
-        payment.setPaymentStatus(PaymentStatus.CREATED);
-
-        payment = paymentRepository.save(payment);
+        Payment payment = transactionTemplate.execute(status -> createPayment(dto));
 
         String url = UriComponentsBuilder.fromUriString(baseUrl)
                 .path("/payment/create")
@@ -155,14 +156,17 @@ public class MagnetPaymentService implements PaymentService {
                 throw new GatewayException("No payment URL in MAGNET response");
             }
 
-            payment.setGatewayPaymentUrl(gatewayResponse.getUrl());
-            payment.setPaymentStatus(PaymentStatus.PENDING);
-            payment.setRawCreateResponse(body);
-            paymentRepository.save(payment);
+            PaymentDTO initialized = transactionTemplate.execute(status -> {
+                Payment stored = findPayment(payment.getId());
+                stored.setGatewayPaymentUrl(gatewayResponse.getUrl());
+                stored.setPaymentStatus(PaymentStatus.PENDING);
+                stored.setRawCreateResponse(body);
+                return paymentMapper.toDto(stored);
+            });
 
             log.info("Payment initialized successfully: {}", payment.getReferenceId());
 
-            return paymentMapper.toDto(payment);
+            return initialized;
 
         } catch (GatewayException ex) {
             throw ex;
@@ -174,20 +178,27 @@ public class MagnetPaymentService implements PaymentService {
     }
 
     @Override
-    @Transactional
     public PaymentStatus handleCallback(String reference) {
         log.info("=== CALLBACK START === Reference: {}", reference);
 
+        if (paymentRepository.findByReferenceId(reference).isEmpty()) {
+            throw new NotFoundException("Payment not found: " + reference);
+        }
+
+        log.info("Fetching external payment status from gateway...");
+        PaymentStatusResponse statusResponse = fetchExternalStatus(reference);
+        log.info("Gateway response received - Status: {}", statusResponse.getStatus());
+
+        return transactionTemplate.execute(status -> applyCallbackStatus(reference, statusResponse));
+    }
+
+    private PaymentStatus applyCallbackStatus(String reference, PaymentStatusResponse statusResponse) {
         Payment payment = paymentRepository.findByReferenceId(reference)
                 .orElseThrow(() -> new NotFoundException("Payment not found: " + reference));
         log.info("Payment found - ID: {}, Current Status: {}, Order ID: {}",
                 payment.getId(), payment.getPaymentStatus(),
                 payment.getOrder() != null ? payment.getOrder().getId() : "NULL");
 
-        log.info("Fetching external payment status from gateway...");
-        PaymentStatusResponse statusResponse = fetchExternalStatus(reference);
-        log.info("Gateway response received - Status: {}", statusResponse.getStatus());
-
         PaymentStatus oldStatus = payment.getPaymentStatus();
         log.info("Updating payment from status response...");
         gatewayMapper.updatePaymentFromStatusResponse(statusResponse, payment);
@@ -268,14 +279,35 @@ public class MagnetPaymentService implements PaymentService {
     }
 
     @Override
-    @Transactional
     public PaymentDTO checkPaymentStatus(Long orderId) {
-        Payment payment = paymentRepository.findByOrderId(orderId)
-                .orElseThrow(() -> new NotFoundException("No payment found for order: " + orderId));
+        String reference = paymentRepository.findByOrderId(orderId)
+                .orElseThrow(() -> new NotFoundException("No payment found for order: " + orderId))
+                .getReferenceId();
 
-        PaymentStatusResponse statusResponse = fetchExternalStatus(payment.getReferenceId());
-        gatewayMapper.updatePaymentFromStatusResponse(statusResponse, payment);
-        return paymentMapper.toDto(payment);
+        PaymentStatusResponse statusResponse = fetchExternalStatus(reference);
+
+        return transactionTemplate.execute(status -> {
+            Payment payment = paymentRepository.findByReferenceId(reference)
+                    .orElseThrow(() -> new NotFoundException("No payment found for order: " + orderId));
+            gatewayMapper.updatePaymentFromStatusResponse(statusResponse, payment);
+            return paymentMapper.toDto(payment);
+        });
+    }
+
+    private Payment createPayment(CreatePaymentDTO dto) {
+        Order order = orderRepository.findById(dto.getOrderId())
+                .orElseThrow(() -> new NotFoundException("Order not found"));
+
+        if (paymentRepository.hasSuccessfulPayment(order.getId())) {
+            throw new AlreadyPaidException("Order already paid");
+        }
+
+        Payment payment = paymentMapper.toEntity(dto);
+        payment.setOrder(order);
+        payment.setReferenceId(generateReference(order));
+        payment.setPaymentStatus(PaymentStatus.CREATED);
+
+        return paymentRepository.save(payment);
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -310,16 +342,21 @@ public class MagnetPaymentService implements PaymentService {
             packageOrder.setOrderStatus(PackageOrderStatus.CANCELLED);
             packageOrder.setCancelledAt(LocalDateTime.now());
 
+            List<Long> rejectedOrderIds = new ArrayList<>();
             for (Order order : packageOrder.getGeneratedOrders()) {
                 if (order.getOrderStatus() == OrderStatus.PENDING) {
                     order.setOrderStatus(OrderStatus.REJECTED);
+                    orderStatisticsRecorder.recordTransition(order, OrderStatus.PENDING);
+                    orderStatusTransitions.changed(order, OrderStatus.PENDING);
                     order.setRejectionReason("Package payment failed");
                     order.setPaymentStatus(PaymentStatus.FAILED);
                     orderRepository.save(order);
+                    rejectedOrderIds.add(order.getId());
 
                     log.debug("Order {} in package rejected due to payment failure", order.getId());
                 }
             }
+            inventoryService.releaseSoftReservations(rejectedOrderIds);
 
             log.info("Package order {} cancelled - all orders rejected", packageOrder.getId());
         }
@@ -384,19 +421,27 @@ public class MagnetPaymentService implements PaymentService {
     }
 
     private void failPayment(Payment payment, CreatePaymentResponse response, String fallbackReason) {
-        payment.setPaymentStatus(PaymentStatus.FAILED);
+        String failureReason = transactionTemplate.execute(status -> {
+            Payment stored = findPayment(payment.getId());
+            stored.setPaymentStatus(PaymentStatus.FAILED);
 
-        if (response != null) {
-            payment.setGatewayResponseCode(
-                    response.getCode() != null ? response.getCode().toString() : null
-            );
-            payment.setFailureReason(response.getMessage());
-        } else {
-            payment.setFailureReason(fallbackReason != null ? fallbackReason : "MAGNET response is null");
-        }
+            if (response != null) {
+                stored.setGatewayResponseCode(
+                        response.getCode() != null ? response.getCode().toString() : null
+                );
+                stored.setFailureReason(response.getMessage());
+            } else {
+                stored.setFailureReason(fallbackReason != null ? fallbackReason : "MAGNET response is null");
+            }
+            return stored.getFailureReason();
+        });
 
-        paymentRepository.save(payment);
-        log.warn("Payment failed: {} - {}", payment.getReferenceId(), payment.getFailureReason());
+        log.warn("Payment failed: {} - {}", payment.getReferenceId(), failureReason);
+    }
+
+    private Payment findPayment(Long paymentId) {
+        return paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new NotFoundException("Payment not found: " + paymentId));
     }
 
     private String generateReference(Order order) {
@@ -424,6 +469,8 @@ public class MagnetPaymentService implements PaymentService {
             if(order.getOrderStatus() == OrderStatus.APPROVED){
                 Map<Long, Integer> productQuantities = calculateAllProductQuantities(order);
                 inventoryService.releaseStockBatch(productQuantities);
+            } else {
+                inventoryService.releaseSoftReservations(order.getId());
             }
 
             containerManagementService.releaseContainerReservations(order.getId());
@@ -434,6 +481,7 @@ public class MagnetPaymentService implements PaymentService {
                 return;
             }
 
+            orderStatisticsRecorder.recordRemoved(order);
             orderRepository.delete(order);
             orderRepository.flush();
 
@@ -0,0 +1,53 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Moves read notifications older than {@code notifications.archive.retention} from {@code notifications} to
+ * {@code notifications_archive}, one bounded batch per transaction, so the table behind inboxes, unread counts and
+ * {@code markAllAsReadBulk} only holds the recent and unread set. Unread notifications and notifications with a
+ * pending push are never archived. Each run stops after {@code notifications.archive.max-batches} batches and picks
+ * up the rest on the next run.
+ */
+@Component
+@Slf4j
+public class NotificationArchiver {
+    private final NotificationRepository notificationRepository;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public NotificationArchiver(NotificationRepository notificationRepository,
+                                @Value("${notifications.archive.retention:P90D}") Duration retention,
+                                @Value("${notifications.archive.batch-size:1000}") int batchSize,
+                                @Value("${notifications.archive.max-batches:500}") int maxBatches) {
+        this.notificationRepository = notificationRepository;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(cron = "${notifications.archive.cron:0 0 4 * * *}")
+    public void archive() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        LocalDateTime cutoff = now.minus(retention);
+
+        long archived = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int moved = notificationRepository.archiveReadBefore(cutoff, now, batchSize);
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        log.info("Archived {} read notifications created before {}", archived, cutoff);
+    }
+}
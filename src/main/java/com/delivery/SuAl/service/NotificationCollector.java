@@ -0,0 +1,133 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.event.NotificationsCreatedEvent;
+import com.delivery.SuAl.model.request.notification.NotificationRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Gathers the notifications created during a transaction and writes them together just before it commits.
+ * <p>
+ * All notifications of a unit of work, whether they come from {@code @SendNotification} or from an explicit fan-out
+ * to operators, are inserted with one JDBC batch, their unread count deltas and outbox entries with one batch each, and a single
+ * {@link NotificationsCreatedEvent} carrying every id is published for after-commit listeners. Nothing is written if
+ * the transaction rolls back. Outside a transaction the notifications are written in a transaction of their own.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationCollector {
+    private static final String INSERT_NOTIFICATION = """
+            INSERT INTO notifications (receiver_type, receiver_id, notification_type, title, message,
+                                       reference_id, is_read, push_sent, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, FALSE, FALSE, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PushOutboxService pushOutboxService;
+    private final NotificationUnreadCounters unreadCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public void collect(Collection<NotificationRequest> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionTemplate.executeWithoutResult(status -> collect(requests));
+            return;
+        }
+        pending().addAll(requests);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<NotificationRequest> pending() {
+        List<NotificationRequest> pending = (List<NotificationRequest>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+
+        List<NotificationRequest> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(NotificationCollector.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(NotificationCollector.this, created);
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                write(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(NotificationCollector.this);
+            }
+        });
+        return created;
+    }
+
+    private void write(List<NotificationRequest> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        List<NotificationRequest> batch = List.copyOf(requests);
+        requests.clear();
+
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_NOTIFICATION, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        NotificationRequest request = batch.get(i);
+                        ps.setString(1, request.getReceiverType().name());
+                        ps.setObject(2, request.getReceiverId(), Types.BIGINT);
+                        ps.setString(3, request.getNotificationType().name());
+                        ps.setString(4, request.getTitle());
+                        ps.setString(5, request.getMessage());
+                        ps.setObject(6, request.getReferenceId(), Types.BIGINT);
+                        ps.setObject(7, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keyHolder);
+
+        List<Long> ids = keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.get("id")).longValue())
+                .toList();
+        unreadCounters.increment(batch);
+        pushOutboxService.enqueue(ids);
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(ids));
+        log.debug("Wrote {} notifications collected in the current transaction", ids.size());
+    }
+}
@@ -3,6 +3,7 @@ package com.delivery.SuAl.service;
 import com.delivery.SuAl.model.enums.ReceiverType;
 import com.delivery.SuAl.model.request.notification.NotificationRequest;
 import com.delivery.SuAl.model.response.notification.NotificationResponse;
+import com.delivery.SuAl.model.response.wrapper.CursorPageResponse;
 import com.delivery.SuAl.model.response.wrapper.PageResponse;
 import org.springframework.data.domain.Pageable;
 
@@ -11,13 +12,20 @@ import java.util.List;
 public interface NotificationService {
     NotificationResponse createNotification(NotificationRequest request);
 
-    List<NotificationResponse> createNotificationsBatch(List<NotificationRequest> requests);
+    /**
+     * Queues a notification to be written with the other notifications of the current transaction when it commits.
+     */
+    void publish(NotificationRequest request);
 
-    NotificationResponse getNotificationById(Long id);
+    void publishAll(List<NotificationRequest> requests);
 
-    List<NotificationResponse> getNotificationsByReceiver(ReceiverType receiverType, Long receiverId);
+    NotificationResponse getNotificationById(Long id);
 
-    List<NotificationResponse> getUnreadNotifications(ReceiverType receiverType, Long receiverId);
+    /**
+     * Newest-first page of a receiver's notifications with ids below {@code cursor}.
+     */
+    CursorPageResponse<NotificationResponse> getInbox(
+            ReceiverType receiverType, Long receiverId, Long cursor, int size, boolean unreadOnly);
 
     PageResponse<NotificationResponse> getNotificationsByReceiverPaginated(
             ReceiverType receiverType,
@@ -1,18 +1,20 @@
 package com.delivery.SuAl.service;
 
 import com.delivery.SuAl.entity.Notification;
-import com.delivery.SuAl.event.NotificationCreatedEvent;
+import com.delivery.SuAl.event.NotificationsCreatedEvent;
 import com.delivery.SuAl.exception.NotFoundException;
 import com.delivery.SuAl.mapper.NotificationMapper;
 import com.delivery.SuAl.model.enums.ReceiverType;
 import com.delivery.SuAl.model.request.notification.NotificationRequest;
 import com.delivery.SuAl.model.response.notification.NotificationResponse;
+import com.delivery.SuAl.model.response.wrapper.CursorPageResponse;
 import com.delivery.SuAl.model.response.wrapper.PageResponse;
 import com.delivery.SuAl.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +29,9 @@ public class NotificationServiceImpl implements NotificationService {
     private final NotificationRepository notificationRepository;
     private final NotificationMapper notificationMapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final PushOutboxService pushOutboxService;
+    private final NotificationCollector notificationCollector;
+    private final NotificationUnreadCounters unreadCounters;
 
     @Override
     @Transactional
@@ -34,27 +39,22 @@ public class NotificationServiceImpl implements NotificationService {
         Notification notification = notificationMapper.toEntity(request);
 
         Notification savedNotification = notificationRepository.save(notification);
+        unreadCounters.increment(List.of(request));
+        pushOutboxService.enqueue(List.of(savedNotification.getId()));
 
-        eventPublisher.publishEvent(new NotificationCreatedEvent(savedNotification.getId()));
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(List.of(savedNotification.getId())));
 
         return notificationMapper.toResponse(savedNotification);
     }
 
     @Override
-    @Transactional
-    public List<NotificationResponse> createNotificationsBatch(List<NotificationRequest> requests) {
-        List<Notification> notifications = requests.stream()
-                .map(notificationMapper::toEntity)
-                .collect(Collectors.toList());
-
-        List<Notification> savedNotifications = notificationRepository.saveAll(notifications);
-
-        savedNotifications.forEach(notification ->
-               eventPublisher.publishEvent(new NotificationCreatedEvent(notification.getId()))
-        );
-
+    public void publish(NotificationRequest request) {
+        notificationCollector.collect(List.of(request));
+    }
 
-        return notificationMapper.toResponseList(savedNotifications);
+    @Override
+    public void publishAll(List<NotificationRequest> requests) {
+        notificationCollector.collect(requests);
     }
 
     @Override
@@ -65,17 +65,15 @@ public class NotificationServiceImpl implements NotificationService {
     }
 
     @Override
-    public List<NotificationResponse> getNotificationsByReceiver(ReceiverType receiverType, Long receiverId) {
-        List<Notification> notifications = notificationRepository
-                .findByReceiverTypeAndReceiverIdOrderByCreatedAtDesc(receiverType, receiverId);
-        return notificationMapper.toResponseList(notifications);
-    }
-
-    @Override
-    public List<NotificationResponse> getUnreadNotifications(ReceiverType receiverType, Long receiverId) {
-        List<Notification> notifications = notificationRepository
-                .findByReceiverTypeAndReceiverIdAndIsReadOrderByCreatedAtDesc(receiverType, receiverId, false);
-        return notificationMapper.toResponseList(notifications);
+    @Transactional(readOnly = true)
+    public CursorPageResponse<NotificationResponse> getInbox(
+            ReceiverType receiverType, Long receiverId, Long cursor, int size, boolean unreadOnly) {
+        long beforeId = cursor != null ? cursor : Long.MAX_VALUE;
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Notification> rows = unreadOnly
+                ? notificationRepository.findUnreadInboxBefore(receiverType, receiverId, beforeId, limit)
+                : notificationRepository.findInboxBefore(receiverType, receiverId, beforeId, limit);
+        return CursorPageResponse.of(notificationMapper.toResponseList(rows), size, NotificationResponse::getId);
     }
 
     @Override
@@ -93,9 +91,7 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     public Long getUnreadCount(ReceiverType receiverType, Long receiverId) {
-        return notificationRepository.countByReceiverTypeAndReceiverIdAndIsRead(
-                receiverType, receiverId, false
-        );
+        return unreadCounters.get(receiverType, receiverId);
     }
 
     @Override
@@ -103,15 +99,19 @@ public class NotificationServiceImpl implements NotificationService {
     public NotificationResponse markAsRead(Long id) {
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Notification with id " + id + " not found"));
-        notification.setIsRead(true);
-        Notification updatedNotification = notificationRepository.save(notification);
-        return notificationMapper.toResponse(updatedNotification);
+        if (notificationRepository.markAsReadIfUnread(id) > 0) {
+            unreadCounters.decrement(notification.getReceiverType(), notification.getReceiverId(), 1);
+        }
+        NotificationResponse response = notificationMapper.toResponse(notification);
+        response.setIsRead(true);
+        return response;
     }
 
     @Override
     @Transactional
     public void markAllAsRead(ReceiverType receiverType, Long receiverId) {
         int updatedCount = notificationRepository.markAllAsReadBulk(receiverType, receiverId);
+        unreadCounters.decrement(receiverType, receiverId, updatedCount);
         log.info("Marked {} notifications as read for receiver: {} ({})",
                 updatedCount, receiverId, receiverType);
     }
@@ -119,9 +119,11 @@ public class NotificationServiceImpl implements NotificationService {
     @Override
     @Transactional
     public void deleteNotification(Long id) {
-        if (!notificationRepository.existsById(id)) {
-            throw new NotFoundException("Notification with id " + id + " not found");
+        Notification notification = notificationRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Notification with id " + id + " not found"));
+        notificationRepository.delete(notification);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            unreadCounters.decrement(notification.getReceiverType(), notification.getReceiverId(), 1);
         }
-        notificationRepository.deleteById(id);
     }
 }
@@ -0,0 +1,136 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.model.enums.ReceiverType;
+import com.delivery.SuAl.model.request.notification.NotificationRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Unread notification counts per receiver.
+ * <p>
+ * Changes are appended to {@code notification_unread_deltas} in the caller's transaction, one JDBC batch of inserts
+ * per call. Inserts take no lock on a shared row, so an order that notifies every operator does not serialize with
+ * other orders on the operators' counters. A background fold moves deltas into {@code notification_unread_counters}
+ * in batches claimed with {@code FOR UPDATE SKIP LOCKED}, updating counter rows in receiver order; a read adds the
+ * receiver's unfolded deltas to its counter, so counts are exact as soon as the caller commits.
+ */
+@Component
+@Slf4j
+public class NotificationUnreadCounters {
+    private static final String INSERT_DELTA = """
+            INSERT INTO notification_unread_deltas (receiver_type, receiver_id, delta)
+            VALUES (?, ?, ?)
+            """;
+    private static final String CLAIM_DELTAS = """
+            DELETE FROM notification_unread_deltas
+            WHERE id IN (SELECT id FROM notification_unread_deltas ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)
+            RETURNING receiver_type, receiver_id, delta
+            """;
+    private static final String APPLY = """
+            INSERT INTO notification_unread_counters (receiver_type, receiver_id, unread_count)
+            VALUES (?, ?, GREATEST(0, ?))
+            ON CONFLICT (receiver_type, receiver_id) DO UPDATE SET
+            unread_count = GREATEST(0, notification_unread_counters.unread_count + ?)
+            """;
+    private static final String READ = """
+            SELECT GREATEST(0,
+                   COALESCE((SELECT unread_count FROM notification_unread_counters
+                             WHERE receiver_type = ? AND receiver_id = ?), 0)
+                 + COALESCE((SELECT SUM(delta) FROM notification_unread_deltas
+                             WHERE receiver_type = ? AND receiver_id = ?), 0))
+            """;
+    private static final Comparator<Receiver> RECEIVER_ORDER =
+            Comparator.comparing(Receiver::type).thenComparing(Receiver::id);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int foldBatchSize;
+
+    public NotificationUnreadCounters(JdbcTemplate jdbcTemplate,
+                                      TransactionTemplate transactionTemplate,
+                                      @Value("${notifications.unread-counters.fold-batch-size:5000}") int foldBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.foldBatchSize = foldBatchSize;
+    }
+
+    public void increment(Collection<NotificationRequest> requests) {
+        Map<Receiver, Long> increments = new TreeMap<>(RECEIVER_ORDER);
+        for (NotificationRequest request : requests) {
+            if (request.getReceiverId() != null) {
+                increments.merge(new Receiver(request.getReceiverType(), request.getReceiverId()), 1L, Long::sum);
+            }
+        }
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Receiver, Long>> rows = new ArrayList<>(increments.entrySet());
+        jdbcTemplate.batchUpdate(INSERT_DELTA, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getKey().type().name());
+            ps.setLong(2, row.getKey().id());
+            ps.setLong(3, row.getValue());
+        });
+    }
+
+    public void decrement(ReceiverType receiverType, Long receiverId, long count) {
+        if (receiverId != null && count > 0) {
+            jdbcTemplate.update(INSERT_DELTA, receiverType.name(), receiverId, -count);
+        }
+    }
+
+    public long get(ReceiverType receiverType, Long receiverId) {
+        Long count = jdbcTemplate.queryForObject(READ, Long.class,
+                receiverType.name(), receiverId, receiverType.name(), receiverId);
+        return count != null ? count : 0L;
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.unread-counters.fold-interval:PT5S}")
+    public void fold() {
+        int folded;
+        do {
+            Integer claimed = transactionTemplate.execute(status -> foldBatch());
+            folded = claimed != null ? claimed : 0;
+        } while (folded == foldBatchSize);
+    }
+
+    private int foldBatch() {
+        Map<Receiver, Long> deltas = new TreeMap<>(RECEIVER_ORDER);
+        List<Long> claimed = jdbcTemplate.query(CLAIM_DELTAS, (rs, rowNum) -> {
+            long delta = rs.getLong("delta");
+            deltas.merge(new Receiver(ReceiverType.valueOf(rs.getString("receiver_type")), rs.getLong("receiver_id")),
+                    delta, Long::sum);
+            return delta;
+        }, foldBatchSize);
+
+        List<Map.Entry<Receiver, Long>> rows = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .toList();
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(APPLY, rows, rows.size(), (ps, row) -> {
+                ps.setString(1, row.getKey().type().name());
+                ps.setLong(2, row.getKey().id());
+                ps.setLong(3, row.getValue());
+                ps.setLong(4, row.getValue());
+            });
+        }
+        if (!claimed.isEmpty()) {
+            log.debug("Folded {} unread count deltas into {} counters", claimed.size(), rows.size());
+        }
+        return claimed.size();
+    }
+
+    private record Receiver(ReceiverType type, Long id) {
+    }
+}
@@ -18,6 +18,7 @@ import com.delivery.SuAl.repository.CompanyRepository;
 import com.delivery.SuAl.repository.OperatorRepository;
 import com.delivery.SuAl.repository.UserRepository;
 import com.delivery.SuAl.security.OperatorInfo;
+import com.delivery.SuAl.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -38,6 +39,7 @@ public class OperatorServiceImpl implements OperatorService {
     private final AuthenticationService authenticationService;
     private final UserRepository userRepository;
     private final CompanyRepository companyRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     @Transactional
@@ -177,6 +179,7 @@ public class OperatorServiceImpl implements OperatorService {
 
         operatorMapper.updateEntityFromRequest(updateOperatorRequest, operator);
         Operator updatedOperator = operatorRepository.save(operator);
+        principalCache.evictAfterCommit(operator.getUser().getId());
 
         log.info("Operator updated with id: {}", updatedOperator.getId());
         return operatorMapper.toResponse(updatedOperator);
@@ -196,6 +199,7 @@ public class OperatorServiceImpl implements OperatorService {
             operator.setUser(null);
 
             operatorRepository.save(operator);
+            principalCache.evictAfterCommit(user.getId());
 
             userRepository.delete(user);
             log.info("Deleted User associated with Operator {}", id);
@@ -2,13 +2,14 @@ package com.delivery.SuAl.service;
 
 import com.delivery.SuAl.entity.Order;
 import com.delivery.SuAl.entity.OrderDetail;
+import com.delivery.SuAl.helper.Money;
+import com.delivery.SuAl.helper.MoneyAccumulator;
 import com.delivery.SuAl.helper.OrderCalculationResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,67 +17,50 @@ import java.util.Optional;
 @RequiredArgsConstructor
 @Slf4j
 public class OrderCalculationService {
-    private static final int DECIMAL_SCALE = 2;
-    private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
-
     public OrderCalculationResult calculateOrderTotals(List<OrderDetail> orderDetails) {
-        BigDecimal subtotal = BigDecimal.ZERO;
-        BigDecimal totalDepositCharged = BigDecimal.ZERO;
-        BigDecimal totalDepositRefunded = BigDecimal.ZERO;
+        MoneyAccumulator subtotal = new MoneyAccumulator();
+        MoneyAccumulator totalDepositCharged = new MoneyAccumulator();
+        MoneyAccumulator totalDepositRefunded = new MoneyAccumulator();
         int totalCount = 0;
         BigDecimal depositPerUnit = null;
 
         for (OrderDetail orderDetail : orderDetails) {
-            subtotal = subtotal.add(orderDetail.getSubtotal());
-            totalDepositCharged = totalDepositCharged.add(orderDetail.getDepositCharged());
+            subtotal.add(orderDetail.getSubtotal());
+            totalDepositCharged.add(orderDetail.getDepositCharged());
+            totalDepositRefunded.add(orderDetail.getDepositRefunded());
 
             totalCount += orderDetail.getCount();
 
             if (depositPerUnit == null) {
                 depositPerUnit = orderDetail.getDepositPerUnit();
             }
-
-            if (orderDetail.getDepositRefunded() != null) {
-                totalDepositRefunded = totalDepositRefunded.add(orderDetail.getDepositRefunded());
-            }
         }
 
-        BigDecimal netDeposit = totalDepositCharged.subtract(totalDepositRefunded);
+        Money netDeposit = totalDepositCharged.total().minus(totalDepositRefunded.total());
 
         return new OrderCalculationResult(
-                subtotal, totalCount, totalDepositCharged, totalDepositRefunded, netDeposit, depositPerUnit
+                subtotal.total().toBigDecimal(),
+                totalCount,
+                totalDepositCharged.total().toBigDecimal(),
+                totalDepositRefunded.total().toBigDecimal(),
+                netDeposit.toBigDecimal(),
+                depositPerUnit
         );
     }
 
     public void recalculateOrderDetail(OrderDetail orderDetail) {
-        BigDecimal subtotal = orderDetail.getPricePerUnit()
-                .multiply(BigDecimal.valueOf(orderDetail.getCount()))
-                .setScale(2, RoundingMode.HALF_UP);
-
-        BigDecimal depositCharged = orderDetail.getDepositPerUnit()
-                .multiply(BigDecimal.valueOf(orderDetail.getCount()))
-                .setScale(2, RoundingMode.HALF_UP);
-
-        BigDecimal depositRefunded = orderDetail.getDepositRefunded() != null
-                ? orderDetail.getDepositRefunded()
-                : BigDecimal.ZERO;
-
-        orderDetail.setSubtotal(subtotal);
-        orderDetail.setDepositCharged(depositCharged);
-        orderDetail.setLineTotal(
-                subtotal.add(depositCharged)
-                        .subtract(depositRefunded)
-                        .setScale(2, RoundingMode.HALF_UP)
-        );
+        Money subtotal = Money.times(orderDetail.getPricePerUnit(), orderDetail.getCount());
+        Money depositCharged = Money.times(orderDetail.getDepositPerUnit(), orderDetail.getCount());
+        Money depositRefunded = Money.of(orderDetail.getDepositRefunded());
+
+        orderDetail.setSubtotal(subtotal.toBigDecimal());
+        orderDetail.setDepositCharged(depositCharged.toBigDecimal());
+        orderDetail.setLineTotal(subtotal.plus(depositCharged).minus(depositRefunded).toBigDecimal());
     }
 
     public void recalculateOrderFinancials(Order order) {
         OrderCalculationResult calculation = calculateOrderTotals(order.getOrderDetails());
 
-        if (calculation.getSubtotal() == null) {
-            throw new IllegalStateException("Subtotal cannot be null");
-        }
-
         order.setTotalItems(calculation.getTotalCount());
         order.setSubtotal(calculation.getSubtotal());
         order.setTotalDepositCharged(calculation.getTotalDepositCharged());
@@ -86,19 +70,11 @@ public class OrderCalculationService {
         BigDecimal promoDiscount = Optional.ofNullable(order.getPromoDiscount())
                 .orElse(BigDecimal.ZERO);
 
-        BigDecimal amount = order.getSubtotal()
-                .subtract(promoDiscount)
-                .setScale(2, RoundingMode.HALF_UP);
-
-        BigDecimal totalAmount = amount
-                .add(order.getNetDeposit())
-                .setScale(2, RoundingMode.HALF_UP);
-
-        order.setAmount(amount);
-        order.setTotalAmount(totalAmount);
+        Money amount = Money.of(calculation.getSubtotal()).minus(promoDiscount);
+        Money totalAmount = amount.plus(Money.of(calculation.getNetDeposit()));
 
-        order.setTotalAmount(totalAmount);
-        order.setAmount(amount);
+        order.setAmount(amount.toBigDecimal());
+        order.setTotalAmount(totalAmount.toBigDecimal());
 
         log.debug("Recalculated order financials: subtotal={}, promoDiscount={}, netDeposit={}, totalAmount={}, finalAmount={}",
                 order.getSubtotal(), promoDiscount, order.getNetDeposit(), totalAmount, amount);
@@ -112,48 +88,39 @@ public class OrderCalculationService {
             log.warn("No order details to recalculate deposits for order {}", order.getOrderNumber());
             return;
         }
-        BigDecimal actualDepositRefunded = BigDecimal.ZERO;
+        MoneyAccumulator actualDepositRefunded = new MoneyAccumulator();
 
         for (OrderDetail detail : order.getOrderDetails()) {
             int actualCollected = detail.getContainersReturned();
             int delivered = detail.getCount();
 
-            BigDecimal refundForDetail = detail.getDepositPerUnit()
-                    .multiply(BigDecimal.valueOf(actualCollected))
-                    .setScale(DECIMAL_SCALE, ROUNDING_MODE);
+            Money refundForDetail = Money.times(detail.getDepositPerUnit(), actualCollected);
+            actualDepositRefunded.add(refundForDetail);
 
-            detail.setDepositRefunded(refundForDetail);
-            actualDepositRefunded = actualDepositRefunded.add(refundForDetail);
+            Money lineTotal = Money.of(detail.getSubtotal())
+                    .plus(Money.of(detail.getDepositCharged()))
+                    .minus(refundForDetail);
 
-            BigDecimal lineTotal = detail.getSubtotal()
-                    .add(detail.getDepositCharged())
-                    .subtract(refundForDetail)
-                    .setScale(DECIMAL_SCALE, ROUNDING_MODE);
-
-            detail.setLineTotal(lineTotal);
+            detail.setDepositRefunded(refundForDetail.toBigDecimal());
+            detail.setLineTotal(lineTotal.toBigDecimal());
 
             log.debug("Product {}: Delivered={}, Collected={}, DepositCharged={}, DepositRefunded={}, LineTotal={}",
                     detail.getProduct().getId(), delivered, actualCollected,
                     detail.getDepositCharged(), refundForDetail, lineTotal);
         }
 
-        order.setTotalDepositRefunded(actualDepositRefunded.setScale(DECIMAL_SCALE, ROUNDING_MODE));
-        order.setNetDeposit(
-                order.getTotalDepositCharged()
-                        .subtract(actualDepositRefunded)
-                        .setScale(DECIMAL_SCALE, ROUNDING_MODE));
+        Money netDeposit = Money.of(order.getTotalDepositCharged()).minus(actualDepositRefunded.total());
+        order.setTotalDepositRefunded(actualDepositRefunded.total().toBigDecimal());
+        order.setNetDeposit(netDeposit.toBigDecimal());
 
         BigDecimal promoDiscount = Optional.ofNullable(order.getPromoDiscount())
                 .orElse(BigDecimal.ZERO);
 
-        BigDecimal amount = order.getSubtotal()
-                .subtract(promoDiscount)
-                .setScale(DECIMAL_SCALE, ROUNDING_MODE);
-
-        BigDecimal totalAmount = amount.add(order.getNetDeposit());
+        Money amount = Money.of(order.getSubtotal()).minus(promoDiscount);
+        Money totalAmount = amount.plus(netDeposit);
 
-        order.setAmount(amount);
-        order.setTotalAmount(totalAmount);
+        order.setAmount(amount.toBigDecimal());
+        order.setTotalAmount(totalAmount.toBigDecimal());
 
         log.info("Order {} final calculation - Subtotal: {}, PromoDiscount: {}, DepositCharged: {}, DepositRefunded: {}, NetDeposit: {}, Amount: {}, TotalAmount: {}",
                 order.getOrderNumber(),
@@ -28,12 +28,15 @@ public class OrderCompletionService {
     private final OrderCalculationService orderCalculationService;
     private final CustomerPackageOrderService customerPackageOrderService;
     private final OrderValidationService orderValidationService;
+    private final OrderStatisticsRecorder orderStatisticsRecorder;
+    private final OrderStatusTransitions orderStatusTransitions;
 
     @Transactional
     public Order completeOrder(Order order, CompleteDeliveryRequest request){
         log.info("Completing order {}",  order.getOrderNumber());
 
         validateOrderCanBeCompleted(order);
+        BigDecimal previousAmount = order.getAmount();
 
         orderValidationService.validateCollectedBottles(order, request.getBottlesCollected());
 
@@ -44,6 +47,8 @@ public class OrderCompletionService {
         }
 
         finalizeOrderCompletion(order, request);
+        orderStatisticsRecorder.recordChange(order, OrderStatus.APPROVED, previousAmount);
+        orderStatusTransitions.changed(order, OrderStatus.APPROVED);
 
         Order completedOrder = orderRepository.save(order);
 
@@ -0,0 +1,516 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.entity.Address;
+import com.delivery.SuAl.entity.Campaign;
+import com.delivery.SuAl.entity.Customer;
+import com.delivery.SuAl.entity.Operator;
+import com.delivery.SuAl.entity.Order;
+import com.delivery.SuAl.entity.OrderCampaignBonus;
+import com.delivery.SuAl.entity.OrderDetail;
+import com.delivery.SuAl.entity.Product;
+import com.delivery.SuAl.exception.InvalidRequestException;
+import com.delivery.SuAl.exception.NotFoundException;
+import com.delivery.SuAl.helper.CampaignApplicationResult;
+import com.delivery.SuAl.helper.CartPricingResult;
+import com.delivery.SuAl.helper.ContainerDepositSummary;
+import com.delivery.SuAl.helper.EligibleCampaignInfo;
+import com.delivery.SuAl.helper.FreeProductSummary;
+import com.delivery.SuAl.helper.Money;
+import com.delivery.SuAl.helper.OrderCreationContext;
+import com.delivery.SuAl.model.enums.NotificationType;
+import com.delivery.SuAl.model.enums.OperatorStatus;
+import com.delivery.SuAl.model.enums.OperatorType;
+import com.delivery.SuAl.model.enums.OrderStatus;
+import com.delivery.SuAl.model.enums.PaymentMethod;
+import com.delivery.SuAl.model.enums.PaymentStatus;
+import com.delivery.SuAl.model.enums.ReceiverType;
+import com.delivery.SuAl.model.enums.StockReservationType;
+import com.delivery.SuAl.model.request.cart.CalculatePriceRequest;
+import com.delivery.SuAl.model.request.marketing.ApplyCampaignRequest;
+import com.delivery.SuAl.model.request.marketing.ApplyPromoRequest;
+import com.delivery.SuAl.model.request.marketing.GetEligibleCampaignsRequest;
+import com.delivery.SuAl.model.request.notification.NotificationRequest;
+import com.delivery.SuAl.model.response.cart.CartCalculationResponse;
+import com.delivery.SuAl.model.response.marketing.ApplyCampaignResponse;
+import com.delivery.SuAl.model.response.marketing.ApplyPromoResponse;
+import com.delivery.SuAl.model.response.marketing.EligibleCampaignsResponse;
+import com.delivery.SuAl.repository.AddressRepository;
+import com.delivery.SuAl.repository.CampaignRepository;
+import com.delivery.SuAl.repository.OperatorRepository;
+import com.delivery.SuAl.repository.OrderRepository;
+import com.delivery.SuAl.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates an order in five stages: price, reserve, persist, apply marketing and notify.
+ * <p>
+ * Every stage reads what the previous stages left in the {@link OrderCreationContext}, so products, prices,
+ * container balances and campaign eligibility are loaded once by the pricing stage and reused afterwards.
+ * Stage durations are published as the {@code order.creation.stage} timer.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderCreationPipeline {
+    private final OrderRepository orderRepository;
+    private final AddressRepository addressRepository;
+    private final ProductRepository productRepository;
+    private final CampaignRepository campaignRepository;
+    private final OperatorRepository operatorRepository;
+
+    private final CartPriceCalculationService cartPriceCalculationService;
+    private final InventoryService inventoryService;
+    private final ContainerManagementService containerManagementService;
+    private final PromoService promoService;
+    private final CampaignService campaignService;
+    private final NotificationService notificationService;
+
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final OrderDetailFactory orderDetailFactory;
+    private final OrderStatisticsRecorder orderStatisticsRecorder;
+    private final OrderStatusTransitions orderStatusTransitions;
+    private final MeterRegistry meterRegistry;
+
+    public Order createOrder(OrderCreationContext context) {
+        Customer customer = context.getCustomer();
+        Operator operator = context.getOperator();
+
+        log.info("Creating order for customer ID: {}, operator: {}, items: {}",
+                customer.getId(),
+                operator != null ? operator.getId() : "none",
+                context.getItems().size());
+
+        runStage("price", () -> price(context));
+        runStage("reserve", () -> reserve(context));
+        runStage("persist", () -> persist(context));
+        runStage("marketing", () -> applyMarketing(context));
+        runStage("notify", () -> notifyOperators(context));
+
+        Order order = context.getOrder();
+        log.info("Order created successfully: {} - Subtotal: {}, Promo: {}, Campaign: {}, Deposits: {}, Total: {}",
+                order.getOrderNumber(),
+                order.getSubtotal(),
+                order.getPromoDiscount(),
+                order.getCampaignDiscount(),
+                order.getNetDeposit(),
+                order.getTotalAmount());
+
+        return order;
+    }
+
+    private void price(OrderCreationContext context) {
+        if (context.getItems() == null || context.getItems().isEmpty()) {
+            throw new InvalidRequestException("Order must contain at least one item");
+        }
+
+        Long customerId = context.getCustomer().getId();
+        Address address = addressRepository
+                .findByIdAndCustomerId(context.getAddressId(), customerId)
+                .orElseThrow(() -> new NotFoundException(
+                        "Address not found with id: " + context.getAddressId() + " for customer: " + customerId));
+        context.setAddress(address);
+
+        CalculatePriceRequest priceRequest = new CalculatePriceRequest();
+        priceRequest.setCustomerId(customerId);
+        priceRequest.setItems(context.getItems());
+        priceRequest.setPromoCode(context.getPromoCode());
+
+        CartPricingResult pricing = cartPriceCalculationService.priceCart(priceRequest);
+        context.setPricing(pricing);
+
+        log.debug("Cart calculation: subtotal={}, promo={}, netDeposit={}, total={}",
+                pricing.getResponse().getSubtotal(),
+                pricing.getResponse().getPromoDiscount(),
+                pricing.getResponse().getNetDeposit(),
+                pricing.getResponse().getTotalAmount());
+    }
+
+    private void reserve(OrderCreationContext context) {
+        CartPricingResult pricing = context.getPricing();
+        Map<Long, Integer> demand = new HashMap<>(pricing.getProductQuantities());
+
+        EligibleCampaignsResponse eligibleCampaigns = pricing.getResponse().getEligibleCampaigns();
+        if (eligibleCampaigns != null && eligibleCampaigns.getAllFreeProducts() != null) {
+            for (FreeProductSummary freeProduct : eligibleCampaigns.getAllFreeProducts()) {
+                if (freeProduct.getTotalQuantity() != null && freeProduct.getTotalQuantity() > 0) {
+                    demand.merge(freeProduct.getProductId(), freeProduct.getTotalQuantity(), Integer::sum);
+                }
+            }
+        }
+
+        context.setStockHold(inventoryService.softReserveStockBatch(demand));
+        context.setReservedQuantities(demand);
+
+        log.info("Soft reserved stock for {} products (basket + expected campaign bonuses)", demand.size());
+    }
+
+    private void persist(OrderCreationContext context) {
+        CartPricingResult pricing = context.getPricing();
+        CartCalculationResponse response = pricing.getResponse();
+        ContainerDepositSummary depositSummary = pricing.getContainerSummary();
+
+        String orderNumber = orderNumberGenerator.generateOrderNumber();
+        log.info("Generated order number: {}", orderNumber);
+
+        Order order = new Order();
+        order.setCustomer(context.getCustomer());
+        order.setOperator(context.getOperator());
+        order.setAddress(context.getAddress());
+        order.setOrderNumber(orderNumber);
+        order.setEmptyBottlesExpected(depositSummary.getTotalContainersUsed());
+        order.setEmptyBottlesCollected(0);
+        order.setNotes(context.getNotes());
+        order.setDeliveryDate(context.getDeliveryDate());
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setPaymentStatus(PaymentStatus.PENDING);
+        order.setPaymentMethod(PaymentMethod.CASH);
+
+        order.setStockReservationType(StockReservationType.SOFT);
+        order.setStockReservedAt(LocalDateTime.now(ZoneOffset.UTC));
+        order.setStockReservationExpiresAt(LocalDateTime.now(ZoneOffset.UTC).plusHours(24));
+
+        order.setSubtotal(response.getSubtotal());
+        order.setTotalDepositCharged(response.getTotalDepositCharged());
+        order.setTotalDepositRefunded(response.getTotalDepositRefunded());
+        order.setNetDeposit(response.getNetDeposit());
+        order.setTotalItems(response.getTotalItems());
+        order.setPromoDiscount(response.getPromoDiscount() != null
+                ? response.getPromoDiscount()
+                : BigDecimal.ZERO);
+        order.setCampaignDiscount(BigDecimal.ZERO);
+
+        Money amount = Money.of(order.getSubtotal()).minus(order.getPromoDiscount());
+
+        order.setAmount(amount.toBigDecimal());
+        order.setTotalAmount(amount.plus(Money.of(order.getNetDeposit())).toBigDecimal());
+
+        List<OrderDetail> orderDetails = orderDetailFactory.createOrderDetailsFromCart(
+                context.getItems(),
+                pricing.getProducts(),
+                pricing.getPrices(),
+                depositSummary.getContainersReturnedByProduct()
+        );
+        orderDetails.forEach(detail -> detail.setOrder(order));
+        order.setOrderDetails(orderDetails);
+
+        Order savedOrder = orderRepository.save(order);
+        context.setOrder(savedOrder);
+
+        log.info("Order saved with ID: {}, number: {}", savedOrder.getId(), savedOrder.getOrderNumber());
+
+        inventoryService.recordSoftReservation(
+                context.getStockHold(), savedOrder.getId(), savedOrder.getStockReservationExpiresAt());
+
+        containerManagementService.reserveContainersForOrder(savedOrder, depositSummary, pricing.getProducts());
+
+        log.info("Reserved {} containers from customer balance",
+                depositSummary.getTotalContainersUsed());
+    }
+
+    private void applyMarketing(OrderCreationContext context) {
+        Order order = context.getOrder();
+        CartCalculationResponse pricing = context.getPricing().getResponse();
+        String promoCode = context.getPromoCode();
+
+        boolean promoApplied = false;
+        if (promoCode != null
+                && !promoCode.trim().isEmpty()
+                && Boolean.TRUE.equals(pricing.getPromoValid())) {
+            try {
+                ApplyPromoResponse promoResult = promoService.applyPromo(
+                        ApplyPromoRequest.builder()
+                                .customerId(context.getCustomer().getId())
+                                .orderId(order.getId())
+                                .promoCode(promoCode)
+                                .orderAmount(pricing.getSubtotal())
+                                .build()
+                );
+
+                if (Boolean.TRUE.equals(promoResult.getSuccess())) {
+                    order.setPromo(promoService.getPromoEntityByCode(promoCode));
+                    promoApplied = true;
+                    log.info("Promo applied: {}, Discount: {}",
+                            promoCode,
+                            pricing.getPromoDiscount());
+                }
+            } catch (Exception e) {
+                log.error("Failed to apply promo: {}", promoCode, e);
+            }
+        }
+        context.setPromoApplied(promoApplied);
+
+        CampaignApplicationResult campaignResult = applyCampaigns(context, resolveEligibleCampaigns(context));
+        context.setCampaignResult(campaignResult);
+
+        reserveBonusStock(context);
+
+        if (campaignResult.getTotalDiscount().compareTo(BigDecimal.ZERO) > 0) {
+            order.setCampaignDiscount(campaignResult.getTotalDiscount());
+
+            Money finalAmount = Money.of(order.getSubtotal())
+                    .minus(order.getPromoDiscount().add(campaignResult.getTotalDiscount()));
+            Money finalTotal = finalAmount.plus(Money.of(order.getNetDeposit()));
+
+            order.setAmount(finalAmount.toBigDecimal());
+            order.setTotalAmount(finalTotal.toBigDecimal());
+
+            log.info("Campaign discount applied: {}, New total: {}",
+                    campaignResult.getTotalDiscount(),
+                    finalTotal);
+        }
+
+        if (!order.getCampaignBonuses().isEmpty()) {
+            orderRepository.flush();
+        }
+
+        orderStatisticsRecorder.recordCreated(List.of(order));
+        orderStatusTransitions.created(List.of(order));
+    }
+
+    private void notifyOperators(OrderCreationContext context) {
+        if (!context.isNotifyOperators()) {
+            return;
+        }
+
+        Order order = context.getOrder();
+        Customer customer = context.getCustomer();
+
+        List<Long> companyIds = context.getPricing().getProducts().values().stream()
+                .map(product -> product.getCompany().getId())
+                .distinct()
+                .toList();
+
+        List<Operator> operatorsToNotify = companyIds.isEmpty()
+                ? operatorRepository.findByOperatorStatusAndOperatorType(OperatorStatus.ACTIVE, OperatorType.SYSTEM)
+                : operatorRepository.findOperatorsToNotify(OperatorStatus.ACTIVE, companyIds);
+
+        if (operatorsToNotify.isEmpty()) {
+            return;
+        }
+
+        List<NotificationRequest> operatorNotifications = operatorsToNotify.stream()
+                .map(operator -> NotificationRequest.builder()
+                        .receiverType(ReceiverType.OPERATOR)
+                        .receiverId(operator.getId())
+                        .notificationType(NotificationType.ORDER)
+                        .title("Yeni Sifariş Daxil Oldu")
+                        .message("Yeni sifariş #" + order.getOrderNumber() + " - " +
+                                customer.getFirstName() + " " + customer.getLastName())
+                        .referenceId(order.getId())
+                        .build())
+                .toList();
+
+        notificationService.publishAll(operatorNotifications);
+
+        log.info("Notified {} operators about new order (SYSTEM operators + relevant company operators)",
+                operatorsToNotify.size());
+    }
+
+    private EligibleCampaignsResponse resolveEligibleCampaigns(OrderCreationContext context) {
+        CartCalculationResponse pricing = context.getPricing().getResponse();
+        boolean pricedWithPromo = context.getPromoCode() != null && !context.getPromoCode().isBlank();
+
+        if (pricedWithPromo == context.isPromoApplied() && pricing.getEligibleCampaigns() != null) {
+            return pricing.getEligibleCampaigns();
+        }
+
+        log.debug("Promo usage differs from pricing assumption, re-evaluating campaigns");
+        return campaignService.getEligibleCampaigns(GetEligibleCampaignsRequest.builder()
+                .customerId(context.getCustomer().getId())
+                .productQuantities(context.getPricing().getProductQuantities())
+                .willUsePromoCode(context.isPromoApplied())
+                .orderTotal(pricing.getSubtotal())
+                .build());
+    }
+
+    private void reserveBonusStock(OrderCreationContext context) {
+        Map<Long, Integer> demand = new HashMap<>(context.getPricing().getProductQuantities());
+        for (OrderCampaignBonus bonus : context.getOrder().getCampaignBonuses()) {
+            if (bonus.getProduct() != null && bonus.getQuantity() > 0) {
+                demand.merge(bonus.getProduct().getId(), bonus.getQuantity(), Integer::sum);
+            }
+        }
+
+        Map<Long, Integer> reserved = context.getReservedQuantities();
+        Map<Long, Integer> shortfall = new HashMap<>();
+        demand.forEach((productId, quantity) -> {
+            int missing = quantity - reserved.getOrDefault(productId, 0);
+            if (missing > 0) {
+                shortfall.put(productId, missing);
+            }
+        });
+
+        if (!shortfall.isEmpty()) {
+            log.info("Applied campaign bonuses exceed the reserved quantities, holding {} more products",
+                    shortfall.size());
+            Order order = context.getOrder();
+            inventoryService.softReserveStockBatch(shortfall, order.getId(), order.getStockReservationExpiresAt());
+            shortfall.forEach((productId, quantity) -> reserved.merge(productId, quantity, Integer::sum));
+        }
+    }
+
+    private CampaignApplicationResult applyCampaigns(
+            OrderCreationContext context,
+            EligibleCampaignsResponse eligibleCampaigns) {
+
+        CampaignApplicationResult result = new CampaignApplicationResult();
+        Order order = context.getOrder();
+
+        List<EligibleCampaignInfo> campaignsToApply = eligibleCampaigns
+                .getEligibleCampaigns()
+                .stream()
+                .filter(c -> Boolean.TRUE.equals(c.getWillBeApplied()))
+                .toList();
+
+        if (campaignsToApply.isEmpty()) {
+            log.debug("No campaigns to apply for order");
+            return result;
+        }
+
+        log.info("Applying {} campaigns to order", campaignsToApply.size());
+
+        for (EligibleCampaignInfo campaignInfo : campaignsToApply) {
+            try {
+                ApplyCampaignRequest applyCampaignRequest = ApplyCampaignRequest.builder()
+                        .campaignCode(campaignInfo.getCampaignCode())
+                        .customerId(context.getCustomer().getId())
+                        .orderId(order.getId())
+                        .build();
+
+                ApplyCampaignResponse campaignResponse =
+                        campaignService.applyCampaign(applyCampaignRequest);
+
+                if (Boolean.TRUE.equals(campaignResponse.getSuccess())) {
+                    processCampaignByType(context, campaignInfo, campaignResponse, result);
+
+                    log.info("Campaign applied: {} ({}), Bonus value: {}",
+                            campaignResponse.getCampaignName(),
+                            campaignInfo.getCampaignType(),
+                            campaignResponse.getBonusValue());
+                }
+            } catch (Exception e) {
+                log.error("Error applying campaign: {}", campaignInfo.getCampaignCode(), e);
+            }
+        }
+
+        log.info("Total campaigns applied: {}, Total discount: {}",
+                result.getAppliedCampaignsCount(),
+                result.getTotalDiscount());
+
+        return result;
+    }
+
+    private void processCampaignByType(
+            OrderCreationContext context,
+            EligibleCampaignInfo campaignInfo,
+            ApplyCampaignResponse campaignResponse,
+            CampaignApplicationResult result
+    ) {
+        switch (campaignInfo.getCampaignType()) {
+            case BUY_X_GET_Y_FREE -> processProductBonus(context, campaignResponse, result, "FREE_PRODUCT");
+            case BUY_X_PAY_FOR_Y -> processProductBonus(context, campaignResponse, result, "DISCOUNTED_PRODUCT");
+            case FIRST_ORDER_BONUS -> processAmountBonus(context, campaignResponse, result,
+                    "FIRST_ORDER_BONUS", "First Order Bonus");
+            case LOYALTY_BONUS -> processAmountBonus(context, campaignResponse, result,
+                    "LOYALTY_BONUS", "Loyalty Bonus");
+            default -> log.warn("Unknown campaign type: {}", campaignInfo.getCampaignType());
+        }
+
+        result.incrementAppliedCampaigns();
+        result.addDiscount(campaignResponse.getBonusValue());
+    }
+
+    private void processProductBonus(
+            OrderCreationContext context,
+            ApplyCampaignResponse campaignResponse,
+            CampaignApplicationResult result,
+            String bonusType
+    ) {
+        if (campaignResponse.getFreeQuantity() == null || campaignResponse.getFreeQuantity() <= 0) {
+            log.warn("No bonus quantity for campaign: {}", campaignResponse.getCampaignCode());
+            return;
+        }
+
+        Product bonusProduct = findProduct(context, campaignResponse.getFreeProductId());
+        Campaign campaign = findCampaignByCampaignCode(campaignResponse.getCampaignCode());
+
+        OrderCampaignBonus campaignBonus = new OrderCampaignBonus();
+        campaignBonus.setOrder(context.getOrder());
+        campaignBonus.setCampaign(campaign);
+        campaignBonus.setProduct(bonusProduct);
+        campaignBonus.setQuantity(campaignResponse.getFreeQuantity());
+        campaignBonus.setBonusValue(campaignResponse.getBonusValue());
+        campaignBonus.setBonusType(bonusType);
+
+        context.getOrder().getCampaignBonuses().add(campaignBonus);
+
+        if ("FREE_PRODUCT".equals(bonusType)) {
+            result.addFreeProduct(bonusProduct.getName(), campaignResponse.getFreeQuantity());
+        } else {
+            result.addDiscountedProduct(bonusProduct.getName(), campaignResponse.getFreeQuantity());
+        }
+
+        log.info("Added {} bonus: {} x {} - value: {}",
+                bonusType,
+                bonusProduct.getName(),
+                campaignResponse.getFreeQuantity(),
+                campaignResponse.getBonusValue());
+    }
+
+    private void processAmountBonus(
+            OrderCreationContext context,
+            ApplyCampaignResponse campaignResponse,
+            CampaignApplicationResult result,
+            String bonusType,
+            String bonusName
+    ) {
+        Campaign campaign = findCampaignByCampaignCode(campaignResponse.getCampaignCode());
+
+        OrderCampaignBonus campaignBonus = new OrderCampaignBonus();
+        campaignBonus.setOrder(context.getOrder());
+        campaignBonus.setCampaign(campaign);
+        campaignBonus.setProduct(null);
+        campaignBonus.setQuantity(0);
+        campaignBonus.setBonusValue(campaignResponse.getBonusValue());
+        campaignBonus.setBonusType(bonusType);
+
+        context.getOrder().getCampaignBonuses().add(campaignBonus);
+
+        result.addBonusDiscount(bonusName, campaignResponse.getBonusValue());
+
+        log.info("Added {} - discount: {}", bonusType, campaignResponse.getBonusValue());
+    }
+
+    private Product findProduct(OrderCreationContext context, Long productId) {
+        Product product = context.getPricing().getProducts().get(productId);
+        if (product != null) {
+            return product;
+        }
+        return productRepository.findById(productId)
+                .orElseThrow(() -> new NotFoundException("Product not found with id: " + productId));
+    }
+
+    private Campaign findCampaignByCampaignCode(String campaignCode) {
+        return campaignRepository.findByCampaignCode(campaignCode)
+                .orElseThrow(() -> new NotFoundException(
+                        "Campaign not found: " + campaignCode));
+    }
+
+    private void runStage(String stage, Runnable action) {
+        Timer.builder("order.creation.stage")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(action);
+    }
+}
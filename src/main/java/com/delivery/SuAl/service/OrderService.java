@@ -3,9 +3,13 @@ package com.delivery.SuAl.service;
 import com.delivery.SuAl.model.request.order.CompleteDeliveryRequest;
 import com.delivery.SuAl.model.request.order.CreateOrderByOperatorRequest;
 import com.delivery.SuAl.model.request.order.CreateOrderByCustomerRequest;
+import com.delivery.SuAl.model.request.order.DispatchOrdersRequest;
 import com.delivery.SuAl.model.request.order.UpdateOrderRequest;
+import com.delivery.SuAl.model.response.order.DispatchOrdersResponse;
 import com.delivery.SuAl.model.response.order.DriverCollectionInfoResponse;
 import com.delivery.SuAl.model.response.order.OrderResponse;
+import com.delivery.SuAl.model.response.order.OrderSummaryResponse;
+import com.delivery.SuAl.model.response.wrapper.CursorPageResponse;
 import com.delivery.SuAl.model.response.wrapper.PageResponse;
 import org.springframework.data.domain.Pageable;
 
@@ -37,6 +41,8 @@ public interface OrderService {
 
     OrderResponse assignDriverByAdmin(Long orderId, Long driverId);
 
+    DispatchOrdersResponse dispatchOrders(String operatorEmail, DispatchOrdersRequest request);
+
     OrderResponse completeOrderByAdmin(Long orderId, CompleteDeliveryRequest completeDeliveryRequest);
 
     OrderResponse completeOrder(Long orderId, CompleteDeliveryRequest completeDeliveryRequest);
@@ -51,6 +57,12 @@ public interface OrderService {
 
     PageResponse<OrderResponse> getAllOrdersByCustomer(Pageable pageable, String phoneNumber);
 
+    CursorPageResponse<OrderSummaryResponse> getPendingOrdersFeed(Long cursor, int size);
+
+    CursorPageResponse<OrderSummaryResponse> getOrdersFeedForManagement(Long cursor, int size);
+
+    CursorPageResponse<OrderSummaryResponse> getOrdersFeedByCustomer(String phoneNumber, Long cursor, int size);
+
     DriverCollectionInfoResponse getDriverCollectionInfo(Long orderId);
 
 }
@@ -2,7 +2,6 @@ package com.delivery.SuAl.service;
 
 import com.delivery.SuAl.annotation.SendNotification;
 import com.delivery.SuAl.entity.Address;
-import com.delivery.SuAl.entity.Campaign;
 import com.delivery.SuAl.entity.Customer;
 import com.delivery.SuAl.entity.CustomerContainer;
 import com.delivery.SuAl.entity.Driver;
@@ -16,9 +15,11 @@ import com.delivery.SuAl.exception.InvalidOrderStateException;
 import com.delivery.SuAl.exception.NotFoundException;
 import com.delivery.SuAl.exception.PaymentRefundException;
 import com.delivery.SuAl.exception.UnauthorizedOperationException;
-import com.delivery.SuAl.helper.CampaignApplicationResult;
 import com.delivery.SuAl.helper.ContainerDepositSummary;
-import com.delivery.SuAl.helper.EligibleCampaignInfo;
+import com.delivery.SuAl.helper.Money;
+import com.delivery.SuAl.helper.MoneyAccumulator;
+import com.delivery.SuAl.helper.OrderCreationContext;
+import com.delivery.SuAl.helper.OrderSummaryRow;
 import com.delivery.SuAl.helper.ProductDepositInfo;
 import com.delivery.SuAl.mapper.OrderMapper;
 import com.delivery.SuAl.model.enums.NotificationType;
@@ -29,29 +30,26 @@ import com.delivery.SuAl.model.enums.PaymentMethod;
 import com.delivery.SuAl.model.enums.PaymentStatus;
 import com.delivery.SuAl.model.enums.ReceiverType;
 import com.delivery.SuAl.model.enums.StockReservationType;
-import com.delivery.SuAl.model.request.cart.CalculatePriceRequest;
 import com.delivery.SuAl.model.request.cart.CartItem;
-import com.delivery.SuAl.model.request.marketing.ApplyCampaignRequest;
-import com.delivery.SuAl.model.request.marketing.ApplyPromoRequest;
-import com.delivery.SuAl.model.request.marketing.GetEligibleCampaignsRequest;
 import com.delivery.SuAl.model.request.notification.NotificationRequest;
 import com.delivery.SuAl.model.request.order.CompleteDeliveryRequest;
 import com.delivery.SuAl.model.request.order.CreateOrderByCustomerRequest;
 import com.delivery.SuAl.model.request.order.CreateOrderByOperatorRequest;
+import com.delivery.SuAl.model.request.order.DispatchOrderItem;
+import com.delivery.SuAl.model.request.order.DispatchOrdersRequest;
 import com.delivery.SuAl.model.request.order.UpdateOrderItemRequest;
 import com.delivery.SuAl.model.request.order.UpdateOrderRequest;
-import com.delivery.SuAl.model.response.cart.CartCalculationResponse;
-import com.delivery.SuAl.model.response.marketing.ApplyCampaignResponse;
-import com.delivery.SuAl.model.response.marketing.ApplyPromoResponse;
-import com.delivery.SuAl.model.response.marketing.EligibleCampaignsResponse;
 import com.delivery.SuAl.model.response.order.BottleCollectionExpectation;
+import com.delivery.SuAl.model.response.order.DispatchOrderResult;
+import com.delivery.SuAl.model.response.order.DispatchOrdersResponse;
 import com.delivery.SuAl.model.response.order.DriverCollectionInfoResponse;
 import com.delivery.SuAl.model.response.order.OrderResponse;
+import com.delivery.SuAl.model.response.order.OrderSummaryResponse;
 import com.delivery.SuAl.model.response.order.ProductDeliverItem;
+import com.delivery.SuAl.model.response.wrapper.CursorPageResponse;
 import com.delivery.SuAl.model.response.wrapper.PageResponse;
 import com.delivery.SuAl.repository.AddressRepository;
 import com.delivery.SuAl.repository.AdminRepository;
-import com.delivery.SuAl.repository.CampaignRepository;
 import com.delivery.SuAl.repository.CustomerContainerRepository;
 import com.delivery.SuAl.repository.CustomerRepository;
 import com.delivery.SuAl.repository.DriverRepository;
@@ -63,20 +61,21 @@ import com.delivery.SuAl.security.OperatorContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -90,12 +89,10 @@ public class OrderServiceImpl implements OrderService {
     private final CustomerRepository customerRepository;
     private final OperatorRepository operatorRepository;
     private final ProductRepository productRepository;
-    private final CampaignRepository campaignRepository;
     private final CustomerContainerRepository customerContainerRepository;
     private final AdminRepository adminRepository;
 
     private final OrderCalculationService orderCalculationService;
-    private final CartPriceCalculationService cartPriceCalculationService;
     private final PromoService promoService;
     private final CampaignService campaignService;
     private final InventoryService inventoryService;
@@ -103,8 +100,9 @@ public class OrderServiceImpl implements OrderService {
     private final PaymentService paymentService;
     private final NotificationService notificationService;
 
-    private final OrderNumberGenerator orderNumberGenerator;
-    private final OrderDetailFactory orderDetailFactory;
+    private final OrderCreationPipeline orderCreationPipeline;
+    private final OrderStatisticsRecorder orderStatisticsRecorder;
+    private final OrderStatusTransitions orderStatusTransitions;
     private final OrderMapper orderMapper;
     private final OrderCompletionService orderCompletionService;
     private final UserRepository userRepository;
@@ -127,31 +125,8 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new NotFoundException("Customer not found with phoneNumber: " + phoneNumber));
 
         log.info("Customer found - customerId: {}, name: {}", customer.getId(), customer.getFirstName());
-        OrderResponse response = createOrderInternal(customer, null, request.getAddressId(), request.getDeliveryDate(),
-                request.getItems(), request.getPromoCode(), request.getNote());
-
-        List<Operator> operatorsToNotify = getOperatorsToNotifyForOrder(response.getId());
-
-        if (!operatorsToNotify.isEmpty()) {
-            List<NotificationRequest> operatorNotifications = operatorsToNotify.stream()
-                    .map(operator -> NotificationRequest.builder()
-                            .receiverType(ReceiverType.OPERATOR)
-                            .receiverId(operator.getId())
-                            .notificationType(NotificationType.ORDER)
-                            .title("Yeni Sifariş Daxil Oldu")
-                            .message("Yeni sifariş #" + response.getOrderNumber() + " - " +
-                                    customer.getFirstName() + " " + customer.getLastName())
-                            .referenceId(response.getId())
-                            .build())
-                    .collect(Collectors.toList());
-
-            notificationService.createNotificationsBatch(operatorNotifications);
-
-            log.info("Notified {} operators about new order (SYSTEM operators + relevant company operators)",
-                    operatorsToNotify.size());
-        }
-
-        return response;
+        return createOrderInternal(customer, null, request.getAddressId(), request.getDeliveryDate(),
+                request.getItems(), request.getPromoCode(), request.getNote(), true);
     }
 
     @Override
@@ -181,7 +156,7 @@ public class OrderServiceImpl implements OrderService {
 
         Customer customer = findCustomerById(request.getCustomerId());
         return createOrderInternal(customer, operator, request.getAddressId(), request.getDeliveryDate(),
-                request.getItems(), request.getPromoCode(), request.getNotes());
+                request.getItems(), request.getPromoCode(), request.getNotes(), false);
     }
 
     @Override
@@ -246,7 +221,9 @@ public class OrderServiceImpl implements OrderService {
         }
 
         if (needsRecalculation) {
+            BigDecimal previousAmount = order.getAmount();
             recalculateOrder(order);
+            orderStatisticsRecorder.recordChange(order, order.getOrderStatus(), previousAmount);
 
             Map<Long, Integer> productQuantities = order.getOrderDetails().stream()
                     .collect(Collectors.toMap(
@@ -346,43 +323,26 @@ public class OrderServiceImpl implements OrderService {
             throw new InvalidOrderStateException("Order must be PENDING before approving order");
         }
 
-        Map<Long, Integer> productQuantities = order.getOrderDetails().stream()
-                .collect(Collectors.toMap(
-                        detail -> detail.getProduct().getId(),
-                        OrderDetail::getCount,
-                        Integer::sum
-                ));
-
-        if (!order.getCampaignBonuses().isEmpty()) {
-            for (OrderCampaignBonus bonus : order.getCampaignBonuses()) {
-                productQuantities.merge(
-                        bonus.getProduct().getId(),
-                        bonus.getQuantity(),
-                        Integer::sum
-                );
-            }
-        }
+        Map<Long, Integer> productQuantities = collectStockDemand(order);
 
         User user = userRepository.findByEmail(operatorEmail)
                 .orElseThrow(() -> new NotFoundException("User " + operatorEmail + " not found"));
 
         if (order.getStockReservationType() == StockReservationType.SOFT) {
-            inventoryService.convertSoftToHardReservation(productQuantities, user);
+            inventoryService.convertSoftToHardReservation(productQuantities, order.getId(), user);
             order.setStockReservationType(StockReservationType.HARD);
             order.setStockReservationExpiresAt(null);
         } else {
-            inventoryService.validateAndReserveStockBatch(productQuantities, user);
+            inventoryService.validateAndReserveStockBatch(productQuantities, order.getId(), null, user);
             order.setStockReservationType(StockReservationType.HARD);
         }
 
-        for (OrderDetail detail : order.getOrderDetails()) {
-            Product product = detail.getProduct();
-            product.setOrderCount(product.getOrderCount() + detail.getCount());
-            productRepository.save(product);
-        }
+        incrementProductOrderCounts(List.of(order));
 
         order.setOrderStatus(OrderStatus.APPROVED);
         order.setOperator(operator);
+        orderStatisticsRecorder.recordTransition(order, OrderStatus.PENDING);
+        orderStatusTransitions.changed(order, OrderStatus.PENDING);
         Order savedOrder = orderRepository.save(order);
 
         log.info("Order approved successfully: {}", orderId);
@@ -420,9 +380,12 @@ public class OrderServiceImpl implements OrderService {
         campaignService.releaseCampaignUsageByOrder(orderId);
 
         refundPayment(order);
+        inventoryService.releaseSoftReservations(orderId);
 
         order.setOrderStatus(OrderStatus.REJECTED);
         order.setRejectionReason(reason);
+        orderStatisticsRecorder.recordTransition(order, OrderStatus.PENDING);
+        orderStatusTransitions.changed(order, OrderStatus.PENDING);
         Order savedOrder = orderRepository.save(order);
 
         List<Operator> operatorsToNotify = getOperatorsToNotifyForOrder(savedOrder.getId());
@@ -440,7 +403,7 @@ public class OrderServiceImpl implements OrderService {
                             .build())
                     .collect(Collectors.toList());
 
-            notificationService.createNotificationsBatch(operatorNotifications);
+            notificationService.publishAll(operatorNotifications);
             log.info("Notified {} operators about order cancellation", operatorsToNotify.size());
         }
 
@@ -525,42 +488,25 @@ public class OrderServiceImpl implements OrderService {
             throw new InvalidOrderStateException("Order must be PENDING before approving. Current: " + order.getOrderStatus());
         }
 
-        Map<Long, Integer> productQuantities = order.getOrderDetails().stream()
-                .collect(Collectors.toMap(
-                        detail -> detail.getProduct().getId(),
-                        OrderDetail::getCount,
-                        Integer::sum
-                ));
-
-        if (!order.getCampaignBonuses().isEmpty()) {
-            for (OrderCampaignBonus bonus : order.getCampaignBonuses()) {
-                productQuantities.merge(
-                        bonus.getProduct().getId(),
-                        bonus.getQuantity(),
-                        Integer::sum
-                );
-            }
-        }
+        Map<Long, Integer> productQuantities = collectStockDemand(order);
 
         User user = userRepository.findByEmail(adminEmail)
                 .orElseThrow(() -> new NotFoundException("User not found with email: " + adminEmail));
 
         if (order.getStockReservationType() == StockReservationType.SOFT) {
-            inventoryService.convertSoftToHardReservation(productQuantities, user);
+            inventoryService.convertSoftToHardReservation(productQuantities, order.getId(), user);
             order.setStockReservationType(StockReservationType.HARD);
             order.setStockReservationExpiresAt(null);
         } else {
-            inventoryService.validateAndReserveStockBatch(productQuantities, user);
+            inventoryService.validateAndReserveStockBatch(productQuantities, order.getId(), null, user);
             order.setStockReservationType(StockReservationType.HARD);
         }
 
-        for (OrderDetail detail : order.getOrderDetails()) {
-            Product product = detail.getProduct();
-            product.setOrderCount(product.getOrderCount() + detail.getCount());
-            productRepository.save(product);
-        }
+        incrementProductOrderCounts(List.of(order));
 
         order.setOrderStatus(OrderStatus.APPROVED);
+        orderStatisticsRecorder.recordTransition(order, OrderStatus.PENDING);
+        orderStatusTransitions.changed(order, OrderStatus.PENDING);
         Order savedOrder = orderRepository.save(order);
 
         log.info("Order {} approved by admin {}", orderId, adminEmail);
@@ -595,6 +541,136 @@ public class OrderServiceImpl implements OrderService {
         return orderMapper.toResponse(order);
     }
 
+    @Override
+    @Transactional
+    public DispatchOrdersResponse dispatchOrders(String operatorEmail, DispatchOrdersRequest request) {
+        log.info("Dispatching {} orders by operator {}", request.getOrders().size(), operatorEmail);
+
+        Operator operator = operatorRepository.findByEmail(operatorEmail)
+                .orElseThrow(() -> new NotFoundException("Operator " + operatorEmail + " not found"));
+
+        if (operator.getOperatorStatus() != OperatorStatus.ACTIVE) {
+            throw new UnauthorizedOperationException("Operator is not active with email: " + operatorEmail);
+        }
+
+        Map<Long, Long> driverByOrder = new LinkedHashMap<>();
+        for (DispatchOrderItem item : request.getOrders()) {
+            driverByOrder.putIfAbsent(item.getOrderId(), item.getDriverId());
+        }
+
+        Map<Long, Order> orderMap = orderRepository.findAllByIdInWithLock(driverByOrder.keySet()).stream()
+                .collect(Collectors.toMap(Order::getId, order -> order));
+        orderRepository.fetchOrderDetailsByIdIn(orderMap.keySet());
+        orderRepository.fetchCampaignBonusesByIdIn(orderMap.keySet());
+
+        List<Long> driverIds = driverByOrder.values().stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, Driver> driverMap = driverRepository.findAllById(driverIds).stream()
+                .collect(Collectors.toMap(Driver::getId, driver -> driver));
+
+        Map<Long, String> rejections = new LinkedHashMap<>();
+        Map<Long, Map<Long, Integer>> demandByOrder = new LinkedHashMap<>();
+        driverByOrder.forEach((orderId, driverId) -> {
+            String reason = checkDispatchable(orderId, orderMap.get(orderId), driverId, driverMap);
+            if (reason != null) {
+                rejections.put(orderId, reason);
+            } else if (orderMap.get(orderId).getOrderStatus() == OrderStatus.PENDING) {
+                try {
+                    demandByOrder.put(orderId, collectStockDemand(orderMap.get(orderId)));
+                } catch (RuntimeException e) {
+                    log.error("Cannot compute stock demand of order {} for dispatch", orderId, e);
+                    rejections.put(orderId, "Order stock demand could not be determined");
+                }
+            }
+        });
+
+        rejections.putAll(inventoryService.reserveStockForOrders(demandByOrder));
+
+        List<Order> approvedOrders = new ArrayList<>();
+        List<NotificationRequest> notifications = new ArrayList<>();
+        List<DispatchOrderResult> results = new ArrayList<>();
+        int assignedCount = 0;
+
+        for (Map.Entry<Long, Long> entry : driverByOrder.entrySet()) {
+            Long orderId = entry.getKey();
+            Long driverId = entry.getValue();
+            Order order = orderMap.get(orderId);
+
+            if (rejections.containsKey(orderId)) {
+                results.add(DispatchOrderResult.builder()
+                        .orderId(orderId)
+                        .orderNumber(order != null ? order.getOrderNumber() : null)
+                        .orderStatus(order != null ? order.getOrderStatus() : null)
+                        .rejected(true)
+                        .rejectionReason(rejections.get(orderId))
+                        .build());
+                continue;
+            }
+
+            boolean approved = demandByOrder.containsKey(orderId);
+            if (approved) {
+                order.setStockReservationType(StockReservationType.HARD);
+                order.setStockReservationExpiresAt(null);
+                order.setOrderStatus(OrderStatus.APPROVED);
+                order.setOperator(operator);
+                approvedOrders.add(order);
+
+                notifications.add(NotificationRequest.builder()
+                        .receiverType(ReceiverType.CUSTOMER)
+                        .receiverId(order.getCustomer().getId())
+                        .notificationType(NotificationType.ORDER)
+                        .title("Sifariş Təsdiqləndi")
+                        .message("Sifarişiniz #" + order.getOrderNumber() + " təsdiqləndi və tezliklə çatdırılacaq")
+                        .referenceId(order.getId())
+                        .build());
+            }
+
+            if (driverId != null) {
+                order.setDriver(driverMap.get(driverId));
+                assignedCount++;
+
+                notifications.add(NotificationRequest.builder()
+                        .receiverType(ReceiverType.DRIVER)
+                        .receiverId(driverId)
+                        .notificationType(NotificationType.ORDER)
+                        .title("Yeni Çatdırılma Tapşırığı")
+                        .message("Sizə " + order.getOrderNumber() + " nömrəli sifariş təyin edildi")
+                        .referenceId(order.getId())
+                        .build());
+            }
+
+            results.add(DispatchOrderResult.builder()
+                    .orderId(orderId)
+                    .orderNumber(order.getOrderNumber())
+                    .orderStatus(order.getOrderStatus())
+                    .driverId(driverId)
+                    .approved(approved)
+                    .driverAssigned(driverId != null)
+                    .build());
+        }
+
+        incrementProductOrderCounts(approvedOrders);
+        orderStatisticsRecorder.recordTransitions(approvedOrders, OrderStatus.PENDING, OrderStatus.APPROVED);
+        orderStatusTransitions.changed(approvedOrders, OrderStatus.PENDING, OrderStatus.APPROVED);
+
+        if (!notifications.isEmpty()) {
+            notificationService.publishAll(notifications);
+        }
+
+        log.info("Dispatch by {}: {} approved, {} assigned, {} rejected out of {}",
+                operatorEmail, approvedOrders.size(), assignedCount, rejections.size(), driverByOrder.size());
+
+        return DispatchOrdersResponse.builder()
+                .requestedCount(driverByOrder.size())
+                .approvedCount(approvedOrders.size())
+                .assignedCount(assignedCount)
+                .rejectedCount(rejections.size())
+                .results(results)
+                .build();
+    }
+
     @Override
     @Transactional
     @SendNotification(
@@ -720,6 +796,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<OrderResponse> getAllOrdersByCustomer(Pageable pageable, String phoneNumber) {
         log.info("Fetching all orders for customer phoneNumber {}", phoneNumber);
 
@@ -737,6 +814,58 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<OrderSummaryResponse> getPendingOrdersFeed(Long cursor, int size) {
+        long afterId = cursor != null ? cursor : 0L;
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<OrderSummaryRow> rows;
+        if (OperatorContext.isSupplierOperator()) {
+            Long companyId = OperatorContext.getCurrentCompanyId();
+            rows = orderRepository.findSummariesByStatusAndCompanyAfter(OrderStatus.PENDING, companyId, afterId, limit);
+        } else {
+            rows = orderRepository.findSummariesByStatusAfter(OrderStatus.PENDING, afterId, limit);
+        }
+        return toSummaryPage(rows, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<OrderSummaryResponse> getOrdersFeedForManagement(Long cursor, int size) {
+        long beforeId = cursor != null ? cursor : Long.MAX_VALUE;
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<OrderSummaryRow> rows;
+        if (OperatorContext.isSupplierOperator()) {
+            Long companyId = OperatorContext.getCurrentCompanyId();
+            rows = orderRepository.findSummariesByCompanyBefore(companyId, beforeId, limit);
+        } else {
+            rows = orderRepository.findSummariesBefore(beforeId, limit);
+        }
+        return toSummaryPage(rows, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<OrderSummaryResponse> getOrdersFeedByCustomer(String phoneNumber, Long cursor, int size) {
+        Customer customer = customerRepository.findByPhoneNumber(phoneNumber)
+                .orElseThrow(() -> new NotFoundException("Customer not found with phoneNumber: " + phoneNumber));
+
+        long beforeId = cursor != null ? cursor : Long.MAX_VALUE;
+        List<OrderSummaryRow> rows = orderRepository.findSummariesByCustomerBefore(
+                customer.getId(), beforeId, PageRequest.of(0, size + 1));
+        return toSummaryPage(rows, size);
+    }
+
+    private CursorPageResponse<OrderSummaryResponse> toSummaryPage(List<OrderSummaryRow> rows, int size) {
+        List<OrderSummaryResponse> responses = rows.stream()
+                .map(orderMapper::toSummaryResponse)
+                .toList();
+        return CursorPageResponse.of(responses, size, OrderSummaryResponse::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public DriverCollectionInfoResponse getDriverCollectionInfo(Long orderId) {
         log.info("Getting driver collection info for order {}", orderId);
 
@@ -772,21 +901,19 @@ public class OrderServiceImpl implements OrderService {
 
         List<BottleCollectionExpectation> expectations = new ArrayList<>();
         boolean hasInsufficientContainers = false;
-        BigDecimal totalPotentialExtraDeposit = BigDecimal.ZERO;
+        MoneyAccumulator totalPotentialExtraDeposit = new MoneyAccumulator();
         for (OrderDetail detail : order.getOrderDetails()) {
             int expectedToCollect = detail.getContainersReturned();
             int customerHas = customerContainerBalances.getOrDefault(detail.getProduct().getId(), 0);
             int shortfall = Math.max(0, expectedToCollect - customerHas);
 
             BigDecimal extraDepositPerBottle = detail.getDepositPerUnit();
-            BigDecimal totalExtraDeposit = extraDepositPerBottle
-                    .multiply(BigDecimal.valueOf(shortfall))
-                    .setScale(2, RoundingMode.HALF_UP);
+            BigDecimal totalExtraDeposit = Money.times(extraDepositPerBottle, shortfall).toBigDecimal();
 
             String warningMessage = null;
             if (shortfall > 0) {
                 hasInsufficientContainers = true;
-                totalPotentialExtraDeposit = totalPotentialExtraDeposit.add(totalExtraDeposit);
+                totalPotentialExtraDeposit.add(totalExtraDeposit);
                 warningMessage = String.format(
                         "Customer only has %d/%d containers. Collect extra %s AZN if missing!",
                         customerHas, expectedToCollect, totalExtraDeposit
@@ -812,9 +939,9 @@ public class OrderServiceImpl implements OrderService {
                             ATTENTION: Customer doesn't have all expected containers! " +
                                         "If customer cannot return missing containers, collect EXTRA %s AZN deposit. " +
                                         "Original amount: %s → Possible amount: %s""",
-                    totalPotentialExtraDeposit,
+                    totalPotentialExtraDeposit.total(),
                     order.getTotalAmount(),
-                    order.getTotalAmount().add(totalPotentialExtraDeposit)
+                    Money.of(order.getTotalAmount()).plus(totalPotentialExtraDeposit.total())
             );
         }
         return DriverCollectionInfoResponse.builder()
@@ -856,12 +983,6 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new NotFoundException("Driver Not Found with id " + id));
     }
 
-    private Campaign findCampaignByCampaignCode(String campaignCode) {
-        return campaignRepository.findByCampaignCode(campaignCode)
-                .orElseThrow(() -> new NotFoundException(
-                        "Campaign not found: " + campaignCode));
-    }
-
     private Product findProductById(Long productId) {
         return productRepository.findById(productId)
                 .orElseThrow(() -> new NotFoundException("Product not found with id: " + productId));
@@ -874,372 +995,21 @@ public class OrderServiceImpl implements OrderService {
             LocalDate deliveryDate,
             List<CartItem> items,
             String promoCode,
-            String notes) {
-
-        log.info("Creating order for customer ID: {}, operator: {}, items: {}",
-                customer.getId(),
-                operator != null ? operator.getId() : "none",
-                items.size());
-
-        Address address = findCustomerAddress(customer.getId(), addressId);
-
-        CalculatePriceRequest priceRequest = new CalculatePriceRequest();
-        priceRequest.setCustomerId(customer.getId());
-        priceRequest.setItems(items);
-        priceRequest.setPromoCode(promoCode);
-
-        CartCalculationResponse pricing = cartPriceCalculationService.calculatePrice(priceRequest);
-
-        log.debug("Cart calculation: subtotal={}, promo={}, netDeposit={}, total={}",
-                pricing.getSubtotal(),
-                pricing.getPromoDiscount(),
-                pricing.getNetDeposit(),
-                pricing.getTotalAmount());
-
-        Map<Long, Integer> productQuantities = items.stream()
-                .collect(Collectors.toMap(
-                        CartItem::getProductId,
-                        CartItem::getQuantity,
-                        Integer::sum
-                ));
-
-
-        ContainerDepositSummary depositSummary =
-                containerManagementService.calculateAvailableContainerRefunds(
-                        customer.getId(),
-                        productQuantities
-                );
-
-        String orderNumber = orderNumberGenerator.generateOrderNumber();
-        log.info("Generated order number: {}", orderNumber);
-
-        Order order = new Order();
-        order.setCustomer(customer);
-        order.setOperator(operator);
-        order.setAddress(address);
-        order.setOrderNumber(orderNumber);
-        order.setEmptyBottlesExpected(depositSummary.getTotalContainersUsed());
-        order.setEmptyBottlesCollected(0);
-        order.setNotes(notes);
-        order.setDeliveryDate(deliveryDate);
-        order.setOrderStatus(OrderStatus.PENDING);
-        order.setPaymentStatus(PaymentStatus.PENDING);
-        order.setPaymentMethod(PaymentMethod.CASH);
-
-        order.setStockReservationType(StockReservationType.SOFT);
-        order.setStockReservedAt(LocalDateTime.now(ZoneOffset.UTC));
-        order.setStockReservationExpiresAt(LocalDateTime.now(ZoneOffset.UTC).plusHours(24));
-
-        order.setSubtotal(pricing.getSubtotal());
-        order.setTotalDepositCharged(pricing.getTotalDepositCharged());
-        order.setTotalDepositRefunded(pricing.getTotalDepositRefunded());
-        order.setNetDeposit(pricing.getNetDeposit());
-        order.setTotalItems(pricing.getTotalItems());
-        order.setPromoDiscount(pricing.getPromoDiscount() != null
-                ? pricing.getPromoDiscount()
-                : BigDecimal.ZERO);
-        order.setCampaignDiscount(BigDecimal.ZERO);
-
-        BigDecimal amount = order.getSubtotal()
-                .subtract(order.getPromoDiscount())
-                .setScale(2, RoundingMode.HALF_UP);
-        BigDecimal totalAmount = amount
-                .add(order.getNetDeposit())
-                .setScale(2, RoundingMode.HALF_UP);
-
-        order.setAmount(amount);
-        order.setTotalAmount(totalAmount);
-
-        List<OrderDetail> orderDetails = orderDetailFactory.createOrderDetailsFromCart(
-                items,
-                depositSummary.getContainersReturnedByProduct()
-        );
-
-        Order savedOrder = orderRepository.save(order);
-
-        orderDetails.forEach(detail -> detail.setOrder(savedOrder));
-        savedOrder.setOrderDetails(orderDetails);
-
-        log.info("Order saved with ID: {}, number: {}", savedOrder.getId(), savedOrder.getOrderNumber());
-
-        boolean promoApplied = false;
-        if (promoCode != null
-                && !promoCode.trim().isEmpty()
-                && Boolean.TRUE.equals(pricing.getPromoValid())) {
-            try {
-                ApplyPromoResponse promoResult = promoService.applyPromo(
-                        ApplyPromoRequest.builder()
-                                .customerId(customer.getId())
-                                .orderId(savedOrder.getId())
-                                .promoCode(promoCode)
-                                .orderAmount(pricing.getSubtotal())
-                                .build()
-                );
-
-                if (Boolean.TRUE.equals(promoResult.getSuccess())) {
-                    savedOrder.setPromo(promoService.getPromoEntityByCode(promoCode));
-                    promoApplied = true;
-                    log.info("Promo applied: {}, Discount: {}",
-                            promoCode,
-                            pricing.getPromoDiscount());
-                }
-            } catch (Exception e) {
-                log.error("Failed to apply promo: {}", promoCode, e);
-            }
-        }
-
-        CampaignApplicationResult campaignResult = applyCampaigns(
-                savedOrder,
-                customer,
-                productQuantities,
-                promoApplied,
-                savedOrder.getSubtotal()
-        );
-
-        Map<Long, Integer> allProducts = new HashMap<>(productQuantities);
-
-        for (OrderCampaignBonus bonus : savedOrder.getCampaignBonuses()) {
-            if (bonus.getProduct() != null && bonus.getQuantity() > 0) {
-                allProducts.merge(
-                        bonus.getProduct().getId(),
-                        bonus.getQuantity(),
-                        Integer::sum
-                );
-            }
-        }
-
-        inventoryService.softReserveStockBatch(allProducts);
-
-        log.info("Soft reserved stock for {} regular products + {} campaign bonuses = {} total products",
-                productQuantities.size(),
-                savedOrder.getCampaignBonuses().size(),
-                allProducts.size());
-
-        if (campaignResult.getTotalDiscount().compareTo(BigDecimal.ZERO) > 0) {
-            savedOrder.setCampaignDiscount(campaignResult.getTotalDiscount());
-
-            BigDecimal finalAmount = savedOrder.getSubtotal()
-                    .subtract(savedOrder.getPromoDiscount())
-                    .subtract(campaignResult.getTotalDiscount())
-                    .setScale(2, RoundingMode.HALF_UP);
-
-            BigDecimal finalTotal = finalAmount
-                    .add(savedOrder.getNetDeposit())
-                    .setScale(2, RoundingMode.HALF_UP);
-
-            savedOrder.setAmount(finalAmount);
-            savedOrder.setTotalAmount(finalTotal);
-
-            log.info("Campaign discount applied: {}, New total: {}",
-                    campaignResult.getTotalDiscount(),
-                    finalTotal);
-        }
-
-        containerManagementService.reserveContainersForOrder(savedOrder, depositSummary);
-
-        log.info("Reserved {} containers from customer balance",
-                depositSummary.getTotalContainersUsed());
-
-        Order finalOrder = orderRepository.save(savedOrder);
-
-        log.info("Order created successfully: {} - Subtotal: {}, Promo: {}, Campaign: {}, Deposits: {}, Total: {}",
-                finalOrder.getOrderNumber(),
-                finalOrder.getSubtotal(),
-                finalOrder.getPromoDiscount(),
-                campaignResult.getTotalDiscount(),
-                finalOrder.getNetDeposit(),
-                finalOrder.getTotalAmount());
-
-        return orderMapper.toResponse(finalOrder);
-    }
-
-    private CampaignApplicationResult applyCampaigns(
-            Order order,
-            Customer customer,
-            Map<Long, Integer> productQuantities,
-            boolean willUsePromo,
-            BigDecimal orderTotal) {
-
-        CampaignApplicationResult result = new CampaignApplicationResult();
-
-        GetEligibleCampaignsRequest campaignRequest = GetEligibleCampaignsRequest.builder()
-                .customerId(customer.getId())
-                .productQuantities(productQuantities)
-                .willUsePromoCode(willUsePromo)
-                .orderTotal(orderTotal)
+            String notes,
+            boolean notifyOperators) {
+
+        OrderCreationContext context = OrderCreationContext.builder()
+                .customer(customer)
+                .operator(operator)
+                .addressId(addressId)
+                .deliveryDate(deliveryDate)
+                .items(items)
+                .promoCode(promoCode)
+                .notes(notes)
+                .notifyOperators(notifyOperators)
                 .build();
 
-        EligibleCampaignsResponse eligibleCampaigns =
-                campaignService.getEligibleCampaigns(campaignRequest);
-
-        List<EligibleCampaignInfo> campaignsToApply = eligibleCampaigns
-                .getEligibleCampaigns()
-                .stream()
-                .filter(c -> Boolean.TRUE.equals(c.getWillBeApplied()))
-                .toList();
-
-        if (campaignsToApply.isEmpty()) {
-            log.debug("No campaigns to apply for order");
-            return result;
-        }
-
-        log.info("Applying {} campaigns to order", campaignsToApply.size());
-
-        for (EligibleCampaignInfo campaignInfo : campaignsToApply) {
-            try {
-                ApplyCampaignRequest applyCampaignRequest = ApplyCampaignRequest.builder()
-                        .campaignCode(campaignInfo.getCampaignCode())
-                        .customerId(customer.getId())
-                        .orderId(order.getId())
-                        .build();
-
-                ApplyCampaignResponse campaignResponse =
-                        campaignService.applyCampaign(applyCampaignRequest);
-
-                if (Boolean.TRUE.equals(campaignResponse.getSuccess())) {
-                    processCampaignByType(order, campaignInfo, campaignResponse, result);
-
-                    log.info("Campaign applied: {} ({}), Bonus value: {}",
-                            campaignResponse.getCampaignName(),
-                            campaignInfo.getCampaignType(),
-                            campaignResponse.getBonusValue());
-                }
-            } catch (Exception e) {
-                log.error("Error applying campaign: {}", campaignInfo.getCampaignCode(), e);
-            }
-        }
-
-        log.info("Total campaigns applied: {}, Total discount: {}",
-                result.getAppliedCampaignsCount(),
-                result.getTotalDiscount());
-
-        return result;
-    }
-
-    private void processCampaignByType(
-            Order order,
-            EligibleCampaignInfo campaignInfo,
-            ApplyCampaignResponse campaignResponse,
-            CampaignApplicationResult result
-    ) {
-        switch (campaignInfo.getCampaignType()) {
-            case BUY_X_GET_Y_FREE -> processBuyXGetYFreeCampaign(order, campaignResponse, result);
-            case BUY_X_PAY_FOR_Y -> processBuyXPayForYCampaign(order, campaignResponse, result);
-            case FIRST_ORDER_BONUS -> processFirstOrderBonusCampaign(order, campaignResponse, result);
-            case LOYALTY_BONUS -> processLoyaltyBonusCampaign(order, campaignResponse, result);
-            default -> log.warn("Unknown campaign type: {}", campaignInfo.getCampaignType());
-        }
-
-        result.incrementAppliedCampaigns();
-        result.addDiscount(campaignResponse.getBonusValue());
-    }
-
-    private void processBuyXGetYFreeCampaign(
-            Order order,
-            ApplyCampaignResponse campaignResponse,
-            CampaignApplicationResult result
-    ) {
-        if (campaignResponse.getFreeQuantity() == null || campaignResponse.getFreeQuantity() <= 0) {
-            log.warn("No free product for campaign: {}", campaignResponse.getCampaignCode());
-            return;
-        }
-
-        Product freeProduct = findProductById(campaignResponse.getFreeProductId());
-
-        Campaign campaign = findCampaignByCampaignCode(campaignResponse.getCampaignCode());
-
-        OrderCampaignBonus campaignBonus = new OrderCampaignBonus();
-        campaignBonus.setOrder(order);
-        campaignBonus.setCampaign(campaign);
-        campaignBonus.setProduct(freeProduct);
-        campaignBonus.setQuantity(campaignResponse.getFreeQuantity());
-        campaignBonus.setBonusValue(campaignResponse.getBonusValue());
-        campaignBonus.setBonusType("FREE_PRODUCT");
-
-        order.getCampaignBonuses().add(campaignBonus);
-
-        result.addFreeProduct(freeProduct.getName(), campaignResponse.getFreeQuantity());
-
-        log.info("Added FREE product: {} x {} - value: {}",
-                freeProduct.getName(),
-                campaignResponse.getFreeQuantity(),
-                campaignResponse.getBonusValue());
-    }
-
-    private void processBuyXPayForYCampaign(
-            Order order,
-            ApplyCampaignResponse campaignResponse,
-            CampaignApplicationResult result
-    ) {
-        if (campaignResponse.getFreeQuantity() == null || campaignResponse.getFreeQuantity() <= 0) {
-            log.warn("No discounted quantity for campaign: {}", campaignResponse.getCampaignCode());
-            return;
-        }
-
-        Product discountedProduct = findProductById(campaignResponse.getFreeProductId());
-
-        Campaign campaign = findCampaignByCampaignCode(campaignResponse.getCampaignCode());
-
-        OrderCampaignBonus campaignBonus = new OrderCampaignBonus();
-        campaignBonus.setOrder(order);
-        campaignBonus.setCampaign(campaign);
-        campaignBonus.setProduct(discountedProduct);
-        campaignBonus.setQuantity(campaignResponse.getFreeQuantity());
-        campaignBonus.setBonusValue(campaignResponse.getBonusValue());
-        campaignBonus.setBonusType("DISCOUNTED_PRODUCT");
-
-        order.getCampaignBonuses().add(campaignBonus);
-
-        result.addDiscountedProduct(discountedProduct.getName(), campaignResponse.getFreeQuantity());
-
-        log.info("Added DISCOUNT for product: {} x {} - discount: {}",
-                discountedProduct.getName(),
-                campaignResponse.getFreeQuantity(),
-                campaignResponse.getBonusValue());
-    }
-
-    private void processFirstOrderBonusCampaign(
-            Order order,
-            ApplyCampaignResponse campaignResponse,
-            CampaignApplicationResult result
-    ) {
-        Campaign campaign = findCampaignByCampaignCode(campaignResponse.getCampaignCode());
-
-        OrderCampaignBonus campaignBonus = new OrderCampaignBonus();
-        campaignBonus.setOrder(order);
-        campaignBonus.setCampaign(campaign);
-        campaignBonus.setProduct(null);
-        campaignBonus.setQuantity(0);
-        campaignBonus.setBonusValue(campaignResponse.getBonusValue());
-        campaignBonus.setBonusType("FIRST_ORDER_BONUS");
-
-        order.getCampaignBonuses().add(campaignBonus);
-
-        result.addBonusDiscount("First Order Bonus", campaignResponse.getBonusValue());
-
-        log.info("Added FIRST ORDER BONUS - discount: {}", campaignResponse.getBonusValue());
-    }
-
-    private void processLoyaltyBonusCampaign(
-            Order order,
-            ApplyCampaignResponse campaignResponse,
-            CampaignApplicationResult result
-    ) {
-        Campaign campaign = findCampaignByCampaignCode(campaignResponse.getCampaignCode());
-
-        OrderCampaignBonus campaignBonus = new OrderCampaignBonus();
-        campaignBonus.setOrder(order);
-        campaignBonus.setCampaign(campaign);
-        campaignBonus.setProduct(null);
-        campaignBonus.setQuantity(0);
-        campaignBonus.setBonusValue(campaignResponse.getBonusValue());
-        campaignBonus.setBonusType("LOYALTY_BONUS");
-
-        order.getCampaignBonuses().add(campaignBonus);
-
-        result.addBonusDiscount("Loyalty Bonus", campaignResponse.getBonusValue());
-
-        log.info("Added LOYALTY BONUS - discount: {}", campaignResponse.getBonusValue());
+        return orderMapper.toResponse(orderCreationPipeline.createOrder(context));
     }
 
     private void applyContainerInfoToOrderDetails(
@@ -1361,6 +1131,57 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
+    private String checkDispatchable(Long orderId, Order order, Long driverId, Map<Long, Driver> driverMap) {
+        if (order == null) {
+            return "Order Not Found with id: " + orderId;
+        }
+        try {
+            validateOrderAccess(order);
+        } catch (UnauthorizedOperationException e) {
+            return e.getMessage();
+        }
+        if (order.getOrderStatus() == OrderStatus.APPROVED && driverId == null) {
+            return "Order is already APPROVED and no driver was given";
+        }
+        if (order.getOrderStatus() != OrderStatus.PENDING && order.getOrderStatus() != OrderStatus.APPROVED) {
+            return "Order must be PENDING or APPROVED to be dispatched";
+        }
+        if (driverId != null && !driverMap.containsKey(driverId)) {
+            return "Driver Not Found with id " + driverId;
+        }
+        return null;
+    }
+
+    private Map<Long, Integer> collectStockDemand(Order order) {
+        Map<Long, Integer> productQuantities = order.getOrderDetails().stream()
+                .collect(Collectors.toMap(
+                        detail -> detail.getProduct().getId(),
+                        OrderDetail::getCount,
+                        Integer::sum
+                ));
+
+        for (OrderCampaignBonus bonus : order.getCampaignBonuses()) {
+            if (bonus.getProduct() != null && bonus.getQuantity() > 0) {
+                productQuantities.merge(
+                        bonus.getProduct().getId(),
+                        bonus.getQuantity(),
+                        Integer::sum
+                );
+            }
+        }
+        return productQuantities;
+    }
+
+    private void incrementProductOrderCounts(List<Order> orders) {
+        Map<Long, Long> increments = new HashMap<>();
+        for (Order order : orders) {
+            for (OrderDetail detail : order.getOrderDetails()) {
+                increments.merge(detail.getProduct().getId(), (long) detail.getCount(), Long::sum);
+            }
+        }
+        increments.forEach(productRepository::incrementOrderCount);
+    }
+
     private void validateOrderAccess(Order order) {
         if (OperatorContext.isSupplierOperator()) {
             Long operatorCompanyId = OperatorContext.getCurrentCompanyId();
@@ -1410,6 +1231,10 @@ public class OrderServiceImpl implements OrderService {
         campaignService.releaseCampaignUsageByOrder(order.getId());
         refundPayment(order);
 
+        if (order.getOrderStatus() == OrderStatus.PENDING) {
+            inventoryService.releaseSoftReservations(order.getId());
+        }
+
         if (order.getOrderStatus() == OrderStatus.APPROVED) {
             log.info("Order was APPROVED, releasing warehouse stock for order ID: {}", order.getId());
 
@@ -1442,8 +1267,11 @@ public class OrderServiceImpl implements OrderService {
             }
         }
 
+        OrderStatus previousStatus = order.getOrderStatus();
         order.setOrderStatus(OrderStatus.REJECTED);
         order.setRejectionReason(reason);
+        orderStatisticsRecorder.recordTransition(order, previousStatus);
+        orderStatusTransitions.changed(order, previousStatus);
 
         if (operator != null) {
             order.setOperator(operator);
@@ -0,0 +1,209 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.entity.DeliveryDailyStat;
+import com.delivery.SuAl.entity.Order;
+import com.delivery.SuAl.entity.OrderDetail;
+import com.delivery.SuAl.model.enums.OrderStatus;
+import com.delivery.SuAl.repository.DeliveryDailyStatRepository;
+import com.delivery.SuAl.repository.OrderDailyStatRepository;
+import com.delivery.SuAl.repository.ProductDailyStatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Applies order state transitions to the daily statistics rollups, in the caller's transaction. Status change events
+ * are published separately by {@link OrderStatusTransitions}.
+ * <p>
+ * An order counts toward the day it was created, under its current status. A completed order also counts toward
+ * the delivery and product rollups of the day it was completed. Deltas are summed per rollup row before they are
+ * written, so a batch of orders costs one upsert per distinct row.
+ */
+@Component
+@Slf4j
+public class OrderStatisticsRecorder {
+    private final OrderDailyStatRepository orderDailyStatRepository;
+    private final DeliveryDailyStatRepository deliveryDailyStatRepository;
+    private final ProductDailyStatRepository productDailyStatRepository;
+    private final ZoneId zone;
+
+    public OrderStatisticsRecorder(OrderDailyStatRepository orderDailyStatRepository,
+                                   DeliveryDailyStatRepository deliveryDailyStatRepository,
+                                   ProductDailyStatRepository productDailyStatRepository,
+                                   @Value("${statistics.zone:Asia/Baku}") String zone) {
+        this.orderDailyStatRepository = orderDailyStatRepository;
+        this.deliveryDailyStatRepository = deliveryDailyStatRepository;
+        this.productDailyStatRepository = productDailyStatRepository;
+        this.zone = ZoneId.of(zone);
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    public void recordCreated(Collection<Order> orders) {
+        Map<StatusDay, Totals> statusDeltas = new HashMap<>();
+        for (Order order : orders) {
+            statusDeltas.merge(statusDay(order, order.getOrderStatus()), Totals.of(order, 1), Totals::plus);
+        }
+        writeStatusDeltas(statusDeltas);
+    }
+
+    public void recordTransition(Order order, OrderStatus previousStatus) {
+        recordChange(order, previousStatus, order.getAmount());
+    }
+
+    /**
+     * Records a change of status and/or goods amount of a single order, e.g. a completion that recalculates the
+     * amount or an edit of a pending order.
+     */
+    public void recordChange(Order order, OrderStatus previousStatus, BigDecimal previousAmount) {
+        Rollups rollups = new Rollups();
+        rollups.collect(order, previousStatus, previousAmount, order.getOrderStatus());
+        write(rollups);
+    }
+
+    /**
+     * Moves the orders from {@code previousStatus} to {@code newStatus}. The new status is passed explicitly so that
+     * callers which change the status with a bulk update can record it for entities that still hold the old one.
+     */
+    public void recordTransitions(Collection<Order> orders, OrderStatus previousStatus, OrderStatus newStatus) {
+        if (orders.isEmpty() || previousStatus == newStatus) {
+            return;
+        }
+
+        Rollups rollups = new Rollups();
+        for (Order order : orders) {
+            rollups.collect(order, previousStatus, order.getAmount(), newStatus);
+        }
+        write(rollups);
+    }
+
+    public void recordRemoved(Order order) {
+        writeStatusDeltas(Map.of(statusDay(order, order.getOrderStatus()), Totals.of(order, -1)));
+    }
+
+    public LocalDate toStatDate(LocalDateTime utcTime) {
+        LocalDateTime time = utcTime != null ? utcTime : LocalDateTime.now(ZoneOffset.UTC);
+        return time.atZone(ZoneOffset.UTC).withZoneSameInstant(zone).toLocalDate();
+    }
+
+    private void write(Rollups rollups) {
+        writeStatusDeltas(rollups.statusDeltas);
+
+        rollups.deliveryDeltas.forEach((key, totals) -> deliveryDailyStatRepository.add(
+                key.date(), key.driverId(), totals.deliveries(), totals.onTime(), totals.revenue(), totals.cost(),
+                totals.bottlesDelivered(), totals.bottlesCollected(), totals.lastDeliveryAt()));
+        rollups.productDeltas.forEach((key, totals) -> productDailyStatRepository.add(
+                key.date(), key.productId(), totals.count(), totals.amount()));
+    }
+
+    private void writeStatusDeltas(Map<StatusDay, Totals> statusDeltas) {
+        statusDeltas.forEach((key, totals) -> {
+            if (totals.count() != 0 || totals.amount().signum() != 0) {
+                orderDailyStatRepository.add(key.date(), key.status().name(), totals.count(), totals.amount());
+            }
+        });
+    }
+
+    private StatusDay statusDay(Order order, OrderStatus status) {
+        return new StatusDay(toStatDate(order.getCreatedAt()), status);
+    }
+
+    private static BigDecimal nonNull(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private class Rollups {
+        final Map<StatusDay, Totals> statusDeltas = new HashMap<>();
+        final Map<DriverDay, DeliveryTotals> deliveryDeltas = new HashMap<>();
+        final Map<ProductDay, Totals> productDeltas = new HashMap<>();
+
+        void collect(Order order, OrderStatus previousStatus, BigDecimal previousAmount, OrderStatus newStatus) {
+            statusDeltas.merge(statusDay(order, previousStatus),
+                    new Totals(-1, nonNull(previousAmount).negate()), Totals::plus);
+            statusDeltas.merge(statusDay(order, newStatus), Totals.of(order, 1), Totals::plus);
+
+            if (newStatus == OrderStatus.COMPLETED && previousStatus != OrderStatus.COMPLETED) {
+                collectDelivery(order);
+            } else if (previousStatus == OrderStatus.COMPLETED && newStatus != OrderStatus.COMPLETED) {
+                log.warn("Order {} left COMPLETED; its delivery statistics are kept until the next backfill",
+                        order.getId());
+            }
+        }
+
+        void collectDelivery(Order order) {
+            LocalDateTime completedAt = order.getCompletedAt() != null
+                    ? order.getCompletedAt()
+                    : LocalDateTime.now(ZoneOffset.UTC);
+            LocalDate completedOn = toStatDate(completedAt);
+            boolean onTime = order.getDeliveryDate() == null || !completedOn.isAfter(order.getDeliveryDate());
+
+            BigDecimal cost = BigDecimal.ZERO;
+            long bottlesDelivered = 0;
+            for (OrderDetail detail : order.getOrderDetails()) {
+                if (detail.getBuyPrice() != null) {
+                    cost = cost.add(detail.getBuyPrice().multiply(BigDecimal.valueOf(detail.getCount())));
+                }
+                bottlesDelivered += detail.getCount();
+                productDeltas.merge(
+                        new ProductDay(completedOn, detail.getProduct().getId()),
+                        new Totals(detail.getCount(), nonNull(detail.getSubtotal())),
+                        Totals::plus);
+            }
+
+            Long driverId = order.getDriver() != null ? order.getDriver().getId() : DeliveryDailyStat.NO_DRIVER;
+            deliveryDeltas.merge(
+                    new DriverDay(completedOn, driverId),
+                    new DeliveryTotals(1, onTime ? 1 : 0, nonNull(order.getAmount()), cost,
+                            bottlesDelivered, order.getEmptyBottlesCollected(), completedAt),
+                    DeliveryTotals::plus);
+        }
+    }
+
+    private record StatusDay(LocalDate date, OrderStatus status) {
+    }
+
+    private record DriverDay(LocalDate date, Long driverId) {
+    }
+
+    private record ProductDay(LocalDate date, Long productId) {
+    }
+
+    private record Totals(long count, BigDecimal amount) {
+        static Totals of(Order order, int sign) {
+            return new Totals(sign, nonNull(order.getAmount()).multiply(BigDecimal.valueOf(sign)));
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(count + other.count, amount.add(other.amount));
+        }
+    }
+
+    private record DeliveryTotals(long deliveries, long onTime, BigDecimal revenue, BigDecimal cost,
+                                  long bottlesDelivered, long bottlesCollected, LocalDateTime lastDeliveryAt) {
+        DeliveryTotals plus(DeliveryTotals other) {
+            return new DeliveryTotals(
+                    deliveries + other.deliveries,
+                    onTime + other.onTime,
+                    revenue.add(other.revenue),
+                    cost.add(other.cost),
+                    bottlesDelivered + other.bottlesDelivered,
+                    bottlesCollected + other.bottlesCollected,
+                    lastDeliveryAt.isAfter(other.lastDeliveryAt) ? lastDeliveryAt : other.lastDeliveryAt);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.entity.Order;
+import com.delivery.SuAl.event.OrderStatusChangedEvent;
+import com.delivery.SuAl.model.enums.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Publishes an {@link OrderStatusChangedEvent} for every order status change. Code that moves an order to another
+ * status calls it right after setting the new status, in the same transaction; listeners that push to clients should
+ * therefore only act after commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderStatusTransitions {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void created(Collection<Order> orders) {
+        for (Order order : orders) {
+            publish(order, null, order.getOrderStatus());
+        }
+    }
+
+    public void changed(Order order, OrderStatus previousStatus) {
+        if (previousStatus != order.getOrderStatus()) {
+            publish(order, previousStatus, order.getOrderStatus());
+        }
+    }
+
+    /**
+     * Moves the orders from {@code previousStatus} to {@code newStatus}. The new status is passed explicitly for
+     * callers that change the status with a bulk update, whose entities still hold the old one.
+     */
+    public void changed(Collection<Order> orders, OrderStatus previousStatus, OrderStatus newStatus) {
+        if (previousStatus == newStatus) {
+            return;
+        }
+        for (Order order : orders) {
+            publish(order, previousStatus, newStatus);
+        }
+    }
+
+    private void publish(Order order, OrderStatus previousStatus, OrderStatus newStatus) {
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                order.getId(),
+                order.getOrderNumber(),
+                order.getCustomer() != null ? order.getCustomer().getId() : null,
+                order.getOperator() != null ? order.getOperator().getId() : null,
+                order.getDriver() != null ? order.getDriver().getId() : null,
+                previousStatus,
+                newStatus));
+    }
+}
@@ -120,7 +120,7 @@ public class OrderValidationService {
         if (!warnings.isEmpty() && order.getOperator() != null) {
             String warningMessage = String.join("\n", warnings);
 
-            notificationService.createNotification(NotificationRequest.builder()
+            notificationService.publish(NotificationRequest.builder()
                             .receiverType(ReceiverType.OPERATOR)
                             .receiverId(order.getOperator().getId())
                             .notificationType(NotificationType.ORDER)
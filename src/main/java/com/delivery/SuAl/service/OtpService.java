@@ -1,7 +1,7 @@
 package com.delivery.SuAl.service;
 
 public interface OtpService {
-    void sendOtp(String phoneNumber);
+    void sendOtp(String phoneNumber, String clientIp);
 
     void verifyOtp(String phoneNumber, String code);
 
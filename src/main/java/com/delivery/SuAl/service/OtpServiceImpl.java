@@ -1,80 +1,122 @@
 package com.delivery.SuAl.service;
 
-import com.delivery.SuAl.entity.OtpCode;
 import com.delivery.SuAl.exception.NotFoundException;
-import com.delivery.SuAl.repository.OtpRepository;
-import lombok.RequiredArgsConstructor;
+import com.delivery.SuAl.exception.RateLimitExceededException;
+import com.delivery.SuAl.exception.SmsDeliveryException;
+import com.delivery.SuAl.helper.TokenBucketLimiter;
+import com.delivery.SuAl.model.enums.SmsDeliveryStatus;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.util.Random;
 
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends and verifies one-time codes through the configured {@link OtpStore}.
+ * <p>
+ * Sending is limited per phone number and per client address, and verifying per phone number, with token buckets of
+ * {@code otp.rate-limit.*} permits per {@code otp.rate-limit.period}; a caller over the limit gets a 429. The buckets
+ * are held by each instance, so behind a load balancer the effective limit is the configured one times the number of
+ * instances, even with {@code otp.store=database}. The SMS is handed to the {@link SmsDispatcher}, so the request does
+ * not wait for the gateway; only a full send queue is reported to the caller.
+ * <p>
+ * The client address is the request's remote address. Tomcat's remote IP valve resolves it from
+ * {@code X-Forwarded-For}, but only for hops from {@code server.tomcat.remoteip.internal-proxies} (private networks
+ * by default), so a client cannot pick its own rate limit key by sending the header.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class OtpServiceImpl implements OtpService {
-    private static final int OTP_EXPIRY_MINUTES = 2;
-    private final OtpRepository otpRepository;
-    private final SmsService smsService;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final OtpStore otpStore;
+    private final SmsDispatcher smsDispatcher;
+    private final MeterRegistry meterRegistry;
+    private final Duration expiry;
+    private final TokenBucketLimiter sendPerPhoneLimiter;
+    private final TokenBucketLimiter sendPerIpLimiter;
+    private final TokenBucketLimiter verifyPerPhoneLimiter;
+
+    public OtpServiceImpl(OtpStore otpStore,
+                          SmsDispatcher smsDispatcher,
+                          MeterRegistry meterRegistry,
+                          @Value("${otp.expiry:PT2M}") Duration expiry,
+                          @Value("${otp.rate-limit.period:PT10M}") Duration period,
+                          @Value("${otp.rate-limit.max-keys:100000}") int maxKeys,
+                          @Value("${otp.rate-limit.send-per-phone:3}") int sendPerPhone,
+                          @Value("${otp.rate-limit.send-per-ip:20}") int sendPerIp,
+                          @Value("${otp.rate-limit.verify-per-phone:5}") int verifyPerPhone) {
+        this.otpStore = otpStore;
+        this.smsDispatcher = smsDispatcher;
+        this.meterRegistry = meterRegistry;
+        this.expiry = expiry;
+        this.sendPerPhoneLimiter = new TokenBucketLimiter(sendPerPhone, period, maxKeys);
+        this.sendPerIpLimiter = new TokenBucketLimiter(sendPerIp, period, maxKeys);
+        this.verifyPerPhoneLimiter = new TokenBucketLimiter(verifyPerPhone, period, maxKeys);
+    }
 
     @Override
-    @Transactional
-    public void sendOtp(String phoneNumber) {
-        otpRepository.deleteByPhoneNumber(phoneNumber);
+    public void sendOtp(String phoneNumber, String clientIp) {
+        checkRateLimit(sendPerIpLimiter, clientIp, "send-ip",
+                "Too many OTP requests from this address. Please try again later");
+        checkRateLimit(sendPerPhoneLimiter, phoneNumber, "send-phone",
+                "Too many OTP requests for this phone number. Please try again later");
 
         String code = generateCode();
+        otpStore.save(phoneNumber, code, expiry);
 
-        OtpCode otpCode = OtpCode.builder()
-                .phoneNumber(phoneNumber)
-                .code(code)
-                .isUsed(false)
-                .expiresAt(LocalDateTime.now(ZoneOffset.UTC).plusMinutes(OTP_EXPIRY_MINUTES))
-                .build();
-
-        otpRepository.save(otpCode);
-
-        smsService.sendOtp(phoneNumber, code);
+        CompletableFuture<SmsDeliveryStatus> delivery = smsDispatcher.enqueueOtp(phoneNumber, code, expiry);
+        if (delivery.getNow(null) == SmsDeliveryStatus.REJECTED) {
+            throw new SmsDeliveryException("SMS queue is full", true);
+        }
+        delivery.thenAccept(status -> {
+            if (status != SmsDeliveryStatus.SENT) {
+                log.warn("OTP SMS to phone ending in: {} was not delivered: {}", maskPhone(phoneNumber), status);
+            }
+        });
 
-        log.info("OTP sent to phone ending in: {}",
-                phoneNumber.substring(Math.max(0, phoneNumber.length() - 4)));
+        log.info("OTP queued for phone ending in: {}", maskPhone(phoneNumber));
     }
 
     @Override
-    @Transactional
     public void verifyOtp(String phoneNumber, String code) {
-        OtpCode otpCode = otpRepository.findByPhoneNumberAndIsUsedFalse(phoneNumber)
-                .orElseThrow(() -> new NotFoundException("No active OTP found for this phone number"));
+        checkRateLimit(verifyPerPhoneLimiter, phoneNumber, "verify-phone",
+                "Too many OTP verification attempts. Please try again later");
 
-        if (otpCode.isUsed()) {
-            otpRepository.delete(otpCode);
-            throw new IllegalArgumentException("OTP has expired. Please request a new one");
+        if (!otpStore.hasActiveCode(phoneNumber)) {
+            throw new NotFoundException("No active OTP found for this phone number");
         }
-
-        if (!otpCode.getCode().equals(code)) {
+        if (!otpStore.consume(phoneNumber, code)) {
             throw new IllegalArgumentException("Invalid OTP code");
         }
 
-        otpCode.setUsed(true);
-        otpRepository.save(otpCode);
-
-        log.info("OTP verified successfully for phone ending in: {}",
-                phoneNumber.substring(Math.max(0, phoneNumber.length() - 4)));
+        log.info("OTP verified successfully for phone ending in: {}", maskPhone(phoneNumber));
     }
 
     @Override
-    @Scheduled(fixedRateString = "PT10M")
-    @Transactional
+    @Scheduled(fixedRateString = "${otp.cleanup-interval:PT1M}")
     public void cleanupExpiredOtps() {
         log.debug("Running OTP cleanup job");
-        otpRepository.deleteExpiredOtps(LocalDateTime.now(ZoneOffset.UTC));
+        otpStore.purgeExpired();
+    }
+
+    private void checkRateLimit(TokenBucketLimiter limiter, String key, String scope, String message) {
+        Duration retryAfter = limiter.tryAcquire(key);
+        if (!retryAfter.isZero()) {
+            meterRegistry.counter("otp.rate-limited", "scope", scope).increment();
+            throw new RateLimitExceededException(message, retryAfter);
+        }
+    }
+
+    private static String maskPhone(String phoneNumber) {
+        return phoneNumber.substring(Math.max(0, phoneNumber.length() - 4));
     }
 
-    private String generateCode(){
-        int code = 100000 + new Random().nextInt(899999);
-        return String.valueOf(code);
+    private String generateCode() {
+        return String.valueOf(100000 + RANDOM.nextInt(900000));
     }
 }
@@ -0,0 +1,28 @@
+package com.delivery.SuAl.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Issued OTP codes, kept until they are verified or expire.
+ * <p>
+ * {@code otp.store=memory} (the default) keeps codes in this instance, so sending and verifying need no database
+ * access; it requires that a phone's verify request reaches the instance that sent its code. {@code otp.store=database}
+ * keeps them in {@code otp_codes} for deployments where that is not the case.
+ */
+public interface OtpStore {
+
+    /**
+     * Stores a code for the phone number, replacing any code sent before.
+     */
+    void save(String phoneNumber, String code, Duration ttl);
+
+    boolean hasActiveCode(String phoneNumber);
+
+    /**
+     * Marks the phone's code as used if it matches and has not expired. Only one caller can consume a code.
+     */
+    boolean consume(String phoneNumber, String code);
+
+    void purgeExpired();
+}
@@ -0,0 +1,101 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.entity.Order;
+import com.delivery.SuAl.entity.OrderDetail;
+import com.delivery.SuAl.model.enums.OrderStatus;
+import com.delivery.SuAl.model.enums.StockReservationType;
+import com.delivery.SuAl.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Soft-reserves the stock of package deliveries shortly before their delivery date rather than when the package is
+ * bought, so a package spread over several weeks does not hold stock for all of its deliveries at once.
+ * <p>
+ * A delivery is held from {@code reservations.package.hold-days-ahead} days before its delivery date until the end of
+ * that day, after which {@link SoftReservationExpiryWorker} releases the hold of a delivery that was not approved.
+ * A delivery that cannot be held because stock is short stays without a hold; it is tried again on the next run and
+ * reserves its stock on approval at the latest.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PackageDeliveryHolds {
+    private final OrderRepository orderRepository;
+    private final InventoryService inventoryService;
+
+    @Value("${reservations.package.hold-days-ahead:1}")
+    private int holdDaysAhead;
+
+    /**
+     * Holds the deliveries that are due within the window, leaving the others without a hold.
+     *
+     * @return the number of deliveries held
+     */
+    @Transactional
+    public int hold(Collection<Order> deliveries, LocalDate today) {
+        LocalDate horizon = today.plusDays(holdDaysAhead);
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+
+        Map<Long, Order> due = new LinkedHashMap<>();
+        Map<Long, Map<Long, Integer>> demand = new LinkedHashMap<>();
+        Map<Long, LocalDateTime> expiresAt = new HashMap<>();
+        for (Order delivery : deliveries) {
+            LocalDate deliveryDate = delivery.getDeliveryDate();
+            if (deliveryDate != null && deliveryDate.isAfter(horizon)) {
+                continue;
+            }
+            Map<Long, Integer> quantities = new HashMap<>();
+            for (OrderDetail detail : delivery.getOrderDetails()) {
+                quantities.merge(detail.getProduct().getId(), detail.getCount(), Integer::sum);
+            }
+            due.put(delivery.getId(), delivery);
+            demand.put(delivery.getId(), quantities);
+            expiresAt.put(delivery.getId(), deliveryDate != null
+                    ? deliveryDate.plusDays(1).atStartOfDay()
+                    : now.plusHours(24));
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, String> rejections = inventoryService.softReserveForOrders(demand, expiresAt);
+        rejections.forEach((orderId, reason) ->
+                log.warn("Could not hold stock for package delivery {}: {}", orderId, reason));
+
+        due.forEach((orderId, delivery) -> {
+            if (!rejections.containsKey(orderId)) {
+                delivery.setStockReservationType(StockReservationType.SOFT);
+                delivery.setStockReservedAt(now);
+                delivery.setStockReservationExpiresAt(expiresAt.get(orderId));
+            }
+        });
+        return due.size() - rejections.size();
+    }
+
+    /**
+     * Holds the pending package deliveries without a hold that have entered the window.
+     */
+    @Transactional
+    public int holdUpcoming(LocalDate today) {
+        List<Order> deliveries = orderRepository.findPackageDeliveriesDue(
+                OrderStatus.PENDING, StockReservationType.NONE, today, today.plusDays(holdDaysAhead));
+        if (deliveries.isEmpty()) {
+            return 0;
+        }
+        orderRepository.fetchOrderDetailsByIdIn(deliveries.stream().map(Order::getId).toList());
+        return hold(deliveries, today);
+    }
+}
@@ -3,6 +3,8 @@ package com.delivery.SuAl.service;
 import com.delivery.SuAl.entity.CustomerContainer;
 import com.delivery.SuAl.entity.Product;
 import com.delivery.SuAl.exception.NotFoundException;
+import com.delivery.SuAl.helper.Money;
+import com.delivery.SuAl.helper.MoneyAccumulator;
 import com.delivery.SuAl.helper.OrderDepositInfo;
 import com.delivery.SuAl.helper.PackageDepositSummary;
 import com.delivery.SuAl.model.request.affordablepackage.DeliveryDistributionRequest;
@@ -14,11 +16,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -51,8 +54,10 @@ public class PackageDepositCalculationService {
                     customerContainer.getQuantity());
         }
 
-        BigDecimal totalDepositCharged = BigDecimal.ZERO;
-        BigDecimal expectedDepositRefund = BigDecimal.ZERO;
+        Map<Long, Product> products = loadProducts(packageProducts.keySet());
+
+        MoneyAccumulator totalDepositCharged = new MoneyAccumulator();
+        MoneyAccumulator expectedDepositRefund = new MoneyAccumulator();
         int oldContainersToCollect = 0;
         int totalContainers = 0;
 
@@ -67,8 +72,7 @@ public class PackageDepositCalculationService {
 
             totalContainers += quantity;
 
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new NotFoundException("Product not found with id: " + productId));
+            Product product = products.get(productId);
 
             if (!product.isReturnable()) {
                 log.debug("Skipping non-returnable product {} in deposit calculation", productId);
@@ -78,41 +82,33 @@ public class PackageDepositCalculationService {
 
             BigDecimal depositPerUnit = product.getDepositAmount();
 
-            BigDecimal depositForProduct = depositPerUnit
-                    .multiply(BigDecimal.valueOf(quantity))
-                    .setScale(2, RoundingMode.HALF_UP);
-
-            totalDepositCharged = totalDepositCharged.add(depositForProduct);
+            Money depositForProduct = Money.times(depositPerUnit, quantity);
+            totalDepositCharged.add(depositForProduct);
 
             int available = availableContainers.getOrDefault(productId, 0);
             int toRefund = Math.min(available, quantity);
 
+            Money refundForProduct = Money.times(depositPerUnit, toRefund);
             if (toRefund > 0) {
-                BigDecimal refundForProduct = depositPerUnit
-                        .multiply(BigDecimal.valueOf(toRefund))
-                        .setScale(2, RoundingMode.HALF_UP);
-                expectedDepositRefund = expectedDepositRefund.add(refundForProduct);
+                expectedDepositRefund.add(refundForProduct);
                 oldContainersToCollect += toRefund;
             }
             log.debug("Product {}: quantity={}, depositCharged={}, available={}, toRefund={}, refund={}",
-                    productId, quantity, depositForProduct, available, toRefund,
-                    toRefund > 0 ? depositPerUnit.multiply(BigDecimal.valueOf(toRefund)) : BigDecimal.ZERO);
+                    productId, quantity, depositForProduct, available, toRefund, refundForProduct);
         }
 
-        BigDecimal netDeposit = totalDepositCharged
-                .subtract(expectedDepositRefund)
-                .setScale(2, RoundingMode.HALF_UP);
+        Money netDeposit = totalDepositCharged.total().minus(expectedDepositRefund.total());
 
         PackageDepositSummary summary = PackageDepositSummary.builder()
-                .totalDepositCharged(totalDepositCharged)
-                .expectedDepositRefund(expectedDepositRefund)
-                .netDeposit(netDeposit)
+                .totalDepositCharged(totalDepositCharged.total().toBigDecimal())
+                .expectedDepositRefund(expectedDepositRefund.total().toBigDecimal())
+                .netDeposit(netDeposit.toBigDecimal())
                 .oldContainersToCollect(oldContainersToCollect)
                 .totalContainersInPackage(totalContainers)
                 .build();
 
         log.info("Package deposits: totalCharged={}, expectedRefund={}, netDeposit={}",
-                totalDepositCharged, expectedDepositRefund, netDeposit);
+                summary.getTotalDepositCharged(), summary.getExpectedDepositRefund(), netDeposit);
 
         return summary;
     }
@@ -126,64 +122,65 @@ public class PackageDepositCalculationService {
 
         log.info("Distributing deposits across {} deliveries", distributions.size());
 
-        List<OrderDepositInfo> result = new ArrayList<>();
+        Map<Long, Product> products = loadProducts(distributions.stream()
+                .flatMap(dist -> dist.getProducts().stream())
+                .map(DeliveryProductRequest::getProductId)
+                .collect(Collectors.toSet()));
+
+        List<OrderDepositInfo> result = new ArrayList<>(distributions.size());
+        Money previousDepositCharged = Money.ZERO;
+        int previousQuantity = 0;
 
         for (int i = 0; i < distributions.size(); i++) {
             DeliveryDistributionRequest dist = distributions.get(i);
 
-            BigDecimal depositCharged = calculateDepositForProducts(dist.getProducts());
+            MoneyAccumulator depositCharged = new MoneyAccumulator();
+            int quantity = 0;
+            for (DeliveryProductRequest product : dist.getProducts()) {
+                depositCharged.add(Money.times(
+                        products.get(product.getProductId()).getDepositAmount(), product.getQuantity()));
+                quantity += product.getQuantity();
+            }
 
-            BigDecimal depositRefund;
+            Money depositRefund;
             int containersToCollect;
 
             if (i == 0) {
-                depositRefund = packageSummary.getExpectedDepositRefund();
+                depositRefund = Money.of(packageSummary.getExpectedDepositRefund());
                 containersToCollect = packageSummary.getOldContainersToCollect();
             } else {
-                DeliveryDistributionRequest previousDist =
-                        distributions.get(i - 1);
-
-                containersToCollect = previousDist.getProducts().stream()
-                        .mapToInt(DeliveryProductRequest::getQuantity)
-                        .sum();
-
-                depositRefund = calculateDepositForProducts(previousDist.getProducts());
+                depositRefund = previousDepositCharged;
+                containersToCollect = previousQuantity;
             }
 
-            BigDecimal netDeposit = depositCharged
-                    .subtract(depositRefund)
-                    .setScale(2, RoundingMode.HALF_UP);
+            Money netDeposit = depositCharged.total().minus(depositRefund);
 
             OrderDepositInfo depositInfo = OrderDepositInfo.builder()
                     .deliveryNumber(i + 1)
-                    .depositCharged(depositCharged)
-                    .expectedDepositRefund(depositRefund)
-                    .netDeposit(netDeposit)
+                    .depositCharged(depositCharged.total().toBigDecimal())
+                    .expectedDepositRefund(depositRefund.toBigDecimal())
+                    .netDeposit(netDeposit.toBigDecimal())
                     .containersToCollect(containersToCollect)
                     .build();
 
             result.add(depositInfo);
+
+            previousDepositCharged = depositCharged.total();
+            previousQuantity = quantity;
         }
         return result;
     }
 
+    private Map<Long, Product> loadProducts(Collection<Long> productIds) {
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
 
-    private BigDecimal calculateDepositForProducts(List<DeliveryProductRequest> products) {
-        if (products == null || products.isEmpty()) return BigDecimal.ZERO;
-
-        BigDecimal total = BigDecimal.ZERO;
-
-        for (DeliveryProductRequest product : products) {
-            Product p = productRepository.findById(product.getProductId())
-                    .orElseThrow(() -> new NotFoundException("Product not found with id: " + product.getProductId()));
-
-            BigDecimal depositForProduct = p.getDepositAmount()
-                    .multiply(BigDecimal.valueOf(product.getQuantity()))
-                    .setScale(2, RoundingMode.HALF_UP);
-
-            total = total.add(depositForProduct);
+        for (Long productId : productIds) {
+            if (!products.containsKey(productId)) {
+                throw new NotFoundException("Product not found with id: " + productId);
+            }
         }
-        return total.setScale(2, RoundingMode.HALF_UP);
+        return products;
     }
 
     public BigDecimal calculateProportionalProductAmount(
@@ -211,15 +208,13 @@ public class PackageDepositCalculationService {
             return BigDecimal.ZERO;
         }
 
-        BigDecimal ratio = BigDecimal.valueOf(deliveryQuantity)
-                .divide(BigDecimal.valueOf(totalContainersInPackage), 4, RoundingMode.HALF_UP);
-
-        BigDecimal proportionalAmount = packageTotalPrice
-                .multiply(ratio)
-                .setScale(2, RoundingMode.HALF_UP);
+        long ratioBasisPoints = Money.divideHalfUp(deliveryQuantity * 10_000L, totalContainersInPackage);
+        BigDecimal proportionalAmount = Money.of(packageTotalPrice)
+                .fraction(ratioBasisPoints, 10_000L)
+                .toBigDecimal();
 
         log.debug("Proportional amount: deliveryQty={}, totalQty={}, ratio={}, amount={}",
-                deliveryQuantity, totalContainersInPackage, ratio, proportionalAmount);
+                deliveryQuantity, totalContainersInPackage, BigDecimal.valueOf(ratioBasisPoints, 4), proportionalAmount);
 
         return proportionalAmount;
     }
@@ -3,8 +3,6 @@ package com.delivery.SuAl.service;
 import com.delivery.SuAl.entity.AffordablePackage;
 import com.delivery.SuAl.entity.AffordablePackageProduct;
 import com.delivery.SuAl.entity.Product;
-import com.delivery.SuAl.entity.ProductPrice;
-import com.delivery.SuAl.repository.ProductPriceRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -15,13 +13,11 @@ import java.util.List;
 @Component
 @RequiredArgsConstructor
 public class PackagePriceCalculator {
-    private final ProductPriceRepository productPriceRepository;
+    private final ProductPriceCatalog productPriceCatalog;
 
     public BigDecimal getActiveSellPrice(Product  product) {
         if (product == null) return BigDecimal.ZERO;
-        return productPriceRepository.findActiveByProductId(product.getId())
-                .map(ProductPrice::getEffectiveSellPrice)
-                .orElse(BigDecimal.ZERO);
+        return productPriceCatalog.getEffectiveSellPrice(product.getId());
     }
 
     public BigDecimal calculateLineValue(AffordablePackageProduct packageProduct) {
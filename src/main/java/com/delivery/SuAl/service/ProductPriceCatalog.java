@@ -0,0 +1,171 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.entity.ProductPrice;
+import com.delivery.SuAl.helper.AfterCommit;
+import com.delivery.SuAl.helper.CatalogPrice;
+import com.delivery.SuAl.repository.ProductPriceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Read-through cache of the active (validTo IS NULL) price of every product.
+ * <p>
+ * Readers work against an immutable snapshot; every change produces a new snapshot with a
+ * higher version. Price writes in {@link ProductPriceServiceImpl} call {@link #refreshAfterCommit(Long)},
+ * so the snapshot is patched from the committed row as soon as the transaction closing the old price commits.
+ * A periodic rebuild bounds staleness for writes made by other application instances.
+ */
+@Component
+@Slf4j
+public class ProductPriceCatalog {
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+
+    private final ProductPriceRepository productPriceRepository;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter patches;
+    private final Counter rebuilds;
+
+    public ProductPriceCatalog(ProductPriceRepository productPriceRepository, MeterRegistry meterRegistry) {
+        this.productPriceRepository = productPriceRepository;
+        this.hits = Counter.builder("price.catalog.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("price.catalog.lookups").tag("result", "miss").register(meterRegistry);
+        this.patches = Counter.builder("price.catalog.patches").register(meterRegistry);
+        this.rebuilds = Counter.builder("price.catalog.rebuilds").register(meterRegistry);
+        Gauge.builder("price.catalog.size", snapshot, ref -> ref.get().prices().size()).register(meterRegistry);
+        Gauge.builder("price.catalog.version", snapshot, ref -> ref.get().version()).register(meterRegistry);
+    }
+
+    public Optional<CatalogPrice> findActivePrice(Long productId) {
+        if (productId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(findActivePrices(List.of(productId)).get(productId));
+    }
+
+    public BigDecimal getEffectiveSellPrice(Long productId) {
+        return findActivePrice(productId)
+                .map(CatalogPrice::getEffectivePrice)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    public Map<Long, CatalogPrice> findActivePrices(Collection<Long> productIds) {
+        Snapshot current = snapshot.get();
+        Map<Long, CatalogPrice> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (Long productId : productIds) {
+            CatalogPrice price = current.prices().get(productId);
+            if (price != null || current.complete()) {
+                hits.increment();
+                if (price != null) {
+                    result.put(productId, price);
+                }
+            } else {
+                misses.increment();
+                missing.add(productId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Long, CatalogPrice> loaded = loadActivePrices(missing);
+            result.putAll(loaded);
+            install(current.version(), loaded);
+        }
+        return result;
+    }
+
+    public void refreshAfterCommit(Long productId) {
+        AfterCommit.run(() -> refresh(productId));
+    }
+
+    public void refresh(Long productId) {
+        Optional<CatalogPrice> loaded = productPriceRepository.findActiveByProductId(productId)
+                .map(price -> CatalogPrice.from(productId, price));
+
+        snapshot.updateAndGet(current -> {
+            Map<Long, CatalogPrice> prices = new HashMap<>(current.prices());
+            loaded.ifPresentOrElse(
+                    price -> prices.put(productId, price),
+                    () -> prices.remove(productId));
+            return new Snapshot(current.version() + 1, Collections.unmodifiableMap(prices), current.complete());
+        });
+        patches.increment();
+
+        log.info("Price catalog patched for product {}: {}", productId,
+                loaded.map(CatalogPrice::getEffectivePrice).map(BigDecimal::toPlainString).orElse("no active price"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${pricing.catalog.refresh-interval:PT5M}",
+            initialDelayString = "${pricing.catalog.refresh-interval:PT5M}")
+    public void rebuild() {
+        for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+            Snapshot before = snapshot.get();
+
+            Map<Long, CatalogPrice> prices = new HashMap<>();
+            for (ProductPrice price : productPriceRepository.findAllActive()) {
+                Long productId = price.getProduct().getId();
+                prices.putIfAbsent(productId, CatalogPrice.from(productId, price));
+            }
+
+            Snapshot rebuilt = new Snapshot(before.version() + 1, Collections.unmodifiableMap(prices), true);
+            if (snapshot.compareAndSet(before, rebuilt)) {
+                rebuilds.increment();
+                log.info("Price catalog rebuilt with {} active prices (version {})",
+                        prices.size(), rebuilt.version());
+                return;
+            }
+            log.debug("Price catalog changed during rebuild attempt {}, retrying", attempt);
+        }
+        log.warn("Price catalog rebuild gave up after {} attempts due to concurrent price changes",
+                MAX_REBUILD_ATTEMPTS);
+    }
+
+    private Map<Long, CatalogPrice> loadActivePrices(List<Long> productIds) {
+        Map<Long, CatalogPrice> loaded = new HashMap<>();
+        for (ProductPrice price : productPriceRepository.findActiveByProductIdIn(productIds)) {
+            Long productId = price.getProduct().getId();
+            loaded.putIfAbsent(productId, CatalogPrice.from(productId, price));
+        }
+        return loaded;
+    }
+
+    private void install(long readVersion, Map<Long, CatalogPrice> loaded) {
+        if (loaded.isEmpty()) {
+            return;
+        }
+        snapshot.updateAndGet(current -> {
+            // A patch landed while we were reading; our rows may predate it, so do not cache them.
+            if (current.version() != readVersion) {
+                return current;
+            }
+            Map<Long, CatalogPrice> prices = new HashMap<>(current.prices());
+            prices.putAll(loaded);
+            return new Snapshot(current.version() + 1, Collections.unmodifiableMap(prices), current.complete());
+        });
+    }
+
+    private record Snapshot(long version, Map<Long, CatalogPrice> prices, boolean complete) {
+        static final Snapshot EMPTY = new Snapshot(0, Map.of(), false);
+    }
+}
@@ -25,6 +25,7 @@ public class ProductPriceServiceImpl implements ProductPriceService {
     private final ProductPriceRepository productPriceRepository;
     private final ProductRepository productRepository;
     private final ProductPriceMapper productPriceMapper;
+    private final ProductPriceCatalog productPriceCatalog;
 
     @Override
     @Transactional
@@ -54,12 +55,14 @@ public class ProductPriceServiceImpl implements ProductPriceService {
         newPrice.setCreatedBy(createdBy);
 
         ProductPrice saved = productPriceRepository.save(newPrice);
+        productPriceCatalog.refreshAfterCommit(request.getProductId());
         log.info("New price created with ID: {} for product ID: {}",
                 saved.getId(), request.getProductId());
         return productPriceMapper.toResponse(saved);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductPriceResponse getActivePrice(Long productId) {
         log.info("Getting active price for product ID: {}", productId);
 
@@ -71,6 +74,7 @@ public class ProductPriceServiceImpl implements ProductPriceService {
                 .orElseThrow(() -> new NotFoundException("No active price found for product ID: " + productId));    }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductPriceResponse> getPriceHistory(Long productId) {
         log.info("Getting price history for product ID: {}", productId);
         if (!productRepository.existsById(productId)) {
@@ -3,7 +3,6 @@ package com.delivery.SuAl.service;
 import com.delivery.SuAl.entity.Category;
 import com.delivery.SuAl.entity.Company;
 import com.delivery.SuAl.entity.Product;
-import com.delivery.SuAl.entity.ProductPrice;
 import com.delivery.SuAl.entity.ProductSize;
 import com.delivery.SuAl.entity.Warehouse;
 import com.delivery.SuAl.entity.WarehouseStock;
@@ -18,7 +17,6 @@ import com.delivery.SuAl.model.response.product.ProductResponse;
 import com.delivery.SuAl.model.response.wrapper.PageResponse;
 import com.delivery.SuAl.repository.CategoryRepository;
 import com.delivery.SuAl.repository.CompanyRepository;
-import com.delivery.SuAl.repository.ProductPriceRepository;
 import com.delivery.SuAl.repository.ProductRepository;
 import com.delivery.SuAl.repository.ProductSizeRepository;
 import com.delivery.SuAl.repository.WarehouseRepository;
@@ -32,8 +30,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,7 +44,7 @@ public class ProductServiceImpl implements ProductService {
     private final ProductSizeRepository productSizeRepository;
     private final WarehouseStockRepository warehouseStockRepository;
     private final WarehouseRepository warehouseRepository;
-    private final ProductPriceRepository productPriceRepository;
+    private final ProductPriceCatalog productPriceCatalog;
     private final ProductMapper productMapper;
     private final ImageUploadService imageUploadService;
 
@@ -105,6 +101,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductResponse getProductByID(Long id) {
         log.info("Getting product by ID: {}", id);
 
@@ -209,6 +206,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<ProductResponse> getAllProducts(Pageable pageable) {
         log.info("Getting all products, page: {}", pageable);
 
@@ -224,28 +222,15 @@ public class ProductServiceImpl implements ProductService {
     }
 
     private ProductResponse enrichWithPriceData(ProductResponse response, Long productId) {
-        productPriceRepository.findActiveByProductId(productId).ifPresent(activePrice -> {
+        productPriceCatalog.findActivePrice(productId).ifPresent(activePrice -> {
             response.setSellPrice(activePrice.getSellPrice());
             response.setDiscountPercent(activePrice.getDiscountPercent());
-            response.setEffectivePrice(calculateEffectivePrice(activePrice));
+            // pricing treats a missing sell price as zero; the API reports it as absent
+            response.setEffectivePrice(activePrice.getSellPrice() != null ? activePrice.getEffectivePrice() : null);
         });
         return response;
     }
 
-    private BigDecimal calculateEffectivePrice(ProductPrice price) {
-        if (price.getSellPrice() == null) return null;
-        if (price.getDiscountPercent() == null
-                || price.getDiscountPercent().compareTo(BigDecimal.ZERO) == 0) {
-            return price.getSellPrice();
-        }
-        BigDecimal multiplier = BigDecimal.ONE
-                .subtract(price.getDiscountPercent()
-                        .divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP));
-        return price.getSellPrice()
-                .multiply(multiplier)
-                .setScale(2, RoundingMode.HALF_UP);
-    }
-
     private ProductResponse restoreProduct(Product product, CreateProductRequest request,
                                            Category category, ProductSize size,
                                            Warehouse warehouse, MultipartFile image) {
@@ -11,6 +11,8 @@ import com.delivery.SuAl.model.response.marketing.ValidatePromoResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+
 public interface PromoService {
     PromoResponse createPromo(CreatePromoRequest request);
 
@@ -29,4 +31,6 @@ public interface PromoService {
     Promo getPromoEntityByCode(String promoCode);
 
     void releasePromoUsageByOrder(Long orderId);
+
+    void releasePromoUsagesByOrders(Collection<Long> orderIds);
 }
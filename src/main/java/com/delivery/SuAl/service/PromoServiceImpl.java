@@ -30,6 +30,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -239,21 +240,29 @@ public class PromoServiceImpl implements PromoService {
     public void releasePromoUsageByOrder(Long orderId) {
         log.info("Releasing promo usages for order ID: {}", orderId);
 
-        List<PromoUsage> usages = promoUsageRepository.findByOrderId(orderId);
+        releasePromoUsagesByOrders(List.of(orderId));
+    }
 
-        if (usages.isEmpty()) {
-            log.debug("No promo usages found for order {}", orderId);
+    @Override
+    @Transactional
+    public void releasePromoUsagesByOrders(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
             return;
         }
 
-        log.info("Found {} promo usage(s) to release for order {}", usages.size(), orderId);
+        List<Object[]> usageCounts = promoUsageRepository.countByOrderIdInGroupedByPromo(orderIds);
+        if (usageCounts.isEmpty()) {
+            log.debug("No promo usages found for {} orders", orderIds.size());
+            return;
+        }
 
-        for (PromoUsage usage : usages) {
-            releasePromoUsage(usage.getPromo().getId());
+        for (Object[] row : usageCounts) {
+            promoRepository.decrementUses((Long) row[0], ((Number) row[1]).intValue());
         }
 
-        int deletedCount = promoUsageRepository.deleteByOrderId(orderId);
-        log.info("Released and deleted {} promo usage records for order {}", deletedCount, orderId);
+        int deletedCount = promoUsageRepository.deleteByOrderIdIn(orderIds);
+        log.info("Released and deleted {} promo usage records across {} promos for {} orders",
+                deletedCount, usageCounts.size(), orderIds.size());
     }
 
     @Transactional
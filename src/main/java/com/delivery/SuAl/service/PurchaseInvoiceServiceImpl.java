@@ -60,6 +60,7 @@ public class PurchaseInvoiceServiceImpl implements PurchaseInvoiceService {
     private final StockMovementService stockMovementService;
 
     @Override
+    @Transactional
     public PurchaseInvoiceResponse createInvoice(CreatePurchaseInvoiceRequest request, User createdBy) {
         log.info("Creating purchase invoice: {} by user: {}",
                 request.getInvoiceNumber(), createdBy.getId());
@@ -90,6 +91,7 @@ public class PurchaseInvoiceServiceImpl implements PurchaseInvoiceService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PurchaseInvoiceResponse getInvoiceById(Long id) {
         log.info("Getting purchase invoice by ID: {}", id);
         PurchaseInvoice invoice = purchaseInvoiceRepository.findByIdWithItems(id)
@@ -224,6 +226,7 @@ public class PurchaseInvoiceServiceImpl implements PurchaseInvoiceService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<PurchaseInvoiceResponse> getAllInvoices(Pageable pageable) {
         Page<PurchaseInvoice>  page = purchaseInvoiceRepository.findAll(pageable);
         List<PurchaseInvoiceResponse> responses = page.getContent().stream()
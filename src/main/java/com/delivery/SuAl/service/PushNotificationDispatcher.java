@@ -0,0 +1,146 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.config.NotificationExecutorConfig;
+import com.delivery.SuAl.entity.PushOutbox;
+import com.delivery.SuAl.helper.PushDelivery;
+import com.delivery.SuAl.model.enums.PushOutboxStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Relays the push outbox to {@link PushNotificationService}.
+ * <p>
+ * A drain is requested right after a notification commits and on a slower poll that picks up retries and entries
+ * left by other instances. Each drain claims due entries in batches of up to {@code notifications.push.batch-size},
+ * so an operator fan-out of N notifications becomes one token query and one {@code sendEach} call instead of N
+ * tasks. Drains run on the bounded {@link NotificationExecutorConfig#NOTIFICATION_EXECUTOR notification executor},
+ * at most one per instance at a time; pending work stays in the database rather than in memory.
+ */
+@Component
+@Slf4j
+public class PushNotificationDispatcher {
+    private final PushOutboxService pushOutboxService;
+    private final PushNotificationService pushNotificationService;
+    private final ThreadPoolTaskExecutor notificationExecutor;
+    private final int batchSize;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final AtomicLong pendingEntries = new AtomicLong();
+    private final AtomicLong deadEntries = new AtomicLong();
+
+    private final Counter rejectedDrains;
+    private final Counter failedDeliveries;
+    private final Timer batchTimer;
+    private final Timer deliveryDelay;
+
+    public PushNotificationDispatcher(PushOutboxService pushOutboxService,
+                                      PushNotificationService pushNotificationService,
+                                      @Qualifier(NotificationExecutorConfig.NOTIFICATION_EXECUTOR)
+                                      ThreadPoolTaskExecutor notificationExecutor,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${notifications.push.batch-size:500}") int batchSize) {
+        this.pushOutboxService = pushOutboxService;
+        this.pushNotificationService = pushNotificationService;
+        this.notificationExecutor = notificationExecutor;
+        this.batchSize = batchSize;
+
+        meterRegistry.gauge("notifications.push.outbox.pending", pendingEntries);
+        meterRegistry.gauge("notifications.push.outbox.dead", deadEntries);
+        this.rejectedDrains = meterRegistry.counter("notifications.push.drains.rejected");
+        this.failedDeliveries = meterRegistry.counter("notifications.push.failed");
+        this.batchTimer = meterRegistry.timer("notifications.push.batch");
+        this.deliveryDelay = meterRegistry.timer("notifications.push.delay");
+    }
+
+    public void requestDrain() {
+        drainRequested.set(true);
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            notificationExecutor.execute(this::drain);
+        } catch (TaskRejectedException e) {
+            draining.set(false);
+            rejectedDrains.increment();
+            log.warn("Notification executor is saturated, push drain deferred to the next poll");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.push.poll-interval:PT5S}")
+    public void poll() {
+        pendingEntries.set(pushOutboxService.countByStatus(PushOutboxStatus.PENDING));
+        deadEntries.set(pushOutboxService.countByStatus(PushOutboxStatus.DEAD));
+        requestDrain();
+    }
+
+    private void drain() {
+        try {
+            while (drainRequested.getAndSet(false)) {
+                while (drainBatch() == batchSize) {
+                    // keep claiming until a partial batch shows the due backlog is empty
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Push outbox drain failed", e);
+        } finally {
+            draining.set(false);
+        }
+        if (drainRequested.get()) {
+            requestDrain();
+        }
+    }
+
+    private int drainBatch() {
+        List<PushOutbox> claimed = pushOutboxService.claim(batchSize);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<PushDelivery> deliveries = claimed.stream().map(pushOutboxService::toDelivery).toList();
+        List<PushDelivery> failed;
+        String error = null;
+        long start = System.nanoTime();
+        try {
+            failed = pushNotificationService.send(deliveries);
+            if (!failed.isEmpty()) {
+                error = "Transient FCM failure";
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to dispatch push batch of {} notifications", deliveries.size(), e);
+            failed = deliveries;
+            error = e.getMessage();
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        failedDeliveries.increment(failed.size());
+
+        pushOutboxService.complete(claimed, failed, error);
+
+        Set<Long> failedIds = failed.stream().map(PushDelivery::getNotificationId).collect(Collectors.toSet());
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        for (PushOutbox entry : claimed) {
+            if (!failedIds.contains(entry.getNotificationId())) {
+                deliveryDelay.record(Duration.between(entry.getCreatedAt(), now));
+            }
+        }
+        return claimed.size();
+    }
+}
@@ -1,105 +1,144 @@
 package com.delivery.SuAl.service;
 
-import com.delivery.SuAl.entity.DeviceToken;
 import com.delivery.SuAl.entity.Notification;
-import com.delivery.SuAl.exception.NotFoundException;
-import com.delivery.SuAl.exception.TransientPushException;
+import com.delivery.SuAl.helper.PushDelivery;
+import com.delivery.SuAl.helper.Receiver;
 import com.delivery.SuAl.repository.DeviceTokenRepository;
 import com.delivery.SuAl.repository.NotificationRepository;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
 import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.SendResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Recover;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sends a batch of notifications to FCM. Notifications are loaded with one query per batch and device tokens come
+ * from the {@link DeviceTokenRegistry}, which only queries receivers it has not cached; messages go out through {@code sendEach} in chunks of {@value #FCM_BATCH_LIMIT}, and the outcome is written back
+ * with one bulk update for sent notifications and one for invalid tokens.
+ * <p>
+ * No transaction is held while FCM is being called.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PushNotificationService {
+    static final int FCM_BATCH_LIMIT = 500;
+
     private final DeviceTokenRepository deviceTokenRepository;
+    private final DeviceTokenRegistry deviceTokenRegistry;
     private final NotificationRepository notificationRepository;
 
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    @Retryable(
-            value = {FirebaseMessagingException.class, TransientPushException.class},
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 1000, multiplier = 2),
-            recover = "recoverPushNotification"
-    )
-    public void sendPushNotification(Long notificationId) {
-        Notification notification = notificationRepository.findById(notificationId)
-                .orElseThrow(() -> new NotFoundException("Notification Not Found: " + notificationId));
-
-        List<DeviceToken> tokens = deviceTokenRepository
-                .findByReceiverTypeAndReceiverIdAndIsActiveTrue(
-                        notification.getReceiverType(),
-                        notification.getReceiverId()
-                );
-
-        if (tokens.isEmpty()) {
-            log.warn("No active device tokens found for receiver: {} with id: {}",
-                    notification.getReceiverType(), notification.getReceiverId());
-            return;
+    /**
+     * Returns the deliveries that failed transiently and should be retried, narrowed to the tokens that failed.
+     */
+    public List<PushDelivery> send(Collection<PushDelivery> deliveries) {
+        Map<Long, PushDelivery> deliveriesById = deliveries.stream()
+                .collect(Collectors.toMap(PushDelivery::getNotificationId, Function.identity(),
+                        (first, second) -> first, LinkedHashMap::new));
+
+        Map<Long, Notification> notifications = notificationRepository.findAllById(deliveriesById.keySet()).stream()
+                .collect(Collectors.toMap(Notification::getId, Function.identity()));
+        if (notifications.size() < deliveriesById.size()) {
+            log.warn("{} notifications queued for push no longer exist",
+                    deliveriesById.size() - notifications.size());
         }
 
-        boolean atLeastOneSent = false;
+        Map<Receiver, List<String>> tokensByReceiver = deviceTokenRegistry.getActiveTokens(
+                notifications.values().stream().map(PushNotificationService::receiverOf).collect(Collectors.toSet()));
 
-        for (DeviceToken deviceToken : tokens) {
-            try {
-                Message message = buildFirebaseMessage(notification, deviceToken);
-                String response = FirebaseMessaging.getInstance().send(message);
+        List<Message> messages = new ArrayList<>();
+        List<Target> targets = new ArrayList<>();
+        for (PushDelivery delivery : deliveriesById.values()) {
+            Notification notification = notifications.get(delivery.getNotificationId());
+            if (notification == null) {
+                continue;
+            }
 
-                log.info("Successfully sent push notification to token {}. Response: {}",
-                        maskToken(deviceToken.getFcmToken()), response);
-                atLeastOneSent = true;
+            Receiver receiver = receiverOf(notification);
+            List<String> tokens = tokensByReceiver.getOrDefault(receiver, List.of());
+            if (tokens.isEmpty()) {
+                log.warn("No active device tokens found for receiver: {} with id: {}",
+                        notification.getReceiverType(), notification.getReceiverId());
+                continue;
+            }
 
-            } catch (FirebaseMessagingException ex) {
-                if (isTokenInvalid(ex)) {
-                    log.warn("Token is invalid or unregistered. Deactivating token: {}",
-                            maskToken(deviceToken.getFcmToken()));
-                    deviceToken.setIsActive(false);
-                    deviceTokenRepository.save(deviceToken);
-                } else {
-                    log.error("Transient error sending push notification to token: {}. Will retry.",
-                            maskToken(deviceToken.getFcmToken()), ex);
-                    throw new TransientPushException("Retry needed", ex);
+            for (String token : tokens) {
+                if (delivery.getFcmTokens() == null || delivery.getFcmTokens().contains(token)) {
+                    messages.add(buildFirebaseMessage(notification, token));
+                    targets.add(new Target(delivery, receiver, token));
                 }
             }
         }
 
-        if (atLeastOneSent) {
-            notification.setPushSent(true);
-            notificationRepository.save(notification);
-            log.info("Notification {} marked as sent", notificationId);
+        Set<Long> sentNotificationIds = new HashSet<>();
+        Set<String> invalidTokens = new HashSet<>();
+        Set<Receiver> receiversWithInvalidTokens = new HashSet<>();
+        Map<PushDelivery, Set<String>> transientFailures = new LinkedHashMap<>();
+
+        for (int from = 0; from < messages.size(); from += FCM_BATCH_LIMIT) {
+            int to = Math.min(from + FCM_BATCH_LIMIT, messages.size());
+            List<Target> chunkTargets = targets.subList(from, to);
+            try {
+                BatchResponse response = FirebaseMessaging.getInstance().sendEach(messages.subList(from, to));
+                List<SendResponse> responses = response.getResponses();
+                for (int i = 0; i < responses.size(); i++) {
+                    Target target = chunkTargets.get(i);
+                    SendResponse sendResponse = responses.get(i);
+                    if (sendResponse.isSuccessful()) {
+                        sentNotificationIds.add(target.delivery().getNotificationId());
+                    } else if (isTokenInvalid(sendResponse.getException())) {
+                        invalidTokens.add(target.token());
+                        receiversWithInvalidTokens.add(target.receiver());
+                    } else {
+                        transientFailures.computeIfAbsent(target.delivery(), d -> new HashSet<>())
+                                .add(target.token());
+                    }
+                }
+                log.info("Sent push batch of {} messages: {} succeeded, {} failed",
+                        responses.size(), response.getSuccessCount(), response.getFailureCount());
+            } catch (FirebaseMessagingException ex) {
+                log.error("Push batch of {} messages failed as a whole, will retry", chunkTargets.size(), ex);
+                for (Target target : chunkTargets) {
+                    transientFailures.computeIfAbsent(target.delivery(), d -> new HashSet<>()).add(target.token());
+                }
+            }
         }
-    }
 
-    @Recover
-    public void recoverPushNotification(FirebaseMessagingException ex, Long notificationId) {
-        log.error("Failed to send push notification {} after all retry attempts. Error: {}",
-                notificationId, ex.getMessage());
+        if (!sentNotificationIds.isEmpty()) {
+            notificationRepository.markPushSent(sentNotificationIds);
+        }
+        if (!invalidTokens.isEmpty()) {
+            int deactivated = deviceTokenRepository.deactivateByFcmTokens(invalidTokens);
+            deviceTokenRegistry.evict(receiversWithInvalidTokens);
+            log.warn("Deactivated {} invalid or unregistered device tokens", deactivated);
+        }
 
-        // Optional: Store in dead letter queue for manual review
-        // deadLetterQueueService.add(notificationId, ex.getMessage());
+        List<PushDelivery> retries = new ArrayList<>(transientFailures.size());
+        transientFailures.forEach((delivery, failedTokens) -> retries.add(delivery.narrowTo(failedTokens)));
+        return retries;
+    }
 
-        // Don't rethrow - we want to fail gracefully
-        // The notification will remain with pushSent=false for potential later retry
+    private static Receiver receiverOf(Notification notification) {
+        return new Receiver(notification.getReceiverType(), notification.getReceiverId());
     }
 
-    private Message buildFirebaseMessage(Notification notification, DeviceToken deviceToken) {
+    private Message buildFirebaseMessage(Notification notification, String fcmToken) {
         return Message.builder()
-                .setToken(deviceToken.getFcmToken())
+                .setToken(fcmToken)
                 .setNotification(
                         com.google.firebase.messaging.Notification.builder()
                                 .setTitle(notification.getTitle())
@@ -114,15 +153,14 @@ public class PushNotificationService {
     }
 
     private boolean isTokenInvalid(FirebaseMessagingException e) {
+        if (e == null) {
+            return false;
+        }
         MessagingErrorCode errorCode = e.getMessagingErrorCode();
         return errorCode == MessagingErrorCode.UNREGISTERED ||
                 errorCode == MessagingErrorCode.INVALID_ARGUMENT;
     }
 
-    private String maskToken(String token) {
-        if (token == null || token.length() < 10) {
-            return "***";
-        }
-        return token.substring(0, 5) + "..." + token.substring(token.length() - 5);
+    private record Target(PushDelivery delivery, Receiver receiver, String token) {
     }
 }
@@ -0,0 +1,185 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.entity.PushOutbox;
+import com.delivery.SuAl.helper.PushDelivery;
+import com.delivery.SuAl.model.enums.PushOutboxStatus;
+import com.delivery.SuAl.model.response.notification.PushOutboxResponse;
+import com.delivery.SuAl.model.response.wrapper.PageResponse;
+import com.delivery.SuAl.repository.PushOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Durable queue of pending pushes. An entry is written in the same transaction as its notification, so a committed
+ * notification is never lost to a restart.
+ * <p>
+ * Relays claim due entries with {@code FOR UPDATE SKIP LOCKED} and push the claim's next attempt time forward by a
+ * lease before committing, so concurrent instances never pick the same entry and an entry whose relay died is picked
+ * up again once the lease runs out. Delivery is therefore at least once. Entries that keep failing are moved to
+ * {@link PushOutboxStatus#DEAD} after {@code notifications.push.max-attempts} and can be re-driven by an admin.
+ */
+@Service
+@Slf4j
+public class PushOutboxService {
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final String INSERT_PENDING = """
+            INSERT INTO push_outbox (notification_id, status, attempts, next_attempt_at, created_at, updated_at)
+            VALUES (?, 'PENDING', 0, ?, ?, ?)
+            """;
+
+    private final PushOutboxRepository pushOutboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration claimLease;
+    private final Duration sentRetention;
+
+    public PushOutboxService(PushOutboxRepository pushOutboxRepository,
+                             JdbcTemplate jdbcTemplate,
+                             @Value("${notifications.push.max-attempts:5}") int maxAttempts,
+                             @Value("${notifications.push.retry-backoff:PT5S}") Duration retryBackoff,
+                             @Value("${notifications.push.claim-lease:PT1M}") Duration claimLease,
+                             @Value("${notifications.push.sent-retention:P7D}") Duration sentRetention) {
+        this.pushOutboxRepository = pushOutboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.claimLease = claimLease;
+        this.sentRetention = sentRetention;
+    }
+
+    @Transactional
+    public void enqueue(Collection<Long> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(INSERT_PENDING, notificationIds, notificationIds.size(), (ps, notificationId) -> {
+            ps.setLong(1, notificationId);
+            ps.setObject(2, now);
+            ps.setObject(3, now);
+            ps.setObject(4, now);
+        });
+    }
+
+    @Transactional
+    public List<PushOutbox> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        List<PushOutbox> claimed = pushOutboxRepository.claimDue(now, limit);
+        for (PushOutbox entry : claimed) {
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setNextAttemptAt(now.plus(claimLease));
+        }
+        return claimed;
+    }
+
+    /**
+     * Records the outcome of a claimed batch: entries not in {@code failed} are sent, failed entries are rescheduled
+     * with exponential backoff for the tokens that failed, or dead-lettered once they are out of attempts.
+     */
+    @Transactional
+    public void complete(List<PushOutbox> claimed, List<PushDelivery> failed, String error) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        Map<Long, PushDelivery> failedByNotification = failed.stream()
+                .collect(Collectors.toMap(PushDelivery::getNotificationId, Function.identity()));
+
+        List<Long> sentIds = claimed.stream()
+                .filter(entry -> !failedByNotification.containsKey(entry.getNotificationId()))
+                .map(PushOutbox::getId)
+                .toList();
+        if (!sentIds.isEmpty()) {
+            pushOutboxRepository.markSent(sentIds, now);
+        }
+
+        List<Long> failedIds = claimed.stream()
+                .filter(entry -> failedByNotification.containsKey(entry.getNotificationId()))
+                .map(PushOutbox::getId)
+                .toList();
+        for (PushOutbox entry : pushOutboxRepository.findAllById(failedIds)) {
+            PushDelivery delivery = failedByNotification.get(entry.getNotificationId());
+            entry.setFcmTokens(delivery.getFcmTokens() != null ? String.join(",", delivery.getFcmTokens()) : null);
+            entry.setLastError(truncate(error));
+
+            if (entry.getAttempts() >= maxAttempts) {
+                entry.setStatus(PushOutboxStatus.DEAD);
+                log.error("Push for notification {} dead-lettered after {} attempts: {}",
+                        entry.getNotificationId(), entry.getAttempts(), error);
+            } else {
+                long delayMillis = retryBackoff.toMillis() << (entry.getAttempts() - 1);
+                entry.setNextAttemptAt(now.plus(Duration.ofMillis(delayMillis)));
+            }
+        }
+    }
+
+    public PushDelivery toDelivery(PushOutbox entry) {
+        Set<String> tokens = entry.getFcmTokens() != null
+                ? Arrays.stream(entry.getFcmTokens().split(",")).collect(Collectors.toSet())
+                : null;
+        return new PushDelivery(entry.getNotificationId(), tokens);
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<PushOutboxResponse> getDeadLetters(Pageable pageable) {
+        Page<PushOutbox> page = pushOutboxRepository.findByStatus(PushOutboxStatus.DEAD, pageable);
+        return PageResponse.of(page.getContent().stream().map(this::toResponse).toList(), page);
+    }
+
+    @Transactional
+    public int redrive(List<Long> outboxIds) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        int redriven = outboxIds == null || outboxIds.isEmpty()
+                ? pushOutboxRepository.redriveAllDead(now)
+                : pushOutboxRepository.redriveDead(outboxIds, now);
+        log.info("Re-drove {} dead-lettered push notifications", redriven);
+        return redriven;
+    }
+
+    @Transactional(readOnly = true)
+    public long countByStatus(PushOutboxStatus status) {
+        return pushOutboxRepository.countByStatus(status);
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    public void purgeSent() {
+        int deleted = pushOutboxRepository.deleteSentBefore(LocalDateTime.now(ZoneOffset.UTC).minus(sentRetention));
+        log.info("Purged {} sent push outbox entries", deleted);
+    }
+
+    private PushOutboxResponse toResponse(PushOutbox entry) {
+        return PushOutboxResponse.builder()
+                .id(entry.getId())
+                .notificationId(entry.getNotificationId())
+                .status(entry.getStatus())
+                .attempts(entry.getAttempts())
+                .nextAttemptAt(entry.getNextAttemptAt())
+                .lastError(entry.getLastError())
+                .createdAt(entry.getCreatedAt())
+                .updatedAt(entry.getUpdatedAt())
+                .build();
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
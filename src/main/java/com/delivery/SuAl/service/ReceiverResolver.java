@@ -0,0 +1,69 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.entity.Admin;
+import com.delivery.SuAl.entity.Customer;
+import com.delivery.SuAl.entity.Driver;
+import com.delivery.SuAl.entity.Operator;
+import com.delivery.SuAl.entity.User;
+import com.delivery.SuAl.exception.NotFoundException;
+import com.delivery.SuAl.helper.LruCache;
+import com.delivery.SuAl.helper.Receiver;
+import com.delivery.SuAl.repository.AdminRepository;
+import com.delivery.SuAl.repository.CustomerRepository;
+import com.delivery.SuAl.repository.DriverRepository;
+import com.delivery.SuAl.repository.OperatorRepository;
+import com.delivery.SuAl.util.ReceiverTypeResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps an authenticated user to the receiver their notifications are addressed to. A user's role row never changes,
+ * so resolved receivers are kept in a bounded LRU cache keyed by user id.
+ */
+@Component
+public class ReceiverResolver {
+    private final AdminRepository adminRepository;
+    private final CustomerRepository customerRepository;
+    private final OperatorRepository operatorRepository;
+    private final DriverRepository driverRepository;
+    private final LruCache<Long, Receiver> receiversByUserId;
+
+    public ReceiverResolver(AdminRepository adminRepository,
+                            CustomerRepository customerRepository,
+                            OperatorRepository operatorRepository,
+                            DriverRepository driverRepository,
+                            @Value("${notifications.receivers.cache-size:10000}") int cacheSize) {
+        this.adminRepository = adminRepository;
+        this.customerRepository = customerRepository;
+        this.operatorRepository = operatorRepository;
+        this.driverRepository = driverRepository;
+        this.receiversByUserId = new LruCache<>(cacheSize);
+    }
+
+    public Receiver resolve(User user) {
+        Receiver cached = receiversByUserId.get(user.getId());
+        if (cached != null) {
+            return cached;
+        }
+        Receiver receiver = new Receiver(ReceiverTypeResolver.resolve(user.getRole()), resolveRoleEntityId(user));
+        receiversByUserId.put(user.getId(), receiver);
+        return receiver;
+    }
+
+    private Long resolveRoleEntityId(User user) {
+        return switch (user.getRole()) {
+            case ADMIN -> adminRepository.findByUserId(user.getId())
+                    .map(Admin::getId)
+                    .orElseThrow(() -> new NotFoundException("Admin not found for user: " + user.getId()));
+            case CUSTOMER -> customerRepository.findByUserId(user.getId())
+                    .map(Customer::getId)
+                    .orElseThrow(() -> new NotFoundException("Customer not found for user: " + user.getId()));
+            case OPERATOR -> operatorRepository.findByUserId(user.getId())
+                    .map(Operator::getId)
+                    .orElseThrow(() -> new NotFoundException("Operator not found for user: " + user.getId()));
+            case DRIVER -> driverRepository.findByUserId(user.getId())
+                    .map(Driver::getId)
+                    .orElseThrow(() -> new NotFoundException("Driver not found for user: " + user.getId()));
+        };
+    }
+}
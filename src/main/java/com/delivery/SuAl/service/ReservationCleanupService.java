@@ -1,86 +1,68 @@
 package com.delivery.SuAl.service;
 
-import com.delivery.SuAl.entity.ContainerReservation;
-import com.delivery.SuAl.entity.Order;
-import com.delivery.SuAl.model.enums.OrderStatus;
-import com.delivery.SuAl.model.enums.StockReservationType;
 import com.delivery.SuAl.repository.ContainerReservationRepository;
-import com.delivery.SuAl.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.ZoneOffset;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ReservationCleanupService {
     private final ContainerReservationRepository containerReservationRepository;
-    private final OrderRepository orderRepository;
+    private final SoftReservationExpiryWorker softReservationExpiryWorker;
+    private final PackageDeliveryHolds packageDeliveryHolds;
+
+    @Value("${reservations.expiry.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
 
     @Scheduled(cron = "0 0 * * * *")
     @Transactional
     public void cleanupExpiredContainerReservations() {
         log.info("Starting expired container reservation cleanup");
 
-        LocalDateTime now = LocalDateTime.now();
-        List<ContainerReservation> expiredReservations =
-                containerReservationRepository.findExpiredReservations(now);
+        int released = containerReservationRepository.releaseExpired(LocalDateTime.now());
 
-        if (expiredReservations.isEmpty()) {
+        if (released == 0) {
             log.info("No expired container reservations found");
             return;
         }
 
-        log.info("Found {} expired container reservations", expiredReservations.size());
-
-        for (ContainerReservation reservation : expiredReservations) {
-            reservation.setReleased(true);
-            reservation.setReleasedAt(now);
-
-            log.debug("Released expired container reservation: orderId={}, productId={}, quantity={}",
-                    reservation.getOrder() != null ? reservation.getOrder().getId() : "null",
-                    reservation.getProduct().getId(),
-                    reservation.getQuantityReserved());
-        }
-
-        containerReservationRepository.saveAll(expiredReservations);
-
-        log.info("Successfully released {} expired container reservations",
-                expiredReservations.size());
+        log.info("Successfully released {} expired container reservations", released);
     }
 
-    @Scheduled(cron = "0 0 */6 * * *")
-    @Transactional
+    @Scheduled(fixedDelayString = "${reservations.expiry.interval:PT5M}",
+            initialDelayString = "${reservations.expiry.interval:PT5M}")
     public void cleanupExpiredStockReservations() {
-        log.info("Starting expired stock reservation cleanup");
-
-        LocalDateTime now = LocalDateTime.now();
-
-        List<Order> expiredOrders = orderRepository.findExpiredStockReservations(
-                StockReservationType.SOFT,
-                OrderStatus.PENDING,
-                now
-        );
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        int total = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int processed = softReservationExpiryWorker.expireNextBatch(now);
+            total += processed;
+            if (processed < softReservationExpiryWorker.getBatchSize()) {
+                break;
+            }
+        }
 
-        if (expiredOrders.isEmpty()) {
-            log.info("No expired stock reservations found");
-            return;
+        if (total > 0) {
+            log.info("Expired soft stock reservations of {} orders", total);
         }
+    }
 
-        log.info("Found {} orders with expired stock reservations", expiredOrders.size());
+    @Scheduled(cron = "0 5 * * * *")
+    public void holdUpcomingPackageDeliveries() {
+        int held = packageDeliveryHolds.holdUpcoming(LocalDate.now(ZoneOffset.UTC));
 
-        for (Order order : expiredOrders) {
-            log.warn("Order {} has expired stock reservation (expires at: {}). " +
-                            "Consider cancelling or following up with customer.",
-                    order.getOrderNumber(),
-                    order.getStockReservationExpiresAt());
+        if (held > 0) {
+            log.info("Soft reserved stock for {} upcoming package deliveries", held);
         }
-
-        log.info("Logged {} orders with expired stock reservations", expiredOrders.size());
     }
 }
@@ -0,0 +1,171 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.exception.SmsDeliveryException;
+import com.delivery.SuAl.helper.AfterCommit;
+import com.delivery.SuAl.model.enums.SmsDeliveryStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends SMS messages through {@link SmsService} on its own pool of {@code sms.dispatch.pool-size} threads. The pool is
+ * not a {@code TaskScheduler} bean, so it does not take over {@code @Scheduled} jobs.
+ * <p>
+ * A message is queued once the current transaction commits, or straight away outside one, so neither a request
+ * thread nor a database connection waits on the gateway. Retryable failures are sent again with exponential backoff
+ * from {@code sms.dispatch.retry-backoff}, up to {@code sms.dispatch.max-attempts}, but never after the message's
+ * deadline, since an expired OTP is of no use to the customer. At most {@code sms.dispatch.queue-capacity} messages
+ * are queued or waiting for a retry; further messages are rejected. Messages are held in memory only.
+ * <p>
+ * The returned future completes with the final {@link SmsDeliveryStatus}. Gateway latency is published as
+ * {@code sms.gateway.requests} by outcome, final statuses as {@code sms.messages}, and the time from queueing to a
+ * successful send as {@code sms.delivery.delay}.
+ */
+@Component
+@Slf4j
+public class SmsDispatcher implements DisposableBean {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final SmsService smsService;
+    private final ScheduledThreadPoolExecutor smsExecutor;
+    private final MeterRegistry meterRegistry;
+    private final int queueCapacity;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Counter retries;
+    private final Timer deliveryDelay;
+
+    public SmsDispatcher(SmsService smsService,
+                         MeterRegistry meterRegistry,
+                         @Value("${sms.dispatch.pool-size:4}") int poolSize,
+                         @Value("${sms.dispatch.queue-capacity:1000}") int queueCapacity,
+                         @Value("${sms.dispatch.max-attempts:3}") int maxAttempts,
+                         @Value("${sms.dispatch.retry-backoff:PT2S}") Duration retryBackoff) {
+        this.smsService = smsService;
+        this.smsExecutor = new ScheduledThreadPoolExecutor(poolSize, new CustomizableThreadFactory("sms-"));
+        this.smsExecutor.setRemoveOnCancelPolicy(true);
+        this.meterRegistry = meterRegistry;
+        this.queueCapacity = queueCapacity;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+
+        meterRegistry.gauge("sms.dispatch.pending", pending);
+        this.retries = meterRegistry.counter("sms.dispatch.retries");
+        this.deliveryDelay = meterRegistry.timer("sms.delivery.delay");
+    }
+
+    /**
+     * Queues an OTP message that is only worth delivering within {@code validFor}.
+     */
+    public CompletableFuture<SmsDeliveryStatus> enqueueOtp(String phoneNumber, String otpCode, Duration validFor) {
+        long now = System.nanoTime();
+        Delivery delivery = new Delivery(phoneNumber, otpCode, now, now + validFor.toNanos(), new CompletableFuture<>());
+        AfterCommit.run(() -> submit(delivery));
+        return delivery.result();
+    }
+
+    private void submit(Delivery delivery) {
+        if (pending.incrementAndGet() > queueCapacity) {
+            log.warn("SMS queue is full, rejecting message to phone ending in: {}", delivery.maskedPhone());
+            finish(delivery, SmsDeliveryStatus.REJECTED);
+            return;
+        }
+        try {
+            smsExecutor.execute(() -> attempt(delivery, 1));
+        } catch (RejectedExecutionException e) {
+            log.warn("SMS dispatcher is shut down, rejecting message to phone ending in: {}", delivery.maskedPhone());
+            finish(delivery, SmsDeliveryStatus.REJECTED);
+        }
+    }
+
+    private void attempt(Delivery delivery, int attempt) {
+        if (System.nanoTime() - delivery.deadline() >= 0) {
+            finish(delivery, SmsDeliveryStatus.EXPIRED);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            smsService.sendOtp(delivery.phoneNumber(), delivery.otpCode());
+            recordGatewayCall(start, "success");
+            deliveryDelay.record(System.nanoTime() - delivery.queuedAt(), TimeUnit.NANOSECONDS);
+            finish(delivery, SmsDeliveryStatus.SENT);
+        } catch (SmsDeliveryException e) {
+            recordGatewayCall(start, e.isRetryable() ? "transient" : "error");
+            if (!e.isRetryable() || !scheduleRetry(delivery, attempt)) {
+                log.error("SMS to phone ending in: {} failed after {} attempt(s): {}",
+                        delivery.maskedPhone(), attempt, e.getMessage());
+                finish(delivery, SmsDeliveryStatus.FAILED);
+            }
+        } catch (RuntimeException e) {
+            recordGatewayCall(start, "error");
+            log.error("SMS to phone ending in: {} failed unexpectedly", delivery.maskedPhone(), e);
+            finish(delivery, SmsDeliveryStatus.FAILED);
+        }
+    }
+
+    private boolean scheduleRetry(Delivery delivery, int attempt) {
+        if (attempt >= maxAttempts) {
+            return false;
+        }
+        Duration backoff = retryBackoff.multipliedBy(1L << (attempt - 1));
+        if (System.nanoTime() + backoff.toNanos() - delivery.deadline() >= 0) {
+            return false;
+        }
+        try {
+            smsExecutor.schedule(() -> attempt(delivery, attempt + 1), backoff.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+        retries.increment();
+        log.warn("SMS to phone ending in: {} failed on attempt {}, retrying in {}",
+                delivery.maskedPhone(), attempt, backoff);
+        return true;
+    }
+
+    /**
+     * Lets queued sends finish for a short while; retries scheduled for later are dropped.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        smsExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        smsExecutor.shutdown();
+        if (!smsExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("SMS dispatcher did not finish within {}s, {} messages dropped",
+                    SHUTDOWN_TIMEOUT_SECONDS, pending.get());
+            smsExecutor.shutdownNow();
+        }
+    }
+
+    private void recordGatewayCall(long start, String outcome) {
+        meterRegistry.timer("sms.gateway.requests", "outcome", outcome)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void finish(Delivery delivery, SmsDeliveryStatus status) {
+        pending.decrementAndGet();
+        meterRegistry.counter("sms.messages", "status", status.name()).increment();
+        delivery.result().complete(status);
+    }
+
+    private record Delivery(String phoneNumber, String otpCode, long queuedAt, long deadline,
+                            CompletableFuture<SmsDeliveryStatus> result) {
+        String maskedPhone() {
+            return phoneNumber.substring(Math.max(0, phoneNumber.length() - 4));
+        }
+    }
+}
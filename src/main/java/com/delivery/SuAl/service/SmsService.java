@@ -1,5 +1,10 @@
 package com.delivery.SuAl.service;
 
+/**
+ * Calls the SMS gateway on the calling thread. Failures are raised as
+ * {@link com.delivery.SuAl.exception.SmsDeliveryException}, marked retryable when the gateway was unreachable or
+ * answered 5xx or 429. Request-handling code goes through {@link SmsDispatcher} instead.
+ */
 public interface SmsService {
     void sendOtp(String phoneNumber, String otpCode);
 }
@@ -1,14 +1,17 @@
 package com.delivery.SuAl.service;
 
+import com.delivery.SuAl.exception.SmsDeliveryException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -28,7 +31,11 @@ public class SmsServiceImpl implements SmsService {
     @Value("${sms.base-url}")
     private String baseUrl;
 
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final RestTemplate smsRestTemplate;
+
+    public SmsServiceImpl(@Qualifier("smsRestTemplate") RestTemplate smsRestTemplate) {
+        this.smsRestTemplate = smsRestTemplate;
+    }
 
     @Override
     public void sendOtp(String phoneNumber, String otpCode) {
@@ -49,27 +56,32 @@ public class SmsServiceImpl implements SmsService {
                     .build()
                     .toUri();
 
-            HttpRequest request = HttpRequest.newBuilder()
-                    .GET()
-                    .uri(uri)
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            ResponseEntity<String> response = smsRestTemplate.getForEntity(uri, String.class);
 
-            if (response.statusCode() != 200) {
+            if (response.getStatusCode().value() != 200) {
                 log.error("SMS sending failed for phone: {} — status: {}, body: {}",
-                        phoneNumber, response.statusCode(), response.body());
-                throw new RuntimeException("SMS could not be sent. Status: " + response.statusCode());
+                        phoneNumber, response.getStatusCode().value(), response.getBody());
+                throw new SmsDeliveryException(
+                        "SMS could not be sent. Status: " + response.getStatusCode().value(), false);
             }
 
             log.info("OTP SMS sent successfully to phone ending in: {}",
                     phoneNumber.substring(Math.max(0, phoneNumber.length() - 4)));
 
-        } catch (RuntimeException ex) {
+        } catch (RestClientResponseException ex) {
+            int status = ex.getStatusCode().value();
+            log.error("SMS sending failed for phone: {} — status: {}, body: {}",
+                    phoneNumber, status, ex.getResponseBodyAsString());
+            throw new SmsDeliveryException("SMS could not be sent. Status: " + status,
+                    ex.getStatusCode().is5xxServerError() || status == 429, ex);
+        } catch (ResourceAccessException ex) {
+            log.warn("SMS gateway unreachable for phone: {} — {}", phoneNumber, ex.getMessage());
+            throw new SmsDeliveryException("SMS gateway unreachable", true, ex);
+        } catch (SmsDeliveryException ex) {
             throw ex;
         } catch (Exception ex) {
             log.error("Unexpected error while sending SMS to phone: {}", phoneNumber, ex);
-            throw new RuntimeException("SMS sending failed unexpectedly", ex);
+            throw new SmsDeliveryException("SMS sending failed unexpectedly", false, ex);
         }
     }
 
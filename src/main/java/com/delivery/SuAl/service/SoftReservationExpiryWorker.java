@@ -0,0 +1,147 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.entity.JobCheckpoint;
+import com.delivery.SuAl.entity.Order;
+import com.delivery.SuAl.model.enums.NotificationType;
+import com.delivery.SuAl.model.enums.OrderStatus;
+import com.delivery.SuAl.model.enums.PaymentStatus;
+import com.delivery.SuAl.model.enums.ReceiverType;
+import com.delivery.SuAl.model.enums.StockReservationType;
+import com.delivery.SuAl.model.request.notification.NotificationRequest;
+import com.delivery.SuAl.repository.JobCheckpointRepository;
+import com.delivery.SuAl.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Releases expired soft stock reservations of PENDING orders, one bounded batch per transaction.
+ * <p>
+ * An ordinary unpaid order is cancelled along with its hold, and its customer is notified. Package deliveries and
+ * paid orders only lose the hold and stay PENDING: cancelling them needs a refund and an update of the parent package,
+ * which only the rejection paths in {@link OrderServiceImpl} and {@link CustomerPackageOrderServiceImpl} perform.
+ * Their stock is reserved again when they are approved. Package deliveries are held by {@link PackageDeliveryHolds}
+ * until the end of their delivery day.
+ * <p>
+ * Orders are visited in (expiresAt, id) order and the position of the last processed order is stored in
+ * {@code job_checkpoints}, so a restart continues from there instead of rescanning.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SoftReservationExpiryWorker {
+    static final String JOB_NAME = "soft-reservation-expiry";
+    static final String EXPIRY_REASON = "Stock reservation expired";
+
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final OrderRepository orderRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final InventoryService inventoryService;
+    private final ContainerManagementService containerManagementService;
+    private final PromoService promoService;
+    private final CampaignService campaignService;
+    private final OrderStatisticsRecorder orderStatisticsRecorder;
+    private final OrderStatusTransitions orderStatusTransitions;
+    private final NotificationService notificationService;
+
+    @Value("${reservations.expiry.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * Expires the next batch of orders and returns how many were processed.
+     */
+    @Transactional
+    public int expireNextBatch(LocalDateTime now) {
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(JOB_NAME)
+                .orElseGet(() -> new JobCheckpoint(JOB_NAME));
+
+        LocalDateTime afterExpiresAt = checkpoint.getLastTimestamp() != null ? checkpoint.getLastTimestamp() : START;
+        Long afterId = checkpoint.getLastId() != null ? checkpoint.getLastId() : 0L;
+
+        List<Order> expired = orderRepository.findExpiredStockReservationsAfter(
+                StockReservationType.SOFT,
+                OrderStatus.PENDING,
+                now,
+                afterExpiresAt,
+                afterId,
+                PageRequest.of(0, batchSize)
+        );
+
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        Map<Boolean, List<Order>> byCancellable = expired.stream()
+                .collect(Collectors.partitioningBy(SoftReservationExpiryWorker::isCancellable));
+        List<Order> cancelled = byCancellable.get(true);
+        List<Order> released = byCancellable.get(false);
+
+        if (!cancelled.isEmpty()) {
+            List<Long> orderIds = cancelled.stream().map(Order::getId).toList();
+
+            inventoryService.releaseSoftReservations(orderIds);
+            containerManagementService.releaseContainerReservations(orderIds);
+            promoService.releasePromoUsagesByOrders(orderIds);
+            campaignService.releaseCampaignUsagesByOrders(orderIds);
+
+            orderRepository.expireStockReservations(
+                    orderIds,
+                    OrderStatus.CANCELLED,
+                    StockReservationType.NONE,
+                    EXPIRY_REASON,
+                    LocalDateTime.now(ZoneOffset.UTC)
+            );
+
+            orderStatisticsRecorder.recordTransitions(cancelled, OrderStatus.PENDING, OrderStatus.CANCELLED);
+            orderStatusTransitions.changed(cancelled, OrderStatus.PENDING, OrderStatus.CANCELLED);
+
+            notificationService.publishAll(cancelled.stream()
+                    .map(order -> NotificationRequest.builder()
+                            .receiverType(ReceiverType.CUSTOMER)
+                            .receiverId(order.getCustomer().getId())
+                            .notificationType(NotificationType.ORDER)
+                            .title("Sifariş Ləğv Edildi")
+                            .message("Sifarişiniz #" + order.getOrderNumber() +
+                                    " vaxtında təsdiqlənmədiyi üçün ləğv edildi")
+                            .referenceId(order.getId())
+                            .build())
+                    .toList());
+        }
+
+        if (!released.isEmpty()) {
+            List<Long> orderIds = released.stream().map(Order::getId).toList();
+
+            inventoryService.releaseSoftReservations(orderIds);
+            orderRepository.clearStockReservations(
+                    orderIds, StockReservationType.NONE, LocalDateTime.now(ZoneOffset.UTC));
+        }
+
+        Order last = expired.getLast();
+        checkpoint.setLastTimestamp(last.getStockReservationExpiresAt());
+        checkpoint.setLastId(last.getId());
+        jobCheckpointRepository.save(checkpoint);
+
+        log.info("Expired soft stock reservations of {} orders, {} of them cancelled (up to order {} expiring at {})",
+                expired.size(), cancelled.size(), last.getId(), last.getStockReservationExpiresAt());
+
+        return expired.size();
+    }
+
+    private static boolean isCancellable(Order order) {
+        return !order.isPackageOrder() && order.getPaymentStatus() != PaymentStatus.SUCCESS;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
@@ -0,0 +1,60 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.repository.DeliveryDailyStatRepository;
+import com.delivery.SuAl.repository.OrderDailyStatRepository;
+import com.delivery.SuAl.repository.ProductDailyStatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Rebuilds the daily statistics rollups from the orders table. Runs once on startup when the rollups are empty
+ * (first deployment) and on demand from the admin API after a data correction.
+ * <p>
+ * The rollup tables are locked for the duration of the rebuild, so order transitions committing in the meantime wait
+ * and apply their deltas on top of the rebuilt rows instead of being lost.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class StatisticsBackfillService {
+    private final OrderDailyStatRepository orderDailyStatRepository;
+    private final DeliveryDailyStatRepository deliveryDailyStatRepository;
+    private final ProductDailyStatRepository productDailyStatRepository;
+    private final OrderStatisticsRecorder orderStatisticsRecorder;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (orderDailyStatRepository.count() > 0) {
+            return;
+        }
+        log.info("Statistics rollups are empty, backfilling from order history");
+        rebuildRollups();
+    }
+
+    @Transactional
+    public void rebuild() {
+        rebuildRollups();
+    }
+
+    private void rebuildRollups() {
+        long start = System.currentTimeMillis();
+        String zone = orderStatisticsRecorder.getZone().getId();
+
+        orderDailyStatRepository.lockRollups();
+        orderDailyStatRepository.deleteAllRows();
+        deliveryDailyStatRepository.deleteAllRows();
+        productDailyStatRepository.deleteAllRows();
+
+        int orderRows = orderDailyStatRepository.rebuildFromOrders(zone);
+        int deliveryRows = deliveryDailyStatRepository.rebuildFromOrders(zone);
+        int productRows = productDailyStatRepository.rebuildFromOrders(zone);
+
+        log.info("Statistics rollups rebuilt in {} ms: {} order rows, {} delivery rows, {} product rows",
+                System.currentTimeMillis() - start, orderRows, deliveryRows, productRows);
+    }
+}
@@ -0,0 +1,25 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.model.response.statisticsAnddashborad.DashboardStatsResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.DriverStatsResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.InventoryStatsResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.OrderStatsResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.RevenueReportResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.TopProductResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface StatisticsService {
+    DashboardStatsResponse getDashboardStats();
+
+    RevenueReportResponse getRevenueReport(LocalDate startDate, LocalDate endDate);
+
+    DriverStatsResponse getDriverStats(Long driverId);
+
+    InventoryStatsResponse getInventoryStats();
+
+    OrderStatsResponse getOrderStats();
+
+    List<TopProductResponse> getTopProducts(LocalDate startDate, LocalDate endDate, int limit);
+}
@@ -0,0 +1,294 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.entity.Driver;
+import com.delivery.SuAl.entity.Product;
+import com.delivery.SuAl.exception.InvalidRequestException;
+import com.delivery.SuAl.exception.NotFoundException;
+import com.delivery.SuAl.helper.CatalogPrice;
+import com.delivery.SuAl.model.enums.CampaignStatus;
+import com.delivery.SuAl.model.enums.DriverStatus;
+import com.delivery.SuAl.model.enums.OrderStatus;
+import com.delivery.SuAl.model.enums.PromoStatus;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.DailyRevenueResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.DashboardStatsResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.DriverStatsResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.InventoryStatsResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.OrderStatsResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.RevenueReportResponse;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.TopProductResponse;
+import com.delivery.SuAl.repository.CampaignRepository;
+import com.delivery.SuAl.repository.DeliveryDailyStatRepository;
+import com.delivery.SuAl.repository.DriverRepository;
+import com.delivery.SuAl.repository.OrderDailyStatRepository;
+import com.delivery.SuAl.repository.OrderRepository;
+import com.delivery.SuAl.repository.ProductDailyStatRepository;
+import com.delivery.SuAl.repository.ProductRepository;
+import com.delivery.SuAl.repository.PromoRepository;
+import com.delivery.SuAl.repository.WarehouseStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the dashboard and report DTOs from the daily rollup tables maintained by {@link OrderStatisticsRecorder},
+ * so the cost of a request depends on the number of days asked for rather than on the number of orders.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StatisticsServiceImpl implements StatisticsService {
+    private static final int TOP_PRODUCTS_DAYS = 30;
+    private static final int TOP_PRODUCTS_LIMIT = 10;
+
+    private final OrderDailyStatRepository orderDailyStatRepository;
+    private final DeliveryDailyStatRepository deliveryDailyStatRepository;
+    private final ProductDailyStatRepository productDailyStatRepository;
+    private final OrderRepository orderRepository;
+    private final DriverRepository driverRepository;
+    private final ProductRepository productRepository;
+    private final PromoRepository promoRepository;
+    private final CampaignRepository campaignRepository;
+    private final WarehouseStockRepository warehouseStockRepository;
+    private final ProductPriceCatalog productPriceCatalog;
+    private final OrderStatisticsRecorder orderStatisticsRecorder;
+
+    @Override
+    public DashboardStatsResponse getDashboardStats() {
+        LocalDate today = orderStatisticsRecorder.today();
+        Map<OrderStatus, StatusTotals> statusTotals = sumByStatus();
+        Map<LocalDate, DayTotals> monthDeliveries = sumDeliveriesByDate(today.withDayOfMonth(1), today);
+        DayTotals todayDeliveries = monthDeliveries.getOrDefault(today, DayTotals.EMPTY);
+        Object[] stock = warehouseStockRepository.summarizeStock().getFirst();
+
+        return DashboardStatsResponse.builder()
+                .totalOrdersToday(orderDailyStatRepository.countOnDate(today))
+                .pendingOrders(statusTotals.getOrDefault(OrderStatus.PENDING, StatusTotals.EMPTY).count())
+                .assignedOrders(orderRepository.countByOrderStatusAndDriverIsNotNull(OrderStatus.APPROVED))
+                .deliveredOrdersToday(todayDeliveries.deliveries())
+                .todayRevenue(todayDeliveries.revenue())
+                .monthRevenue(monthDeliveries.values().stream()
+                        .map(DayTotals::revenue)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .lowStockProducts(((Number) stock[4]).longValue())
+                .outOfStockProducts(((Number) stock[5]).longValue())
+                .availableDrivers(driverRepository.countByDriverStatus(DriverStatus.ACTIVE))
+                .activePromos(promoRepository.countByPromoStatus(PromoStatus.ACTIVE))
+                .activeCampaigns(campaignRepository.countByCampaignStatus(CampaignStatus.ACTIVE))
+                .build();
+    }
+
+    @Override
+    public RevenueReportResponse getRevenueReport(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+
+        Map<LocalDate, DayTotals> deliveries = sumDeliveriesByDate(startDate, endDate);
+        long totalOrders = orderDailyStatRepository.countGroupedByDate(startDate, endDate).stream()
+                .mapToLong(row -> ((Number) row[1]).longValue())
+                .sum();
+
+        List<DailyRevenueResponse> dailyBreakdown = new ArrayList<>();
+        long completedOrders = 0;
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        BigDecimal totalCost = BigDecimal.ZERO;
+        for (Map.Entry<LocalDate, DayTotals> entry : deliveries.entrySet()) {
+            DayTotals day = entry.getValue();
+            completedOrders += day.deliveries();
+            totalRevenue = totalRevenue.add(day.revenue());
+            totalCost = totalCost.add(day.cost());
+            dailyBreakdown.add(DailyRevenueResponse.builder()
+                    .date(entry.getKey())
+                    .orderCount(day.deliveries())
+                    .revenue(day.revenue())
+                    .profit(day.revenue().subtract(day.cost()))
+                    .build());
+        }
+
+        BigDecimal totalProfit = totalRevenue.subtract(totalCost);
+        return RevenueReportResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .totalOrders(totalOrders)
+                .completedOrders(completedOrders)
+                .totalRevenue(totalRevenue)
+                .averageOrderValue(average(totalRevenue, completedOrders))
+                .totalCost(totalCost)
+                .totalProfit(totalProfit)
+                .profitMargin(percentage(totalProfit, totalRevenue))
+                .dailyBreakdown(dailyBreakdown)
+                .build();
+    }
+
+    @Override
+    public DriverStatsResponse getDriverStats(Long driverId) {
+        Driver driver = driverRepository.findById(driverId)
+                .orElseThrow(() -> new NotFoundException("Driver not found with id: " + driverId));
+
+        LocalDate today = orderStatisticsRecorder.today();
+        Object[] row = deliveryDailyStatRepository.summarizeDriver(
+                driverId, today, today.with(DayOfWeek.MONDAY), today.withDayOfMonth(1)).getFirst();
+
+        long totalDeliveries = ((Number) row[0]).longValue();
+        BigDecimal totalRevenue = (BigDecimal) row[4];
+        long onTimeDeliveries = ((Number) row[5]).longValue();
+        LocalDateTime lastDeliveryAt = (LocalDateTime) row[6];
+
+        return DriverStatsResponse.builder()
+                .driverId(driver.getId())
+                .driverName(driver.getFirstName() + " " + driver.getLastName())
+                .totalDeliveries(totalDeliveries)
+                .deliveriesToday(((Number) row[1]).longValue())
+                .deliveriesThisWeek(((Number) row[2]).longValue())
+                .deliveriesThisMonth(((Number) row[3]).longValue())
+                .totalRevenue(totalRevenue)
+                .averageDeliveryValue(average(totalRevenue, totalDeliveries))
+                .onTimeDeliveryRate(totalDeliveries == 0 ? 0.0 : onTimeDeliveries * 100.0 / totalDeliveries)
+                .lastDeliveryDate(lastDeliveryAt != null ? toLocalTime(lastDeliveryAt) : null)
+                .build();
+    }
+
+    @Override
+    public InventoryStatsResponse getInventoryStats() {
+        Object[] stock = warehouseStockRepository.summarizeStock().getFirst();
+
+        Map<Long, Long> fullCountByProduct = new HashMap<>();
+        for (Object[] row : warehouseStockRepository.findFullCounts()) {
+            fullCountByProduct.merge((Long) row[1], ((Number) row[2]).longValue(), Long::sum);
+        }
+        Map<Long, CatalogPrice> prices = productPriceCatalog.findActivePrices(fullCountByProduct.keySet());
+        BigDecimal inventoryValue = BigDecimal.ZERO;
+        for (Map.Entry<Long, Long> entry : fullCountByProduct.entrySet()) {
+            CatalogPrice price = prices.get(entry.getKey());
+            if (price != null && price.getEffectivePrice() != null) {
+                inventoryValue = inventoryValue.add(
+                        price.getEffectivePrice().multiply(BigDecimal.valueOf(entry.getValue())));
+            }
+        }
+
+        LocalDate today = orderStatisticsRecorder.today();
+        return InventoryStatsResponse.builder()
+                .totalProducts(((Number) stock[0]).intValue())
+                .totalFullBottles(((Number) stock[1]).intValue())
+                .totalEmptyBottles(((Number) stock[2]).intValue())
+                .totalDamagedBottles(((Number) stock[3]).intValue())
+                .lowStockProducts(((Number) stock[4]).intValue())
+                .outOfStockProducts(((Number) stock[5]).intValue())
+                .totalInventoryValue(inventoryValue)
+                .topProducts(getTopProducts(today.minusDays(TOP_PRODUCTS_DAYS - 1), today, TOP_PRODUCTS_LIMIT))
+                .build();
+    }
+
+    @Override
+    public OrderStatsResponse getOrderStats() {
+        Map<OrderStatus, StatusTotals> statusTotals = sumByStatus();
+        long totalOrders = statusTotals.values().stream().mapToLong(StatusTotals::count).sum();
+        long cancelledOrders = statusTotals.getOrDefault(OrderStatus.CANCELLED, StatusTotals.EMPTY).count()
+                + statusTotals.getOrDefault(OrderStatus.REJECTED, StatusTotals.EMPTY).count();
+        StatusTotals completed = statusTotals.getOrDefault(OrderStatus.COMPLETED, StatusTotals.EMPTY);
+
+        Object[] deliveries = deliveryDailyStatRepository.sumAll().getFirst();
+        Object[] range = orderRepository.findCreatedAtRange().getFirst();
+
+        return OrderStatsResponse.builder()
+                .totalOrders(totalOrders)
+                .pendingOrders(statusTotals.getOrDefault(OrderStatus.PENDING, StatusTotals.EMPTY).count())
+                .completedOrders(completed.count())
+                .cancelledOrders(cancelledOrders)
+                .totalSpent(completed.amount())
+                .averageOrderValue(average(completed.amount(), completed.count()))
+                .totalBottlesOrdered(((Number) deliveries[2]).intValue())
+                .totalBottlesReturned(((Number) deliveries[3]).intValue())
+                .firstOrderDate(range[0] != null ? toLocalTime((LocalDateTime) range[0]) : null)
+                .lastOrderDate(range[1] != null ? toLocalTime((LocalDateTime) range[1]) : null)
+                .build();
+    }
+
+    @Override
+    public List<TopProductResponse> getTopProducts(LocalDate startDate, LocalDate endDate, int limit) {
+        validateRange(startDate, endDate);
+
+        List<Object[]> rows = productDailyStatRepository.findTopProducts(startDate, endDate, PageRequest.of(0, limit));
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> productIds = rows.stream().map(row -> (Long) row[0]).toList();
+        Map<Long, String> names = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Product::getName));
+
+        return rows.stream()
+                .map(row -> TopProductResponse.builder()
+                        .productId((Long) row[0])
+                        .productName(names.get((Long) row[0]))
+                        .quantitySold(((Number) row[1]).intValue())
+                        .revenue((BigDecimal) row[2])
+                        .build())
+                .toList();
+    }
+
+    private Map<OrderStatus, StatusTotals> sumByStatus() {
+        Map<OrderStatus, StatusTotals> totals = new EnumMap<>(OrderStatus.class);
+        for (Object[] row : orderDailyStatRepository.sumGroupedByStatus()) {
+            totals.put((OrderStatus) row[0],
+                    new StatusTotals(((Number) row[1]).longValue(), (BigDecimal) row[2]));
+        }
+        return totals;
+    }
+
+    private Map<LocalDate, DayTotals> sumDeliveriesByDate(LocalDate from, LocalDate to) {
+        return deliveryDailyStatRepository.sumGroupedByDate(from, to).stream()
+                .collect(Collectors.toMap(
+                        row -> (LocalDate) row[0],
+                        row -> new DayTotals(((Number) row[1]).longValue(), (BigDecimal) row[2], (BigDecimal) row[3]),
+                        (first, second) -> first,
+                        TreeMap::new));
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidRequestException("Start date must not be after end date");
+        }
+    }
+
+    private LocalDateTime toLocalTime(LocalDateTime utcTime) {
+        return utcTime.atZone(ZoneOffset.UTC)
+                .withZoneSameInstant(orderStatisticsRecorder.getZone())
+                .toLocalDateTime();
+    }
+
+    private static BigDecimal average(BigDecimal total, long count) {
+        return count == 0
+                ? BigDecimal.ZERO
+                : total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal percentage(BigDecimal part, BigDecimal total) {
+        return total.signum() == 0
+                ? BigDecimal.ZERO
+                : part.multiply(BigDecimal.valueOf(100)).divide(total, 2, RoundingMode.HALF_UP);
+    }
+
+    private record StatusTotals(long count, BigDecimal amount) {
+        static final StatusTotals EMPTY = new StatusTotals(0, BigDecimal.ZERO);
+    }
+
+    private record DayTotals(long deliveries, BigDecimal revenue, BigDecimal cost) {
+        static final DayTotals EMPTY = new DayTotals(0, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+}
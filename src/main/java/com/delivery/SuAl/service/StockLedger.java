@@ -0,0 +1,183 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.helper.AfterCommit;
+import com.delivery.SuAl.helper.StockKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory estimate of the available stock per (warehouse, product), used to pick the stock row a reservation is
+ * taken from and to turn away requests that cannot be covered without going to the database.
+ * <p>
+ * Each stock row has its own counter, and a take is a compare-and-set decrement that fails instead of going below
+ * zero. Counters only see this instance's reservations, so they are reset from {@code warehouse_stocks} by
+ * {@link StockLedgerReconciler} and whenever {@link InventoryService} finds them stale. They never decide on their own:
+ * every take is confirmed by a conditional update of the stock row's {@code reserved_count}.
+ * <p>
+ * Decrements made inside a transaction are undone if it rolls back, and releases are applied only after commit.
+ */
+@Component
+@Slf4j
+public class StockLedger {
+    private final Map<StockKey, AtomicInteger> available = new ConcurrentHashMap<>();
+    private final Map<Long, List<StockKey>> keysByProduct = new ConcurrentHashMap<>();
+    private volatile boolean initialized;
+
+    private final Counter rejectedReservations;
+
+    public StockLedger(MeterRegistry meterRegistry) {
+        this.rejectedReservations = meterRegistry.counter("stock.ledger.rejections");
+        meterRegistry.gauge("stock.ledger.keys", available, Map::size);
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Takes the requested quantities all-or-nothing. Returns the shortfalls (product id to available quantity)
+     * if any product cannot be covered, in which case nothing is taken.
+     */
+    public Map<Long, Integer> tryAcquire(Map<Long, Integer> productQuantities, Map<StockKey, Integer> allocations) {
+        Map<StockKey, Integer> taken = new LinkedHashMap<>();
+        Map<Long, Integer> shortfalls = new LinkedHashMap<>();
+
+        List<Long> productIds = new ArrayList<>(productQuantities.keySet());
+        productIds.sort(Comparator.naturalOrder());
+
+        for (Long productId : productIds) {
+            int quantity = productQuantities.get(productId);
+            if (quantity <= 0) {
+                continue;
+            }
+            StockKey key = decrementFirstFit(productId, quantity);
+            if (key == null) {
+                shortfalls.put(productId, 0);
+                continue;
+            }
+            taken.merge(key, quantity, Integer::sum);
+        }
+
+        if (!shortfalls.isEmpty()) {
+            taken.forEach(this::increment);
+            shortfalls.replaceAll((productId, ignored) -> availableFor(productId));
+            rejectedReservations.increment();
+            return shortfalls;
+        }
+
+        taken.forEach((key, quantity) -> allocations.merge(key, quantity, Integer::sum));
+        restoreOnRollback(taken);
+        return Map.of();
+    }
+
+    /**
+     * Gives back quantities taken by {@link #tryAcquire} that the caller could not use, without waiting for the end
+     * of the transaction. Cancels the give-back {@link #tryAcquire} registered for a rollback.
+     */
+    public void cancel(Map<StockKey, Integer> taken) {
+        if (taken.isEmpty()) {
+            return;
+        }
+        taken.forEach(this::increment);
+        Map<StockKey, Integer> copy = Map.copyOf(taken);
+        AfterCommit.onRollback(() -> copy.forEach((key, quantity) -> increment(key, -quantity)));
+    }
+
+    public void releaseAfterCommit(Map<StockKey, Integer> allocations) {
+        if (allocations.isEmpty()) {
+            return;
+        }
+        Map<StockKey, Integer> copy = Map.copyOf(allocations);
+        AfterCommit.run(() -> copy.forEach(this::increment));
+    }
+
+    public int availableFor(Long productId) {
+        return keysByProduct.getOrDefault(productId, List.of()).stream()
+                .map(available::get)
+                .mapToInt(counter -> counter != null ? counter.get() : 0)
+                .sum();
+    }
+
+    public StockKey primaryKey(Long productId) {
+        List<StockKey> keys = keysByProduct.get(productId);
+        return keys == null || keys.isEmpty() ? null : keys.getFirst();
+    }
+
+    public boolean isTracked(Long productId) {
+        return keysByProduct.containsKey(productId);
+    }
+
+    void install(Map<StockKey, Integer> availability) {
+        available.clear();
+        keysByProduct.clear();
+        availability.forEach(this::register);
+        initialized = true;
+        log.info("Stock ledger initialized with {} stock rows", availability.size());
+    }
+
+    /**
+     * Resets the counters of the given stock rows to their availability in the database.
+     */
+    void sync(Map<StockKey, Integer> availability) {
+        availability.forEach(this::register);
+    }
+
+    private void register(StockKey key, int quantity) {
+        AtomicInteger existing = available.putIfAbsent(key, new AtomicInteger(quantity));
+        if (existing != null) {
+            existing.set(quantity);
+            return;
+        }
+        List<StockKey> keys = keysByProduct.computeIfAbsent(key.getProductId(), id -> new CopyOnWriteArrayList<>());
+        keys.add(key);
+        keys.sort(Comparator.comparing(StockKey::getWarehouseId));
+    }
+
+    private StockKey decrementFirstFit(Long productId, int quantity) {
+        for (StockKey key : keysByProduct.getOrDefault(productId, List.of())) {
+            AtomicInteger counter = available.get(key);
+            if (counter != null && tryDecrement(counter, quantity)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private boolean tryDecrement(AtomicInteger counter, int quantity) {
+        while (true) {
+            int current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    private void increment(StockKey key, int quantity) {
+        AtomicInteger counter = available.get(key);
+        if (counter == null) {
+            log.warn("Stock ledger has no counter for warehouse {} product {}", key.getWarehouseId(), key.getProductId());
+            return;
+        }
+        counter.addAndGet(quantity);
+    }
+
+    private void restoreOnRollback(Map<StockKey, Integer> taken) {
+        if (!taken.isEmpty()) {
+            AfterCommit.onRollback(() -> taken.forEach(this::increment));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.entity.StockReservation;
+import com.delivery.SuAl.entity.WarehouseStock;
+import com.delivery.SuAl.helper.AfterCommit;
+import com.delivery.SuAl.helper.StockKey;
+import com.delivery.SuAl.model.enums.StockReservationType;
+import com.delivery.SuAl.repository.StockReservationRepository;
+import com.delivery.SuAl.repository.WarehouseStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Folds committed HARD ledger entries into {@link WarehouseStock#getFullCount()} and resets the {@link StockLedger}
+ * counters to the availability of the stock rows, {@code full_count - reserved_count}.
+ * <p>
+ * Folding takes an entry out of both the full and the reserved count, so availability does not change and
+ * reservations running alongside are not affected. Folds of several instances are serialized by the
+ * {@value #RECONCILE_LOCK_KEY} advisory lock and claim entries with {@code FOR UPDATE SKIP LOCKED}; an instance that
+ * does not get the lock skips the fold but still resets its counters, which also picks up the reservations of the
+ * other instances and stock changes made outside the ledger (purchases, transfers, new stock rows).
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class StockLedgerReconciler {
+    static final long RECONCILE_LOCK_KEY = 0x53746f636bL;
+
+    private final WarehouseStockRepository warehouseStockRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final StockLedger stockLedger;
+
+    @Value("${inventory.ledger.reconcile-batch-size:5000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void initialize() {
+        if (stockLedger.isInitialized()) {
+            return;
+        }
+        stockLedger.install(toAvailability(warehouseStockRepository.findAvailability()));
+    }
+
+    /**
+     * Resets the counters of the products' stock rows from the database, for callers that found them stale.
+     */
+    public void sync(Collection<Long> productIds) {
+        if (!productIds.isEmpty()) {
+            stockLedger.sync(toAvailability(warehouseStockRepository.findAvailabilityByProductIds(productIds)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.reconcile-interval:PT30S}",
+            initialDelayString = "${inventory.ledger.reconcile-interval:PT30S}")
+    @Transactional
+    public synchronized void reconcile() {
+        if (!stockLedger.isInitialized()) {
+            initialize();
+            return;
+        }
+
+        if (stockReservationRepository.tryAdvisoryXactLock(RECONCILE_LOCK_KEY)) {
+            fold();
+        } else {
+            log.debug("Stock ledger fold skipped: another instance is reconciling");
+        }
+
+        Map<StockKey, Integer> availability = toAvailability(warehouseStockRepository.findAvailability());
+        AfterCommit.run(() -> stockLedger.sync(availability));
+    }
+
+    private void fold() {
+        List<StockReservation> pending = stockReservationRepository.claimUnreconciled(
+                StockReservationType.HARD.name(), batchSize);
+
+        Map<StockKey, Integer> consumed = new TreeMap<>(StockKey.LOCK_ORDER);
+        for (StockReservation reservation : pending) {
+            consumed.merge(new StockKey(reservation.getWarehouseId(), reservation.getProductId()),
+                    reservation.getQuantity(), Integer::sum);
+        }
+        consumed.forEach((key, quantity) -> {
+            if (quantity != 0) {
+                warehouseStockRepository.consumeReserved(key.getWarehouseId(), key.getProductId(), quantity);
+            }
+        });
+
+        if (!pending.isEmpty()) {
+            stockReservationRepository.markReconciled(pending.stream().map(StockReservation::getId).toList());
+        }
+        int closedHolds = stockReservationRepository.markClosedHoldsReconciled(StockReservationType.SOFT);
+
+        if (!pending.isEmpty() || closedHolds > 0) {
+            log.info("Stock ledger reconciled: {} hard entries over {} stock rows, {} closed holds",
+                    pending.size(), consumed.size(), closedHolds);
+        }
+    }
+
+    private static Map<StockKey, Integer> toAvailability(List<Object[]> rows) {
+        Map<StockKey, Integer> availability = new HashMap<>();
+        for (Object[] row : rows) {
+            availability.put(new StockKey(((Number) row[0]).longValue(), ((Number) row[1]).longValue()),
+                    ((Number) row[2]).intValue());
+        }
+        return availability;
+    }
+}
@@ -89,6 +89,7 @@ public class WarehouseTransferServiceImpl implements WarehouseTransferService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public WarehouseTransferResponse getTransferById(Long id) {
         log.info("Getting warehouse transfer ID: {}", id);
         WarehouseTransfer transfer = transferRepository.findByIdWithItems(id)
@@ -273,6 +274,7 @@ public class WarehouseTransferServiceImpl implements WarehouseTransferService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<WarehouseTransferResponse> getAllTransfers(Pageable pageable) {
         log.info("Getting all transfers, page: {}", pageable);
         Page<WarehouseTransfer> page = transferRepository.findAll(pageable);
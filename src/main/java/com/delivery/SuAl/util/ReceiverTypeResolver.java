@@ -12,7 +12,7 @@ public class ReceiverTypeResolver {
             case CUSTOMER -> ReceiverType.CUSTOMER;
             case OPERATOR -> ReceiverType.OPERATOR;
             case ADMIN -> ReceiverType.ADMIN;
-            default -> throw new IllegalArgumentException("Invalid role");
+            case DRIVER -> ReceiverType.DRIVER;
         };
     }
 }
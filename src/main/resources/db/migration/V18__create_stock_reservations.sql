@@ -0,0 +1,22 @@
+CREATE TABLE stock_reservations
+(
+    id               BIGSERIAL   PRIMARY KEY,
+    warehouse_id     BIGINT      NOT NULL,
+    product_id       BIGINT      NOT NULL,
+    order_id         BIGINT,
+    reservation_type VARCHAR(20) NOT NULL,
+    quantity         INTEGER     NOT NULL CHECK (quantity <> 0),
+    reconciled       BOOLEAN     NOT NULL DEFAULT FALSE,
+    expires_at       TIMESTAMP,
+    created_at       TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_stock_reservation_warehouse
+        FOREIGN KEY (warehouse_id)
+            REFERENCES warehouses (id),
+    CONSTRAINT fk_stock_reservation_product
+        FOREIGN KEY (product_id)
+            REFERENCES products (id)
+);
+
+CREATE INDEX idx_stock_reservations_pending
+    ON stock_reservations (reservation_type, id) WHERE reconciled = FALSE;
+CREATE INDEX idx_stock_reservations_order ON stock_reservations (order_id);
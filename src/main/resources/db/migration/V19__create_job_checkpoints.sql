@@ -0,0 +1,11 @@
+CREATE TABLE job_checkpoints
+(
+    job_name       VARCHAR(100) PRIMARY KEY,
+    last_timestamp TIMESTAMP,
+    last_id        BIGINT,
+    updated_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_orders_soft_reservation_expiry
+    ON orders (stock_reservation_expires_at, id)
+    WHERE stock_reservation_type = 'SOFT' AND order_status = 'PENDING';
@@ -0,0 +1,5 @@
+-- Keyset listing of orders: pending queue by id, customer history by id, company scope via order details.
+CREATE INDEX IF NOT EXISTS idx_orders_status_id ON orders (order_status, id);
+CREATE INDEX IF NOT EXISTS idx_orders_customer_id_id ON orders (customer_id, id);
+CREATE INDEX IF NOT EXISTS idx_order_details_order_product ON order_details (order_id, product_id);
+CREATE INDEX IF NOT EXISTS idx_products_company ON products (company_id);
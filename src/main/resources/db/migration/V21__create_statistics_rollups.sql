@@ -0,0 +1,39 @@
+-- Daily rollups maintained on order state transitions and rebuilt by the statistics backfill.
+CREATE TABLE order_daily_stats
+(
+    id           BIGSERIAL PRIMARY KEY,
+    stat_date    DATE           NOT NULL,
+    order_status VARCHAR(20)    NOT NULL,
+    order_count  BIGINT         NOT NULL DEFAULT 0,
+    total_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    CONSTRAINT uq_order_daily_stats UNIQUE (stat_date, order_status)
+);
+
+CREATE TABLE delivery_daily_stats
+(
+    id                BIGSERIAL PRIMARY KEY,
+    stat_date         DATE           NOT NULL,
+    driver_id         BIGINT         NOT NULL,
+    delivery_count    BIGINT         NOT NULL DEFAULT 0,
+    on_time_count     BIGINT         NOT NULL DEFAULT 0,
+    revenue           NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    cost              NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    bottles_delivered BIGINT         NOT NULL DEFAULT 0,
+    bottles_collected BIGINT         NOT NULL DEFAULT 0,
+    last_delivery_at  TIMESTAMP,
+    CONSTRAINT uq_delivery_daily_stats UNIQUE (stat_date, driver_id)
+);
+
+CREATE INDEX idx_delivery_daily_stats_driver ON delivery_daily_stats (driver_id, stat_date);
+
+CREATE TABLE product_daily_stats
+(
+    id            BIGSERIAL PRIMARY KEY,
+    stat_date     DATE           NOT NULL,
+    product_id    BIGINT         NOT NULL,
+    quantity_sold BIGINT         NOT NULL DEFAULT 0,
+    revenue       NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    CONSTRAINT uq_product_daily_stats UNIQUE (stat_date, product_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_orders_created_at ON orders (created_at);
@@ -0,0 +1,21 @@
+-- Transactional outbox for push notifications, written together with the notification and drained by the relay.
+CREATE TABLE push_outbox
+(
+    id              BIGSERIAL PRIMARY KEY,
+    notification_id BIGINT      NOT NULL,
+    status          VARCHAR(20) NOT NULL,
+    attempts        INTEGER     NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP   NOT NULL,
+    fcm_tokens      TEXT,
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP   NOT NULL,
+    updated_at      TIMESTAMP   NOT NULL,
+    CONSTRAINT uq_push_outbox_notification UNIQUE (notification_id)
+);
+
+CREATE INDEX idx_push_outbox_due
+    ON push_outbox (next_attempt_at, id)
+    WHERE status = 'PENDING';
+
+CREATE INDEX idx_push_outbox_status_updated
+    ON push_outbox (status, updated_at);
@@ -0,0 +1,22 @@
+-- Inbox read model: keyset listing per receiver and a maintained unread counter for the badge.
+CREATE INDEX IF NOT EXISTS idx_notification_receiver_id ON notifications (receiver_type, receiver_id, id);
+CREATE INDEX IF NOT EXISTS idx_notification_receiver_unread ON notifications (receiver_type, receiver_id, id)
+    WHERE is_read = FALSE;
+DROP INDEX IF EXISTS idx_notification_receiver;
+DROP INDEX IF EXISTS idx_notification_read;
+
+CREATE TABLE notification_unread_counters
+(
+    id            BIGSERIAL PRIMARY KEY,
+    receiver_type VARCHAR(50) NOT NULL,
+    receiver_id   BIGINT      NOT NULL,
+    unread_count  BIGINT      NOT NULL DEFAULT 0,
+    CONSTRAINT uq_notification_unread_counters UNIQUE (receiver_type, receiver_id)
+);
+
+INSERT INTO notification_unread_counters (receiver_type, receiver_id, unread_count)
+SELECT receiver_type, receiver_id, COUNT(*)
+FROM notifications
+WHERE is_read = FALSE
+  AND receiver_id IS NOT NULL
+GROUP BY receiver_type, receiver_id;
@@ -0,0 +1,19 @@
+-- Cold storage for read notifications past the retention age, filled in batches by the notification archiver.
+CREATE TABLE notifications_archive
+(
+    id                BIGINT PRIMARY KEY,
+    receiver_type     VARCHAR(50)  NOT NULL,
+    receiver_id       BIGINT,
+    notification_type VARCHAR(50)  NOT NULL,
+    title             VARCHAR(255) NOT NULL,
+    message           TEXT         NOT NULL,
+    reference_id      BIGINT,
+    push_sent         BOOLEAN      NOT NULL,
+    created_at        TIMESTAMP    NOT NULL,
+    archived_at       TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX idx_notifications_archive_receiver ON notifications_archive (receiver_type, receiver_id, id);
+
+-- Archival candidates: read rows by age. Unread rows are covered by idx_notification_receiver_unread (V23).
+CREATE INDEX IF NOT EXISTS idx_notification_read_created ON notifications (created_at, id) WHERE is_read = TRUE;
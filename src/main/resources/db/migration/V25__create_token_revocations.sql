@@ -0,0 +1,21 @@
+-- Per-user watermark: every token of the user issued at or before revoked_before is rejected.
+CREATE TABLE user_token_revocations
+(
+    user_id        BIGINT PRIMARY KEY,
+    revoked_before TIMESTAMP NOT NULL,
+    updated_at     TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_user_token_revocations_updated ON user_token_revocations (updated_at);
+
+-- Single revoked tokens by JWT id, kept until the token would have expired anyway.
+CREATE TABLE revoked_tokens
+(
+    jti        VARCHAR(64) PRIMARY KEY,
+    user_id    BIGINT,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires ON revoked_tokens (expires_at);
+CREATE INDEX idx_revoked_tokens_revoked ON revoked_tokens (revoked_at);
@@ -0,0 +1,11 @@
+-- Append-only unread count changes, folded into notification_unread_counters in the background so that creating
+-- notifications never updates a shared counter row inside the creating transaction.
+CREATE TABLE notification_unread_deltas
+(
+    id            BIGSERIAL PRIMARY KEY,
+    receiver_type VARCHAR(50) NOT NULL,
+    receiver_id   BIGINT      NOT NULL,
+    delta         BIGINT      NOT NULL
+);
+
+CREATE INDEX idx_notification_unread_deltas_receiver ON notification_unread_deltas (receiver_type, receiver_id);
@@ -0,0 +1,13 @@
+-- Quantity held by unreconciled stock reservations. Reservations take stock with a conditional update of this column,
+-- so the database rejects a reservation that would take more than full_count - reserved_count.
+ALTER TABLE warehouse_stocks
+    ADD COLUMN reserved_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE warehouse_stocks ws
+SET reserved_count = r.quantity
+FROM (SELECT warehouse_id, product_id, SUM(quantity) AS quantity
+      FROM stock_reservations
+      WHERE reconciled = FALSE
+      GROUP BY warehouse_id, product_id) r
+WHERE ws.warehouse_id = r.warehouse_id
+  AND ws.product_id = r.product_id;
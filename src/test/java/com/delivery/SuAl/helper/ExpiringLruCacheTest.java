@@ -0,0 +1,71 @@
+package com.delivery.SuAl.helper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ExpiringLruCacheTest {
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExpiringLruCache<Long, String> cache =
+            new ExpiringLruCache<>("test.cache", 2, TTL, meterRegistry, clock::get);
+
+    @Test
+    void entriesExpireAfterTheTtl() {
+        cache.put(1L, "one");
+
+        clock.addAndGet(TTL.minusNanos(1).toNanos());
+        assertEquals("one", cache.get(1L));
+
+        clock.addAndGet(1);
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+        cache.get(1L);
+        cache.put(3L, "three");
+
+        assertEquals("one", cache.get(1L));
+        assertNull(cache.get(2L));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        cache.put(1L, "one");
+        cache.get(1L);
+        cache.get(2L);
+
+        assertEquals(1, meterRegistry.counter("test.cache", "result", "hit").count());
+        assertEquals(1, meterRegistry.counter("test.cache", "result", "miss").count());
+        assertEquals(1, meterRegistry.get("test.cache.size").gauge().value());
+    }
+
+    @Test
+    void evictAfterCommitEvictsAgainOnceTheTransactionCommits() {
+        cache.put(1L, "one");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evictAfterCommit(1L);
+            assertNull(cache.get(1L));
+
+            cache.put(1L, "stale");
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCommit());
+
+            assertNull(cache.get(1L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.delivery.SuAl.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Randomized checks that {@link Money} and {@link MoneyAccumulator} give the same results as the {@link BigDecimal}
+ * chains they replace. Seeds are fixed so a failure can be reproduced.
+ */
+class MoneyTest {
+    private static final int ITERATIONS = 20_000;
+
+    @Test
+    void ofMatchesSetScaleHalfUp() {
+        Random random = new Random(1);
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigDecimal amount = randomAmount(random);
+            assertEquals(expected(amount), Money.of(amount).toBigDecimal(), () -> "of(" + amount + ")");
+        }
+    }
+
+    @Test
+    void ofFallsBackForUnscaledValuesBeyondLong() {
+        Random random = new Random(2);
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigDecimal amount = new BigDecimal(new BigInteger(100, random), 20 + random.nextInt(6));
+            BigDecimal signed = random.nextBoolean() ? amount : amount.negate();
+            assertEquals(expected(signed), Money.of(signed).toBigDecimal(), () -> "of(" + signed + ")");
+        }
+    }
+
+    @Test
+    void timesMatchesMultiplyThenSetScale() {
+        Random random = new Random(3);
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigDecimal unitPrice = randomAmount(random);
+            long quantity = random.nextInt(2001) - 1000;
+            assertEquals(expected(unitPrice.multiply(BigDecimal.valueOf(quantity))),
+                    Money.times(unitPrice, quantity).toBigDecimal(),
+                    () -> "times(" + unitPrice + ", " + quantity + ")");
+        }
+    }
+
+    @Test
+    void minusBigDecimalMatchesSubtractThenSetScale() {
+        Random random = new Random(4);
+        for (int i = 0; i < ITERATIONS; i++) {
+            Money money = Money.ofMinor(random.nextLong(-10_000_000_000L, 10_000_000_000L));
+            BigDecimal amount = randomAmount(random);
+            assertEquals(expected(money.toBigDecimal().subtract(amount)), money.minus(amount).toBigDecimal(),
+                    () -> money + " - " + amount);
+        }
+    }
+
+    @Test
+    void plusAndMinusMatchBigDecimal() {
+        Random random = new Random(5);
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigDecimal a = randomAmount(random);
+            BigDecimal b = randomAmount(random);
+            assertEquals(expected(a).add(expected(b)), Money.of(a).plus(Money.of(b)).toBigDecimal());
+            assertEquals(expected(a).subtract(expected(b)), Money.of(a).minus(Money.of(b)).toBigDecimal());
+        }
+    }
+
+    @Test
+    void fractionMatchesMultiplyThenDivideHalfUp() {
+        Random random = new Random(6);
+        for (int i = 0; i < ITERATIONS; i++) {
+            Money money = Money.ofMinor(random.nextLong(-10_000_000_000L, 10_000_000_000L));
+            long numerator = random.nextInt(2001) - 1000;
+            long denominator = 1 + random.nextInt(1000);
+            BigDecimal expected = money.toBigDecimal()
+                    .multiply(BigDecimal.valueOf(numerator))
+                    .divide(BigDecimal.valueOf(denominator), Money.SCALE, RoundingMode.HALF_UP);
+            assertEquals(expected, money.fraction(numerator, denominator).toBigDecimal(),
+                    () -> money + " * " + numerator + " / " + denominator);
+        }
+    }
+
+    @Test
+    void fractionFallsBackWhenTheProductOverflows() {
+        Money money = Money.ofMinor(Long.MAX_VALUE / 3);
+        BigDecimal expected = money.toBigDecimal()
+                .multiply(BigDecimal.valueOf(7))
+                .divide(BigDecimal.valueOf(7), Money.SCALE, RoundingMode.HALF_UP);
+        assertEquals(expected, money.fraction(7, 7).toBigDecimal());
+    }
+
+    @Test
+    void fractionRejectsNonPositiveDenominator() {
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinor(100).fraction(1, 0));
+    }
+
+    @Test
+    void divideHalfUpMatchesBigDecimalForNegativeValues() {
+        Random random = new Random(7);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long dividend = random.nextLong(-1_000_000_000L, 1_000_000_000L);
+            long divisor = 1 + random.nextInt(10_000);
+            long expected = BigDecimal.valueOf(dividend)
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+                    .longValueExact();
+            assertEquals(expected, Money.divideHalfUp(dividend, divisor), () -> dividend + " / " + divisor);
+        }
+    }
+
+    @Test
+    void divideHalfUpRoundsTiesAwayFromZero() {
+        assertEquals(3, Money.divideHalfUp(5, 2));
+        assertEquals(-3, Money.divideHalfUp(-5, 2));
+        assertEquals(2, Money.divideHalfUp(7, 4));
+        assertEquals(-2, Money.divideHalfUp(-7, 4));
+        assertEquals(1, Money.divideHalfUp(1, 2));
+        assertEquals(-1, Money.divideHalfUp(-1, 2));
+        assertEquals(0, Money.divideHalfUp(-1, 3));
+    }
+
+    @Test
+    void accumulatorMatchesSumOfRoundedAmounts() {
+        Random random = new Random(8);
+        for (int i = 0; i < 2_000; i++) {
+            MoneyAccumulator accumulator = new MoneyAccumulator();
+            BigDecimal expected = BigDecimal.ZERO.setScale(Money.SCALE);
+            int lines = 1 + random.nextInt(20);
+            for (int line = 0; line < lines; line++) {
+                BigDecimal amount = randomAmount(random);
+                if (random.nextInt(4) == 0) {
+                    accumulator.subtract(Money.of(amount));
+                    expected = expected.subtract(expected(amount));
+                } else {
+                    accumulator.add(amount);
+                    expected = expected.add(expected(amount));
+                }
+            }
+            assertEquals(expected, accumulator.total().toBigDecimal());
+        }
+    }
+
+    @Test
+    void nullIsTreatedAsZero() {
+        assertEquals(Money.ZERO, Money.of(null));
+        assertEquals(Money.ZERO, Money.times(null, 3));
+        assertEquals(Money.ofMinor(150), Money.ofMinor(150).minus((BigDecimal) null));
+        assertEquals(Money.ZERO, new MoneyAccumulator().add((BigDecimal) null).total());
+    }
+
+    /**
+     * Amounts up to about a billion with -2 to 8 decimals, half of them negative, and a bias towards exact ties.
+     */
+    private static BigDecimal randomAmount(Random random) {
+        int scale = random.nextInt(11) - 2;
+        long unscaled = random.nextLong(-100_000_000_000L, 100_000_000_000L);
+        if (scale > Money.SCALE && random.nextInt(4) == 0) {
+            long unit = BigInteger.TEN.pow(scale - Money.SCALE).longValueExact();
+            unscaled = unscaled / unit * unit + Long.signum(unscaled) * unit / 2;
+        }
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    private static BigDecimal expected(BigDecimal amount) {
+        return amount.setScale(Money.SCALE, RoundingMode.HALF_UP);
+    }
+}
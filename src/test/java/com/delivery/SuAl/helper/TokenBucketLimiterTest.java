@@ -0,0 +1,118 @@
+package com.delivery.SuAl.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+    private static final Duration PERIOD = Duration.ofMinutes(10);
+    private static final Duration PER_PERMIT = PERIOD.dividedBy(5);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    @Test
+    void grantsTheBurstThenReportsTheWait() {
+        TokenBucketLimiter limiter = limiter(5, 100);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Duration.ZERO, limiter.tryAcquire("+994501234567"));
+        }
+        assertEquals(PER_PERMIT, limiter.tryAcquire("+994501234567"));
+
+        clock.addAndGet(PER_PERMIT.minusMinutes(1).toNanos());
+        assertEquals(Duration.ofMinutes(1), limiter.tryAcquire("+994501234567"));
+    }
+
+    @Test
+    void refillsOnePermitPerSliceOfThePeriod() {
+        TokenBucketLimiter limiter = limiter(5, 100);
+        drain(limiter, "key");
+
+        clock.addAndGet(PER_PERMIT.multipliedBy(2).toNanos());
+
+        assertEquals(Duration.ZERO, limiter.tryAcquire("key"));
+        assertEquals(Duration.ZERO, limiter.tryAcquire("key"));
+        assertTrue(limiter.tryAcquire("key").compareTo(Duration.ZERO) > 0);
+    }
+
+    @Test
+    void refillNeverExceedsTheCapacity() {
+        TokenBucketLimiter limiter = limiter(5, 100);
+        drain(limiter, "key");
+
+        clock.addAndGet(PERIOD.multipliedBy(10).toNanos());
+
+        assertEquals(5, drain(limiter, "key"));
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        TokenBucketLimiter limiter = limiter(5, 100);
+        drain(limiter, "first");
+
+        assertEquals(Duration.ZERO, limiter.tryAcquire("second"));
+    }
+
+    @Test
+    void evictedKeyStartsWithAFullBucket() {
+        TokenBucketLimiter limiter = limiter(5, 1);
+        drain(limiter, "first");
+
+        limiter.tryAcquire("second");
+
+        assertEquals(5, drain(limiter, "first"));
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws Exception {
+        TokenBucketLimiter limiter = limiter(50, 100);
+        AtomicInteger granted = new AtomicInteger();
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.tryAcquire("key").isZero()) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(50, granted.get());
+    }
+
+    private TokenBucketLimiter limiter(int capacity, int maxKeys) {
+        return new TokenBucketLimiter(capacity, PER_PERMIT.multipliedBy(capacity), maxKeys, clock::get);
+    }
+
+    private static int drain(TokenBucketLimiter limiter, String key) {
+        int granted = 0;
+        while (limiter.tryAcquire(key).isZero()) {
+            granted++;
+        }
+        return granted;
+    }
+}
@@ -0,0 +1,184 @@
+package com.delivery.SuAl.security;
+
+import com.delivery.SuAl.entity.RevokedToken;
+import com.delivery.SuAl.entity.UserTokenRevocation;
+import com.delivery.SuAl.repository.RevokedTokenRepository;
+import com.delivery.SuAl.repository.UserTokenRevocationRepository;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenBlacklistServiceTest {
+    private static final long USER_ID = 7L;
+    private static final Duration MAX_TOKEN_LIFETIME = Duration.ofDays(7);
+
+    private final UserTokenRevocationRepository userTokenRevocationRepository = mock(UserTokenRevocationRepository.class);
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private TokenBlacklistService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TokenBlacklistService(userTokenRevocationRepository, revokedTokenRepository,
+                MAX_TOKEN_LIFETIME.toMillis(), Duration.ofSeconds(30), 1_000);
+        service.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void watermarkRejectsTokensIssuedUpToTheSameMillisecond() {
+        long watermark = revokeAll();
+
+        assertTrue(service.isRevoked(USER_ID, token(watermark - 1)));
+        assertTrue(service.isRevoked(USER_ID, token(watermark)));
+        assertFalse(service.isRevoked(USER_ID, token(watermark + 1)));
+    }
+
+    @Test
+    void watermarkOnlyAppliesToItsUser() {
+        long watermark = revokeAll();
+
+        assertFalse(service.isRevoked(USER_ID + 1, token(watermark)));
+    }
+
+    @Test
+    void tokensWithoutMillisecondIssueTimeFallBackToTheSecond() {
+        long watermark = revokeAll();
+        long watermarkSecond = watermark - watermark % 1_000;
+
+        assertTrue(service.isRevoked(USER_ID, legacyToken(watermarkSecond)));
+        assertFalse(service.isRevoked(USER_ID, legacyToken(watermarkSecond + 1_000)));
+    }
+
+    @Test
+    void watermarkNeverMovesBackwards() {
+        long watermark = revokeAll();
+        when(userTokenRevocationRepository.findByUpdatedAtGreaterThanEqual(any()))
+                .thenReturn(List.of(revocation(watermark - 60_000)));
+
+        service.refresh();
+
+        assertTrue(service.isRevoked(USER_ID, token(watermark)));
+    }
+
+    @Test
+    void revokedTokenIsRejectedByItsId() {
+        String jti = UUID.randomUUID().toString();
+        service.revokeToken(jti, USER_ID, inOneHour());
+
+        assertTrue(service.isRevoked(USER_ID, token(jti, System.currentTimeMillis())));
+        assertFalse(service.isRevoked(USER_ID, token(UUID.randomUUID().toString(), System.currentTimeMillis())));
+    }
+
+    @Test
+    void expiredTokenIsNotRecorded() {
+        String jti = UUID.randomUUID().toString();
+        service.revokeToken(jti, USER_ID, new Date(System.currentTimeMillis() - 1_000));
+
+        verify(revokedTokenRepository, never()).insertIfAbsent(eq(jti), any(), any(), any());
+        assertFalse(service.isRevoked(USER_ID, token(jti, System.currentTimeMillis())));
+    }
+
+    @Test
+    void purgeKeepsLiveRevocationsAfterRebuildingTheFilter() {
+        String live = UUID.randomUUID().toString();
+        String expired = UUID.randomUUID().toString();
+        service.revokeToken(live, USER_ID, inOneHour());
+        when(revokedTokenRepository.findByRevokedAtGreaterThanEqual(any()))
+                .thenReturn(List.of(revokedToken(expired, LocalDateTime.now(ZoneOffset.UTC).minusMinutes(1))));
+        service.refresh();
+        long watermark = revokeAll();
+
+        service.purgeExpired();
+
+        assertTrue(service.isRevoked(USER_ID, token(live, System.currentTimeMillis())));
+        assertFalse(service.isRevoked(USER_ID, token(expired, System.currentTimeMillis())));
+        assertTrue(service.isRevoked(USER_ID, token(watermark)));
+    }
+
+    @Test
+    void tokensRevokedAfterPurgeAreRejected() {
+        service.purgeExpired();
+
+        String jti = UUID.randomUUID().toString();
+        service.revokeToken(jti, USER_ID, inOneHour());
+
+        assertTrue(service.isRevoked(USER_ID, token(jti, System.currentTimeMillis())));
+    }
+
+    @Test
+    void purgeForgetsWatermarksOlderThanAnyToken() {
+        long old = System.currentTimeMillis() - MAX_TOKEN_LIFETIME.plusHours(1).toMillis();
+        when(userTokenRevocationRepository.findByUpdatedAtGreaterThanEqual(any()))
+                .thenReturn(List.of(revocation(old)));
+        service.refresh();
+        assertTrue(service.isRevoked(USER_ID, token(old)));
+
+        service.purgeExpired();
+
+        assertFalse(service.isRevoked(USER_ID, token(old)));
+    }
+
+    /**
+     * Revokes all tokens of the user outside a transaction, so the watermark applies at once, and returns it.
+     */
+    private long revokeAll() {
+        service.revokeAllForUser(USER_ID);
+        ArgumentCaptor<LocalDateTime> revokedBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(userTokenRevocationRepository).upsert(eq(USER_ID), revokedBefore.capture(), any());
+        return revokedBefore.getValue().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static VerifiedToken token(long issuedAtMillis) {
+        return token(null, issuedAtMillis);
+    }
+
+    private static VerifiedToken token(String jti, long issuedAtMillis) {
+        return new VerifiedToken(Jwts.claims()
+                .id(jti)
+                .issuedAt(new Date(issuedAtMillis))
+                .add(JwtService.ISSUED_AT_MILLIS_CLAIM, issuedAtMillis)
+                .build());
+    }
+
+    private static VerifiedToken legacyToken(long issuedAtMillis) {
+        return new VerifiedToken(Jwts.claims().issuedAt(new Date(issuedAtMillis)).build());
+    }
+
+    private static Date inOneHour() {
+        return new Date(System.currentTimeMillis() + Duration.ofHours(1).toMillis());
+    }
+
+    private static UserTokenRevocation revocation(long revokedBeforeMillis) {
+        UserTokenRevocation revocation = new UserTokenRevocation();
+        revocation.setUserId(USER_ID);
+        revocation.setRevokedBefore(LocalDateTime.ofInstant(Instant.ofEpochMilli(revokedBeforeMillis), ZoneOffset.UTC));
+        revocation.setUpdatedAt(LocalDateTime.now(ZoneOffset.UTC));
+        return revocation;
+    }
+
+    private static RevokedToken revokedToken(String jti, LocalDateTime expiresAt) {
+        RevokedToken token = new RevokedToken();
+        token.setJti(jti);
+        token.setUserId(USER_ID);
+        token.setExpiresAt(expiresAt);
+        token.setRevokedAt(LocalDateTime.now(ZoneOffset.UTC));
+        return token;
+    }
+}
@@ -0,0 +1,90 @@
+package com.delivery.SuAl.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryOtpStoreTest {
+    private static final String PHONE = "+994501234567";
+    private static final Duration TTL = Duration.ofMinutes(2);
+
+    private final InMemoryOtpStore store = new InMemoryOtpStore();
+
+    @Test
+    void codeCanBeConsumedOnlyOnce() {
+        store.save(PHONE, "123456", TTL);
+
+        assertTrue(store.consume(PHONE, "123456"));
+        assertFalse(store.consume(PHONE, "123456"));
+        assertFalse(store.hasActiveCode(PHONE));
+    }
+
+    @Test
+    void wrongCodeDoesNotUseUpTheCode() {
+        store.save(PHONE, "123456", TTL);
+
+        assertFalse(store.consume(PHONE, "654321"));
+        assertFalse(store.consume(PHONE, null));
+        assertTrue(store.consume(PHONE, "123456"));
+    }
+
+    @Test
+    void newCodeReplacesThePreviousOne() {
+        store.save(PHONE, "123456", TTL);
+        store.save(PHONE, "654321", TTL);
+
+        assertFalse(store.consume(PHONE, "123456"));
+        assertTrue(store.consume(PHONE, "654321"));
+    }
+
+    @Test
+    void expiredCodeCannotBeConsumed() {
+        store.save(PHONE, "123456", Duration.ZERO);
+
+        assertFalse(store.hasActiveCode(PHONE));
+        assertFalse(store.consume(PHONE, "123456"));
+    }
+
+    @Test
+    void concurrentVerifiesConsumeTheCodeOnce() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                store.save(PHONE, "123456", TTL);
+                AtomicInteger consumed = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        if (store.consume(PHONE, "123456")) {
+                            consumed.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+
+                assertEquals(1, consumed.get(), "round " + round);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.exception.InsufficientStockException;
+import com.delivery.SuAl.repository.ProductRepository;
+import com.delivery.SuAl.repository.StockMovementRepository;
+import com.delivery.SuAl.repository.StockReservationRepository;
+import com.delivery.SuAl.repository.WarehouseRepository;
+import com.delivery.SuAl.repository.WarehouseStockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two inventory services with their own stock ledgers, standing in for two application instances, reserve the same
+ * stock row concurrently. Runs against the configured database.
+ */
+@SpringBootTest
+class InventoryServiceConcurrencyTest {
+    private static final int STOCK = 20;
+    private static final int THREADS_PER_INSTANCE = 2;
+    private static final int ATTEMPTS_PER_THREAD = 20;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StockLedgerReconciler stockLedgerReconciler;
+
+    @Autowired
+    private WarehouseStockRepository warehouseStockRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long companyId;
+    private long categoryId;
+    private long sizeId;
+    private long productId;
+    private long warehouseId;
+
+    @BeforeEach
+    void createStockRow() {
+        companyId = insert("INSERT INTO companies (name, company_status, created_at, updated_at) " +
+                "VALUES ('Ledger test', 'ACTIVE', now(), now()) RETURNING id");
+        categoryId = insert("INSERT INTO categories (name, created_at, updated_at) " +
+                "VALUES ('Ledger test', now(), now()) RETURNING id");
+        sizeId = insert("INSERT INTO product_sizes (label, created_at, updated_at) " +
+                "VALUES ('Ledger test', now(), now()) RETURNING id");
+        productId = insert("INSERT INTO products (name, description, image_url, company_id, category_id, size_id, " +
+                "product_status, returnable, created_at, updated_at) " +
+                "VALUES ('Ledger test', '', '', ?, ?, ?, 'ACTIVE', false, now(), now()) RETURNING id",
+                companyId, categoryId, sizeId);
+        warehouseId = insert("INSERT INTO warehouses (name, warehouse_status, created_at, updated_at) " +
+                "VALUES ('Ledger test', 'ACTIVE', now(), now()) RETURNING id");
+        jdbcTemplate.update("INSERT INTO warehouse_stocks (warehouse_id, product_id, full_count, created_at, updated_at) " +
+                "VALUES (?, ?, ?, now(), now())", warehouseId, productId, STOCK);
+    }
+
+    @AfterEach
+    void deleteStockRow() {
+        jdbcTemplate.update("DELETE FROM stock_reservations WHERE product_id = ?", productId);
+        jdbcTemplate.update("DELETE FROM warehouse_stocks WHERE product_id = ?", productId);
+        jdbcTemplate.update("DELETE FROM products WHERE id = ?", productId);
+        jdbcTemplate.update("DELETE FROM warehouses WHERE id = ?", warehouseId);
+        jdbcTemplate.update("DELETE FROM product_sizes WHERE id = ?", sizeId);
+        jdbcTemplate.update("DELETE FROM categories WHERE id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM companies WHERE id = ?", companyId);
+    }
+
+    @Test
+    void instancesWithSeparateLedgersDoNotOversell() throws Exception {
+        StockLedger otherLedger = new StockLedger(new SimpleMeterRegistry());
+        StockLedgerReconciler otherReconciler =
+                new StockLedgerReconciler(warehouseStockRepository, stockReservationRepository, otherLedger);
+        InventoryService otherInstance = new InventoryService(warehouseStockRepository, productRepository,
+                stockMovementRepository, stockReservationRepository, warehouseRepository, otherLedger, otherReconciler);
+        transactionTemplate.executeWithoutResult(status -> otherReconciler.initialize());
+
+        // both ledgers start out believing the whole stock is theirs
+        stockLedgerReconciler.sync(List.of(productId));
+        otherReconciler.sync(List.of(productId));
+
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2 * THREADS_PER_INSTANCE);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 2 * THREADS_PER_INSTANCE; i++) {
+                InventoryService instance = i % 2 == 0 ? inventoryService : otherInstance;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                        try {
+                            transactionTemplate.executeWithoutResult(
+                                    status -> instance.validateAndReserveStock(productId, 1));
+                            reserved.incrementAndGet();
+                        } catch (InsufficientStockException ignored) {
+                            // sold out
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(STOCK, reserved.get());
+        assertEquals(STOCK, jdbcTemplate.queryForObject(
+                "SELECT reserved_count FROM warehouse_stocks WHERE product_id = ?", Integer.class, productId));
+        assertEquals(STOCK, jdbcTemplate.queryForObject(
+                "SELECT SUM(quantity) FROM stock_reservations WHERE product_id = ?", Integer.class, productId));
+    }
+
+    private long insert(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
@@ -0,0 +1,79 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.entity.Order;
+import com.delivery.SuAl.model.enums.OrderStatus;
+import com.delivery.SuAl.model.response.statisticsAnddashborad.OrderStatsResponse;
+import com.delivery.SuAl.repository.OrderDailyStatRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Reads back rollups written through {@link OrderStatisticsRecorder}. Runs against the configured database; each test
+ * rolls back.
+ */
+@SpringBootTest
+@Transactional
+class StatisticsServiceImplTest {
+    @Autowired
+    private OrderStatisticsRecorder orderStatisticsRecorder;
+
+    @Autowired
+    private OrderDailyStatRepository orderDailyStatRepository;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Test
+    void statusRollupIsReadBackAsOrderStatus() {
+        orderStatisticsRecorder.recordCreated(List.of(order(OrderStatus.PENDING, "12.50")));
+
+        List<Object[]> rows = orderDailyStatRepository.sumGroupedByStatus();
+
+        assertInstanceOf(OrderStatus.class, rows.getFirst()[0]);
+    }
+
+    @Test
+    void orderStatsReflectRecordedTransitions() {
+        OrderStatsResponse before = statisticsService.getOrderStats();
+
+        Order approved = order(OrderStatus.PENDING, "10.00");
+        Order cancelled = order(OrderStatus.PENDING, "4.00");
+        orderStatisticsRecorder.recordCreated(List.of(approved, cancelled, order(OrderStatus.PENDING, "7.00")));
+        approved.setOrderStatus(OrderStatus.APPROVED);
+        orderStatisticsRecorder.recordTransition(approved, OrderStatus.PENDING);
+        orderStatisticsRecorder.recordTransitions(List.of(cancelled), OrderStatus.PENDING, OrderStatus.CANCELLED);
+
+        OrderStatsResponse after = statisticsService.getOrderStats();
+
+        assertEquals(before.getTotalOrders() + 3, after.getTotalOrders());
+        assertEquals(before.getPendingOrders() + 1, after.getPendingOrders());
+        assertEquals(before.getCancelledOrders() + 1, after.getCancelledOrders());
+        assertEquals(before.getCompletedOrders(), after.getCompletedOrders());
+    }
+
+    @Test
+    void dashboardReadsStatusRollup() {
+        orderStatisticsRecorder.recordCreated(List.of(order(OrderStatus.PENDING, "3.00")));
+
+        assertNotNull(statisticsService.getDashboardStats());
+    }
+
+    private static Order order(OrderStatus status, String amount) {
+        Order order = new Order();
+        order.setOrderStatus(status);
+        order.setAmount(new BigDecimal(amount));
+        order.setCreatedAt(LocalDateTime.now(ZoneOffset.UTC));
+        return order;
+    }
+}
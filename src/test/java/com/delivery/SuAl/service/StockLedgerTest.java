@@ -0,0 +1,120 @@
+package com.delivery.SuAl.service;
+
+import com.delivery.SuAl.helper.StockKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockLedgerTest {
+    private static final StockKey FIRST = new StockKey(1L, 10L);
+    private static final StockKey SECOND = new StockKey(1L, 20L);
+
+    @Test
+    void concurrentTakesNeverExceedTheCounter() throws Exception {
+        StockLedger ledger = ledger(Map.of(FIRST, 500));
+        AtomicInteger taken = new AtomicInteger();
+
+        runConcurrently(8, () -> {
+            for (int i = 0; i < 1_000; i++) {
+                if (ledger.tryAcquire(Map.of(10L, 1), new HashMap<>()).isEmpty()) {
+                    taken.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(500, taken.get());
+        assertEquals(0, ledger.availableFor(10L));
+    }
+
+    @Test
+    void takesAreAllOrNothing() throws Exception {
+        StockLedger ledger = ledger(Map.of(FIRST, 300, SECOND, 100));
+        AtomicInteger taken = new AtomicInteger();
+
+        runConcurrently(8, () -> {
+            for (int i = 0; i < 1_000; i++) {
+                if (ledger.tryAcquire(Map.of(10L, 1, 20L, 1), new HashMap<>()).isEmpty()) {
+                    taken.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(100, taken.get());
+        assertEquals(200, ledger.availableFor(10L));
+        assertEquals(0, ledger.availableFor(20L));
+    }
+
+    @Test
+    void shortfallReportsAvailableQuantity() {
+        StockLedger ledger = ledger(Map.of(FIRST, 3));
+        Map<StockKey, Integer> allocations = new HashMap<>();
+
+        Map<Long, Integer> shortfalls = ledger.tryAcquire(Map.of(10L, 5), allocations);
+
+        assertEquals(Map.of(10L, 3), shortfalls);
+        assertTrue(allocations.isEmpty());
+        assertEquals(3, ledger.availableFor(10L));
+    }
+
+    @Test
+    void cancelGivesTakenQuantitiesBack() {
+        StockLedger ledger = ledger(Map.of(FIRST, 5));
+        Map<StockKey, Integer> allocations = new HashMap<>();
+
+        ledger.tryAcquire(Map.of(10L, 4), allocations);
+        ledger.cancel(allocations);
+
+        assertEquals(5, ledger.availableFor(10L));
+    }
+
+    @Test
+    void syncResetsCountersAndRegistersNewRows() {
+        StockLedger ledger = ledger(Map.of(FIRST, 5));
+
+        ledger.sync(Map.of(FIRST, 2, SECOND, 7));
+
+        assertEquals(2, ledger.availableFor(10L));
+        assertEquals(7, ledger.availableFor(20L));
+        assertEquals(SECOND, ledger.primaryKey(20L));
+    }
+
+    private static StockLedger ledger(Map<StockKey, Integer> availability) {
+        StockLedger ledger = new StockLedger(new SimpleMeterRegistry());
+        ledger.install(availability);
+        return ledger;
+    }
+
+    private static void runConcurrently(int threads, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}